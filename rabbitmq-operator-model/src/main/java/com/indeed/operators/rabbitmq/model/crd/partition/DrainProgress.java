@@ -0,0 +1,64 @@
+package com.indeed.operators.rabbitmq.model.crd.partition;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * How far along the drain of one side of a partition is. The rate and estimate are null until two polls have
+ * been compared, and the estimate stays null while nothing is leaving the side.
+ */
+@JsonPropertyOrder({"remainingMessages", "messagesPerSecond", "estimatedSecondsRemaining", "stalledQueues", "lastUpdated"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class DrainProgress {
+
+    private final Long remainingMessages;
+    private final Double messagesPerSecond;
+    private final Long estimatedSecondsRemaining;
+    private final List<String> stalledQueues;
+    private final String lastUpdated;
+
+    @JsonCreator
+    public DrainProgress(
+            @JsonProperty("remainingMessages") final Long remainingMessages,
+            @JsonProperty("messagesPerSecond") final Double messagesPerSecond,
+            @JsonProperty("estimatedSecondsRemaining") final Long estimatedSecondsRemaining,
+            @JsonProperty("stalledQueues") final List<String> stalledQueues,
+            @JsonProperty("lastUpdated") final String lastUpdated
+    ) {
+        this.remainingMessages = remainingMessages;
+        this.messagesPerSecond = messagesPerSecond;
+        this.estimatedSecondsRemaining = estimatedSecondsRemaining;
+        this.stalledQueues = stalledQueues == null ? ImmutableList.of() : ImmutableList.copyOf(stalledQueues);
+        this.lastUpdated = lastUpdated;
+    }
+
+    public Long getRemainingMessages() {
+        return remainingMessages;
+    }
+
+    public Double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public Long getEstimatedSecondsRemaining() {
+        return estimatedSecondsRemaining;
+    }
+
+    /**
+     * @return "vhost/name" of each queue that still holds messages but has had no consumers and made no progress
+     * for longer than the stall threshold.
+     */
+    public List<String> getStalledQueues() {
+        return stalledQueues;
+    }
+
+    public String getLastUpdated() {
+        return lastUpdated;
+    }
+}
@@ -25,9 +25,10 @@ import io.sundr.builder.annotations.Inline;
 )
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonDeserialize(using = JsonDeserializer.None.class)
-@JsonPropertyOrder({"apiVersion", "kind", "metadata", "spec"})
+@JsonPropertyOrder({"apiVersion", "kind", "metadata", "spec", "status"})
 public class RabbitMQNetworkPartitionCustomResource extends CustomResource {
     private RabbitMQNetworkPartitionCustomResourceSpec spec;
+    private RabbitMQNetworkPartitionCustomResourceStatus status;
 
     @JsonCreator
     public RabbitMQNetworkPartitionCustomResource(
@@ -44,6 +45,17 @@ public class RabbitMQNetworkPartitionCustomResource extends CustomResource {
         this.spec = spec;
     }
 
+    /**
+     * Null until the operator starts healing the partition.
+     */
+    public RabbitMQNetworkPartitionCustomResourceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(final RabbitMQNetworkPartitionCustomResourceStatus status) {
+        this.status = status;
+    }
+
     @JsonIgnore
     public String getName() {
         return this.getMetadata().getName();
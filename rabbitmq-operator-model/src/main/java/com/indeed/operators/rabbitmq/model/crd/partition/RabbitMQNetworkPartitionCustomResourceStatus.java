@@ -0,0 +1,69 @@
+package com.indeed.operators.rabbitmq.model.crd.partition;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of the heal, written by the operator as it goes. Every step is recorded before the next one starts,
+ * so an operator that restarts part way through carries on from the last step rather than starting over.
+ */
+@JsonPropertyOrder({"phase", "sides", "drains"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQNetworkPartitionCustomResourceStatus {
+
+    public static final String PHASE_LOCKED = "Locked";
+    public static final String PHASE_STATEFULSET_DELETED = "StatefulSetDeleted";
+    public static final String PHASE_DRAINING = "Draining";
+    public static final String PHASE_UNLOCKED = "Unlocked";
+
+    public static final String SIDE_PENDING = "Pending";
+    public static final String SIDE_STARTING = "Starting";
+    public static final String SIDE_DRAINING = "Draining";
+    public static final String SIDE_DRAINED = "Drained";
+    public static final String SIDE_DONE = "Done";
+
+    private final String phase;
+    private final List<String> sides;
+    private final Map<String, DrainProgress> drains;
+
+    @JsonCreator
+    public RabbitMQNetworkPartitionCustomResourceStatus(
+            @JsonProperty("phase") final String phase,
+            @JsonProperty("sides") final List<String> sides,
+            @JsonProperty("drains") final Map<String, DrainProgress> drains
+    ) {
+        this.phase = phase;
+        this.sides = sides == null ? ImmutableList.of() : ImmutableList.copyOf(sides);
+        this.drains = drains == null ? ImmutableMap.of() : ImmutableMap.copyOf(drains);
+    }
+
+    /**
+     * @return the last step the heal finished: one of the PHASE_ constants, or null if it hasn't started.
+     */
+    public String getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the step each side of the partition has reached, one of the SIDE_ constants, in the same order as
+     *         the spec's partitions; empty until the heal starts draining.
+     */
+    public List<String> getSides() {
+        return sides;
+    }
+
+    /**
+     * @return the progress of each side that's still draining, keyed by the first of its pods in name order.
+     */
+    public Map<String, DrainProgress> getDrains() {
+        return drains;
+    }
+}
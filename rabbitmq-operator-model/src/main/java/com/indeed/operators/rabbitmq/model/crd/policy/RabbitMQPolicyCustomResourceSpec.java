@@ -0,0 +1,56 @@
+package com.indeed.operators.rabbitmq.model.crd.policy;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.OperatorPolicySpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PolicySpec;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * A policy or operator policy on the RabbitMQ cluster named by clusterName, managed separately from the
+ * cluster's own resource. Exactly one of policy and operatorPolicy must be set.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"clusterName", "policy", "operatorPolicy"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQPolicyCustomResourceSpec {
+    private final String clusterName;
+    private final PolicySpec policy;
+    private final OperatorPolicySpec operatorPolicy;
+
+    @JsonCreator
+    public RabbitMQPolicyCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("policy") final PolicySpec policy,
+            @JsonProperty("operatorPolicy") final OperatorPolicySpec operatorPolicy
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "Policy 'clusterName' cannot be empty or null");
+        Preconditions.checkArgument((policy == null) != (operatorPolicy == null), "Exactly one of 'policy' and 'operatorPolicy' must be set");
+
+        this.clusterName = clusterName;
+        this.policy = policy;
+        this.operatorPolicy = operatorPolicy;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public PolicySpec getPolicy() {
+        return policy;
+    }
+
+    public OperatorPolicySpec getOperatorPolicy() {
+        return operatorPolicy;
+    }
+}
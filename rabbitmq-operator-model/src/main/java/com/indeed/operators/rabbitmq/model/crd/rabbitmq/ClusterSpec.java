@@ -14,7 +14,7 @@ import java.util.List;
         builderPackage = "io.fabric8.kubernetes.api.builder",
         editableEnabled = false
 )
-@JsonPropertyOrder({"highWatermarkFraction", "users", "shovels", "policies"})
+@JsonPropertyOrder({"highWatermarkFraction", "users", "shovels", "policies", "operatorPolicies", "managementApiRequestsPerSecond", "passwordHashingAlgorithm", "partitionDetection"})
 @JsonDeserialize(using = JsonDeserializer.None.class)
 public class ClusterSpec {
 
@@ -23,6 +23,9 @@ public class ClusterSpec {
     private final List<ShovelSpec> shovels;
     private final List<PolicySpec> policies;
     private final List<OperatorPolicySpec> operatorPolicies;
+    private final double managementApiRequestsPerSecond;
+    private final PasswordHashingAlgorithm passwordHashingAlgorithm;
+    private final PartitionDetectionSpec partitionDetection;
 
     @JsonCreator
     public ClusterSpec(
@@ -30,13 +33,19 @@ public class ClusterSpec {
             @JsonProperty("users") final List<UserSpec> users,
             @JsonProperty("shovels") final List<ShovelSpec> shovels,
             @JsonProperty("policies") final List<PolicySpec> policies,
-            @JsonProperty("operatorPolicies") final List<OperatorPolicySpec> operatorPolicies
+            @JsonProperty("operatorPolicies") final List<OperatorPolicySpec> operatorPolicies,
+            @JsonProperty("managementApiRequestsPerSecond") final double managementApiRequestsPerSecond,
+            @JsonProperty("passwordHashingAlgorithm") final PasswordHashingAlgorithm passwordHashingAlgorithm,
+            @JsonProperty("partitionDetection") final PartitionDetectionSpec partitionDetection
     ) {
         this.highWatermarkFraction = highWatermarkFraction;
         this.users = (users == null ? Lists.newArrayList() : users);
         this.shovels = (shovels == null ? Lists.newArrayList() : shovels);
         this.policies = (policies == null ? Lists.newArrayList() : policies);
         this.operatorPolicies = (operatorPolicies == null ? Lists.newArrayList() : operatorPolicies);
+        this.managementApiRequestsPerSecond = managementApiRequestsPerSecond;
+        this.passwordHashingAlgorithm = (passwordHashingAlgorithm == null ? PasswordHashingAlgorithm.SHA256 : passwordHashingAlgorithm);
+        this.partitionDetection = partitionDetection;
     }
 
     public double getHighWatermarkFraction() {
@@ -58,4 +67,22 @@ public class ClusterSpec {
     public List<OperatorPolicySpec> getOperatorPolicies() {
         return operatorPolicies;
     }
+
+    /**
+     * The most management API calls per second the operator makes to this cluster; 0 uses the operator's default.
+     */
+    public double getManagementApiRequestsPerSecond() {
+        return managementApiRequestsPerSecond;
+    }
+
+    public PasswordHashingAlgorithm getPasswordHashingAlgorithm() {
+        return passwordHashingAlgorithm;
+    }
+
+    /**
+     * @return how the operator watches this cluster for network partitions, or null if it doesn't.
+     */
+    public PartitionDetectionSpec getPartitionDetection() {
+        return partitionDetection;
+    }
 }
@@ -0,0 +1,45 @@
+package com.indeed.operators.rabbitmq.model.crd.rabbitmq;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.sundr.builder.annotations.Buildable;
+
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"intervalSeconds", "autoHeal"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class PartitionDetectionSpec {
+    public static final int DEFAULT_INTERVAL_SECONDS = 30;
+
+    private final int intervalSeconds;
+    private final boolean autoHeal;
+
+    @JsonCreator
+    public PartitionDetectionSpec(
+            @JsonProperty("intervalSeconds") final int intervalSeconds,
+            @JsonProperty(value = "autoHeal", defaultValue = "false") final boolean autoHeal
+    ) {
+        this.intervalSeconds = (intervalSeconds <= 0 ? DEFAULT_INTERVAL_SECONDS : intervalSeconds);
+        this.autoHeal = autoHeal;
+    }
+
+    /**
+     * How often the cluster's nodes are asked whether they can see each other.
+     */
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    /**
+     * Whether a detected partition is healed straight away, by creating a network partition resource for it,
+     * rather than only being reported.
+     */
+    public boolean isAutoHeal() {
+        return autoHeal;
+    }
+}
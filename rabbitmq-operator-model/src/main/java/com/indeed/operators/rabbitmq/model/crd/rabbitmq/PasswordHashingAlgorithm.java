@@ -0,0 +1,32 @@
+package com.indeed.operators.rabbitmq.model.crd.rabbitmq;
+
+/**
+ * The password hashing algorithms RabbitMQ supports, see https://www.rabbitmq.com/passwords.html
+ */
+public enum PasswordHashingAlgorithm {
+    SHA256("SHA-256", "rabbit_password_hashing_sha256"),
+    SHA512("SHA-512", "rabbit_password_hashing_sha512"),
+    MD5("MD5", "rabbit_password_hashing_md5");
+
+    private final String digestAlgorithm;
+    private final String rabbitMQModuleName;
+
+    PasswordHashingAlgorithm(final String digestAlgorithm, final String rabbitMQModuleName) {
+        this.digestAlgorithm = digestAlgorithm;
+        this.rabbitMQModuleName = rabbitMQModuleName;
+    }
+
+    /**
+     * The {@link java.security.MessageDigest} algorithm name.
+     */
+    public String getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    /**
+     * The value RabbitMQ expects in a user's hashing_algorithm field.
+     */
+    public String getRabbitMQModuleName() {
+        return rabbitMQModuleName;
+    }
+}
@@ -25,9 +25,10 @@ import io.sundr.builder.annotations.Inline;
 )
 @JsonDeserialize(using = JsonDeserializer.None.class)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({"apiVersion", "kind", "metadata", "spec"})
+@JsonPropertyOrder({"apiVersion", "kind", "metadata", "spec", "status"})
 public class RabbitMQCustomResource extends CustomResource {
     private RabbitMQCustomResourceSpec spec;
+    private RabbitMQCustomResourceStatus status;
 
     @JsonCreator
     public RabbitMQCustomResource(
@@ -40,6 +41,17 @@ public class RabbitMQCustomResource extends CustomResource {
         return spec;
     }
 
+    /**
+     * Written by the operator through the status subresource, so it's null until the first reconciliation.
+     */
+    public RabbitMQCustomResourceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(final RabbitMQCustomResourceStatus status) {
+        this.status = status;
+    }
+
     @JsonIgnore
     public String getName() {
         return this.getMetadata().getName();
@@ -0,0 +1,83 @@
+package com.indeed.operators.rabbitmq.model.crd.rabbitmq;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * What the operator last did with a cluster. Nulls are written out on purpose: the status is merge-patched, and
+ * an explicit null is what clears a field such as lastError.
+ */
+@JsonPropertyOrder({"observedGeneration", "phase", "readyReplicas", "lastReconcileTime", "lastReconcileDurationMillis", "lastError"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQCustomResourceStatus {
+
+    public static final String PHASE_READY = "Ready";
+    public static final String PHASE_DEGRADED = "Degraded";
+    public static final String PHASE_FAILED = "Failed";
+
+    private final Long observedGeneration;
+    private final String phase;
+    private final Integer readyReplicas;
+    private final String lastReconcileTime;
+    private final Map<String, Long> lastReconcileDurationMillis;
+    private final String lastError;
+
+    @JsonCreator
+    public RabbitMQCustomResourceStatus(
+            @JsonProperty("observedGeneration") final Long observedGeneration,
+            @JsonProperty("phase") final String phase,
+            @JsonProperty("readyReplicas") final Integer readyReplicas,
+            @JsonProperty("lastReconcileTime") final String lastReconcileTime,
+            @JsonProperty("lastReconcileDurationMillis") final Map<String, Long> lastReconcileDurationMillis,
+            @JsonProperty("lastError") final String lastError
+    ) {
+        this.observedGeneration = observedGeneration;
+        this.phase = phase;
+        this.readyReplicas = readyReplicas;
+        this.lastReconcileTime = lastReconcileTime;
+        this.lastReconcileDurationMillis = lastReconcileDurationMillis == null ? ImmutableMap.of() : ImmutableMap.copyOf(lastReconcileDurationMillis);
+        this.lastError = lastError;
+    }
+
+    public Long getObservedGeneration() {
+        return observedGeneration;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public Integer getReadyReplicas() {
+        return readyReplicas;
+    }
+
+    public String getLastReconcileTime() {
+        return lastReconcileTime;
+    }
+
+    public Map<String, Long> getLastReconcileDurationMillis() {
+        return lastReconcileDurationMillis;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Whether the two statuses differ in anything but timings, which change on every reconciliation.
+     */
+    public boolean differsMateriallyFrom(final RabbitMQCustomResourceStatus other) {
+        return other == null ||
+                !Objects.equal(observedGeneration, other.observedGeneration) ||
+                !Objects.equal(phase, other.phase) ||
+                !Objects.equal(readyReplicas, other.readyReplicas) ||
+                !Objects.equal(lastError, other.lastError);
+    }
+}
@@ -0,0 +1,10 @@
+package com.indeed.operators.rabbitmq.model.crd.shovel;
+
+import io.fabric8.kubernetes.client.CustomResourceList;
+
+/**
+ * See https://github.com/fabric8io/kubernetes-client/tree/master/kubernetes-examples/src/main/java/io/fabric8/kubernetes/examples/crds
+ */
+public class RabbitMQShovelCustomResourceList extends CustomResourceList<RabbitMQShovelCustomResource> {
+
+}
@@ -0,0 +1,62 @@
+package com.indeed.operators.rabbitmq.model.crd.shovel;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.DestinationShovelSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ShovelSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.SourceShovelSpec;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * A shovel on the RabbitMQ cluster named by clusterName, managed separately from the cluster's own resource.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"clusterName", "name", "source", "destination"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQShovelCustomResourceSpec {
+    private final String clusterName;
+    private final ShovelSpec shovel;
+
+    @JsonCreator
+    public RabbitMQShovelCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("name") final String name,
+            @JsonProperty("source") final SourceShovelSpec source,
+            @JsonProperty("destination") final DestinationShovelSpec destination
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "Shovel 'clusterName' cannot be empty or null");
+
+        this.clusterName = clusterName;
+        this.shovel = new ShovelSpec(name, source, destination);
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getName() {
+        return shovel.getName();
+    }
+
+    public SourceShovelSpec getSource() {
+        return shovel.getSource();
+    }
+
+    public DestinationShovelSpec getDestination() {
+        return shovel.getDestination();
+    }
+
+    @JsonIgnore
+    public ShovelSpec getShovelSpec() {
+        return shovel;
+    }
+}
@@ -0,0 +1,98 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.Map;
+
+/**
+ * A binding from the source exchange to a queue or another exchange, depending on destinationType.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"vhost", "source", "destination", "destinationType", "routingKey", "arguments"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class BindingSpec {
+
+    public static final String QUEUE = "queue";
+    public static final String EXCHANGE = "exchange";
+
+    private final String vhost;
+    private final String source;
+    private final String destination;
+    private final String destinationType;
+    private final String routingKey;
+    private final Map<String, Object> arguments;
+
+    public BindingSpec(
+            @JsonProperty("vhost") final String vhost,
+            @JsonProperty("source") final String source,
+            @JsonProperty("destination") final String destination,
+            @JsonProperty("destinationType") final String destinationType,
+            @JsonProperty("routingKey") final String routingKey,
+            @JsonProperty("arguments") final Map<String, Object> arguments
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(vhost), "Binding 'vhost' cannot be empty or null");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(source), "Binding 'source' cannot be empty or null");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(destination), "Binding 'destination' cannot be empty or null");
+        Preconditions.checkArgument(QUEUE.equals(destinationType) || EXCHANGE.equals(destinationType), "Binding 'destinationType' must be 'queue' or 'exchange'");
+
+        this.vhost = vhost;
+        this.source = source;
+        this.destination = destination;
+        this.destinationType = destinationType;
+        this.routingKey = Strings.nullToEmpty(routingKey);
+        this.arguments = arguments == null ? ImmutableMap.of() : ImmutableMap.copyOf(arguments);
+    }
+
+    public String getVhost() {
+        return vhost;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public String getDestinationType() {
+        return destinationType;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public Map<String, Object> getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BindingSpec that = (BindingSpec) o;
+        return Objects.equal(vhost, that.vhost) &&
+                Objects.equal(source, that.source) &&
+                Objects.equal(destination, that.destination) &&
+                Objects.equal(destinationType, that.destinationType) &&
+                Objects.equal(routingKey, that.routingKey) &&
+                Objects.equal(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(vhost, source, destination, destinationType, routingKey, arguments);
+    }
+}
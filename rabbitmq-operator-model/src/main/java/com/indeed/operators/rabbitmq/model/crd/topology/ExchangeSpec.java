@@ -0,0 +1,99 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.Map;
+
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"vhost", "name", "type", "durable", "autoDelete", "internal", "arguments"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class ExchangeSpec {
+
+    private final String vhost;
+    private final String name;
+    private final String type;
+    private final boolean durable;
+    private final boolean autoDelete;
+    private final boolean internal;
+    private final Map<String, Object> arguments;
+
+    public ExchangeSpec(
+            @JsonProperty("vhost") final String vhost,
+            @JsonProperty("name") final String name,
+            @JsonProperty("type") final String type,
+            @JsonProperty("durable") final Boolean durable,
+            @JsonProperty("autoDelete") final Boolean autoDelete,
+            @JsonProperty("internal") final Boolean internal,
+            @JsonProperty("arguments") final Map<String, Object> arguments
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(vhost), "Exchange 'vhost' cannot be empty or null");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "Exchange 'name' cannot be empty or null");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(type), "Exchange 'type' cannot be empty or null");
+
+        this.vhost = vhost;
+        this.name = name;
+        this.type = type;
+        this.durable = durable == null || durable;
+        this.autoDelete = autoDelete != null && autoDelete;
+        this.internal = internal != null && internal;
+        this.arguments = arguments == null ? ImmutableMap.of() : ImmutableMap.copyOf(arguments);
+    }
+
+    public String getVhost() {
+        return vhost;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isDurable() {
+        return durable;
+    }
+
+    public boolean isAutoDelete() {
+        return autoDelete;
+    }
+
+    public boolean isInternal() {
+        return internal;
+    }
+
+    public Map<String, Object> getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExchangeSpec that = (ExchangeSpec) o;
+        return durable == that.durable &&
+                autoDelete == that.autoDelete &&
+                internal == that.internal &&
+                Objects.equal(vhost, that.vhost) &&
+                Objects.equal(name, that.name) &&
+                Objects.equal(type, that.type) &&
+                Objects.equal(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(vhost, name, type, durable, autoDelete, internal, arguments);
+    }
+}
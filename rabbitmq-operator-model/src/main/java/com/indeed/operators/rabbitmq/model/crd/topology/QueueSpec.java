@@ -0,0 +1,82 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.Map;
+
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"vhost", "name", "durable", "autoDelete", "arguments"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class QueueSpec {
+
+    private final String vhost;
+    private final String name;
+    private final boolean durable;
+    private final boolean autoDelete;
+    private final Map<String, Object> arguments;
+
+    public QueueSpec(
+            @JsonProperty("vhost") final String vhost,
+            @JsonProperty("name") final String name,
+            @JsonProperty("durable") final Boolean durable,
+            @JsonProperty("autoDelete") final Boolean autoDelete,
+            @JsonProperty("arguments") final Map<String, Object> arguments
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(vhost), "Queue 'vhost' cannot be empty or null");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "Queue 'name' cannot be empty or null");
+
+        this.vhost = vhost;
+        this.name = name;
+        this.durable = durable == null || durable;
+        this.autoDelete = autoDelete != null && autoDelete;
+        this.arguments = arguments == null ? ImmutableMap.of() : ImmutableMap.copyOf(arguments);
+    }
+
+    public String getVhost() {
+        return vhost;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDurable() {
+        return durable;
+    }
+
+    public boolean isAutoDelete() {
+        return autoDelete;
+    }
+
+    public Map<String, Object> getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QueueSpec that = (QueueSpec) o;
+        return durable == that.durable &&
+                autoDelete == that.autoDelete &&
+                Objects.equal(vhost, that.vhost) &&
+                Objects.equal(name, that.name) &&
+                Objects.equal(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(vhost, name, durable, autoDelete, arguments);
+    }
+}
@@ -0,0 +1,76 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.Map;
+
+/**
+ * A binding on the RabbitMQ cluster named by clusterName, declared by the operator so that applications don't have to.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"clusterName", "vhost", "source", "destination", "destinationType", "routingKey", "arguments"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQBindingCustomResourceSpec {
+    private final String clusterName;
+    private final BindingSpec binding;
+
+    @JsonCreator
+    public RabbitMQBindingCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("vhost") final String vhost,
+            @JsonProperty("source") final String source,
+            @JsonProperty("destination") final String destination,
+            @JsonProperty("destinationType") final String destinationType,
+            @JsonProperty("routingKey") final String routingKey,
+            @JsonProperty("arguments") final Map<String, Object> arguments
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "Binding 'clusterName' cannot be empty or null");
+
+        this.clusterName = clusterName;
+        this.binding = new BindingSpec(vhost, source, destination, destinationType, routingKey, arguments);
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getVhost() {
+        return binding.getVhost();
+    }
+
+    public String getSource() {
+        return binding.getSource();
+    }
+
+    public String getDestination() {
+        return binding.getDestination();
+    }
+
+    public String getDestinationType() {
+        return binding.getDestinationType();
+    }
+
+    public String getRoutingKey() {
+        return binding.getRoutingKey();
+    }
+
+    public Map<String, Object> getArguments() {
+        return binding.getArguments();
+    }
+
+    @JsonIgnore
+    public BindingSpec getBindingSpec() {
+        return binding;
+    }
+}
@@ -0,0 +1,81 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.Map;
+
+/**
+ * An exchange on the RabbitMQ cluster named by clusterName, declared by the operator so that applications don't have to.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"clusterName", "vhost", "name", "type", "durable", "autoDelete", "internal", "arguments"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQExchangeCustomResourceSpec {
+    private final String clusterName;
+    private final ExchangeSpec exchange;
+
+    @JsonCreator
+    public RabbitMQExchangeCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("vhost") final String vhost,
+            @JsonProperty("name") final String name,
+            @JsonProperty("type") final String type,
+            @JsonProperty("durable") final Boolean durable,
+            @JsonProperty("autoDelete") final Boolean autoDelete,
+            @JsonProperty("internal") final Boolean internal,
+            @JsonProperty("arguments") final Map<String, Object> arguments
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "Exchange 'clusterName' cannot be empty or null");
+
+        this.clusterName = clusterName;
+        this.exchange = new ExchangeSpec(vhost, name, type, durable, autoDelete, internal, arguments);
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getVhost() {
+        return exchange.getVhost();
+    }
+
+    public String getName() {
+        return exchange.getName();
+    }
+
+    public String getType() {
+        return exchange.getType();
+    }
+
+    public boolean isDurable() {
+        return exchange.isDurable();
+    }
+
+    public boolean isAutoDelete() {
+        return exchange.isAutoDelete();
+    }
+
+    public boolean isInternal() {
+        return exchange.isInternal();
+    }
+
+    public Map<String, Object> getArguments() {
+        return exchange.getArguments();
+    }
+
+    @JsonIgnore
+    public ExchangeSpec getExchangeSpec() {
+        return exchange;
+    }
+}
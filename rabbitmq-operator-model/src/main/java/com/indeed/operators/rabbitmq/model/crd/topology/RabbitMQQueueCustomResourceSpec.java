@@ -0,0 +1,71 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.Map;
+
+/**
+ * A queue on the RabbitMQ cluster named by clusterName, declared by the operator so that applications don't have to.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"clusterName", "vhost", "name", "durable", "autoDelete", "arguments"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQQueueCustomResourceSpec {
+    private final String clusterName;
+    private final QueueSpec queue;
+
+    @JsonCreator
+    public RabbitMQQueueCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("vhost") final String vhost,
+            @JsonProperty("name") final String name,
+            @JsonProperty("durable") final Boolean durable,
+            @JsonProperty("autoDelete") final Boolean autoDelete,
+            @JsonProperty("arguments") final Map<String, Object> arguments
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "Queue 'clusterName' cannot be empty or null");
+
+        this.clusterName = clusterName;
+        this.queue = new QueueSpec(vhost, name, durable, autoDelete, arguments);
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getVhost() {
+        return queue.getVhost();
+    }
+
+    public String getName() {
+        return queue.getName();
+    }
+
+    public boolean isDurable() {
+        return queue.isDurable();
+    }
+
+    public boolean isAutoDelete() {
+        return queue.isAutoDelete();
+    }
+
+    public Map<String, Object> getArguments() {
+        return queue.getArguments();
+    }
+
+    @JsonIgnore
+    public QueueSpec getQueueSpec() {
+        return queue;
+    }
+}
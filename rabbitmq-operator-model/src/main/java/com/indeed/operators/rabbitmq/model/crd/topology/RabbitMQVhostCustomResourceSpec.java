@@ -0,0 +1,44 @@
+package com.indeed.operators.rabbitmq.model.crd.topology;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * A virtual host on the RabbitMQ cluster named by clusterName, declared by the operator so that applications don't have to.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"clusterName", "name"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQVhostCustomResourceSpec {
+    private final String clusterName;
+    private final String name;
+
+    @JsonCreator
+    public RabbitMQVhostCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("name") final String name
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "Vhost 'clusterName' cannot be empty or null");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "Vhost 'name' cannot be empty or null");
+
+        this.clusterName = clusterName;
+        this.name = name;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,63 @@
+package com.indeed.operators.rabbitmq.model.crd.user;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.UserSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.VhostPermissions;
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.List;
+
+/**
+ * A user of the RabbitMQ cluster named by clusterName, managed separately from the cluster's own resource.
+ */
+@Buildable(
+        builderPackage = "io.fabric8.kubernetes.api.builder",
+        editableEnabled = false
+)
+@JsonPropertyOrder({"clusterName", "username", "vhosts", "tags"})
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class RabbitMQUserCustomResourceSpec {
+    private final String clusterName;
+    private final UserSpec user;
+
+    @JsonCreator
+    public RabbitMQUserCustomResourceSpec(
+            @JsonProperty("clusterName") final String clusterName,
+            @JsonProperty("username") final String username,
+            @JsonProperty("vhosts") final List<VhostPermissions> vhosts,
+            @JsonProperty("tags") final List<String> tags
+    ) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(clusterName), "User 'clusterName' cannot be empty or null");
+
+        this.clusterName = clusterName;
+        this.user = new UserSpec(username, vhosts, tags);
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getUsername() {
+        return user.getUsername();
+    }
+
+    public List<VhostPermissions> getVhosts() {
+        return user.getVhosts();
+    }
+
+    public List<String> getTags() {
+        return user.getTags();
+    }
+
+    @JsonIgnore
+    public UserSpec getUserSpec() {
+        return user;
+    }
+}
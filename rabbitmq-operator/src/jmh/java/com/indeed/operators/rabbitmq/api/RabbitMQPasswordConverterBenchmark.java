@@ -0,0 +1,52 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing throughput with many reconciler threads sharing one converter. Run with ./gradlew :rabbitmq-operator:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(8)
+public class RabbitMQPasswordConverterBenchmark {
+
+    private static final String PASSWORD = "rJCW15GyswdLMXOSo4fLvgMykf6Q3Q";
+
+    @Param({"SHA256", "SHA512", "MD5"})
+    private PasswordHashingAlgorithm algorithm;
+
+    private RabbitMQPasswordConverter converter;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        converter = new RabbitMQPasswordConverter(() -> ThreadLocalRandom.current().nextInt(), Base64.getEncoder(), Base64.getDecoder());
+        hash = converter.convertPasswordToHash(PASSWORD, algorithm);
+    }
+
+    @Benchmark
+    public String convertPasswordToHash() {
+        return converter.convertPasswordToHash(PASSWORD, algorithm);
+    }
+
+    @Benchmark
+    public boolean passwordMatchesHash() {
+        return converter.passwordMatchesHash(PASSWORD, hash, algorithm);
+    }
+}
@@ -0,0 +1,91 @@
+package com.indeed.operators.rabbitmq;
+
+import com.google.common.base.Preconditions;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.RabbitClusterConfigurationException;
+import com.indeed.operators.rabbitmq.reconciliation.Reconciliation;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Predicate;
+
+/**
+ * Watches a kind of standalone resource that belongs to a RabbitMQ cluster and reconciles just what each changed
+ * resource declares. Anything missed here, such as an event dropped while the watch was down, is picked up by the
+ * cluster's next full reconciliation.
+ */
+public abstract class ClusterResourceWatcher<T extends CustomResource> implements Watcher<T> {
+    private static final Logger log = LoggerFactory.getLogger(ClusterResourceWatcher.class);
+
+    private final ClusterResourceReconciler reconciler;
+    private final ClusterReconciliationOrchestrator orchestrator;
+
+    protected ClusterResourceWatcher(
+            final ClusterResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        this.reconciler = Preconditions.checkNotNull(reconciler);
+        this.orchestrator = orchestrator;
+    }
+
+    @Override
+    public void eventReceived(final Action action, final T resource) {
+        try {
+            switch (action) {
+                case ADDED:
+                case MODIFIED:
+                case DELETED:
+                    // a deleted resource is reconciled too, which removes what it declared from the broker
+                    reconcile(action, resource);
+                    break;
+                default:
+                    log.error("Unsupported action: {}", action);
+            }
+        } catch (final Exception ex) {
+            log.error(String.format("Exception during %s processing - aborting this attempt", resource.getKind()), ex);
+        }
+    }
+
+    private void reconcile(final Action action, final T resource) {
+        final Reconciliation rec = new Reconciliation(resource.getMetadata().getName(), getClusterName(resource), resource.getMetadata().getNamespace(), getReconciliationType(action, resource));
+        final Predicate<ResourceKey> scope = getScope(action, resource);
+
+        orchestrator.queueReconciliation(rec, (reconciliation) -> {
+            try {
+                reconciler.reconcile(reconciliation, scope);
+            } catch (final InterruptedException e) {
+                log.error("Interrupted during reconciliation", e);
+            } catch (final RabbitClusterConfigurationException e) {
+                log.error("Rabbit cluster configuration is invalid", e);
+            }
+        });
+    }
+
+    /**
+     * Queued reconciliations are deduplicated by cluster and type, so by default each resource gets its own type.
+     */
+    protected String getReconciliationType(final Action action, final T resource) {
+        return resource.getKind() + "/" + resource.getMetadata().getName();
+    }
+
+    protected Predicate<ResourceKey> getScope(final Action action, final T resource) {
+        return getScope(resource);
+    }
+
+    protected abstract String getClusterName(T resource);
+
+    /**
+     * The keys of the broker resources this resource declares.
+     */
+    protected abstract Predicate<ResourceKey> getScope(T resource);
+
+    @Override
+    public void onClose(final KubernetesClientException cause) {
+        log.info("Closing watcher", cause);
+    }
+}
@@ -4,6 +4,13 @@ public class Constants {
 
     public static final String RABBITMQ_CRD_NAME = "rabbitmqs.indeed.com";
     public static final String RABBITMQ_NETWORK_PARTITION_CRD_NAME = "rabbitmqnetworkpartitions.indeed.com";
+    public static final String RABBITMQ_USER_CRD_NAME = "rabbitmqusers.indeed.com";
+    public static final String RABBITMQ_POLICY_CRD_NAME = "rabbitmqpolicies.indeed.com";
+    public static final String RABBITMQ_SHOVEL_CRD_NAME = "rabbitmqshovels.indeed.com";
+    public static final String RABBITMQ_VHOST_CRD_NAME = "rabbitmqvhosts.indeed.com";
+    public static final String RABBITMQ_EXCHANGE_CRD_NAME = "rabbitmqexchanges.indeed.com";
+    public static final String RABBITMQ_QUEUE_CRD_NAME = "rabbitmqqueues.indeed.com";
+    public static final String RABBITMQ_BINDING_CRD_NAME = "rabbitmqbindings.indeed.com";
 
     public static final String RABBITMQ_STORAGE_NAME = "rabbitmq-storage";
 
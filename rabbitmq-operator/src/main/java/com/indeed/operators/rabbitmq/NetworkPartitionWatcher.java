@@ -11,23 +11,36 @@ import io.fabric8.kubernetes.client.Watcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class NetworkPartitionWatcher implements Watcher<RabbitMQNetworkPartitionCustomResource> {
     private static final Logger log = LoggerFactory.getLogger(NetworkPartitionWatcher.class);
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
 
     private final NetworkPartitionReconciler reconciler;
     private final NetworkPartitionResourceController controller;
     private final ClusterReconciliationOrchestrator orchestrator;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final Map<String, ScheduledFuture<?>> nextSteps;
 
     public NetworkPartitionWatcher(
             final NetworkPartitionReconciler reconciler,
             final NetworkPartitionResourceController controller,
-            final ClusterReconciliationOrchestrator orchestrator
+            final ClusterReconciliationOrchestrator orchestrator,
+            final ScheduledExecutorService scheduledExecutor
     ) {
         this.reconciler = Preconditions.checkNotNull(reconciler);
         this.controller = controller;
         this.orchestrator = orchestrator;
+        this.scheduledExecutor = scheduledExecutor;
+        this.nextSteps = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -51,13 +64,31 @@ public class NetworkPartitionWatcher implements Watcher<RabbitMQNetworkPartition
     private void reconcile(final RabbitMQNetworkPartitionCustomResource resource) {
         final Reconciliation rec = new Reconciliation(resource.getName(), resource.getSpec().getClusterName(), resource.getMetadata().getNamespace(), resource.getKind());
 
-        orchestrator.queueReconciliation(rec, (reconciliation) -> {
-            try {
-                reconciler.reconcile(reconciliation);
-            } catch (final InterruptedException e) {
-                log.error("Interrupted during reconciliation", e);
-            }
-        });
+        orchestrator.queueReconciliation(rec, this::step);
+    }
+
+    /**
+     * Takes one step of the heal and schedules the next, rather than holding a thread until the heal is done.
+     * Steps for the same partition can be started from more than one place, so only the latest one is kept. A
+     * step that throws is retried shortly, rather than leaving the heal to the next periodic pass.
+     */
+    private void step(final Reconciliation reconciliation) {
+        Optional<Duration> nextStep;
+        try {
+            nextStep = reconciler.reconcile(reconciliation);
+        } catch (final RuntimeException e) {
+            log.error(String.format("Exception while healing network partition %s, retrying in %s", reconciliation.getResourceName(), RETRY_INTERVAL), e);
+            nextStep = Optional.of(RETRY_INTERVAL);
+        }
+        final String key = reconciliation.getNamespace() + "/" + reconciliation.getResourceName();
+
+        final ScheduledFuture<?> previous = nextStep.isPresent() ?
+                nextSteps.put(key, scheduledExecutor.schedule(() -> orchestrator.queueReconciliation(reconciliation, this::step), nextStep.get().toMillis(), TimeUnit.MILLISECONDS)) :
+                nextSteps.remove(key);
+
+        if (previous != null) {
+            previous.cancel(false);
+        }
     }
 
     public void reconcileAll(final String namespace) {
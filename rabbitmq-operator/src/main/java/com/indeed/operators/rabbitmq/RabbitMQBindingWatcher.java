@@ -0,0 +1,29 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQBindingCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.TopologyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
+
+import java.util.function.Predicate;
+
+public class RabbitMQBindingWatcher extends TopologyResourceWatcher<RabbitMQBindingCustomResource> {
+
+    public RabbitMQBindingWatcher(
+            final TopologyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQBindingCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQBindingCustomResource resource) {
+        return TopologyReconciler.getBindingKey(resource.getSpec().getBindingSpec())::equals;
+    }
+}
@@ -2,6 +2,7 @@ package com.indeed.operators.rabbitmq;
 
 import com.google.common.base.Preconditions;
 import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.Labels;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
 import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
 import com.indeed.operators.rabbitmq.reconciliation.RabbitClusterConfigurationException;
@@ -13,6 +14,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RabbitMQEventWatcher implements Watcher<RabbitMQCustomResource> {
     private static final Logger log = LoggerFactory.getLogger(RabbitMQEventWatcher.class);
@@ -20,6 +24,8 @@ public class RabbitMQEventWatcher implements Watcher<RabbitMQCustomResource> {
     private final RabbitMQClusterReconciler reconciler;
     private final RabbitMQResourceController controller;
     private final ClusterReconciliationOrchestrator orchestrator;
+    // the last lockedBy label seen for each locked cluster, since locking and unlocking don't bump the generation
+    private final Map<String, String> locks = new ConcurrentHashMap<>();
 
     public RabbitMQEventWatcher(
             final RabbitMQClusterReconciler reconciler,
@@ -36,10 +42,20 @@ public class RabbitMQEventWatcher implements Watcher<RabbitMQCustomResource> {
         try {
             switch (action) {
                 case ADDED:
-                case MODIFIED:
+                    isLockChange(resource);
                     reconcile(resource);
                     break;
+                case MODIFIED:
+                    final boolean lockChange = isLockChange(resource);
+                    if (isStatusOrMetadataChange(resource) && !lockChange) {
+                        // our own status writes come back as MODIFIED events; the periodic pass picks up anything else
+                        log.debug("Ignoring change to rabbit {} that didn't change its spec", resource.getName());
+                    } else {
+                        reconcile(resource);
+                    }
+                    break;
                 case DELETED:
+                    locks.remove(getKey(resource));
                     log.info("rabbit {} deleted", resource.getName());
                     break;
                 default:
@@ -64,6 +80,30 @@ public class RabbitMQEventWatcher implements Watcher<RabbitMQCustomResource> {
         });
     }
 
+    private boolean isStatusOrMetadataChange(final RabbitMQCustomResource resource) {
+        final Long generation = resource.getMetadata().getGeneration();
+
+        return generation != null && resource.getStatus() != null && generation.equals(resource.getStatus().getObservedGeneration());
+    }
+
+    /**
+     * Records the resource's lockedBy label, and returns whether it was added or removed since the last event. A
+     * cluster that's unlocked after a partition heal has to be reconciled straight away rather than on the next
+     * periodic pass.
+     */
+    private boolean isLockChange(final RabbitMQCustomResource resource) {
+        final Map<String, String> labels = resource.getMetadata().getLabels();
+        final String lockedBy = labels == null ? null : labels.get(Labels.Indeed.LOCKED_BY);
+        final String key = getKey(resource);
+        final String previous = lockedBy == null ? locks.remove(key) : locks.put(key, lockedBy);
+
+        return !Objects.equals(previous, lockedBy);
+    }
+
+    private String getKey(final RabbitMQCustomResource resource) {
+        return resource.getMetadata().getNamespace() + "/" + resource.getName();
+    }
+
     public void reconcileAll(final String namespace) {
         log.info("Reconciling all RabbitMQ cluster resources in namespace {}", namespace);
         final List<RabbitMQCustomResource> allResources = controller.getAll(namespace);
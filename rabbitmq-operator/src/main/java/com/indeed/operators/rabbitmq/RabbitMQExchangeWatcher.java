@@ -0,0 +1,29 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQExchangeCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.TopologyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
+
+import java.util.function.Predicate;
+
+public class RabbitMQExchangeWatcher extends TopologyResourceWatcher<RabbitMQExchangeCustomResource> {
+
+    public RabbitMQExchangeWatcher(
+            final TopologyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQExchangeCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQExchangeCustomResource resource) {
+        return TopologyReconciler.getExchangeKey(resource.getSpec().getExchangeSpec())::equals;
+    }
+}
@@ -1,9 +1,24 @@
 package com.indeed.operators.rabbitmq;
 
 import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQBindingResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQExchangeResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQPolicyResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQQueueResourceController;
 import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQShovelResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQUserResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQVhostResourceController;
 import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.policy.RabbitMQPolicyCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.shovel.RabbitMQShovelCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQBindingCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQExchangeCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQQueueCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQVhostCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.user.RabbitMQUserCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.NetworkPartitionDetector;
 import io.fabric8.kubernetes.internal.KubernetesDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,8 +39,23 @@ public class RabbitMQOperator implements CommandLineRunner {
 
     private final RabbitMQResourceController rabbitMQResourceController;
     private final NetworkPartitionResourceController networkPartitionResourceController;
+    private final RabbitMQUserResourceController userResourceController;
+    private final RabbitMQPolicyResourceController policyResourceController;
+    private final RabbitMQShovelResourceController shovelResourceController;
+    private final RabbitMQVhostResourceController vhostResourceController;
+    private final RabbitMQExchangeResourceController exchangeResourceController;
+    private final RabbitMQQueueResourceController queueResourceController;
+    private final RabbitMQBindingResourceController bindingResourceController;
     private final RabbitMQEventWatcher rabbitMQEventWatcher;
     private final NetworkPartitionWatcher networkPartitionWatcher;
+    private final RabbitMQUserWatcher userWatcher;
+    private final RabbitMQPolicyWatcher policyWatcher;
+    private final RabbitMQShovelWatcher shovelWatcher;
+    private final RabbitMQVhostWatcher vhostWatcher;
+    private final RabbitMQExchangeWatcher exchangeWatcher;
+    private final RabbitMQQueueWatcher queueWatcher;
+    private final RabbitMQBindingWatcher bindingWatcher;
+    private final NetworkPartitionDetector networkPartitionDetector;
     private final ScheduledExecutorService scheduledExecutor;
     private final String namespace;
 
@@ -33,15 +63,45 @@ public class RabbitMQOperator implements CommandLineRunner {
     public RabbitMQOperator(
             final RabbitMQResourceController rabbitMQResourceController,
             final NetworkPartitionResourceController networkPartitionResourceController,
+            final RabbitMQUserResourceController userResourceController,
+            final RabbitMQPolicyResourceController policyResourceController,
+            final RabbitMQShovelResourceController shovelResourceController,
+            final RabbitMQVhostResourceController vhostResourceController,
+            final RabbitMQExchangeResourceController exchangeResourceController,
+            final RabbitMQQueueResourceController queueResourceController,
+            final RabbitMQBindingResourceController bindingResourceController,
             final RabbitMQEventWatcher rabbitMQEventWatcher,
             final NetworkPartitionWatcher networkPartitionWatcher,
+            final RabbitMQUserWatcher userWatcher,
+            final RabbitMQPolicyWatcher policyWatcher,
+            final RabbitMQShovelWatcher shovelWatcher,
+            final RabbitMQVhostWatcher vhostWatcher,
+            final RabbitMQExchangeWatcher exchangeWatcher,
+            final RabbitMQQueueWatcher queueWatcher,
+            final RabbitMQBindingWatcher bindingWatcher,
+            final NetworkPartitionDetector networkPartitionDetector,
             final ScheduledExecutorService scheduledExecutor,
             final String namespace
     ) {
         this.rabbitMQResourceController = rabbitMQResourceController;
         this.networkPartitionResourceController = networkPartitionResourceController;
+        this.userResourceController = userResourceController;
+        this.policyResourceController = policyResourceController;
+        this.shovelResourceController = shovelResourceController;
+        this.vhostResourceController = vhostResourceController;
+        this.exchangeResourceController = exchangeResourceController;
+        this.queueResourceController = queueResourceController;
+        this.bindingResourceController = bindingResourceController;
         this.rabbitMQEventWatcher = rabbitMQEventWatcher;
         this.networkPartitionWatcher = networkPartitionWatcher;
+        this.userWatcher = userWatcher;
+        this.policyWatcher = policyWatcher;
+        this.shovelWatcher = shovelWatcher;
+        this.vhostWatcher = vhostWatcher;
+        this.exchangeWatcher = exchangeWatcher;
+        this.queueWatcher = queueWatcher;
+        this.bindingWatcher = bindingWatcher;
+        this.networkPartitionDetector = networkPartitionDetector;
         this.scheduledExecutor = scheduledExecutor;
         this.namespace = namespace;
     }
@@ -58,6 +118,13 @@ public class RabbitMQOperator implements CommandLineRunner {
 
         rabbitMQResourceController.watch(rabbitMQEventWatcher, namespace);
         networkPartitionResourceController.watch(networkPartitionWatcher, namespace);
+        userResourceController.watch(userWatcher, namespace);
+        policyResourceController.watch(policyWatcher, namespace);
+        shovelResourceController.watch(shovelWatcher, namespace);
+        vhostResourceController.watch(vhostWatcher, namespace);
+        exchangeResourceController.watch(exchangeWatcher, namespace);
+        queueResourceController.watch(queueWatcher, namespace);
+        bindingResourceController.watch(bindingWatcher, namespace);
 
 
         scheduledExecutor.scheduleAtFixedRate(() -> {
@@ -76,10 +143,26 @@ public class RabbitMQOperator implements CommandLineRunner {
             }
 
         }, 10, 60, TimeUnit.SECONDS);
+
+        // clusters are each checked at their own interval, so this only needs to be shorter than the shortest one
+        scheduledExecutor.scheduleAtFixedRate(() -> {
+            try {
+                networkPartitionDetector.detectAll(namespace);
+            } catch (final Throwable t) {
+                log.error("Got an error while checking clusters for network partitions", t);
+            }
+        }, 10, 5, TimeUnit.SECONDS);
     }
 
     private void registerCrdDeserializationTypes() {
         KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQCustomResource", RabbitMQCustomResource.class);
         KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQNetworkPartitionCustomResource", RabbitMQNetworkPartitionCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQUserCustomResource", RabbitMQUserCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQPolicyCustomResource", RabbitMQPolicyCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQShovelCustomResource", RabbitMQShovelCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQVhostCustomResource", RabbitMQVhostCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQExchangeCustomResource", RabbitMQExchangeCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQQueueCustomResource", RabbitMQQueueCustomResource.class);
+        KubernetesDeserializer.registerCustomKind("indeed.com/v1alpha1", "RabbitMQBindingCustomResource", RabbitMQBindingCustomResource.class);
     }
 }
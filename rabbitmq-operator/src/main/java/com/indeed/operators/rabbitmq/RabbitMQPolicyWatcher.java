@@ -0,0 +1,34 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.policy.RabbitMQPolicyCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.policy.RabbitMQPolicyCustomResourceSpec;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.PolicyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+
+import java.util.function.Predicate;
+
+public class RabbitMQPolicyWatcher extends ClusterResourceWatcher<RabbitMQPolicyCustomResource> {
+
+    public RabbitMQPolicyWatcher(
+            final PolicyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQPolicyCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQPolicyCustomResource resource) {
+        final RabbitMQPolicyCustomResourceSpec spec = resource.getSpec();
+        final ResourceKey key = spec.getPolicy() != null
+                ? ResourceKey.of(spec.getPolicy().getVhost(), spec.getPolicy().getName())
+                : ResourceKey.of(spec.getOperatorPolicy().getVhost(), spec.getOperatorPolicy().getName());
+
+        return key::equals;
+    }
+}
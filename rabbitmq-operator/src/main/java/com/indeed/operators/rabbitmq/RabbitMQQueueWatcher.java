@@ -0,0 +1,29 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQQueueCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.TopologyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
+
+import java.util.function.Predicate;
+
+public class RabbitMQQueueWatcher extends TopologyResourceWatcher<RabbitMQQueueCustomResource> {
+
+    public RabbitMQQueueWatcher(
+            final TopologyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQQueueCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQQueueCustomResource resource) {
+        return TopologyReconciler.getQueueKey(resource.getSpec().getQueueSpec())::equals;
+    }
+}
@@ -0,0 +1,28 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.shovel.RabbitMQShovelCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.ShovelResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+
+import java.util.function.Predicate;
+
+public class RabbitMQShovelWatcher extends ClusterResourceWatcher<RabbitMQShovelCustomResource> {
+
+    public RabbitMQShovelWatcher(
+            final ShovelResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQShovelCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQShovelCustomResource resource) {
+        return ResourceKey.of(resource.getSpec().getSource().getVhost(), resource.getSpec().getName())::equals;
+    }
+}
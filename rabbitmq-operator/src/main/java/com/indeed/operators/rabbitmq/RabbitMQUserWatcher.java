@@ -0,0 +1,28 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.user.RabbitMQUserCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.UserResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+
+import java.util.function.Predicate;
+
+public class RabbitMQUserWatcher extends ClusterResourceWatcher<RabbitMQUserCustomResource> {
+
+    public RabbitMQUserWatcher(
+            final UserResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQUserCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQUserCustomResource resource) {
+        return ResourceKey.global(resource.getSpec().getUsername())::equals;
+    }
+}
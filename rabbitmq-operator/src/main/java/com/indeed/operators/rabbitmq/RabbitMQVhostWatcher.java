@@ -0,0 +1,29 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQVhostCustomResource;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.TopologyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
+
+import java.util.function.Predicate;
+
+public class RabbitMQVhostWatcher extends TopologyResourceWatcher<RabbitMQVhostCustomResource> {
+
+    public RabbitMQVhostWatcher(
+            final TopologyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getClusterName(final RabbitMQVhostCustomResource resource) {
+        return resource.getSpec().getClusterName();
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final RabbitMQVhostCustomResource resource) {
+        return TopologyReconciler.getVhostKey(resource.getSpec().getName())::equals;
+    }
+}
@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq;
+
+import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.TopologyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import io.fabric8.kubernetes.client.CustomResource;
+
+import java.util.function.Predicate;
+
+/**
+ * Watches a kind of topology resource. Additions and changes across all topology kinds share one reconciliation
+ * type per cluster, so a burst of them, such as an application's manifests being applied, collapses into a single
+ * batch. Deletions are queued per resource, since each has to remove its own key.
+ */
+public abstract class TopologyResourceWatcher<T extends CustomResource> extends ClusterResourceWatcher<T> {
+
+    private static final String TOPOLOGY_RECONCILIATION_TYPE = "topology";
+
+    protected TopologyResourceWatcher(
+            final TopologyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        super(reconciler, orchestrator);
+    }
+
+    @Override
+    protected String getReconciliationType(final Action action, final T resource) {
+        return action == Action.DELETED ? super.getReconciliationType(action, resource) : TOPOLOGY_RECONCILIATION_TYPE;
+    }
+
+    @Override
+    protected Predicate<ResourceKey> getScope(final Action action, final T resource) {
+        return action == Action.DELETED ? getScope(resource) : key -> false;
+    }
+}
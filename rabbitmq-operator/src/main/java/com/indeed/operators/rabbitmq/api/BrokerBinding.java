@@ -0,0 +1,31 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.indeed.operators.rabbitmq.model.crd.topology.BindingSpec;
+
+/**
+ * A binding as the broker reports it. Deleting a binding takes its properties key, which the broker
+ * derives from the routing key and arguments, so it's kept alongside the spec.
+ */
+public class BrokerBinding {
+
+    private final BindingSpec spec;
+    private final String propertiesKey;
+
+    public BrokerBinding(final BindingSpec spec, final String propertiesKey) {
+        this.spec = spec;
+        this.propertiesKey = propertiesKey;
+    }
+
+    static BrokerBinding fromJson(final JsonNode json) {
+        return new BrokerBinding(TopologyJson.toBindingSpec(json), json.path("properties_key").asText());
+    }
+
+    public BindingSpec getSpec() {
+        return spec;
+    }
+
+    public String getPropertiesKey() {
+        return propertiesKey;
+    }
+}
@@ -0,0 +1,64 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+
+/**
+ * One entry from /api/nodes, reduced to what's needed to tell whether the cluster is partitioned: whether the
+ * node is running and which other nodes it has lost contact with.
+ */
+public class NodePartitions {
+
+    private final String name;
+    private final boolean running;
+    private final Set<String> partitions;
+
+    public NodePartitions(
+            final String name,
+            final boolean running,
+            final Set<String> partitions
+    ) {
+        this.name = name;
+        this.running = running;
+        this.partitions = partitions;
+    }
+
+    static NodePartitions fromJson(final JsonNode json) {
+        final ImmutableSet.Builder<String> partitions = ImmutableSet.builder();
+        json.path("partitions").forEach(node -> partitions.add(node.asText()));
+
+        return new NodePartitions(
+                json.path("name").asText(),
+                json.path("running").asBoolean(),
+                partitions.build()
+        );
+    }
+
+    /**
+     * @return the broker's name for the node, e.g. "rabbit@myrabbit-0.myrabbit-discovery.ns.svc.cluster.local"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name of the pod the node runs in
+     */
+    public String getPodName() {
+        return RabbitManagementApiRouter.getPodName(name);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the names of the nodes this node has been partitioned from, which is empty for a node that can
+     *         reach every other node or that isn't running
+     */
+    public Set<String> getPartitions() {
+        return partitions;
+    }
+}
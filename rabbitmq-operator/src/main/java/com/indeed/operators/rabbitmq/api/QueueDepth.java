@@ -0,0 +1,84 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * How many messages one queue holds and how fast they're leaving it, from a column-projected /api/queues listing.
+ */
+public class QueueDepth {
+
+    private final String vhost;
+    private final String name;
+    private final String node;
+    private final long messages;
+    private final int consumers;
+    private final double deliverRate;
+    private final double ackRate;
+
+    public QueueDepth(
+            final String vhost,
+            final String name,
+            final String node,
+            final long messages,
+            final int consumers,
+            final double deliverRate,
+            final double ackRate
+    ) {
+        this.vhost = vhost;
+        this.name = name;
+        this.node = node;
+        this.messages = messages;
+        this.consumers = consumers;
+        this.deliverRate = deliverRate;
+        this.ackRate = ackRate;
+    }
+
+    static QueueDepth fromJson(final JsonNode json) {
+        // message_stats is left out entirely for queues that haven't seen any traffic since stats were reset
+        final JsonNode stats = json.path("message_stats");
+
+        return new QueueDepth(
+                json.path("vhost").asText(),
+                json.path("name").asText(),
+                json.path("node").asText(),
+                json.path("messages").asLong(0),
+                json.path("consumers").asInt(0),
+                stats.path("deliver_get_details").path("rate").asDouble(0),
+                stats.path("ack_details").path("rate").asDouble(0)
+        );
+    }
+
+    public String getVhost() {
+        return vhost;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the node the queue's leader lives on.
+     */
+    public String getNode() {
+        return node;
+    }
+
+    public long getMessages() {
+        return messages;
+    }
+
+    public int getConsumers() {
+        return consumers;
+    }
+
+    /**
+     * @return messages per second handed to consumers or fetched with basic.get, acknowledged or not.
+     */
+    public double getDeliverRate() {
+        return deliverRate;
+    }
+
+    public double getAckRate() {
+        return ackRate;
+    }
+}
@@ -1,51 +1,95 @@
 package com.indeed.operators.rabbitmq.api;
 
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
+
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.util.Arrays;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import java.util.Random;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
 
+/**
+ * Produces and checks password hashes in RabbitMQ's format: base64(salt + digest(salt + password)) with a
+ * four byte salt. Safe for concurrent use; each thread gets its own {@link MessageDigest} per algorithm.
+ */
 public class RabbitMQPasswordConverter {
 
-    private final Random random;
-    private final MessageDigest messageDigest;
+    private static final int SALT_LENGTH = 4;
+
+    private final IntSupplier saltGenerator;
     private final Base64.Encoder base64Encoder;
     private final Base64.Decoder base64Decoder;
-
+    private final Map<PasswordHashingAlgorithm, ThreadLocal<MessageDigest>> messageDigests;
 
     public RabbitMQPasswordConverter(
-            final Random random,
-            final MessageDigest messageDigest,
+            final IntSupplier saltGenerator,
             final Base64.Encoder base64Encoder,
             final Base64.Decoder base64Decoder
     ) {
-        this.random = random;
-        this.messageDigest = messageDigest;
+        this.saltGenerator = saltGenerator;
         this.base64Encoder = base64Encoder;
         this.base64Decoder = base64Decoder;
+        this.messageDigests = new EnumMap<>(PasswordHashingAlgorithm.class);
+
+        for (final PasswordHashingAlgorithm algorithm : PasswordHashingAlgorithm.values()) {
+            messageDigests.put(algorithm, ThreadLocal.withInitial(() -> newMessageDigest(algorithm)));
+        }
     }
 
     public String convertPasswordToHash(final String password) {
-        return convertPasswordToHash(password, random.nextInt());
+        return convertPasswordToHash(password, PasswordHashingAlgorithm.SHA256);
+    }
+
+    public String convertPasswordToHash(final String password, final PasswordHashingAlgorithm algorithm) {
+        return convertPasswordToHash(password, saltGenerator.getAsInt(), algorithm);
     }
 
     public String convertPasswordToHash(final String password, final int salt) {
-        final byte[] saltBytes = ByteBuffer.allocate(4).putInt(salt).array();
+        return convertPasswordToHash(password, salt, PasswordHashingAlgorithm.SHA256);
+    }
+
+    public String convertPasswordToHash(final String password, final int salt, final PasswordHashingAlgorithm algorithm) {
+        final byte[] saltBytes = ByteBuffer.allocate(SALT_LENGTH).putInt(salt).array();
         final byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
 
         final byte[] passwordWithSalt = ByteBuffer.allocate(saltBytes.length + passwordBytes.length).put(saltBytes).put(passwordBytes).array();
 
-        final byte[] hashedBytes = messageDigest.digest(passwordWithSalt);
+        // digest() resets the digest afterwards, so the thread's instance is ready for its next use
+        final byte[] hashedBytes = messageDigests.get(algorithm).get().digest(passwordWithSalt);
 
         return base64Encoder.encodeToString(ByteBuffer.allocate(hashedBytes.length + saltBytes.length).put(saltBytes).put(hashedBytes).array());
     }
 
     public boolean passwordMatchesHash(final String password, final String hash) {
-        final byte[] decodedHash = base64Decoder.decode(hash);
+        return passwordMatchesHash(password, hash, PasswordHashingAlgorithm.SHA256);
+    }
+
+    public boolean passwordMatchesHash(final String password, final String hash, final PasswordHashingAlgorithm algorithm) {
+        final byte[] decodedHash;
+        try {
+            decodedHash = base64Decoder.decode(hash);
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+
+        if (decodedHash.length < SALT_LENGTH) {
+            return false;
+        }
+
         final int salt = ByteBuffer.wrap(decodedHash).getInt();
 
-        return convertPasswordToHash(password, salt).equals(hash);
+        return convertPasswordToHash(password, salt, algorithm).equals(hash);
+    }
+
+    private static MessageDigest newMessageDigest(final PasswordHashingAlgorithm algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm.getDigestAlgorithm());
+        } catch (final NoSuchAlgorithmException e) {
+            // every JRE is required to provide all of these
+            throw new IllegalStateException(String.format("No %s implementation available", algorithm.getDigestAlgorithm()), e);
+        }
     }
 }
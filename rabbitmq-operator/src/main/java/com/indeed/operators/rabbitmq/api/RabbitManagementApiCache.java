@@ -0,0 +1,129 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache for the management API list calls that every reconciliation pass repeats.
+ *
+ * Each endpoint gets its own TTL. The facade invalidates an endpoint whenever it writes to it, so
+ * the operator always reads its own writes; changes made behind the operator's back become visible
+ * once the TTL expires. A load that was already under way when its endpoint was invalidated may have
+ * read the broker before the write, so its result is handed to the callers that were waiting on it but
+ * never served to anyone who arrives later.
+ *
+ * One cache is shared by every facade of a cluster, since a write through one of them changes what all
+ * of them would read.
+ */
+public class RabbitManagementApiCache {
+
+    public enum Endpoint {
+        USERS,
+        PERMISSIONS,
+        POLICIES,
+        OPERATOR_POLICIES,
+        SHOVELS
+    }
+
+    private final Map<Endpoint, Cache<String, Entry>> caches;
+    // bumped on every invalidation, so a load can tell whether an invalidation happened while it was running
+    private final Map<Endpoint, AtomicLong> epochs;
+
+    public RabbitManagementApiCache(final Map<Endpoint, Duration> ttls) {
+        final ImmutableMap.Builder<Endpoint, Cache<String, Entry>> builder = ImmutableMap.builder();
+        final ImmutableMap.Builder<Endpoint, AtomicLong> epochs = ImmutableMap.builder();
+        for (final Endpoint endpoint : Endpoint.values()) {
+            epochs.put(endpoint, new AtomicLong());
+            final Duration ttl = ttls.getOrDefault(endpoint, Duration.ZERO);
+            builder.put(endpoint, CacheBuilder.newBuilder()
+                    .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    .build());
+        }
+
+        this.caches = builder.build();
+        this.epochs = epochs.build();
+    }
+
+    /**
+     * Lists are cached as read-only views, since every caller that hits the cache gets the same instance.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Endpoint endpoint, final String key, final Supplier<T> loader) {
+        final Cache<String, Entry> cache = caches.get(endpoint);
+        final AtomicLong currentEpoch = epochs.get(endpoint);
+
+        while (true) {
+            final long epoch = currentEpoch.get();
+            final Entry entry;
+            try {
+                entry = cache.get(key, () -> new Entry(epoch, readOnly(loader.get())));
+            } catch (final ExecutionException | UncheckedExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new RabbitManagementApiException("failed", e.getCause());
+            }
+
+            if (entry.epoch == currentEpoch.get()) {
+                return (T) entry.value;
+            }
+
+            // the endpoint was invalidated after this entry's load started, so it mustn't be served again
+            cache.asMap().remove(key, entry);
+            if (entry.epoch >= epoch) {
+                // the load started no earlier than this call, so it's as fresh as this caller can expect
+                return (T) entry.value;
+            }
+        }
+    }
+
+    public void invalidate(final Endpoint endpoint) {
+        epochs.get(endpoint).incrementAndGet();
+        caches.get(endpoint).invalidateAll();
+    }
+
+    public void invalidateAll() {
+        for (final Endpoint endpoint : Endpoint.values()) {
+            invalidate(endpoint);
+        }
+    }
+
+    public CacheStats getStats(final Endpoint endpoint) {
+        return caches.get(endpoint).stats();
+    }
+
+    public void bindTo(final MeterRegistry meterRegistry, final Tags tags) {
+        for (final Map.Entry<Endpoint, Cache<String, Entry>> cache : caches.entrySet()) {
+            GuavaCacheMetrics.monitor(meterRegistry, cache.getValue(), "rabbitmq.management.api", tags.and("endpoint", cache.getKey().name().toLowerCase()));
+        }
+    }
+
+    private static Object readOnly(final Object value) {
+        return value instanceof List ? Collections.unmodifiableList((List<?>) value) : value;
+    }
+
+    private static class Entry {
+        private final long epoch;
+        private final Object value;
+
+        Entry(final long epoch, final Object value) {
+            this.epoch = epoch;
+            this.value = value;
+        }
+    }
+}
@@ -1,5 +1,14 @@
 package com.indeed.operators.rabbitmq.api;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiCache.Endpoint;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
+import com.indeed.operators.rabbitmq.model.crd.topology.BindingSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.ExchangeSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.QueueSpec;
 import com.indeed.rabbitmq.admin.RabbitManagementApi;
 import com.indeed.rabbitmq.admin.pojo.Bind;
 import com.indeed.rabbitmq.admin.pojo.Binding;
@@ -20,330 +29,717 @@ import com.indeed.rabbitmq.admin.pojo.Shovel;
 import com.indeed.rabbitmq.admin.pojo.Status;
 import com.indeed.rabbitmq.admin.pojo.User;
 import com.indeed.rabbitmq.admin.pojo.VirtualHost;
+import okhttp3.Request;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public class RabbitManagementApiFacade {
 
-    private final RabbitManagementApi api;
+    private static final String ALL = "*";
+    private static final Map<String, String> EXCHANGE_COLUMNS = ImmutableMap.of("columns", "vhost,name,type,durable,auto_delete,internal,arguments", "disable_stats", "true");
+    private static final Map<String, String> QUEUE_COLUMNS = ImmutableMap.of("columns", "vhost,name,durable,auto_delete,arguments", "disable_stats", "true");
+    private static final Map<String, String> BINDING_COLUMNS = ImmutableMap.of("columns", "vhost,source,destination,destination_type,routing_key,arguments,properties_key");
+    private static final RabbitManagementApiListQuery QUEUE_DEPTH_QUERY = RabbitManagementApiListQuery.newBuilder()
+            .withPageSize(RabbitManagementApiListQuery.MAX_PAGE_SIZE)
+            .withColumns("vhost", "name", "node", "messages", "consumers", "message_stats.deliver_get_details.rate", "message_stats.ack_details.rate")
+            .build();
+    private static final Map<String, String> VHOST_COLUMNS = ImmutableMap.of("columns", "name", "disable_stats", "true");
+    private static final Map<String, String> QUEUE_TOTALS_COLUMNS = ImmutableMap.of("columns", "queue_totals.messages");
+    private static final Map<String, String> VHOST_MESSAGES_COLUMNS = ImmutableMap.of("columns", "messages");
+    private static final Map<String, String> NODE_PARTITIONS_COLUMNS = ImmutableMap.of("columns", "name,running,partitions");
+
+    private final RabbitManagementApiRouter router;
+    private final RabbitManagementApiCache cache;
+    private final RabbitManagementApiHedger hedger;
+    private final RabbitManagementApiSingleFlight singleFlight;
+    private final RabbitManagementApiRateLimiter rateLimiter;
 
     public RabbitManagementApiFacade(
-            final RabbitManagementApi api
+            final RabbitManagementApiRouter router,
+            final RabbitManagementApiCache cache,
+            final RabbitManagementApiHedger hedger,
+            final RabbitManagementApiSingleFlight singleFlight,
+            final RabbitManagementApiRateLimiter rateLimiter
     ) {
-        this.api = api;
+        this.router = router;
+        this.cache = cache;
+        this.hedger = hedger;
+        this.singleFlight = singleFlight;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RabbitManagementApiCache getCache() {
+        return cache;
+    }
+
+    public RabbitManagementApiRouter getRouter() {
+        return router;
+    }
+
+    public RabbitManagementApiSingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    public RabbitManagementApiRateLimiter getRateLimiter() {
+        return rateLimiter;
     }
 
     public Overview getOverview() {
-        return executeCall(() -> api.getOverview());
+        return executeHedgedRead(api -> api.getOverview());
+    }
+
+    /**
+     * The number of messages in every queue together, as counted by the management plugin's own aggregation,
+     * so it costs the same however many queues there are.
+     *
+     * @return the total, or empty if the broker hasn't collected it yet
+     */
+    public OptionalLong getTotalQueueMessages() {
+        return executeStream(httpClient -> asOptionalLong(httpClient.getJson(ImmutableList.of("overview"), QUEUE_TOTALS_COLUMNS).path("queue_totals").path("messages")));
+    }
+
+    /**
+     * Like {@link #getTotalQueueMessages()}, for the queues of one vhost.
+     */
+    public OptionalLong getVirtualHostMessages(final String vhost) {
+        return executeStream(httpClient -> asOptionalLong(httpClient.getJson(ImmutableList.of("vhosts", vhost), VHOST_MESSAGES_COLUMNS).path("messages")));
     }
 
     public Status getAliveness(final String vhost) {
-        return executeCall(() -> api.getAliveness(vhost));
+        return executeHedgedRead(api -> api.getAliveness(vhost));
     }
 
     public ClusterName getClusterName() {
-        return executeCall(() -> api.getClusterName());
+        return executeRead(api -> api.getClusterName());
     }
 
     public ResponseBody setClusterName(final ClusterName name) {
-        return executeCall(() -> api.setClusterName(name));
+        return executeWrite(api -> api.setClusterName(name));
     }
 
     public List<Binding> listBindings() {
-        return executeCall(() -> api.listBindings());
+        return executeRead(api -> api.listBindings());
     }
 
     public List<Binding> listBindings(final String vhost) {
-        return executeCall(() -> api.listBindings(vhost));
+        return executeRead(api -> api.listBindings(vhost));
     }
 
     public List<Binding> listBindingsFromExchange(final String vhost, final String exchange) {
-        return executeCall(() -> api.listBindingsFromExchange(vhost, exchange));
+        return executeRead(api -> api.listBindingsFromExchange(vhost, exchange));
     }
 
     public List<Binding> listBindingsToExchange(final String vhost, final String exchange) {
-        return executeCall(() -> api.listBindingsToExchange(vhost, exchange));
+        return executeRead(api -> api.listBindingsToExchange(vhost, exchange));
     }
 
     public List<Binding> listBindingsToQueue(final String vhost, final String queue) {
-        return executeCall(() -> api.listBindingsToQueue(vhost, queue));
+        return executeRead(api -> api.listBindingsToQueue(vhost, queue));
     }
 
     public List<Binding> listExchangeToQueueBindings(final String vhost, final String exchange, final String queue) {
-        return executeCall(() -> api.listExchangeToQueueBindings(vhost, exchange, queue));
+        return executeRead(api -> api.listExchangeToQueueBindings(vhost, exchange, queue));
     }
 
     public ResponseBody bindExchangeToQueue(final String vhost, final String exchange, final String queue, final Bind bind) {
-        return executeCall(() -> api.bindExchangeToQueue(vhost, exchange, queue, bind));
+        return executeWrite(api -> api.bindExchangeToQueue(vhost, exchange, queue, bind));
     }
 
     public Binding getExchangeToQueueBinding(final String vhost, final String exchange, final String queue, final String bindingKey) {
-        return executeCall(() -> api.getExchangeToQueueBinding(vhost, exchange, queue, bindingKey));
+        return executeRead(api -> api.getExchangeToQueueBinding(vhost, exchange, queue, bindingKey));
     }
 
     public ResponseBody deleteExchangeToQueueBinding(final String vhost, final String exchange, final String queue, final String bindingKey) {
-        return executeCall(() -> api.deleteExchangeToQueueBinding(vhost, exchange, queue, bindingKey));
+        return executeWrite(api -> api.deleteExchangeToQueueBinding(vhost, exchange, queue, bindingKey));
     }
 
     public List<Binding> listExchangeToExchangeBindings(final String vhost, final String source, final String destination) {
-        return executeCall(() -> api.listExchangeToExchangeBindings(vhost, source, destination));
+        return executeRead(api -> api.listExchangeToExchangeBindings(vhost, source, destination));
     }
 
     public ResponseBody bindExchangeToExchange(final String vhost, final String source, final String destination, final Bind bind) {
-        return executeCall(() -> api.bindExchangeToExchange(vhost, source, destination, bind));
+        return executeWrite(api -> api.bindExchangeToExchange(vhost, source, destination, bind));
     }
 
     public Binding getExchangeToExchangeBinding(final String vhost, final String source, final String destination, final String bindingKey) {
-        return executeCall(() -> api.getExchangeToExchangeBinding(vhost, source, destination, bindingKey));
+        return executeRead(api -> api.getExchangeToExchangeBinding(vhost, source, destination, bindingKey));
     }
 
     public ResponseBody deleteExchangeToExchangeBinding(final String vhost, final String source, final String destination, final String bindingKey) {
-        return executeCall(() -> api.deleteExchangeToExchangeBinding(vhost, source, destination, bindingKey));
+        return executeWrite(api -> api.deleteExchangeToExchangeBinding(vhost, source, destination, bindingKey));
     }
 
     public List<Channel> listChannels() {
-        return executeCall(() -> api.listChannels());
+        return executeRead(api -> api.listChannels());
     }
 
     public List<Channel> listChannels(final String vhost) {
-        return executeCall(() -> api.listChannels(vhost));
+        return executeRead(api -> api.listChannels(vhost));
     }
 
     public List<Channel> listConnectionChannels(final String name) {
-        return executeCall(() -> api.listConnectionChannels(name));
+        return executeRead(api -> api.listConnectionChannels(name));
+    }
+
+    public Iterator<RabbitManagementApiPage<Channel>> listChannelPages(final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("channels"), query, Channel.class);
+    }
+
+    public Iterator<RabbitManagementApiPage<Channel>> listChannelPages(final String vhost, final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("vhosts", vhost, "channels"), query, Channel.class);
     }
 
     public Channel getChannel(final String name) {
-        return executeCall(() -> api.getChannel(name));
+        return executeRead(api -> api.getChannel(name));
     }
 
     public List<Connection> listConnections() {
-        return executeCall(() -> api.listConnections());
+        return executeRead(api -> api.listConnections());
     }
 
     public List<Connection> listConnections(final String vhost) {
-        return executeCall(() -> api.listConnections(vhost));
+        return executeRead(api -> api.listConnections(vhost));
+    }
+
+    public Iterator<RabbitManagementApiPage<Connection>> listConnectionPages(final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("connections"), query, Connection.class);
+    }
+
+    public Iterator<RabbitManagementApiPage<Connection>> listConnectionPages(final String vhost, final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("vhosts", vhost, "connections"), query, Connection.class);
+    }
+
+    /**
+     * Streams connections to the visitor without materializing the whole list. Return false from
+     * the visitor to stop early.
+     *
+     * @return true if every connection was visited
+     */
+    public boolean forEachConnection(final RabbitManagementApiListQuery query, final Predicate<Connection> visitor) {
+        return executeStream(httpClient -> httpClient.forEachItem(ImmutableList.of("connections"), query, Connection.class, visitor));
     }
 
     public Connection getConnection(final String name) {
-        return executeCall(() -> api.getConnection(name));
+        return executeRead(api -> api.getConnection(name));
     }
 
     public ResponseBody deleteConnection(final String name) {
-        return executeCall(() -> api.deleteConnection(name));
+        return executeWrite(api -> api.deleteConnection(name));
     }
 
     public List<Consumer> listConsumers() {
-        return executeCall(() -> api.listConsumers());
+        return executeRead(api -> api.listConsumers());
     }
 
     public List<Consumer> listConsumers(final String vhost) {
-        return executeCall(() -> api.listConsumers(vhost));
+        return executeRead(api -> api.listConsumers(vhost));
     }
 
     public List<Exchange> listExchanges() {
-        return executeCall(() -> api.listExchanges());
+        return executeRead(api -> api.listExchanges());
     }
 
     public List<Exchange> listExchanges(final String vhost) {
-        return executeCall(() -> api.listExchanges(vhost));
+        return executeRead(api -> api.listExchanges(vhost));
+    }
+
+    public Iterator<RabbitManagementApiPage<Exchange>> listExchangePages(final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("exchanges"), query, Exchange.class);
+    }
+
+    public Iterator<RabbitManagementApiPage<Exchange>> listExchangePages(final String vhost, final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("exchanges", vhost), query, Exchange.class);
     }
 
     public Exchange getExchange(final String vhost, final String name) {
-        return executeCall(() -> api.getExchange(vhost, name));
+        return executeRead(api -> api.getExchange(vhost, name));
     }
 
     public ResponseBody createExchange(final String vhost, final String name, final Exchange exchange) {
-        return executeCall(() -> api.createExchange(vhost, name, exchange));
+        return executeWrite(api -> api.createExchange(vhost, name, exchange));
     }
 
     public ResponseBody deleteExchange(final String vhost, final String name) {
-        return executeCall(() -> api.deleteExchange(vhost, name));
+        return executeWrite(api -> api.deleteExchange(vhost, name));
     }
 
     public List<Extension> listExtensions() {
-        return executeCall(() -> api.listExtensions());
+        return executeRead(api -> api.listExtensions());
     }
 
     public List<Node> listNodes() {
-        return executeCall(() -> api.listNodes());
+        return executeHedgedRead(api -> api.listNodes());
+    }
+
+    /**
+     * Every node's view of which other nodes it can't reach, as reported by whichever node serves the request.
+     * Nodes on the far side of a partition show up as not running, with their last known partitions.
+     */
+    public List<NodePartitions> listNodePartitions() {
+        return executeStream(httpClient -> {
+            final List<NodePartitions> nodes = new ArrayList<>();
+            httpClient.getJson(ImmutableList.of("nodes"), NODE_PARTITIONS_COLUMNS).forEach(node -> nodes.add(NodePartitions.fromJson(node)));
+
+            return nodes;
+        });
     }
 
     public Node getNode(final String name) {
-        return executeCall(() -> api.getNode(name));
+        return executeHedgedRead(api -> api.getNode(name));
     }
 
     public List<Parameter> listParameters() {
-        return executeCall(() -> api.listParameters());
+        return executeRead(api -> api.listParameters());
     }
 
     public List<Parameter> listParameters(final String component) {
-        return executeCall(() -> api.listParameters(component));
+        return executeRead(api -> api.listParameters(component));
     }
 
     public List<Parameter> listParameters(final String vhost, final String component) {
-        return executeCall(() -> api.listParameters(vhost, component));
+        return executeRead(api -> api.listParameters(vhost, component));
     }
 
     public Parameter getParameter(final String vhost, final String component, final String name) {
-        return executeCall(() -> api.getParameter(vhost, component, name));
+        return executeRead(api -> api.getParameter(vhost, component, name));
     }
 
     public ResponseBody createParameter(final String vhost, final String component, final String name, final Parameter parameter) {
-        return executeCall(() -> api.createParameter(vhost, component, name, parameter));
+        // shovels are stored as runtime parameters, so a parameter write may change them
+        return executeWrite(api -> api.createParameter(vhost, component, name, parameter), Endpoint.SHOVELS);
     }
 
     public ResponseBody deleteParameter(final String vhost, final String component, final String name) {
-        return executeCall(() -> api.deleteParameter(vhost, component, name));
+        return executeWrite(api -> api.deleteParameter(vhost, component, name), Endpoint.SHOVELS);
     }
 
     public List<Permission> listPermissions() {
-        return executeCall(() -> api.listPermissions());
+        return cache.get(Endpoint.PERMISSIONS, ALL, () -> executeRead(api -> api.listPermissions()));
     }
 
     public List<Permission> listPermissions(final String vhost) {
-        return executeCall(() -> api.listPermissions(vhost));
+        return cache.get(Endpoint.PERMISSIONS, "vhost:" + vhost, () -> executeRead(api -> api.listPermissions(vhost)));
     }
 
     public List<Permission> listUserPermissions(final String user) {
-        return executeCall(() -> api.listUserPermissions(user));
+        return cache.get(Endpoint.PERMISSIONS, "user:" + user, () -> executeRead(api -> api.listUserPermissions(user)));
     }
 
     public Permission getPermission(final String vhost, final String user) {
-        return executeCall(() -> api.getPermission(vhost, user));
+        return executeRead(api -> api.getPermission(vhost, user));
     }
 
     public ResponseBody createPermission(final String vhost, final String user, final Permission permission) {
-        return executeCall(() -> api.createPermission(vhost, user, permission));
+        return executeWrite(api -> api.createPermission(vhost, user, permission), Endpoint.PERMISSIONS);
     }
 
     public ResponseBody deletePermission(final String vhost, final String user) {
-        return executeCall(() -> api.deletePermission(vhost, user));
+        return executeWrite(api -> api.deletePermission(vhost, user), Endpoint.PERMISSIONS);
     }
 
     public List<Policy> listPolicies() {
-        return executeCall(() -> api.listPolicies());
+        return cache.get(Endpoint.POLICIES, ALL, () -> executeRead(api -> api.listPolicies()));
     }
 
     public List<Policy> listPolicies(final String vhost) {
-        return executeCall(() -> api.listPolicies(vhost));
+        return cache.get(Endpoint.POLICIES, "vhost:" + vhost, () -> executeRead(api -> api.listPolicies(vhost)));
     }
 
     public Policy getPolicy(final String vhost, final String name) {
-        return executeCall(() -> api.getPolicy(vhost, name));
+        return executeRead(api -> api.getPolicy(vhost, name));
     }
 
     public ResponseBody createPolicy(final String vhost, final String name, final Policy policy) {
-        return executeCall(() -> api.createPolicy(vhost, name, policy));
+        return executeWrite(api -> api.createPolicy(vhost, name, policy), Endpoint.POLICIES);
     }
 
     public ResponseBody deletePolicy(final String vhost, final String name) {
-        return executeCall(() -> api.deletePolicy(vhost, name));
+        return executeWrite(api -> api.deletePolicy(vhost, name), Endpoint.POLICIES);
     }
 
     public List<OperatorPolicy> listOperatorPolicies() {
-        return executeCall(() -> api.listOperatorPolicies());
+        return cache.get(Endpoint.OPERATOR_POLICIES, ALL, () -> executeRead(api -> api.listOperatorPolicies()));
     }
 
     public List<OperatorPolicy> listOperatorPolicies(final String vhost) {
-        return executeCall(() -> api.listOperatorPolicies(vhost));
+        return cache.get(Endpoint.OPERATOR_POLICIES, "vhost:" + vhost, () -> executeRead(api -> api.listOperatorPolicies(vhost)));
     }
 
     public OperatorPolicy getOperatorPolicy(final String vhost, final String name) {
-        return executeCall(() -> api.getOperatorPolicy(vhost, name));
+        return executeRead(api -> api.getOperatorPolicy(vhost, name));
     }
 
     public ResponseBody createOperatorPolicy(final String vhost, final String name, final OperatorPolicy policy) {
-        return executeCall(() -> api.createOperatorPolicy(vhost, name, policy));
+        return executeWrite(api -> api.createOperatorPolicy(vhost, name, policy), Endpoint.OPERATOR_POLICIES);
     }
 
     public ResponseBody deleteOperatorPolicy(final String vhost, final String name) {
-        return executeCall(() -> api.deleteOperatorPolicy(vhost, name));
+        return executeWrite(api -> api.deleteOperatorPolicy(vhost, name), Endpoint.OPERATOR_POLICIES);
     }
 
     public List<Queue> listQueues() {
-        return executeCall(() -> api.listQueues());
+        return executeRead(api -> api.listQueues());
     }
 
     public List<Queue> listQueues(final String vhost) {
-        return executeCall(() -> api.listQueues(vhost));
+        return executeRead(api -> api.listQueues(vhost));
+    }
+
+    public Iterator<RabbitManagementApiPage<Queue>> listQueuePages(final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("queues"), query, Queue.class);
+    }
+
+    public Iterator<RabbitManagementApiPage<Queue>> listQueuePages(final String vhost, final RabbitManagementApiListQuery query) {
+        return listPages(ImmutableList.of("queues", vhost), query, Queue.class);
+    }
+
+    /**
+     * Streams queues to the visitor without materializing the whole list. Return false from the
+     * visitor to stop early, e.g. at the first non-empty queue.
+     *
+     * @return true if every queue was visited
+     */
+    public boolean forEachQueue(final RabbitManagementApiListQuery query, final Predicate<Queue> visitor) {
+        return executeStream(httpClient -> httpClient.forEachItem(ImmutableList.of("queues"), query, Queue.class, visitor));
+    }
+
+    public boolean forEachQueue(final String vhost, final RabbitManagementApiListQuery query, final Predicate<Queue> visitor) {
+        return executeStream(httpClient -> httpClient.forEachItem(ImmutableList.of("queues", vhost), query, Queue.class, visitor));
+    }
+
+    /**
+     * Every queue's depth, consumer count and delivery rates, streamed a page at a time.
+     */
+    public List<QueueDepth> listQueueDepths() {
+        final List<QueueDepth> depths = new ArrayList<>();
+        forEachQueueDepth(depths::add);
+
+        return depths;
+    }
+
+    /**
+     * Streams every queue's depth to the visitor. Return false from the visitor to stop early.
+     *
+     * @return true if every queue was visited
+     */
+    public boolean forEachQueueDepth(final Predicate<QueueDepth> visitor) {
+        return executeStream(httpClient -> httpClient.forEachItem(ImmutableList.of("queues"), QUEUE_DEPTH_QUERY, JsonNode.class, queue -> visitor.test(QueueDepth.fromJson(queue))));
     }
 
     public Queue getQueue(final String vhost, final String name) {
-        return executeCall(() -> api.getQueue(vhost, name));
+        return executeRead(api -> api.getQueue(vhost, name));
     }
 
     public ResponseBody createQueue(final String vhost, final String name, final Queue queue) {
-        return executeCall(() -> api.createQueue(vhost, name, queue));
+        return executeWrite(api -> api.createQueue(vhost, name, queue));
     }
 
     public ResponseBody deleteQueue(final String vhost, final String name) {
-        return executeCall(() -> api.deleteQueue(vhost, name));
+        return executeWrite(api -> api.deleteQueue(vhost, name));
     }
 
     public ResponseBody purgeQueue(final String vhost, final String name) {
-        return executeCall(() -> api.purgeQueue(vhost, name));
+        return executeWrite(api -> api.purgeQueue(vhost, name));
     }
 
     public List<User> listUsers() {
-        return executeCall(() -> api.listUsers());
+        return cache.get(Endpoint.USERS, ALL, () -> executeRead(api -> api.listUsers()));
     }
 
     public User getUser(final String name) {
-        return executeCall(() -> api.getUser(name));
+        return executeRead(api -> api.getUser(name));
     }
 
     public ResponseBody createUser(final String name, final User user) {
-        return executeCall(() -> api.createUser(name, user));
+        return executeWrite(api -> api.createUser(name, user), Endpoint.USERS);
+    }
+
+    /**
+     * Creates or updates a user whose password hash was computed with the given algorithm, which may differ
+     * from the broker's default.
+     */
+    public void createUser(final String name, final User user, final PasswordHashingAlgorithm hashingAlgorithm) {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("password_hash", user.getPasswordHash());
+        body.put("tags", user.getTags());
+        body.put("hashing_algorithm", hashingAlgorithm.getRabbitMQModuleName());
+
+        executeHttpWrite(httpClient -> {
+            httpClient.put(ImmutableList.of("users", name), body);
+            return null;
+        }, Endpoint.USERS);
     }
 
     public ResponseBody deleteUser(final String name) {
-        return executeCall(() -> api.deleteUser(name));
+        // deleting a user also drops all of its permissions
+        return executeWrite(api -> api.deleteUser(name), Endpoint.USERS, Endpoint.PERMISSIONS);
     }
 
     public User whoami() {
-        return executeCall(() -> api.whoami());
+        return executeRead(api -> api.whoami());
     }
 
     public List<VirtualHost> listVirtualHosts() {
-        return executeCall(() -> api.listVirtualHosts());
+        return executeRead(api -> api.listVirtualHosts());
     }
 
     public VirtualHost getVirtualHost(final String vhost) {
-        return executeCall(() -> api.getVirtualHost(vhost));
+        return executeRead(api -> api.getVirtualHost(vhost));
     }
 
     public ResponseBody createVirtualHost(final String vhost) {
-        return executeCall(() -> api.createVirtualHost(vhost));
+        return executeWrite(api -> api.createVirtualHost(vhost));
     }
 
     public ResponseBody deleteVirtualHost(final String vhost) {
-        return executeCall(() -> api.deleteVirtualHost(vhost));
+        // deleting a vhost drops every permission, policy and shovel that lives in it
+        return executeWrite(api -> api.deleteVirtualHost(vhost), Endpoint.values());
     }
 
     public List<Shovel> listShovels() {
-        return executeCall(() -> api.listShovels());
+        return cache.get(Endpoint.SHOVELS, ALL, () -> executeRead(api -> api.listShovels()));
     }
 
     public List<Shovel> listShovels(final String vhost) {
-        return executeCall(() -> api.listShovels(vhost));
+        return cache.get(Endpoint.SHOVELS, "vhost:" + vhost, () -> executeRead(api -> api.listShovels(vhost)));
     }
 
     public Shovel getShovel(final String vhost, final String name) {
-        return executeCall(() -> api.getShovel(vhost, name));
+        return executeRead(api -> api.getShovel(vhost, name));
+    }
+
+    /**
+     * The runtime state of every shovel, as opposed to {@link #listShovels()}, which returns their definitions.
+     */
+    public List<ShovelStatus> listShovelStatuses() {
+        return executeStream(httpClient -> {
+            final List<ShovelStatus> statuses = new ArrayList<>();
+            httpClient.getJson(ImmutableList.of("shovels"), Collections.emptyMap()).forEach(status -> statuses.add(ShovelStatus.fromJson(status)));
+
+            return statuses;
+        });
     }
 
     public ResponseBody createShovel(final String vhost, final String name, final Shovel shovel) {
-        return executeCall(() -> api.createShovel(vhost, name, shovel));
+        return executeWrite(api -> api.createShovel(vhost, name, shovel), Endpoint.SHOVELS);
     }
 
     public ResponseBody deleteShovel(final String vhost, final String name) {
-        return executeCall(() -> api.deleteShovel(vhost, name));
+        return executeWrite(api -> api.deleteShovel(vhost, name), Endpoint.SHOVELS);
+    }
+
+    /**
+     * Every virtual host's name, without the message rates and counters the full listing carries.
+     */
+    public List<String> listVirtualHostNames() {
+        return executeStream(httpClient -> {
+            final List<String> names = new ArrayList<>();
+            httpClient.getJson(ImmutableList.of("vhosts"), VHOST_COLUMNS).forEach(vhost -> names.add(vhost.path("name").asText()));
+
+            return names;
+        });
+    }
+
+    /**
+     * Every exchange's definition, skipping the default exchange, which can't be declared or deleted.
+     */
+    public List<ExchangeSpec> listExchangeSpecs() {
+        return executeStream(httpClient -> {
+            final List<ExchangeSpec> exchanges = new ArrayList<>();
+            for (final JsonNode exchange : httpClient.getJson(ImmutableList.of("exchanges"), EXCHANGE_COLUMNS)) {
+                if (!exchange.path("name").asText().isEmpty()) {
+                    exchanges.add(TopologyJson.toExchangeSpec(exchange));
+                }
+            }
+
+            return exchanges;
+        });
+    }
+
+    public List<QueueSpec> listQueueSpecs() {
+        return executeStream(httpClient -> {
+            final List<QueueSpec> queues = new ArrayList<>();
+            httpClient.getJson(ImmutableList.of("queues"), QUEUE_COLUMNS).forEach(queue -> queues.add(TopologyJson.toQueueSpec(queue)));
+
+            return queues;
+        });
+    }
+
+    /**
+     * Every binding, skipping the implicit ones from the default exchange to each queue.
+     */
+    public List<BrokerBinding> listBrokerBindings() {
+        return executeStream(httpClient -> {
+            final List<BrokerBinding> bindings = new ArrayList<>();
+            for (final JsonNode binding : httpClient.getJson(ImmutableList.of("bindings"), BINDING_COLUMNS)) {
+                if (!binding.path("source").asText().isEmpty()) {
+                    bindings.add(BrokerBinding.fromJson(binding));
+                }
+            }
+
+            return bindings;
+        });
+    }
+
+    public void declareExchange(final ExchangeSpec exchange) {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("type", exchange.getType());
+        body.put("durable", exchange.isDurable());
+        body.put("auto_delete", exchange.isAutoDelete());
+        body.put("internal", exchange.isInternal());
+        body.put("arguments", exchange.getArguments());
+
+        executeHttpWrite(httpClient -> {
+            httpClient.put(ImmutableList.of("exchanges", exchange.getVhost(), exchange.getName()), body);
+            return null;
+        });
+    }
+
+    public void declareQueue(final QueueSpec queue) {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("durable", queue.isDurable());
+        body.put("auto_delete", queue.isAutoDelete());
+        body.put("arguments", queue.getArguments());
+
+        executeHttpWrite(httpClient -> {
+            httpClient.put(ImmutableList.of("queues", queue.getVhost(), queue.getName()), body);
+            return null;
+        });
+    }
+
+    public void declareBinding(final BindingSpec binding) {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("routing_key", binding.getRoutingKey());
+        body.put("arguments", binding.getArguments());
+
+        executeHttpWrite(httpClient -> {
+            httpClient.post(ImmutableList.of("bindings", binding.getVhost(), "e", binding.getSource(), getDestinationSegment(binding), binding.getDestination()), body);
+            return null;
+        });
+    }
+
+    public void deleteBinding(final BrokerBinding binding) {
+        final BindingSpec spec = binding.getSpec();
+        if (BindingSpec.QUEUE.equals(spec.getDestinationType())) {
+            deleteExchangeToQueueBinding(spec.getVhost(), spec.getSource(), spec.getDestination(), binding.getPropertiesKey());
+        } else {
+            deleteExchangeToExchangeBinding(spec.getVhost(), spec.getSource(), spec.getDestination(), binding.getPropertiesKey());
+        }
+    }
+
+    private <T> T executeRead(final Function<RabbitManagementApi, Call<T>> f) {
+        final RabbitManagementApiTarget target = router.selectForRead();
+        final Call<T> call = f.apply(target.getApi());
+
+        return singleFlight.execute(getRequestKey(call), () -> execute(target, call));
+    }
+
+    /**
+     * For the small, latency-sensitive reads that health checks and drains wait on.
+     */
+    private <T> T executeHedgedRead(final Function<RabbitManagementApi, Call<T>> f) {
+        // every node answers the same path, so any target's call will do for the key
+        final String key = getRequestKey(f.apply(router.getServiceTarget().getApi()));
+
+        return singleFlight.execute(key, () -> hedger.execute(router, target -> execute(target, f.apply(target.getApi()))));
+    }
+
+    private <T> T executeWrite(final Function<RabbitManagementApi, Call<T>> f, final Endpoint... invalidatedEndpoints) {
+        try {
+            final RabbitManagementApiTarget target = router.selectForWrite();
+            return execute(target, f.apply(target.getApi()));
+        } finally {
+            // invalidate even if the call failed, since we can't tell whether the broker applied it
+            for (final Endpoint endpoint : invalidatedEndpoints) {
+                cache.invalidate(endpoint);
+            }
+        }
+    }
+
+    private <T> T executeHttpWrite(final Function<RabbitManagementApiHttpClient, T> f, final Endpoint... invalidatedEndpoints) {
+        try {
+            final RabbitManagementApiTarget target = router.selectForWrite();
+            try {
+                return f.apply(target.getHttpClient());
+            } catch (final RabbitManagementApiException e) {
+                recordFailure(target, e);
+                throw e;
+            }
+        } finally {
+            for (final Endpoint endpoint : invalidatedEndpoints) {
+                cache.invalidate(endpoint);
+            }
+        }
+    }
+
+    private <T> T execute(final RabbitManagementApiTarget target, final Call<T> call) {
+        rateLimiter.acquire();
+
+        final long start = System.nanoTime();
+        try {
+            final T result = executeCall(() -> call);
+            final long elapsedNanos = System.nanoTime() - start;
+            target.recordSuccess(elapsedNanos);
+            rateLimiter.recordLatency(elapsedNanos);
+
+            return result;
+        } catch (final RabbitManagementApiException e) {
+            recordFailure(target, e);
+            throw e;
+        }
+    }
+
+    private <T> T executeStream(final Function<RabbitManagementApiHttpClient, T> f) {
+        // streamed calls include the caller's processing time, so they don't count towards node latency or the
+        // rate limiter's latency average; the HTTP client takes a permit for each request, so a scan over many
+        // pages is charged for every page
+        final RabbitManagementApiTarget target = router.selectForRead();
+        try {
+            return f.apply(target.getHttpClient());
+        } catch (final RabbitManagementApiException e) {
+            recordFailure(target, e);
+            throw e;
+        }
+    }
+
+    private <T> Iterator<RabbitManagementApiPage<T>> listPages(final List<String> pathSegments, final RabbitManagementApiListQuery query, final Class<T> itemType) {
+        // pages are fetched lazily by the caller, and the HTTP client takes a permit as each one is requested
+        return router.selectForRead().getHttpClient().listPages(pathSegments, query, itemType);
+    }
+
+    private static OptionalLong asOptionalLong(final JsonNode value) {
+        return value.isNumber() ? OptionalLong.of(value.asLong()) : OptionalLong.empty();
+    }
+
+    private static String getDestinationSegment(final BindingSpec binding) {
+        return BindingSpec.QUEUE.equals(binding.getDestinationType()) ? "q" : "e";
+    }
+
+    private static String getRequestKey(final Call<?> call) {
+        // the host differs between nodes, so only the method, path and query identify the request
+        final Request request = call.request();
+
+        return request.method() + " " + request.url().encodedPath() + "?" + Strings.nullToEmpty(request.url().encodedQuery());
+    }
+
+    private static void recordFailure(final RabbitManagementApiTarget target, final RabbitManagementApiException e) {
+        // an error response means the node is up and answering; only transport failures take it out of rotation
+        if (e.getCause() instanceof IOException) {
+            target.recordFailure();
+        }
     }
 
     private static <T> T executeCall(final Supplier<Call<T>> f) {
@@ -0,0 +1,163 @@
+package com.indeed.operators.rabbitmq.api;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Sends a second copy of a read to another node when the first one is slower than most recent reads,
+ * and returns whichever answers successfully first. Hedges are paid for out of a budget that grows
+ * with every read, so they can never add more than a fixed fraction of extra load.
+ */
+public class RabbitManagementApiHedger {
+
+    private static final int MAX_LATENCY_SAMPLES = 200;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final double MAX_BUDGET = 10;
+
+    private final RabbitManagementApiHedgingPolicy policy;
+    private final ExecutorService executor;
+    private final long[] latencySamples;
+    private final AtomicLong hedgedReads;
+
+    private int sampleCount;
+    private int nextSample;
+    private double budget;
+
+    public RabbitManagementApiHedger(
+            final RabbitManagementApiHedgingPolicy policy,
+            final ExecutorService executor
+    ) {
+        this.policy = policy;
+        this.executor = executor;
+        this.latencySamples = new long[MAX_LATENCY_SAMPLES];
+        this.hedgedReads = new AtomicLong();
+        this.sampleCount = 0;
+        this.nextSample = 0;
+        this.budget = 0;
+    }
+
+    public <T> T execute(final RabbitManagementApiRouter router, final Function<RabbitManagementApiTarget, T> read) {
+        final RabbitManagementApiTarget primary = router.selectForRead();
+
+        if (!policy.isEnabled()) {
+            return read.apply(primary);
+        }
+
+        final long start = System.nanoTime();
+        final CompletableFuture<T> primaryResult = CompletableFuture.supplyAsync(() -> read.apply(primary), executor);
+        primaryResult.thenRun(() -> recordLatency(System.nanoTime() - start));
+
+        final OptionalLong hedgeDelayNanos = getHedgeDelayNanos();
+        if (!hedgeDelayNanos.isPresent()) {
+            return await(primaryResult);
+        }
+
+        try {
+            return primaryResult.get(hedgeDelayNanos.getAsLong(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            // fall through and hedge
+        } catch (final InterruptedException e) {
+            // waiting again would clear the interrupt and block, so give up on the read straight away
+            Thread.currentThread().interrupt();
+            primaryResult.cancel(true);
+            throw new RabbitManagementApiException("interrupted", e);
+        } catch (final ExecutionException e) {
+            return await(primaryResult);
+        }
+
+        final Optional<RabbitManagementApiTarget> backup = router.selectForReadExcluding(primary);
+        if (!backup.isPresent() || !tryAcquireBudget()) {
+            return await(primaryResult);
+        }
+
+        hedgedReads.incrementAndGet();
+        final CompletableFuture<T> backupResult = CompletableFuture.supplyAsync(() -> read.apply(backup.get()), executor);
+
+        // the losing read is left to finish on its own; its latency still feeds the router
+        return await(firstSuccessful(Arrays.asList(primaryResult, backupResult)));
+    }
+
+    public long getHedgedReads() {
+        return hedgedReads.get();
+    }
+
+    public void bindTo(final MeterRegistry meterRegistry, final Tags tags) {
+        FunctionCounter.builder("rabbitmq.management.api.hedged.reads", this, RabbitManagementApiHedger::getHedgedReads)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private synchronized void recordLatency(final long latencyNanos) {
+        latencySamples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % MAX_LATENCY_SAMPLES;
+        sampleCount = Math.min(sampleCount + 1, MAX_LATENCY_SAMPLES);
+    }
+
+    private synchronized OptionalLong getHedgeDelayNanos() {
+        budget = Math.min(MAX_BUDGET, budget + policy.getBudgetRatio());
+
+        if (sampleCount < MIN_LATENCY_SAMPLES) {
+            return OptionalLong.empty();
+        }
+
+        final long[] sorted = Arrays.copyOf(latencySamples, sampleCount);
+        Arrays.sort(sorted);
+
+        return OptionalLong.of(sorted[(int) Math.min(sampleCount - 1, Math.floor(policy.getLatencyPercentile() * sampleCount))]);
+    }
+
+    private synchronized boolean tryAcquireBudget() {
+        if (budget < 1) {
+            return false;
+        }
+
+        budget -= 1;
+        return true;
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(final List<CompletableFuture<T>> attempts) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+
+        for (final CompletableFuture<T> attempt : attempts) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == attempts.size()) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RabbitManagementApiException("interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RabbitManagementApiException("failed", e.getCause());
+        }
+    }
+}
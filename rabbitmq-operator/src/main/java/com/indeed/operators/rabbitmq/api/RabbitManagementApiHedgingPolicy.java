@@ -0,0 +1,38 @@
+package com.indeed.operators.rabbitmq.api;
+
+/**
+ * When to send a second copy of a slow read to another node.
+ */
+public class RabbitManagementApiHedgingPolicy {
+
+    private final double latencyPercentile;
+    private final double budgetRatio;
+
+    /**
+     * @param latencyPercentile hedge once a read has taken longer than this fraction of recent reads, e.g. 0.95
+     * @param budgetRatio the most hedged reads allowed per read, e.g. 0.05 for at most 5% extra load
+     */
+    public RabbitManagementApiHedgingPolicy(
+            final double latencyPercentile,
+            final double budgetRatio
+    ) {
+        this.latencyPercentile = latencyPercentile;
+        this.budgetRatio = budgetRatio;
+    }
+
+    public static RabbitManagementApiHedgingPolicy disabled() {
+        return new RabbitManagementApiHedgingPolicy(0, 0);
+    }
+
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public boolean isEnabled() {
+        return latencyPercentile > 0 && latencyPercentile < 1 && budgetRatio > 0;
+    }
+}
@@ -0,0 +1,247 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Plain HTTP access to the parts of the management API that {@link com.indeed.rabbitmq.admin.RabbitManagementApi}
+ * doesn't expose, such as paging and column projection.
+ */
+public class RabbitManagementApiHttpClient {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final OkHttpClient client;
+    private final HttpUrl baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Runnable beforeRequest;
+
+    /**
+     * @param beforeRequest called before every request, including each page of a listing, e.g. to take a rate limiter permit
+     */
+    public RabbitManagementApiHttpClient(
+            final OkHttpClient client,
+            final HttpUrl baseUrl,
+            final ObjectMapper objectMapper,
+            final Runnable beforeRequest
+    ) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.beforeRequest = beforeRequest;
+    }
+
+    /**
+     * Lazily iterates over the pages of a list endpoint. A page is only requested once the previous
+     * one has been consumed, so callers that stop early never pay for the remaining pages.
+     */
+    public <T> Iterator<RabbitManagementApiPage<T>> listPages(final List<String> pathSegments, final RabbitManagementApiListQuery query, final Class<T> itemType) {
+        final JavaType pageType = objectMapper.getTypeFactory().constructParametricType(RabbitManagementApiPage.class, itemType);
+
+        return new Iterator<RabbitManagementApiPage<T>>() {
+            private int nextPage = 1;
+            private boolean exhausted = false;
+
+            @Override
+            public boolean hasNext() {
+                return !exhausted;
+            }
+
+            @Override
+            public RabbitManagementApiPage<T> next() {
+                if (exhausted) {
+                    throw new NoSuchElementException();
+                }
+
+                final RabbitManagementApiPage<T> page = get(buildPageUrl(pathSegments, query, nextPage), pageType);
+                nextPage++;
+                exhausted = page.isLastPage();
+
+                return page;
+            }
+        };
+    }
+
+    /**
+     * Visits every item of a list endpoint, page by page, decoding each response incrementally so
+     * that at most one item is held in memory at a time. The visitor returns false to stop early, in
+     * which case the rest of the current response is discarded and no further pages are requested.
+     *
+     * @return true if every item was visited, false if the visitor stopped early
+     */
+    public <T> boolean forEachItem(final List<String> pathSegments, final RabbitManagementApiListQuery query, final Class<T> itemType, final Predicate<T> visitor) {
+        int page = 1;
+        while (true) {
+            final PageProgress progress = streamPage(buildPageUrl(pathSegments, query, page), itemType, visitor);
+
+            if (progress.stopped) {
+                return false;
+            }
+
+            if (progress.page >= progress.pageCount) {
+                return true;
+            }
+
+            page = progress.page + 1;
+        }
+    }
+
+    private <T> PageProgress streamPage(final HttpUrl url, final Class<T> itemType, final Predicate<T> visitor) {
+        final Request request = new Request.Builder().url(url).get().build();
+        beforeRequest.run();
+
+        try (final Response response = client.newCall(request).execute()) {
+            final ResponseBody body = checkResponse(url, response);
+
+            try (final JsonParser parser = objectMapper.getFactory().createParser(body.byteStream())) {
+                final PageProgress progress = new PageProgress();
+
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new RabbitManagementApiException(String.format("Expected a paged response from %s", url));
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.getCurrentName();
+                    parser.nextToken();
+
+                    switch (field) {
+                        case "items":
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                if (!visitor.test(parser.readValueAs(itemType))) {
+                                    // closing the response drops whatever the broker hasn't sent yet
+                                    progress.stopped = true;
+                                    return progress;
+                                }
+                            }
+                            break;
+                        case "page":
+                            progress.page = parser.getIntValue();
+                            break;
+                        case "page_count":
+                            progress.pageCount = parser.getIntValue();
+                            break;
+                        default:
+                            parser.skipChildren();
+                    }
+                }
+
+                return progress;
+            }
+        } catch (final IOException e) {
+            throw new RabbitManagementApiException("failed", e);
+        }
+    }
+
+    /**
+     * Fetches an arbitrary endpoint as a JSON tree, for responses we only need a handful of fields from.
+     */
+    public JsonNode getJson(final List<String> pathSegments, final Map<String, String> queryParameters) {
+        final HttpUrl.Builder url = buildUrl(pathSegments);
+        queryParameters.forEach(url::addQueryParameter);
+
+        return get(url.build(), objectMapper.getTypeFactory().constructType(JsonNode.class));
+    }
+
+    /**
+     * Sends a JSON body to an endpoint, for writes whose fields {@link com.indeed.rabbitmq.admin.RabbitManagementApi} doesn't model.
+     */
+    public void put(final List<String> pathSegments, final Object body) {
+        send("PUT", pathSegments, body);
+    }
+
+    /**
+     * Like {@link #put(List, Object)}, for the endpoints that create with a POST, such as bindings.
+     */
+    public void post(final List<String> pathSegments, final Object body) {
+        send("POST", pathSegments, body);
+    }
+
+    private void send(final String method, final List<String> pathSegments, final Object body) {
+        final HttpUrl url = buildUrl(pathSegments).build();
+
+        try {
+            final Request request = new Request.Builder().url(url).method(method, RequestBody.create(JSON, objectMapper.writeValueAsBytes(body))).build();
+            beforeRequest.run();
+
+            try (final Response response = client.newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new RabbitManagementApiException(response.body() == null ? response.message() : response.body().string());
+                }
+            }
+        } catch (final IOException e) {
+            throw new RabbitManagementApiException("failed", e);
+        }
+    }
+
+    HttpUrl buildPageUrl(final List<String> pathSegments, final RabbitManagementApiListQuery query, final int page) {
+        final HttpUrl.Builder url = buildUrl(pathSegments)
+                .addQueryParameter("page", String.valueOf(page))
+                .addQueryParameter("page_size", String.valueOf(query.getPageSize()));
+
+        if (query.getName().isPresent()) {
+            url.addQueryParameter("name", query.getName().get());
+            url.addQueryParameter("use_regex", String.valueOf(query.isUseRegex()));
+        }
+
+        query.getColumnsParameter().ifPresent(columns -> url.addQueryParameter("columns", columns));
+
+        return url.build();
+    }
+
+    HttpUrl.Builder buildUrl(final List<String> pathSegments) {
+        final HttpUrl.Builder url = baseUrl.newBuilder().addPathSegment("api");
+
+        // addPathSegment encodes '/' so that the default vhost becomes %2F as the API expects
+        pathSegments.forEach(url::addPathSegment);
+
+        return url;
+    }
+
+    private <T> T get(final HttpUrl url, final JavaType type) {
+        final Request request = new Request.Builder().url(url).get().build();
+        beforeRequest.run();
+
+        try (final Response response = client.newCall(request).execute()) {
+            return objectMapper.readValue(checkResponse(url, response).byteStream(), type);
+        } catch (final IOException e) {
+            throw new RabbitManagementApiException("failed", e);
+        }
+    }
+
+    private ResponseBody checkResponse(final HttpUrl url, final Response response) throws IOException {
+        final ResponseBody body = response.body();
+
+        if (!response.isSuccessful()) {
+            throw new RabbitManagementApiException(body == null ? response.message() : body.string());
+        }
+
+        if (body == null) {
+            throw new RabbitManagementApiException(String.format("Empty response body from %s", url));
+        }
+
+        return body;
+    }
+
+    private static class PageProgress {
+        private int page = 1;
+        private int pageCount = 0;
+        private boolean stopped = false;
+    }
+}
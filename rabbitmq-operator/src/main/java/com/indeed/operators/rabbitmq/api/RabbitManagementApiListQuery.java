@@ -0,0 +1,103 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Server-side paging, filtering and column projection for the management API list endpoints.
+ *
+ * See the "Pagination" and "columns" sections of https://rawcdn.githack.com/rabbitmq/rabbitmq-management/v3.7.9/priv/www/api/index.html
+ */
+public class RabbitManagementApiListQuery {
+
+    // the management plugin rejects page sizes above 500
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final int pageSize;
+    private final Optional<String> name;
+    private final boolean useRegex;
+    private final List<String> columns;
+
+    private RabbitManagementApiListQuery(
+            final int pageSize,
+            final Optional<String> name,
+            final boolean useRegex,
+            final List<String> columns
+    ) {
+        Preconditions.checkArgument(pageSize > 0 && pageSize <= MAX_PAGE_SIZE, "Page size must be between 1 and %s", MAX_PAGE_SIZE);
+
+        this.pageSize = pageSize;
+        this.name = name;
+        this.useRegex = useRegex;
+        this.columns = columns;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public Optional<String> getName() {
+        return name;
+    }
+
+    public boolean isUseRegex() {
+        return useRegex;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public Optional<String> getColumnsParameter() {
+        return columns.isEmpty() ? Optional.empty() : Optional.of(Joiner.on(",").join(columns));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{ pageSize: [%s], name: [%s], useRegex: [%s], columns: [%s] }", pageSize, name.orElse(""), useRegex, getColumnsParameter().orElse(""));
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        private String name;
+        private boolean useRegex;
+        private List<String> columns = ImmutableList.of();
+
+        public Builder withPageSize(final int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder withName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withNameRegex(final String nameRegex) {
+            this.name = nameRegex;
+            this.useRegex = true;
+            return this;
+        }
+
+        /**
+         * Nested fields use dot notation, e.g. "message_stats.publish_details.rate".
+         */
+        public Builder withColumns(final String... columns) {
+            this.columns = ImmutableList.copyOf(columns);
+            return this;
+        }
+
+        public RabbitManagementApiListQuery build() {
+            return new RabbitManagementApiListQuery(pageSize, Optional.ofNullable(name), useRegex, columns);
+        }
+    }
+}
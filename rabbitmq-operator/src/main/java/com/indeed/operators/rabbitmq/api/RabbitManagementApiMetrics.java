@@ -0,0 +1,183 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, response size and status of every management API call, tagged by cluster, method and
+ * endpoint template. Templates replace vhosts, names and other identifiers with placeholders, e.g.
+ * /api/queues/{vhost}/{name}, so the number of distinct series stays bounded.
+ */
+public class RabbitManagementApiMetrics implements Interceptor {
+
+    private static final String API_PREFIX = "/api/";
+
+    // identifiers in the order they appear after each top-level resource; anything extra becomes {name}
+    private static final Map<String, List<String>> PARAMETERS = ImmutableMap.<String, List<String>>builder()
+            .put("aliveness-test", ImmutableList.of("vhost"))
+            .put("bindings", ImmutableList.of("vhost", "source", "destination", "props"))
+            .put("channels", ImmutableList.of("channel"))
+            .put("connections", ImmutableList.of("connection"))
+            .put("consumers", ImmutableList.of("vhost"))
+            .put("definitions", ImmutableList.of("vhost"))
+            .put("exchanges", ImmutableList.of("vhost", "name"))
+            .put("global-parameters", ImmutableList.of("name"))
+            .put("nodes", ImmutableList.of("node"))
+            .put("operator-policies", ImmutableList.of("vhost", "name"))
+            .put("parameters", ImmutableList.of("component", "vhost", "name"))
+            .put("permissions", ImmutableList.of("vhost", "user"))
+            .put("policies", ImmutableList.of("vhost", "name"))
+            .put("queues", ImmutableList.of("vhost", "name"))
+            .put("shovels", ImmutableList.of("vhost", "name"))
+            .put("topic-permissions", ImmutableList.of("vhost", "user"))
+            .put("users", ImmutableList.of("user"))
+            .put("vhost-limits", ImmutableList.of("vhost"))
+            .put("vhosts", ImmutableList.of("vhost"))
+            .build();
+
+    // fixed path segments that can follow an identifier
+    private static final Set<String> LITERALS = ImmutableSet.of(
+            "actions", "bindings", "channels", "connections", "contents", "destination", "e",
+            "get", "memory", "permissions", "publish", "q", "source", "topic-permissions"
+    );
+
+    private final MeterRegistry meterRegistry;
+    private final String clusterName;
+
+    public RabbitManagementApiMetrics(
+            final MeterRegistry meterRegistry,
+            final String clusterName
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.clusterName = clusterName;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final Tags tags = Tags.of(
+                "cluster", clusterName,
+                "method", request.method(),
+                "endpoint", getEndpointTemplate(request.url().encodedPathSegments())
+        );
+
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (final IOException e) {
+            recordLatency(tags.and("status", "IO_ERROR"), System.nanoTime() - start);
+            throw e;
+        }
+
+        // latency is to the response headers, so it doesn't include however long the caller takes to read the body
+        recordLatency(tags.and("status", String.valueOf(response.code())), System.nanoTime() - start);
+
+        return measureBody(response, DistributionSummary.builder("rabbitmq.management.api.response.size")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    private void recordLatency(final Tags tags, final long latencyNanos) {
+        Timer.builder("rabbitmq.management.api.requests")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Response measureBody(final Response response, final DistributionSummary responseSize) {
+        final ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+
+        if (body.contentLength() >= 0) {
+            responseSize.record(body.contentLength());
+            return response;
+        }
+
+        // chunked responses only reveal their size as they're read
+        final ForwardingSource countingSource = new ForwardingSource(body.source()) {
+            private long bytesRead = 0;
+            private boolean recorded = false;
+
+            @Override
+            public long read(final Buffer sink, final long byteCount) throws IOException {
+                final long read = super.read(sink, byteCount);
+                if (read < 0) {
+                    record();
+                } else {
+                    bytesRead += read;
+                }
+
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                record();
+                super.close();
+            }
+
+            private void record() {
+                if (!recorded) {
+                    recorded = true;
+                    responseSize.record(bytesRead);
+                }
+            }
+        };
+
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), -1, Okio.buffer(countingSource)))
+                .build();
+    }
+
+    static String getEndpointTemplate(final List<String> pathSegments) {
+        final String path = "/" + String.join("/", pathSegments);
+        if (!path.startsWith(API_PREFIX) || pathSegments.size() < 2) {
+            return path;
+        }
+
+        final String resource = pathSegments.get(1);
+        final List<String> parameters = PARAMETERS.getOrDefault(resource, ImmutableList.of());
+        final StringBuilder template = new StringBuilder(API_PREFIX).append(resource);
+
+        int parameter = 0;
+        for (final String segment : pathSegments.subList(2, pathSegments.size())) {
+            template.append('/');
+
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            if (parameter > 0 && LITERALS.contains(segment)) {
+                template.append(segment);
+            } else {
+                template.append('{').append(parameter < parameters.size() ? parameters.get(parameter) : "name").append('}');
+                parameter++;
+            }
+        }
+
+        return template.toString();
+    }
+}
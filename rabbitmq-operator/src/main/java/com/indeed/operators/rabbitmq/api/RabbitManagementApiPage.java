@@ -0,0 +1,67 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a paged management API list response.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RabbitManagementApiPage<T> {
+
+    private final List<T> items;
+    private final int page;
+    private final int pageCount;
+    private final int pageSize;
+    private final long filteredCount;
+    private final long totalCount;
+
+    @JsonCreator
+    public RabbitManagementApiPage(
+            @JsonProperty("items") final List<T> items,
+            @JsonProperty("page") final int page,
+            @JsonProperty("page_count") final int pageCount,
+            @JsonProperty("page_size") final int pageSize,
+            @JsonProperty("filtered_count") final long filteredCount,
+            @JsonProperty("total_count") final long totalCount
+    ) {
+        this.items = items == null ? Collections.emptyList() : items;
+        this.page = page;
+        this.pageCount = pageCount;
+        this.pageSize = pageSize;
+        this.filteredCount = filteredCount;
+        this.totalCount = totalCount;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long getFilteredCount() {
+        return filteredCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean isLastPage() {
+        return page >= pageCount;
+    }
+}
@@ -1,5 +1,7 @@
 package com.indeed.operators.rabbitmq.api;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.indeed.operators.rabbitmq.Constants;
 import com.indeed.operators.rabbitmq.controller.SecretsController;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
@@ -9,22 +11,55 @@ import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
 import com.indeed.rabbitmq.admin.RabbitManagementApi;
 import com.indeed.rabbitmq.admin.RabbitManagementApiFactory;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import okhttp3.Credentials;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 public class RabbitManagementApiProvider {
 
     private final Map<RabbitMQConnectionInfo, RabbitManagementApiFacade> rabbitApis;
     private final SecretsController secretsController;
+    private final Map<RabbitManagementApiCache.Endpoint, Duration> cacheTtls;
+    private final MeterRegistry meterRegistry;
+    private final RabbitManagementApiRouter.ReadStrategy readStrategy;
+    private final RabbitManagementApiHedgingPolicy hedgingPolicy;
+    private final ExecutorService executor;
+    private final double defaultRequestsPerSecond;
+    private final Duration latencyThreshold;
+    private final Map<String, RabbitManagementApiRateLimiter> rateLimiters;
+    private final Map<String, RabbitManagementApiCache> caches;
+    private final ObjectMapper objectMapper;
 
     public RabbitManagementApiProvider(
-            final SecretsController secretsController
+            final SecretsController secretsController,
+            final Map<RabbitManagementApiCache.Endpoint, Duration> cacheTtls,
+            final MeterRegistry meterRegistry,
+            final RabbitManagementApiRouter.ReadStrategy readStrategy,
+            final RabbitManagementApiHedgingPolicy hedgingPolicy,
+            final ExecutorService executor,
+            final double defaultRequestsPerSecond,
+            final Duration latencyThreshold
     ) {
         rabbitApis = new HashMap<>();
         this.secretsController = secretsController;
+        this.cacheTtls = cacheTtls;
+        this.meterRegistry = meterRegistry;
+        this.readStrategy = readStrategy;
+        this.hedgingPolicy = hedgingPolicy;
+        this.executor = executor;
+        this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+        this.latencyThreshold = latencyThreshold;
+        this.rateLimiters = new HashMap<>();
+        this.caches = new HashMap<>();
+        this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
     public RabbitManagementApiFacade getApi(final RabbitMQConnectionInfo connectionInfo) {
@@ -38,15 +73,51 @@ public class RabbitManagementApiProvider {
             }
 
             final Secret adminSecret = secretsController.get(RabbitMQSecrets.getClusterSecretName(connectionInfo.getClusterName()), connectionInfo.getNamespace());
-            final OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient.Builder().addInterceptor(new RabbitManagementApiLogger());
-            final RabbitManagementApi api = RabbitManagementApiFactory.newInstance(
-                    okHttpClientBuilder,
-                    buildApiUri(connectionInfo),
-                    secretsController.decodeSecretPayload(adminSecret.getData().get(Constants.Secrets.USERNAME_KEY)),
-                    secretsController.decodeSecretPayload(adminSecret.getData().get(Constants.Secrets.PASSWORD_KEY))
-            );
-
-            final RabbitManagementApiFacade facade = new RabbitManagementApiFacade(api);
+            final String username = secretsController.decodeSecretPayload(adminSecret.getData().get(Constants.Secrets.USERNAME_KEY));
+            final String password = secretsController.decodeSecretPayload(adminSecret.getData().get(Constants.Secrets.PASSWORD_KEY));
+            final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                    .addInterceptor(new RabbitManagementApiLogger())
+                    .addInterceptor(new RabbitManagementApiMetrics(meterRegistry, connectionInfo.getClusterName()))
+                    .addInterceptor(chain -> chain.proceed(chain.request().newBuilder().header("Authorization", Credentials.basic(username, password)).build()))
+                    .build();
+
+            // facades for individual nodes share their cluster's limiter, so the limit holds for the cluster as a whole
+            final String clusterKey = connectionInfo.getNamespace() + "/" + connectionInfo.getClusterName();
+            final RabbitManagementApiRateLimiter rateLimiter = rateLimiters.computeIfAbsent(clusterKey, key -> {
+                final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(defaultRequestsPerSecond, latencyThreshold);
+                limiter.bindTo(meterRegistry, Tags.of("cluster", connectionInfo.getClusterName()));
+                return limiter;
+            });
+
+            final RabbitManagementApiRouter router;
+            if (connectionInfo.getNodeName().isPresent()) {
+                final String nodeName = connectionInfo.getNodeName().get();
+                router = RabbitManagementApiRouter.pinnedTo(buildTarget(nodeName, buildNodeApiUri(connectionInfo.getClusterName(), nodeName), okHttpClient, username, password, rateLimiter));
+            } else {
+                final String serviceName = RabbitMQServices.getDiscoveryServiceName(connectionInfo.getClusterName());
+                router = new RabbitManagementApiRouter(
+                        buildTarget(serviceName, buildServiceApiUri(connectionInfo.getClusterName()), okHttpClient, username, password, rateLimiter),
+                        podName -> buildTarget(podName, buildNodeApiUri(connectionInfo.getClusterName(), podName), okHttpClient, username, password, rateLimiter),
+                        readStrategy
+                );
+            }
+
+            final Tags tags = Tags.of("cluster", connectionInfo.getClusterName(), "node", connectionInfo.getNodeName().orElse("all"));
+
+            // and their cluster's cache, so a write through any of them invalidates what all of them read
+            final RabbitManagementApiCache cache = caches.computeIfAbsent(clusterKey, key -> {
+                final RabbitManagementApiCache clusterCache = new RabbitManagementApiCache(cacheTtls);
+                clusterCache.bindTo(meterRegistry, Tags.of("cluster", connectionInfo.getClusterName()));
+                return clusterCache;
+            });
+
+            final RabbitManagementApiHedger hedger = new RabbitManagementApiHedger(hedgingPolicy, executor);
+            hedger.bindTo(meterRegistry, tags);
+
+            final RabbitManagementApiSingleFlight singleFlight = new RabbitManagementApiSingleFlight();
+            singleFlight.bindTo(meterRegistry, tags);
+
+            final RabbitManagementApiFacade facade = new RabbitManagementApiFacade(router, cache, hedger, singleFlight, rateLimiter);
             rabbitApis.put(connectionInfo, facade);
 
             return facade;
@@ -54,16 +125,38 @@ public class RabbitManagementApiProvider {
     }
 
     public RabbitManagementApiFacade getApi(final RabbitMQCluster rabbitMQCluster) {
-        return getApi(RabbitMQConnectionInfo.fromCluster(rabbitMQCluster));
+        final RabbitManagementApiFacade facade = getApi(RabbitMQConnectionInfo.fromCluster(rabbitMQCluster));
+
+        final double requestsPerSecond = rabbitMQCluster.getManagementApiRequestsPerSecond();
+        facade.getRateLimiter().setMaxRate(requestsPerSecond > 0 ? requestsPerSecond : defaultRequestsPerSecond);
+
+        return facade;
     }
 
-    private URI buildApiUri(final RabbitMQConnectionInfo connectionInfo) {
-        final String serviceName = RabbitMQServices.getDiscoveryServiceName(connectionInfo.getClusterName());
+    private RabbitManagementApiTarget buildTarget(
+            final String name,
+            final URI apiUri,
+            final OkHttpClient okHttpClient,
+            final String username,
+            final String password,
+            final RabbitManagementApiRateLimiter rateLimiter
+    ) {
+        final RabbitManagementApi api = RabbitManagementApiFactory.newInstance(
+                okHttpClient.newBuilder(),
+                apiUri,
+                username,
+                password
+        );
+        final RabbitManagementApiHttpClient httpClient = new RabbitManagementApiHttpClient(okHttpClient, HttpUrl.get(apiUri), objectMapper, rateLimiter::acquire);
 
-        if (connectionInfo.getNodeName().isPresent()) {
-            return URI.create(String.format("%s.%s:15672", connectionInfo.getNodeName().get(), serviceName));
-        }
+        return new RabbitManagementApiTarget(name, api, httpClient);
+    }
+
+    private URI buildNodeApiUri(final String clusterName, final String nodeName) {
+        return URI.create(String.format("http://%s.%s:15672", nodeName, RabbitMQServices.getDiscoveryServiceName(clusterName)));
+    }
 
-        return URI.create(String.format("http://%s:15672", serviceName));
+    private URI buildServiceApiUri(final String clusterName) {
+        return URI.create(String.format("http://%s:15672", RabbitMQServices.getDiscoveryServiceName(clusterName)));
     }
 }
@@ -0,0 +1,128 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.google.common.util.concurrent.RateLimiter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in front of a cluster's management API, so that a burst of reconciliation can't starve
+ * the brokers of the CPU they need for messaging. Call latencies are smoothed into an exponentially weighted
+ * moving average, and at most once per interval the rate backs off multiplicatively if that average is over
+ * the latency threshold or recovers additively if it isn't, never exceeding the configured maximum. A single
+ * slow call therefore can't halve the rate on its own. A maximum of zero or less turns limiting off.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class RabbitManagementApiRateLimiter {
+
+    private static final double MIN_RATE = 1;
+    private static final double BACKOFF_FACTOR = 0.5;
+    private static final double RECOVERY_STEP = 1;
+    private static final long ADJUSTMENT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final RateLimiter rateLimiter;
+    private final long latencyThresholdNanos;
+    private final AtomicLong acquisitions;
+    private final AtomicLong queueDelayNanos;
+
+    private volatile double maxRate;
+    private long lastAdjustmentNanos;
+    private double averageLatencyNanos;
+
+    public RabbitManagementApiRateLimiter(
+            final double maxRate,
+            final Duration latencyThreshold
+    ) {
+        this.rateLimiter = RateLimiter.create(maxRate > 0 ? maxRate : MIN_RATE);
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.acquisitions = new AtomicLong();
+        this.queueDelayNanos = new AtomicLong();
+        this.maxRate = maxRate;
+        this.lastAdjustmentNanos = System.nanoTime() - ADJUSTMENT_INTERVAL_NANOS;
+        this.averageLatencyNanos = -1;
+    }
+
+    /**
+     * Blocks until the call may go ahead.
+     */
+    public void acquire() {
+        if (maxRate <= 0) {
+            return;
+        }
+
+        final double waitedSeconds = rateLimiter.acquire();
+
+        acquisitions.incrementAndGet();
+        queueDelayNanos.addAndGet((long) (waitedSeconds * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Only for calls whose latency is the broker's alone; streamed listings also include the time the caller
+     * spends on each item, so they mustn't be recorded here.
+     */
+    public synchronized void recordLatency(final long latencyNanos) {
+        if (maxRate <= 0) {
+            return;
+        }
+
+        averageLatencyNanos = averageLatencyNanos < 0
+                ? latencyNanos
+                : averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos);
+
+        final long now = System.nanoTime();
+        if (now - lastAdjustmentNanos < ADJUSTMENT_INTERVAL_NANOS) {
+            return;
+        }
+
+        final double currentRate = rateLimiter.getRate();
+        final double newRate = averageLatencyNanos > latencyThresholdNanos
+                ? Math.max(MIN_RATE, currentRate * BACKOFF_FACTOR)
+                : Math.min(maxRate, currentRate + RECOVERY_STEP);
+
+        if (newRate != currentRate) {
+            rateLimiter.setRate(newRate);
+        }
+
+        lastAdjustmentNanos = now;
+    }
+
+    public synchronized void setMaxRate(final double maxRate) {
+        if (maxRate == this.maxRate) {
+            return;
+        }
+
+        final boolean wasDisabled = this.maxRate <= 0;
+        this.maxRate = maxRate;
+
+        if (maxRate > 0 && (wasDisabled || rateLimiter.getRate() > maxRate)) {
+            rateLimiter.setRate(maxRate);
+        }
+    }
+
+    public double getMaxRate() {
+        return maxRate;
+    }
+
+    public double getRate() {
+        return maxRate <= 0 ? 0 : rateLimiter.getRate();
+    }
+
+    public void bindTo(final MeterRegistry meterRegistry, final Tags tags) {
+        FunctionTimer.builder("rabbitmq.management.api.queue.delay", this,
+                limiter -> limiter.acquisitions.get(),
+                limiter -> limiter.queueDelayNanos.get(),
+                TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(meterRegistry);
+
+        Gauge.builder("rabbitmq.management.api.rate", this, RabbitManagementApiRateLimiter::getRate)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses which management API endpoint a call goes to. Every node serves the same cluster-wide view,
+ * so reads are spread across the healthy nodes while writes stay on a single node to keep them ordered.
+ * When no node is known or healthy, everything falls back to the discovery service.
+ */
+public class RabbitManagementApiRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(RabbitManagementApiRouter.class);
+
+    private static final long MEMBERSHIP_REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+    // a failed lookup is retried sooner, doubling up to the refresh interval while it keeps failing
+    private static final long MEMBERSHIP_RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public enum ReadStrategy {
+        ROUND_ROBIN,
+        LEAST_LATENCY
+    }
+
+    private final RabbitManagementApiTarget serviceTarget;
+    private final Function<String, RabbitManagementApiTarget> nodeTargetFactory;
+    private final ReadStrategy readStrategy;
+    private final Map<String, RabbitManagementApiTarget> nodeTargets;
+    private final AtomicInteger nextRead;
+    private final AtomicBoolean refreshing;
+
+    private volatile List<RabbitManagementApiTarget> runningNodes;
+    private volatile long nextRefreshNanos;
+    private volatile boolean refreshed;
+    private int consecutiveFailures;
+
+    /**
+     * @param serviceTarget the discovery service, used for membership lookups and as the fallback target
+     * @param nodeTargetFactory builds the target for a single node given its pod name, or null to never route to individual nodes
+     */
+    public RabbitManagementApiRouter(
+            final RabbitManagementApiTarget serviceTarget,
+            final Function<String, RabbitManagementApiTarget> nodeTargetFactory,
+            final ReadStrategy readStrategy
+    ) {
+        this.serviceTarget = serviceTarget;
+        this.nodeTargetFactory = nodeTargetFactory;
+        this.readStrategy = readStrategy;
+        this.nodeTargets = new ConcurrentHashMap<>();
+        this.nextRead = new AtomicInteger();
+        this.refreshing = new AtomicBoolean(false);
+        this.runningNodes = Collections.emptyList();
+        this.refreshed = false;
+    }
+
+    /**
+     * A router that sends every call to the given target, e.g. when talking to one specific node.
+     */
+    public static RabbitManagementApiRouter pinnedTo(final RabbitManagementApiTarget target) {
+        return new RabbitManagementApiRouter(target, null, ReadStrategy.ROUND_ROBIN);
+    }
+
+    public RabbitManagementApiTarget selectForRead() {
+        final List<RabbitManagementApiTarget> healthy = getHealthyNodes();
+
+        if (healthy.isEmpty()) {
+            return serviceTarget;
+        }
+
+        if (healthy.size() == 1) {
+            return healthy.get(0);
+        }
+
+        switch (readStrategy) {
+            case LEAST_LATENCY:
+                // compare two random nodes rather than always taking the fastest, so that one quick node
+                // doesn't absorb every read and the others keep getting latency samples
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                final RabbitManagementApiTarget first = healthy.get(random.nextInt(healthy.size()));
+                final RabbitManagementApiTarget second = healthy.get(random.nextInt(healthy.size()));
+                return first.getLatencyNanos() <= second.getLatencyNanos() ? first : second;
+            case ROUND_ROBIN:
+            default:
+                return healthy.get(Math.floorMod(nextRead.getAndIncrement(), healthy.size()));
+        }
+    }
+
+    /**
+     * Picks a healthy node other than the given one, e.g. to retry or hedge a read somewhere else.
+     */
+    public Optional<RabbitManagementApiTarget> selectForReadExcluding(final RabbitManagementApiTarget excluded) {
+        final List<RabbitManagementApiTarget> candidates = getHealthyNodes().stream()
+                .filter(target -> target != excluded)
+                .collect(Collectors.toList());
+
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(candidates.get(Math.floorMod(nextRead.getAndIncrement(), candidates.size())));
+    }
+
+    public RabbitManagementApiTarget selectForWrite() {
+        final List<RabbitManagementApiTarget> healthy = getHealthyNodes();
+
+        return healthy.isEmpty() ? serviceTarget : healthy.get(0);
+    }
+
+    public RabbitManagementApiTarget getServiceTarget() {
+        return serviceTarget;
+    }
+
+    public List<RabbitManagementApiTarget> getRunningNodes() {
+        return runningNodes;
+    }
+
+    private List<RabbitManagementApiTarget> getHealthyNodes() {
+        refreshMembershipIfStale();
+
+        return runningNodes.stream()
+                .filter(RabbitManagementApiTarget::isHealthy)
+                .collect(Collectors.toList());
+    }
+
+    private void refreshMembershipIfStale() {
+        if (nodeTargetFactory == null) {
+            return;
+        }
+
+        if (refreshed && System.nanoTime() - nextRefreshNanos < 0) {
+            return;
+        }
+
+        // only one caller refreshes; everyone else keeps using the current membership in the meantime
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            final JsonNode nodes = serviceTarget.getHttpClient().getJson(ImmutableList.of("nodes"), ImmutableMap.of("columns", "name,running"));
+
+            final List<RabbitManagementApiTarget> running = new ArrayList<>();
+            for (final JsonNode node : nodes) {
+                if (node.path("running").asBoolean(false)) {
+                    final String podName = getPodName(node.path("name").asText());
+                    running.add(nodeTargets.computeIfAbsent(podName, nodeTargetFactory));
+                }
+            }
+
+            // a stable order means writes keep going to the same node for as long as it stays healthy
+            running.sort(Comparator.comparing(RabbitManagementApiTarget::getName));
+            runningNodes = Collections.unmodifiableList(running);
+            consecutiveFailures = 0;
+            nextRefreshNanos = System.nanoTime() + MEMBERSHIP_REFRESH_INTERVAL_NANOS;
+        } catch (final RabbitManagementApiException e) {
+            final long retryNanos = Math.min(MEMBERSHIP_REFRESH_INTERVAL_NANOS, MEMBERSHIP_RETRY_INTERVAL_NANOS << Math.min(consecutiveFailures, 6));
+            consecutiveFailures++;
+            nextRefreshNanos = System.nanoTime() + retryNanos;
+            log.warn("Could not refresh management API node membership, keeping {} and retrying in {}ms", runningNodes, TimeUnit.NANOSECONDS.toMillis(retryNanos), e);
+        } finally {
+            refreshed = true;
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Node names look like rabbit@mycluster-0.mycluster-svc-discovery.namespace.svc.cluster.local; the
+     * host part up to the first dot is the pod name.
+     */
+    static String getPodName(final String nodeName) {
+        final String host = nodeName.substring(nodeName.indexOf('@') + 1);
+        final int firstDot = host.indexOf('.');
+
+        return firstDot < 0 ? host : host.substring(0, firstDot);
+    }
+}
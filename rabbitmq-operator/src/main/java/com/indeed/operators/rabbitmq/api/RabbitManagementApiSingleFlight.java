@@ -0,0 +1,85 @@
+package com.indeed.operators.rabbitmq.api;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same thing share a single in-flight call. The first caller for
+ * a key makes the call; anyone arriving with the same key before it finishes waits for and receives
+ * the same result (or exception). Lists are handed out as read-only views, since every caller gets the
+ * same instance.
+ */
+public class RabbitManagementApiSingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight;
+    private final AtomicLong savedCalls;
+
+    public RabbitManagementApiSingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.savedCalls = new AtomicLong();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final String key, final Supplier<T> call) {
+        final CompletableFuture<Object> ours = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, ours);
+
+        if (existing != null) {
+            savedCalls.incrementAndGet();
+            return (T) await(existing);
+        }
+
+        try {
+            final T result = readOnly(call.get());
+            ours.complete(result);
+
+            return result;
+        } catch (final Throwable t) {
+            // anything left uncompleted here would leave the callers waiting on it blocked forever
+            ours.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    public long getSavedCalls() {
+        return savedCalls.get();
+    }
+
+    public void bindTo(final MeterRegistry meterRegistry, final Tags tags) {
+        FunctionCounter.builder("rabbitmq.management.api.coalesced.reads", this, RabbitManagementApiSingleFlight::getSavedCalls)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T readOnly(final T result) {
+        return result instanceof List ? (T) Collections.unmodifiableList((List<?>) result) : result;
+    }
+
+    private static Object await(final CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RabbitManagementApiException("interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RabbitManagementApiException("failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.indeed.rabbitmq.admin.RabbitManagementApi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single management API endpoint - either one broker node or the cluster's discovery service -
+ * along with what we've recently observed about it.
+ */
+public class RabbitManagementApiTarget {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long UNHEALTHY_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String name;
+    private final RabbitManagementApi api;
+    private final RabbitManagementApiHttpClient httpClient;
+
+    private volatile double latencyNanos = 0;
+    private volatile long unhealthyUntilNanos;
+
+    public RabbitManagementApiTarget(
+            final String name,
+            final RabbitManagementApi api,
+            final RabbitManagementApiHttpClient httpClient
+    ) {
+        this.name = name;
+        this.api = api;
+        this.httpClient = httpClient;
+        // nanoTime's origin is arbitrary and can be negative, so a zero deadline isn't necessarily in the past
+        this.unhealthyUntilNanos = System.nanoTime();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RabbitManagementApi getApi() {
+        return api;
+    }
+
+    public RabbitManagementApiHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Exponentially weighted moving average of successful call latency.
+     */
+    public double getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public boolean isHealthy() {
+        return System.nanoTime() - unhealthyUntilNanos >= 0;
+    }
+
+    public void recordSuccess(final long elapsedNanos) {
+        // racy read-modify-write, but an occasionally lost sample doesn't matter for routing
+        latencyNanos = latencyNanos == 0 ? elapsedNanos : (LATENCY_SMOOTHING * elapsedNanos) + ((1 - LATENCY_SMOOTHING) * latencyNanos);
+        unhealthyUntilNanos = System.nanoTime();
+    }
+
+    public void recordFailure() {
+        unhealthyUntilNanos = System.nanoTime() + UNHEALTHY_COOLDOWN_NANOS;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,88 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.OptionalLong;
+
+/**
+ * One entry from /api/shovels, the runtime state of a shovel on whichever node is running it. This is
+ * separate from the shovel's definition, which lives under /api/parameters/shovel.
+ */
+public class ShovelStatus {
+
+    public static final String RUNNING = "running";
+
+    private final String name;
+    private final String vhost;
+    private final String type;
+    private final String state;
+    private final String node;
+    private final OptionalLong forwarded;
+
+    public ShovelStatus(
+            final String name,
+            final String vhost,
+            final String type,
+            final String state,
+            final String node,
+            final OptionalLong forwarded
+    ) {
+        this.name = name;
+        this.vhost = vhost;
+        this.type = type;
+        this.state = state;
+        this.node = node;
+        this.forwarded = forwarded;
+    }
+
+    static ShovelStatus fromJson(final JsonNode json) {
+        // only newer brokers report how many messages a shovel has moved
+        final JsonNode forwarded = json.path("forwarded");
+
+        return new ShovelStatus(
+                json.path("name").asText(),
+                json.path("vhost").asText(),
+                json.path("type").asText(),
+                json.path("state").asText(),
+                json.path("node").asText(),
+                forwarded.isNumber() ? OptionalLong.of(forwarded.asLong()) : OptionalLong.empty()
+        );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVhost() {
+        return vhost;
+    }
+
+    /**
+     * @return "dynamic" for shovels defined through runtime parameters, "static" for ones in the broker's config.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return "starting", "running" or "terminated".
+     */
+    public String getState() {
+        return state;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * @return the number of messages the shovel has forwarded since it started, if the broker reports it.
+     */
+    public OptionalLong getForwarded() {
+        return forwarded;
+    }
+
+    public boolean isRunning() {
+        return RUNNING.equals(state);
+    }
+}
@@ -0,0 +1,61 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indeed.operators.rabbitmq.model.crd.topology.BindingSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.ExchangeSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.QueueSpec;
+
+import java.util.Map;
+
+/**
+ * Reads exchanges, queues and bindings from management API list responses into the same specs their
+ * custom resources declare, so that the two can be compared directly.
+ */
+final class TopologyJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> ARGUMENTS_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private TopologyJson() {
+    }
+
+    static ExchangeSpec toExchangeSpec(final JsonNode json) {
+        return new ExchangeSpec(
+                json.path("vhost").asText(),
+                json.path("name").asText(),
+                json.path("type").asText(),
+                json.path("durable").asBoolean(),
+                json.path("auto_delete").asBoolean(),
+                json.path("internal").asBoolean(),
+                toArguments(json.path("arguments"))
+        );
+    }
+
+    static QueueSpec toQueueSpec(final JsonNode json) {
+        return new QueueSpec(
+                json.path("vhost").asText(),
+                json.path("name").asText(),
+                json.path("durable").asBoolean(),
+                json.path("auto_delete").asBoolean(),
+                toArguments(json.path("arguments"))
+        );
+    }
+
+    static BindingSpec toBindingSpec(final JsonNode json) {
+        return new BindingSpec(
+                json.path("vhost").asText(),
+                json.path("source").asText(),
+                json.path("destination").asText(),
+                json.path("destination_type").asText(),
+                json.path("routing_key").asText(),
+                toArguments(json.path("arguments"))
+        );
+    }
+
+    private static Map<String, Object> toArguments(final JsonNode json) {
+        // the broker sends an empty list rather than an empty object when there are no arguments
+        return json.isObject() ? MAPPER.convertValue(json, ARGUMENTS_TYPE) : null;
+    }
+}
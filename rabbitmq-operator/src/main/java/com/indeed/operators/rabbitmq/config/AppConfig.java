@@ -1,9 +1,15 @@
 package com.indeed.operators.rabbitmq.config;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
 import com.indeed.operators.rabbitmq.executor.ClusterAwareExecutor;
 import com.indeed.operators.rabbitmq.reconciliation.lock.NamedSemaphores;
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.jmx.JmxConfig;
+import io.micrometer.jmx.JmxMeterRegistry;
 import okhttp3.OkHttpClient;
 import org.apache.commons.text.RandomStringGenerator;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -33,6 +39,11 @@ public class AppConfig {
         return new OkHttpClient();
     }
 
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new JmxMeterRegistry(JmxConfig.DEFAULT, Clock.SYSTEM);
+    }
+
     @Bean
     public NamedSemaphores namedSemaphores() {
         return new NamedSemaphores();
@@ -62,6 +73,20 @@ public class AppConfig {
         return new ClusterAwareExecutor(executor, namedSemaphores);
     }
 
+    @Bean
+    @Qualifier("MANAGEMENT_API_EXECUTOR")
+    public ExecutorService managementApiExecutorService() {
+        // calls here spend nearly all of their time blocked on the network, so don't cap the pool size
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("management-api-%d").setDaemon(true).build());
+    }
+
+    @Bean
+    public BoundedConcurrencyExecutor boundedConcurrencyExecutor(
+            @Qualifier("MANAGEMENT_API_EXECUTOR") final ExecutorService executor
+    ) {
+        return new BoundedConcurrencyExecutor(executor);
+    }
+
     @Bean
     @Qualifier("SCHEDULED_EXECUTOR")
     public ScheduledExecutorService scheduledExecutorService() {
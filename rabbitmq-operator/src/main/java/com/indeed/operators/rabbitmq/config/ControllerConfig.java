@@ -8,7 +8,14 @@ import com.indeed.operators.rabbitmq.controller.SecretsController;
 import com.indeed.operators.rabbitmq.controller.ServicesController;
 import com.indeed.operators.rabbitmq.controller.StatefulSetController;
 import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQBindingResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQExchangeResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQPolicyResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQQueueResourceController;
 import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQShovelResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQUserResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQVhostResourceController;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -57,6 +64,62 @@ public class ControllerConfig {
         return new NetworkPartitionResourceController(client, labelsToWatch);
     }
 
+    @Bean
+    public RabbitMQUserResourceController rabbitUserResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQUserResourceController(client, labelsToWatch);
+    }
+
+    @Bean
+    public RabbitMQPolicyResourceController rabbitPolicyResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQPolicyResourceController(client, labelsToWatch);
+    }
+
+    @Bean
+    public RabbitMQShovelResourceController rabbitShovelResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQShovelResourceController(client, labelsToWatch);
+    }
+
+    @Bean
+    public RabbitMQVhostResourceController rabbitVhostResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQVhostResourceController(client, labelsToWatch);
+    }
+
+    @Bean
+    public RabbitMQExchangeResourceController rabbitExchangeResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQExchangeResourceController(client, labelsToWatch);
+    }
+
+    @Bean
+    public RabbitMQQueueResourceController rabbitQueueResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQQueueResourceController(client, labelsToWatch);
+    }
+
+    @Bean
+    public RabbitMQBindingResourceController rabbitBindingResourceController(
+            final KubernetesClient client,
+            @Qualifier("LABELS_TO_WATCH") final Map<String, String> labelsToWatch
+    ) {
+        return new RabbitMQBindingResourceController(client, labelsToWatch);
+    }
+
     @Bean
     public SecretsController secretsController(
             final KubernetesClient client,
@@ -2,9 +2,14 @@ package com.indeed.operators.rabbitmq.config;
 
 import com.google.common.collect.ImmutableList;
 import com.indeed.operators.rabbitmq.api.RabbitMQPasswordConverter;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiCache;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiHedgingPolicy;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiRouter;
 import com.indeed.operators.rabbitmq.controller.SecretsController;
-import com.indeed.operators.rabbitmq.operations.AreQueuesEmptyOperation;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQPolicyResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQShovelResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQUserResourceController;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
 import com.indeed.operators.rabbitmq.reconciliation.validators.OperatorPolicyValidator;
 import com.indeed.operators.rabbitmq.reconciliation.validators.PolicyValidator;
@@ -14,19 +19,34 @@ import com.indeed.operators.rabbitmq.resources.RabbitMQContainers;
 import com.indeed.operators.rabbitmq.resources.RabbitMQPods;
 import com.indeed.operators.rabbitmq.resources.RabbitMQSecrets;
 import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
 @Configuration
 public class RabbitConfig {
 
+    private static final String MANAGEMENT_API_CACHE_TTLS_ENV_VAR = "MANAGEMENT_API_CACHE_TTLS";
+    private static final Duration DEFAULT_MANAGEMENT_API_CACHE_TTL = Duration.ofSeconds(30);
+    private static final String MANAGEMENT_API_READ_STRATEGY_ENV_VAR = "MANAGEMENT_API_READ_STRATEGY";
+    private static final String MANAGEMENT_API_HEDGE_PERCENTILE_ENV_VAR = "MANAGEMENT_API_HEDGE_PERCENTILE";
+    private static final String MANAGEMENT_API_HEDGE_BUDGET_PERCENT_ENV_VAR = "MANAGEMENT_API_HEDGE_BUDGET_PERCENT";
+    private static final double DEFAULT_MANAGEMENT_API_HEDGE_BUDGET_PERCENT = 5;
+    private static final String MANAGEMENT_API_REQUESTS_PER_SECOND_ENV_VAR = "MANAGEMENT_API_REQUESTS_PER_SECOND";
+    private static final double DEFAULT_MANAGEMENT_API_REQUESTS_PER_SECOND = 0;
+    private static final String MANAGEMENT_API_LATENCY_THRESHOLD_MS_ENV_VAR = "MANAGEMENT_API_LATENCY_THRESHOLD_MS";
+    private static final long DEFAULT_MANAGEMENT_API_LATENCY_THRESHOLD_MS = 1000;
+
     @Bean
     public RabbitMQPods rabbitMQPods() {
         return new RabbitMQPods();
@@ -50,20 +70,78 @@ public class RabbitConfig {
     }
 
     @Bean
-    public RabbitManagementApiProvider managementApiCache(final SecretsController secretsController) {
-        return new RabbitManagementApiProvider(secretsController);
+    @Qualifier("MANAGEMENT_API_CACHE_TTLS")
+    public Map<RabbitManagementApiCache.Endpoint, Duration> managementApiCacheTtls() {
+        final Map<RabbitManagementApiCache.Endpoint, Duration> ttls = new EnumMap<>(RabbitManagementApiCache.Endpoint.class);
+        for (final RabbitManagementApiCache.Endpoint endpoint : RabbitManagementApiCache.Endpoint.values()) {
+            ttls.put(endpoint, DEFAULT_MANAGEMENT_API_CACHE_TTL);
+        }
+
+        // format is endpoint=seconds, e.g. USERS=30,SHOVELS=0 - a TTL of 0 disables caching for that endpoint
+        if (System.getenv().containsKey(MANAGEMENT_API_CACHE_TTLS_ENV_VAR)) {
+            final String cacheTtls = System.getenv().get(MANAGEMENT_API_CACHE_TTLS_ENV_VAR);
+            for (final String ttl : cacheTtls.split(",")) {
+                if (ttl.contains("=")) {
+                    final String[] keyValue = ttl.split("=");
+                    ttls.put(RabbitManagementApiCache.Endpoint.valueOf(keyValue[0].trim().toUpperCase()), Duration.ofSeconds(Long.parseLong(keyValue[1].trim())));
+                }
+            }
+        }
+
+        return ttls;
+    }
+
+    @Bean
+    public RabbitManagementApiRouter.ReadStrategy managementApiReadStrategy() {
+        final String readStrategy = System.getenv(MANAGEMENT_API_READ_STRATEGY_ENV_VAR);
+
+        return readStrategy == null ? RabbitManagementApiRouter.ReadStrategy.ROUND_ROBIN : RabbitManagementApiRouter.ReadStrategy.valueOf(readStrategy.trim().toUpperCase());
+    }
+
+    @Bean
+    public RabbitManagementApiHedgingPolicy managementApiHedgingPolicy() {
+        // hedging is opt-in: set the percentile (e.g. 95) after which a slow read is also sent to another node
+        final String percentile = System.getenv(MANAGEMENT_API_HEDGE_PERCENTILE_ENV_VAR);
+        if (percentile == null) {
+            return RabbitManagementApiHedgingPolicy.disabled();
+        }
+
+        final String budgetPercent = System.getenv(MANAGEMENT_API_HEDGE_BUDGET_PERCENT_ENV_VAR);
+
+        return new RabbitManagementApiHedgingPolicy(
+                Double.parseDouble(percentile.trim()) / 100,
+                (budgetPercent == null ? DEFAULT_MANAGEMENT_API_HEDGE_BUDGET_PERCENT : Double.parseDouble(budgetPercent.trim())) / 100
+        );
     }
 
     @Bean
-    public AreQueuesEmptyOperation queuesEmptyOperation(
-            final RabbitManagementApiProvider managementApiCache
+    public RabbitManagementApiProvider managementApiCache(
+            final SecretsController secretsController,
+            @Qualifier("MANAGEMENT_API_CACHE_TTLS") final Map<RabbitManagementApiCache.Endpoint, Duration> managementApiCacheTtls,
+            final MeterRegistry meterRegistry,
+            final RabbitManagementApiRouter.ReadStrategy managementApiReadStrategy,
+            final RabbitManagementApiHedgingPolicy managementApiHedgingPolicy,
+            @Qualifier("MANAGEMENT_API_EXECUTOR") final ExecutorService managementApiExecutor
     ) {
-        return new AreQueuesEmptyOperation(managementApiCache);
+        // limiting is opt-in: it's off unless a rate is set here or in a cluster's spec, which takes precedence
+        final String requestsPerSecond = System.getenv(MANAGEMENT_API_REQUESTS_PER_SECOND_ENV_VAR);
+        final String latencyThresholdMs = System.getenv(MANAGEMENT_API_LATENCY_THRESHOLD_MS_ENV_VAR);
+
+        return new RabbitManagementApiProvider(
+                secretsController,
+                managementApiCacheTtls,
+                meterRegistry,
+                managementApiReadStrategy,
+                managementApiHedgingPolicy,
+                managementApiExecutor,
+                requestsPerSecond == null ? DEFAULT_MANAGEMENT_API_REQUESTS_PER_SECOND : Double.parseDouble(requestsPerSecond.trim()),
+                Duration.ofMillis(latencyThresholdMs == null ? DEFAULT_MANAGEMENT_API_LATENCY_THRESHOLD_MS : Long.parseLong(latencyThresholdMs.trim()))
+        );
     }
 
     @Bean
-    public RabbitMQPasswordConverter passwordConverter() throws NoSuchAlgorithmException {
-        return new RabbitMQPasswordConverter(new Random(), MessageDigest.getInstance("SHA-256"), Base64.getEncoder(), Base64.getDecoder());
+    public RabbitMQPasswordConverter passwordConverter() {
+        return new RabbitMQPasswordConverter(() -> ThreadLocalRandom.current().nextInt(), Base64.getEncoder(), Base64.getDecoder());
     }
 
     @Bean
@@ -82,8 +160,21 @@ public class RabbitConfig {
             final RabbitMQPods rabbitMQPods,
             final RabbitMQSecrets rabbitMQSecrets,
             final RabbitMQServices rabbitMQServices,
-            final SecretsController secretsController
+            final SecretsController secretsController,
+            final RabbitMQUserResourceController userResourceController,
+            final RabbitMQPolicyResourceController policyResourceController,
+            final RabbitMQShovelResourceController shovelResourceController
     ) {
-        return new RabbitMQClusterFactory(rabbitClusterValidators, rabbitMQContainers, rabbitMQPods, rabbitMQSecrets, rabbitMQServices, secretsController);
+        return new RabbitMQClusterFactory(
+                rabbitClusterValidators,
+                rabbitMQContainers,
+                rabbitMQPods,
+                rabbitMQSecrets,
+                rabbitMQServices,
+                secretsController,
+                userResourceController,
+                policyResourceController,
+                shovelResourceController
+        );
     }
 }
@@ -1,7 +1,14 @@
 package com.indeed.operators.rabbitmq.config;
 
 import com.indeed.operators.rabbitmq.NetworkPartitionWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQBindingWatcher;
 import com.indeed.operators.rabbitmq.RabbitMQEventWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQExchangeWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQPolicyWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQQueueWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQShovelWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQUserWatcher;
+import com.indeed.operators.rabbitmq.RabbitMQVhostWatcher;
 import com.indeed.operators.rabbitmq.api.RabbitMQPasswordConverter;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
 import com.indeed.operators.rabbitmq.controller.PersistentVolumeClaimController;
@@ -11,25 +18,53 @@ import com.indeed.operators.rabbitmq.controller.SecretsController;
 import com.indeed.operators.rabbitmq.controller.ServicesController;
 import com.indeed.operators.rabbitmq.controller.StatefulSetController;
 import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQBindingResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQExchangeResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQQueueResourceController;
 import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQVhostResourceController;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
 import com.indeed.operators.rabbitmq.executor.ClusterAwareExecutor;
-import com.indeed.operators.rabbitmq.operations.AreQueuesEmptyOperation;
 import com.indeed.operators.rabbitmq.reconciliation.ClusterReconciliationOrchestrator;
+import com.indeed.operators.rabbitmq.reconciliation.ClusterStatusUpdater;
+import com.indeed.operators.rabbitmq.reconciliation.NetworkPartitionDetector;
 import com.indeed.operators.rabbitmq.reconciliation.NetworkPartitionReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.PolicyResourceReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.RabbitMQClusterReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.ShovelResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.TopologyResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.UserResourceReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.UserReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.OperatorPolicyReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.PolicyReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ShovelReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ShovelStatusMonitor;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
 import com.indeed.operators.rabbitmq.resources.RabbitMQContainers;
 import com.indeed.operators.rabbitmq.resources.RabbitMQPods;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
 @Configuration
 public class ReconcilerConfig {
 
+    private static final String USER_RECONCILIATION_CONCURRENCY_ENV_VAR = "USER_RECONCILIATION_CONCURRENCY";
+    private static final int DEFAULT_USER_RECONCILIATION_CONCURRENCY = 8;
+    private static final String MANAGEMENT_API_WRITE_CONCURRENCY_ENV_VAR = "MANAGEMENT_API_WRITE_CONCURRENCY";
+    private static final int DEFAULT_MANAGEMENT_API_WRITE_CONCURRENCY = 4;
+    private static final String SHOVEL_STUCK_THRESHOLD_SECONDS_ENV_VAR = "SHOVEL_STUCK_THRESHOLD_SECONDS";
+    private static final long DEFAULT_SHOVEL_STUCK_THRESHOLD_SECONDS = 300;
+    private static final String STATUS_UPDATE_MIN_INTERVAL_SECONDS_ENV_VAR = "STATUS_UPDATE_MIN_INTERVAL_SECONDS";
+    private static final long DEFAULT_STATUS_UPDATE_MIN_INTERVAL_SECONDS = 300;
+
     @Bean
     public RabbitMQEventWatcher rabbitEventWatcher(
             final RabbitMQClusterReconciler reconciler,
@@ -43,9 +78,74 @@ public class ReconcilerConfig {
     public NetworkPartitionWatcher networkPartitionWatcher(
             final NetworkPartitionReconciler partitionReconciler,
             final NetworkPartitionResourceController controller,
+            final ClusterReconciliationOrchestrator orchestrator,
+            @Qualifier("SCHEDULED_EXECUTOR") final ScheduledExecutorService scheduledExecutor
+    ) {
+        return new NetworkPartitionWatcher(partitionReconciler, controller, orchestrator, scheduledExecutor);
+    }
+
+    @Bean
+    public RabbitMQUserWatcher rabbitUserWatcher(
+            final UserResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        return new RabbitMQUserWatcher(reconciler, orchestrator);
+    }
+
+    @Bean
+    public RabbitMQPolicyWatcher rabbitPolicyWatcher(
+            final PolicyResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        return new RabbitMQPolicyWatcher(reconciler, orchestrator);
+    }
+
+    @Bean
+    public RabbitMQShovelWatcher rabbitShovelWatcher(
+            final ShovelResourceReconciler reconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        return new RabbitMQShovelWatcher(reconciler, orchestrator);
+    }
+
+    @Bean
+    public RabbitMQVhostWatcher rabbitVhostWatcher(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final TopologyReconciler topologyReconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        return new RabbitMQVhostWatcher(new TopologyResourceReconciler(controller, clusterFactory, topologyReconciler, TopologyReconciler.Kind.VHOST), orchestrator);
+    }
+
+    @Bean
+    public RabbitMQExchangeWatcher rabbitExchangeWatcher(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final TopologyReconciler topologyReconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        return new RabbitMQExchangeWatcher(new TopologyResourceReconciler(controller, clusterFactory, topologyReconciler, TopologyReconciler.Kind.EXCHANGE), orchestrator);
+    }
+
+    @Bean
+    public RabbitMQQueueWatcher rabbitQueueWatcher(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final TopologyReconciler topologyReconciler,
+            final ClusterReconciliationOrchestrator orchestrator
+    ) {
+        return new RabbitMQQueueWatcher(new TopologyResourceReconciler(controller, clusterFactory, topologyReconciler, TopologyReconciler.Kind.QUEUE), orchestrator);
+    }
+
+    @Bean
+    public RabbitMQBindingWatcher rabbitBindingWatcher(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final TopologyReconciler topologyReconciler,
             final ClusterReconciliationOrchestrator orchestrator
     ) {
-        return new NetworkPartitionWatcher(partitionReconciler, controller, orchestrator);
+        return new RabbitMQBindingWatcher(new TopologyResourceReconciler(controller, clusterFactory, topologyReconciler, TopologyReconciler.Kind.BINDING), orchestrator);
     }
 
     @Bean
@@ -67,7 +167,9 @@ public class ReconcilerConfig {
             final ShovelReconciler shovelReconciler,
             final UserReconciler usersReconciler,
             final PolicyReconciler policyReconciler,
-            final OperatorPolicyReconciler operatorPolicyReconciler
+            final OperatorPolicyReconciler operatorPolicyReconciler,
+            final TopologyReconciler topologyReconciler,
+            final ClusterStatusUpdater clusterStatusUpdater
     ) {
         return new RabbitMQClusterReconciler(
                 clusterFactory,
@@ -80,52 +182,162 @@ public class ReconcilerConfig {
                 shovelReconciler,
                 usersReconciler,
                 policyReconciler,
-                operatorPolicyReconciler
+                operatorPolicyReconciler,
+                topologyReconciler,
+                clusterStatusUpdater
+        );
+    }
+
+    @Bean
+    public ClusterStatusUpdater clusterStatusUpdater(
+            final RabbitMQResourceController controller
+    ) {
+        // statuses that only differ in their timings are refreshed at most this often
+        final String minIntervalSeconds = System.getenv(STATUS_UPDATE_MIN_INTERVAL_SECONDS_ENV_VAR);
+
+        return new ClusterStatusUpdater(
+                controller,
+                Duration.ofSeconds(minIntervalSeconds == null ? DEFAULT_STATUS_UPDATE_MIN_INTERVAL_SECONDS : Long.parseLong(minIntervalSeconds.trim())),
+                Clock.systemUTC()
+        );
+    }
+
+    @Bean
+    public UserResourceReconciler userResourceReconciler(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final UserReconciler userReconciler
+    ) {
+        return new UserResourceReconciler(controller, clusterFactory, userReconciler);
+    }
+
+    @Bean
+    public PolicyResourceReconciler policyResourceReconciler(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final PolicyReconciler policyReconciler,
+            final OperatorPolicyReconciler operatorPolicyReconciler
+    ) {
+        return new PolicyResourceReconciler(controller, clusterFactory, policyReconciler, operatorPolicyReconciler);
+    }
+
+    @Bean
+    public ShovelResourceReconciler shovelResourceReconciler(
+            final RabbitMQResourceController controller,
+            final RabbitMQClusterFactory clusterFactory,
+            final ShovelReconciler shovelReconciler
+    ) {
+        return new ShovelResourceReconciler(controller, clusterFactory, shovelReconciler);
+    }
+
+    @Bean
+    public DiffEngine diffEngine(
+            final BoundedConcurrencyExecutor boundedConcurrencyExecutor,
+            final MeterRegistry meterRegistry
+    ) {
+        // how many policies, shovels etc. are written to one cluster at once, unless a reconciler asks for something else
+        final String concurrency = System.getenv(MANAGEMENT_API_WRITE_CONCURRENCY_ENV_VAR);
+
+        return new DiffEngine(
+                boundedConcurrencyExecutor,
+                meterRegistry,
+                concurrency == null ? DEFAULT_MANAGEMENT_API_WRITE_CONCURRENCY : Integer.parseInt(concurrency.trim())
+        );
+    }
+
+    @Bean
+    public ShovelStatusMonitor shovelStatusMonitor(
+            final MeterRegistry meterRegistry
+    ) {
+        // statuses are polled once per reconciliation, so this should be a few times the reconciliation interval
+        final String stuckThresholdSeconds = System.getenv(SHOVEL_STUCK_THRESHOLD_SECONDS_ENV_VAR);
+
+        return new ShovelStatusMonitor(
+                meterRegistry,
+                Duration.ofSeconds(stuckThresholdSeconds == null ? DEFAULT_SHOVEL_STUCK_THRESHOLD_SECONDS : Long.parseLong(stuckThresholdSeconds.trim())),
+                Clock.systemUTC()
         );
     }
 
     @Bean
     public ShovelReconciler shovelReconciler(
             final RabbitManagementApiProvider apiProvider,
-            final SecretsController secretsController
+            final SecretsController secretsController,
+            final ShovelStatusMonitor shovelStatusMonitor,
+            final DiffEngine diffEngine
     ) {
-        return new ShovelReconciler(apiProvider, secretsController);
+        return new ShovelReconciler(apiProvider, secretsController, shovelStatusMonitor, diffEngine);
+    }
+
+    @Bean
+    public TopologyReconciler topologyReconciler(
+            final RabbitManagementApiProvider apiProvider,
+            final RabbitMQVhostResourceController vhostController,
+            final RabbitMQExchangeResourceController exchangeController,
+            final RabbitMQQueueResourceController queueController,
+            final RabbitMQBindingResourceController bindingController,
+            final DiffEngine diffEngine
+    ) {
+        return new TopologyReconciler(apiProvider, vhostController, exchangeController, queueController, bindingController, diffEngine);
     }
 
     @Bean
     public UserReconciler rabbitMQUserReconciler(
             final SecretsController secretsController,
             final RabbitManagementApiProvider managementApiProvider,
-            final RabbitMQPasswordConverter passwordConverter
+            final RabbitMQPasswordConverter passwordConverter,
+            final DiffEngine diffEngine
     ) {
-        return new UserReconciler(secretsController, managementApiProvider, passwordConverter);
+        // applies per cluster, since only one reconciliation runs against a cluster at a time
+        final String concurrency = System.getenv(USER_RECONCILIATION_CONCURRENCY_ENV_VAR);
+
+        return new UserReconciler(
+                secretsController,
+                managementApiProvider,
+                passwordConverter,
+                diffEngine,
+                concurrency == null ? DEFAULT_USER_RECONCILIATION_CONCURRENCY : Integer.parseInt(concurrency.trim())
+        );
     }
 
     @Bean
     public NetworkPartitionReconciler networkPartitionReconciler(
             final RabbitMQResourceController rabbitMQResourceController,
             final NetworkPartitionResourceController networkPartitionResourceController,
-            final AreQueuesEmptyOperation queuesEmptyOperation,
+            final RabbitManagementApiProvider apiProvider,
             final RabbitMQPods rabbitMQPods,
             final RabbitMQContainers rabbitMQContainers,
             final StatefulSetController statefulSetController,
             final PodController podController,
+            final MeterRegistry meterRegistry,
             final String namespace
     ) {
-        return new NetworkPartitionReconciler(rabbitMQResourceController, networkPartitionResourceController, queuesEmptyOperation, rabbitMQPods, rabbitMQContainers, statefulSetController, podController, namespace);
+        return new NetworkPartitionReconciler(rabbitMQResourceController, networkPartitionResourceController, apiProvider, rabbitMQPods, rabbitMQContainers, statefulSetController, podController, meterRegistry, namespace);
+    }
+
+    @Bean
+    public NetworkPartitionDetector networkPartitionDetector(
+            final RabbitMQResourceController rabbitMQResourceController,
+            final NetworkPartitionResourceController networkPartitionResourceController,
+            final RabbitManagementApiProvider apiProvider,
+            final MeterRegistry meterRegistry
+    ) {
+        return new NetworkPartitionDetector(rabbitMQResourceController, networkPartitionResourceController, apiProvider, meterRegistry, Clock.systemUTC());
     }
 
     @Bean
     public PolicyReconciler policyReconciler(
-            final RabbitManagementApiProvider apiProvider
+            final RabbitManagementApiProvider apiProvider,
+            final DiffEngine diffEngine
     ) {
-        return new PolicyReconciler(apiProvider);
+        return new PolicyReconciler(apiProvider, diffEngine);
     }
 
     @Bean
     public OperatorPolicyReconciler operatorPolicyReconciler(
-            final RabbitManagementApiProvider apiProvider
+            final RabbitManagementApiProvider apiProvider,
+            final DiffEngine diffEngine
     ) {
-        return new OperatorPolicyReconciler(apiProvider);
+        return new OperatorPolicyReconciler(apiProvider, diffEngine);
     }
 }
@@ -75,6 +75,12 @@ public abstract class AbstractResourceController<T extends HasMetadata, L extend
         return operation().inNamespace(namespace).withLabels(labelsToWatch).list().getItems();
     }
 
+    @Override
+    public List<T> getAll(final String namespace, final Map<String, String> labels) {
+        log.debug("Getting resources of type {} in namespace {} with labels {}", resourceType, namespace, labels);
+        return operation().inNamespace(namespace).withLabels(labels).list().getItems();
+    }
+
     protected KubernetesClient getClient() {
         return client;
     }
@@ -2,15 +2,24 @@ package com.indeed.operators.rabbitmq.controller;
 
 import io.fabric8.kubernetes.api.model.DoneablePod;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.PodResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class PodController extends AbstractWaitableResourceController<Pod, PodList, DoneablePod, PodResource<Pod, DoneablePod>> {
 
+    private static final Logger log = LoggerFactory.getLogger(PodController.class);
+
     public PodController(
             final KubernetesClient client,
             final Map<String, String> labelsToWatch
@@ -18,6 +27,68 @@ public class PodController extends AbstractWaitableResourceController<Pod, PodLi
         super(client, labelsToWatch, Pod.class);
     }
 
+    /**
+     * Waits for every named pod to become ready, using one watch on the pods matching the selector rather than
+     * waiting on each pod in turn. Fails as soon as any of the pods does.
+     */
+    public void waitForReady(final String namespace, final Map<String, String> selector, final Set<String> podNames, final long time, final TimeUnit timeUnit) throws InterruptedException {
+        if (podNames.isEmpty()) {
+            return;
+        }
+
+        log.info("Waiting {} {} for pods {} to be ready", time, timeUnit, podNames);
+        final long deadline = System.currentTimeMillis() + timeUnit.toMillis(time);
+
+        while (true) {
+            final PodSetReadiness readiness = new PodSetReadiness(podNames);
+            final PodSetReadiness.State state;
+
+            try (final Watch ignored = operation().inNamespace(namespace).withLabels(selector).watch(readiness)) {
+                // the watch only reports changes, so pods that were already ready when it opened come from a list
+                operation().inNamespace(namespace).withLabels(selector).list().getItems()
+                        .forEach(pod -> readiness.eventReceived(Watcher.Action.MODIFIED, pod));
+
+                state = readiness.await(deadline);
+            }
+
+            switch (state) {
+                case READY:
+                    return;
+                case FAILED:
+                    throw new IllegalStateException(readiness.getFailure());
+                case WATCH_CLOSED:
+                    log.warn("Watch on pods {} closed before they were ready, reopening it", podNames);
+                    break;
+                default:
+                    throw new IllegalStateException(String.format("Pods %s were not ready after %d %s", readiness.getPodsNotReady(), time, timeUnit));
+            }
+        }
+    }
+
+    /**
+     * @return whether the pod's Ready condition is true
+     */
+    public static boolean isReady(final Pod pod) {
+        if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+            return false;
+        }
+
+        for (final PodCondition condition : pod.getStatus().getConditions()) {
+            if ("Ready".equals(condition.getType())) {
+                return "True".equals(condition.getStatus());
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return whether the pod has failed, which it never recovers from
+     */
+    public static boolean isFailed(final Pod pod) {
+        return pod.getStatus() != null && "Failed".equals(pod.getStatus().getPhase());
+    }
+
     @Override
     protected MixedOperation<Pod, PodList, DoneablePod, PodResource<Pod, DoneablePod>> operation() {
         return getClient().pods();
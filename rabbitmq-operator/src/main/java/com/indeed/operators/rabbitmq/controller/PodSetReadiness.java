@@ -0,0 +1,94 @@
+package com.indeed.operators.rabbitmq.controller;
+
+import com.google.common.collect.ImmutableSet;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks the readiness of a known set of pods from the events of one watch, so that waiting on a whole set
+ * takes a single connection instead of a polling loop per pod.
+ */
+class PodSetReadiness implements Watcher<Pod> {
+
+    enum State {
+        READY,
+        FAILED,
+        WATCH_CLOSED,
+        TIMED_OUT
+    }
+
+    private final Set<String> podNames;
+    private final Set<String> readyPods = new HashSet<>();
+    private String failure;
+    private boolean closed;
+
+    PodSetReadiness(final Set<String> podNames) {
+        this.podNames = ImmutableSet.copyOf(podNames);
+    }
+
+    @Override
+    public synchronized void eventReceived(final Action action, final Pod pod) {
+        final String name = pod.getMetadata().getName();
+        if (!podNames.contains(name)) {
+            return;
+        }
+
+        if (action == Action.DELETED || !PodController.isReady(pod)) {
+            readyPods.remove(name);
+        } else {
+            readyPods.add(name);
+        }
+
+        // a failed pod is never restarted, so there's no point waiting out the deadline for it
+        if (action != Action.DELETED && PodController.isFailed(pod)) {
+            failure = String.format("Pod %s failed: %s", name, pod.getStatus().getMessage());
+        }
+
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void onClose(final KubernetesClientException cause) {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * Waits until every pod is ready, any pod has failed, the watch has closed or the deadline has passed.
+     */
+    synchronized State await(final long deadlineMillis) throws InterruptedException {
+        while (true) {
+            if (failure != null) {
+                return State.FAILED;
+            }
+            if (readyPods.size() == podNames.size()) {
+                return State.READY;
+            }
+            if (closed) {
+                return State.WATCH_CLOSED;
+            }
+
+            final long remaining = deadlineMillis - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return State.TIMED_OUT;
+            }
+
+            wait(remaining);
+        }
+    }
+
+    synchronized String getFailure() {
+        return failure;
+    }
+
+    synchronized Set<String> getPodsNotReady() {
+        final Set<String> notReady = new HashSet<>(podNames);
+        notReady.removeAll(readyPods);
+
+        return notReady;
+    }
+}
@@ -5,6 +5,7 @@ import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ResourceController<T extends HasMetadata> {
 
@@ -19,4 +20,6 @@ public interface ResourceController<T extends HasMetadata> {
     Watch watch(Watcher<T> watcher, String namespace);
 
     List<T> getAll(String namespace);
+
+    List<T> getAll(String namespace, Map<String, String> labels);
 }
@@ -10,7 +10,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class StatefulSetController extends AbstractWaitableResourceController<StatefulSet, StatefulSetList, DoneableStatefulSet, RollableScalableResource<StatefulSet, DoneableStatefulSet>> {
 
@@ -48,11 +51,10 @@ public class StatefulSetController extends AbstractWaitableResourceController<St
         log.info("StatefulSet with name {} reported as ready - checking pod statuses", name);
 
         final StatefulSet statefulSet = operation().inNamespace(namespace).withName(name).get();
+        final Set<String> podNames = IntStream.range(0, statefulSet.getSpec().getReplicas())
+                .mapToObj(i -> String.format("%s-%s", statefulSet.getMetadata().getName(), i))
+                .collect(Collectors.toSet());
 
-        for (int i = statefulSet.getSpec().getReplicas() - 1; i >= 0; i--) {
-            final String podName = String.format("%s-%s", statefulSet.getMetadata().getName(), i);
-
-            podController.waitForReady(podName, statefulSet.getMetadata().getNamespace(), time, timeUnit);
-        }
+        podController.waitForReady(namespace, statefulSet.getSpec().getSelector().getMatchLabels(), podNames, time, timeUnit);
     }
 }
@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.controller.crd;
+
+import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
+import com.indeed.operators.rabbitmq.model.crd.topology.DoneableRabbitMQBindingCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQBindingCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQBindingCustomResourceList;
+import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+
+import java.util.Map;
+
+import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_BINDING_CRD_NAME;
+
+public class RabbitMQBindingResourceController extends AbstractResourceController<RabbitMQBindingCustomResource, RabbitMQBindingCustomResourceList, DoneableRabbitMQBindingCustomResource, Resource<RabbitMQBindingCustomResource, DoneableRabbitMQBindingCustomResource>> {
+
+    public RabbitMQBindingResourceController(
+            final KubernetesClient client,
+            final Map<String, String> labelsToWatch
+    ) {
+        super(client, labelsToWatch, RabbitMQBindingCustomResource.class);
+    }
+
+    @Override
+    protected MixedOperation<RabbitMQBindingCustomResource, RabbitMQBindingCustomResourceList, DoneableRabbitMQBindingCustomResource, Resource<RabbitMQBindingCustomResource, DoneableRabbitMQBindingCustomResource>> operation() {
+        final CustomResourceDefinition bindingCrd = getClient().customResourceDefinitions().withName(RABBITMQ_BINDING_CRD_NAME).get();
+
+        if (bindingCrd == null) {
+            throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_BINDING_CRD_NAME));
+        }
+
+        return getClient().customResources(bindingCrd, RabbitMQBindingCustomResource.class, RabbitMQBindingCustomResourceList.class, DoneableRabbitMQBindingCustomResource.class);
+    }
+}
\ No newline at end of file
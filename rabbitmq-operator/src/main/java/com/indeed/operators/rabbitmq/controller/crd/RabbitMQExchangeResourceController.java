@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.controller.crd;
+
+import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
+import com.indeed.operators.rabbitmq.model.crd.topology.DoneableRabbitMQExchangeCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQExchangeCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQExchangeCustomResourceList;
+import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+
+import java.util.Map;
+
+import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_EXCHANGE_CRD_NAME;
+
+public class RabbitMQExchangeResourceController extends AbstractResourceController<RabbitMQExchangeCustomResource, RabbitMQExchangeCustomResourceList, DoneableRabbitMQExchangeCustomResource, Resource<RabbitMQExchangeCustomResource, DoneableRabbitMQExchangeCustomResource>> {
+
+    public RabbitMQExchangeResourceController(
+            final KubernetesClient client,
+            final Map<String, String> labelsToWatch
+    ) {
+        super(client, labelsToWatch, RabbitMQExchangeCustomResource.class);
+    }
+
+    @Override
+    protected MixedOperation<RabbitMQExchangeCustomResource, RabbitMQExchangeCustomResourceList, DoneableRabbitMQExchangeCustomResource, Resource<RabbitMQExchangeCustomResource, DoneableRabbitMQExchangeCustomResource>> operation() {
+        final CustomResourceDefinition exchangeCrd = getClient().customResourceDefinitions().withName(RABBITMQ_EXCHANGE_CRD_NAME).get();
+
+        if (exchangeCrd == null) {
+            throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_EXCHANGE_CRD_NAME));
+        }
+
+        return getClient().customResources(exchangeCrd, RabbitMQExchangeCustomResource.class, RabbitMQExchangeCustomResourceList.class, DoneableRabbitMQExchangeCustomResource.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.controller.crd;
+
+import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
+import com.indeed.operators.rabbitmq.model.crd.policy.DoneableRabbitMQPolicyCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.policy.RabbitMQPolicyCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.policy.RabbitMQPolicyCustomResourceList;
+import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+
+import java.util.Map;
+
+import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_POLICY_CRD_NAME;
+
+public class RabbitMQPolicyResourceController extends AbstractResourceController<RabbitMQPolicyCustomResource, RabbitMQPolicyCustomResourceList, DoneableRabbitMQPolicyCustomResource, Resource<RabbitMQPolicyCustomResource, DoneableRabbitMQPolicyCustomResource>> {
+
+    public RabbitMQPolicyResourceController(
+            final KubernetesClient client,
+            final Map<String, String> labelsToWatch
+    ) {
+        super(client, labelsToWatch, RabbitMQPolicyCustomResource.class);
+    }
+
+    @Override
+    protected MixedOperation<RabbitMQPolicyCustomResource, RabbitMQPolicyCustomResourceList, DoneableRabbitMQPolicyCustomResource, Resource<RabbitMQPolicyCustomResource, DoneableRabbitMQPolicyCustomResource>> operation() {
+        final CustomResourceDefinition policyCrd = getClient().customResourceDefinitions().withName(RABBITMQ_POLICY_CRD_NAME).get();
+
+        if (policyCrd == null) {
+            throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_POLICY_CRD_NAME));
+        }
+
+        return getClient().customResources(policyCrd, RabbitMQPolicyCustomResource.class, RabbitMQPolicyCustomResourceList.class, DoneableRabbitMQPolicyCustomResource.class);
+    }
+}
\ No newline at end of file
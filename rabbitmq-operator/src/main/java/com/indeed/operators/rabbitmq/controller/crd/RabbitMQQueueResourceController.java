@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.controller.crd;
+
+import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
+import com.indeed.operators.rabbitmq.model.crd.topology.DoneableRabbitMQQueueCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQQueueCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQQueueCustomResourceList;
+import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+
+import java.util.Map;
+
+import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_QUEUE_CRD_NAME;
+
+public class RabbitMQQueueResourceController extends AbstractResourceController<RabbitMQQueueCustomResource, RabbitMQQueueCustomResourceList, DoneableRabbitMQQueueCustomResource, Resource<RabbitMQQueueCustomResource, DoneableRabbitMQQueueCustomResource>> {
+
+    public RabbitMQQueueResourceController(
+            final KubernetesClient client,
+            final Map<String, String> labelsToWatch
+    ) {
+        super(client, labelsToWatch, RabbitMQQueueCustomResource.class);
+    }
+
+    @Override
+    protected MixedOperation<RabbitMQQueueCustomResource, RabbitMQQueueCustomResourceList, DoneableRabbitMQQueueCustomResource, Resource<RabbitMQQueueCustomResource, DoneableRabbitMQQueueCustomResource>> operation() {
+        final CustomResourceDefinition queueCrd = getClient().customResourceDefinitions().withName(RABBITMQ_QUEUE_CRD_NAME).get();
+
+        if (queueCrd == null) {
+            throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_QUEUE_CRD_NAME));
+        }
+
+        return getClient().customResources(queueCrd, RabbitMQQueueCustomResource.class, RabbitMQQueueCustomResourceList.class, DoneableRabbitMQQueueCustomResource.class);
+    }
+}
\ No newline at end of file
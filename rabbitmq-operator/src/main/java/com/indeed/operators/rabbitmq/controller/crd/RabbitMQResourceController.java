@@ -1,20 +1,33 @@
 package com.indeed.operators.rabbitmq.controller.crd;
 
+import com.google.common.collect.ImmutableMap;
 import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.DoneableRabbitMQCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceList;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceStatus;
 import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.HttpClientAware;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 
+import java.io.IOException;
 import java.util.Map;
 
 import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_CRD_NAME;
 
 public class RabbitMQResourceController extends AbstractResourceController<RabbitMQCustomResource, RabbitMQCustomResourceList, DoneableRabbitMQCustomResource, Resource<RabbitMQCustomResource, DoneableRabbitMQCustomResource>> {
 
+    private static final MediaType MERGE_PATCH = MediaType.get("application/merge-patch+json");
+
     public RabbitMQResourceController(
             final KubernetesClient client,
             final Map<String, String> labelsToWatch
@@ -22,14 +35,49 @@ public class RabbitMQResourceController extends AbstractResourceController<Rabbi
         super(client, labelsToWatch, RabbitMQCustomResource.class);
     }
 
+    /**
+     * Replaces the resource's status through the status subresource, which leaves the spec and generation alone.
+     * The client library predates status subresources, so this is a merge patch sent directly to the API server.
+     */
+    public void patchStatus(final RabbitMQCustomResource resource, final RabbitMQCustomResourceStatus status) {
+        final CustomResourceDefinition rabbitCrd = getCrd();
+        final HttpUrl url = HttpUrl.get(getClient().getMasterUrl()).newBuilder()
+                .addPathSegment("apis")
+                .addPathSegment(rabbitCrd.getSpec().getGroup())
+                .addPathSegment(rabbitCrd.getSpec().getVersion())
+                .addPathSegment("namespaces")
+                .addPathSegment(resource.getMetadata().getNamespace())
+                .addPathSegment(rabbitCrd.getSpec().getNames().getPlural())
+                .addPathSegment(resource.getMetadata().getName())
+                .addPathSegment("status")
+                .build();
+
+        try {
+            final byte[] body = Serialization.jsonMapper().writeValueAsBytes(ImmutableMap.of("status", status));
+            final Request request = new Request.Builder().url(url).patch(RequestBody.create(MERGE_PATCH, body)).build();
+
+            try (final Response response = ((HttpClientAware) getClient()).getHttpClient().newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new KubernetesClientException(String.format("Failed to update status of %s: %s", resource.getName(), response.message()), response.code(), null);
+                }
+            }
+        } catch (final IOException e) {
+            throw new KubernetesClientException(String.format("Failed to update status of %s", resource.getName()), e);
+        }
+    }
+
     @Override
     protected MixedOperation<RabbitMQCustomResource, RabbitMQCustomResourceList, DoneableRabbitMQCustomResource, Resource<RabbitMQCustomResource, DoneableRabbitMQCustomResource>> operation() {
+        return getClient().customResources(getCrd(), RabbitMQCustomResource.class, RabbitMQCustomResourceList.class, DoneableRabbitMQCustomResource.class);
+    }
+
+    private CustomResourceDefinition getCrd() {
         final CustomResourceDefinition rabbitCrd = getClient().customResourceDefinitions().withName(RABBITMQ_CRD_NAME).get();
 
         if (rabbitCrd == null) {
             throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_CRD_NAME));
         }
 
-        return getClient().customResources(rabbitCrd, RabbitMQCustomResource.class, RabbitMQCustomResourceList.class, DoneableRabbitMQCustomResource.class);
+        return rabbitCrd;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.controller.crd;
+
+import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
+import com.indeed.operators.rabbitmq.model.crd.shovel.DoneableRabbitMQShovelCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.shovel.RabbitMQShovelCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.shovel.RabbitMQShovelCustomResourceList;
+import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+
+import java.util.Map;
+
+import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_SHOVEL_CRD_NAME;
+
+public class RabbitMQShovelResourceController extends AbstractResourceController<RabbitMQShovelCustomResource, RabbitMQShovelCustomResourceList, DoneableRabbitMQShovelCustomResource, Resource<RabbitMQShovelCustomResource, DoneableRabbitMQShovelCustomResource>> {
+
+    public RabbitMQShovelResourceController(
+            final KubernetesClient client,
+            final Map<String, String> labelsToWatch
+    ) {
+        super(client, labelsToWatch, RabbitMQShovelCustomResource.class);
+    }
+
+    @Override
+    protected MixedOperation<RabbitMQShovelCustomResource, RabbitMQShovelCustomResourceList, DoneableRabbitMQShovelCustomResource, Resource<RabbitMQShovelCustomResource, DoneableRabbitMQShovelCustomResource>> operation() {
+        final CustomResourceDefinition shovelCrd = getClient().customResourceDefinitions().withName(RABBITMQ_SHOVEL_CRD_NAME).get();
+
+        if (shovelCrd == null) {
+            throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_SHOVEL_CRD_NAME));
+        }
+
+        return getClient().customResources(shovelCrd, RabbitMQShovelCustomResource.class, RabbitMQShovelCustomResourceList.class, DoneableRabbitMQShovelCustomResource.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.controller.crd;
+
+import com.indeed.operators.rabbitmq.controller.AbstractResourceController;
+import com.indeed.operators.rabbitmq.model.crd.topology.DoneableRabbitMQVhostCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQVhostCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQVhostCustomResourceList;
+import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+
+import java.util.Map;
+
+import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_VHOST_CRD_NAME;
+
+public class RabbitMQVhostResourceController extends AbstractResourceController<RabbitMQVhostCustomResource, RabbitMQVhostCustomResourceList, DoneableRabbitMQVhostCustomResource, Resource<RabbitMQVhostCustomResource, DoneableRabbitMQVhostCustomResource>> {
+
+    public RabbitMQVhostResourceController(
+            final KubernetesClient client,
+            final Map<String, String> labelsToWatch
+    ) {
+        super(client, labelsToWatch, RabbitMQVhostCustomResource.class);
+    }
+
+    @Override
+    protected MixedOperation<RabbitMQVhostCustomResource, RabbitMQVhostCustomResourceList, DoneableRabbitMQVhostCustomResource, Resource<RabbitMQVhostCustomResource, DoneableRabbitMQVhostCustomResource>> operation() {
+        final CustomResourceDefinition vhostCrd = getClient().customResourceDefinitions().withName(RABBITMQ_VHOST_CRD_NAME).get();
+
+        if (vhostCrd == null) {
+            throw new RuntimeException(String.format("CustomResourceDefinition %s has not been defined", RABBITMQ_VHOST_CRD_NAME));
+        }
+
+        return getClient().customResources(vhostCrd, RabbitMQVhostCustomResource.class, RabbitMQVhostCustomResourceList.class, DoneableRabbitMQVhostCustomResource.class);
+    }
+}
\ No newline at end of file
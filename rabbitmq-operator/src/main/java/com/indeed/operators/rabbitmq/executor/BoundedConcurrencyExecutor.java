@@ -0,0 +1,76 @@
+package com.indeed.operators.rabbitmq.executor;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs a batch of independent tasks on a shared executor with at most a fixed number in flight at once.
+ * Every task runs even if others fail, and failures are returned to the caller keyed by task instead of
+ * being thrown on the first one.
+ */
+public class BoundedConcurrencyExecutor {
+
+    private final ExecutorService executorService;
+
+    public BoundedConcurrencyExecutor(@Nonnull final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Runs every task and waits for all of them to finish.
+     *
+     * @param tasks the tasks to run, keyed by something that identifies them in the returned failures.
+     * @param maxConcurrency the most tasks that may run at once; anything less than one is treated as one.
+     * @return the exception each failed task threw, in the order the tasks were given. Empty if all succeeded.
+     */
+    public <K> Map<K, Exception> invokeAll(@Nonnull final Map<K, ? extends Task> tasks, final int maxConcurrency) throws InterruptedException {
+        final Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        final Map<K, Future<?>> futures = new LinkedHashMap<>();
+
+        try {
+            for (final Map.Entry<K, ? extends Task> task : tasks.entrySet()) {
+                // blocking here rather than queueing everything up front keeps at most maxConcurrency tasks on the executor
+                permits.acquire();
+
+                try {
+                    futures.put(task.getKey(), executorService.submit(() -> {
+                        try {
+                            task.getValue().run();
+                            return null;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (final RejectedExecutionException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+
+            final Map<K, Exception> failures = new LinkedHashMap<>();
+            for (final Map.Entry<K, Future<?>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (final ExecutionException e) {
+                    failures.put(future.getKey(), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                }
+            }
+
+            return failures;
+        } catch (final InterruptedException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+}
@@ -1,6 +1,7 @@
 package com.indeed.operators.rabbitmq.model.rabbitmq;
 
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.OperatorPolicySpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PolicySpec;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ShovelSpec;
 import io.fabric8.kubernetes.api.model.Secret;
@@ -27,6 +28,8 @@ public class RabbitMQCluster {
     private final List<RabbitMQUser> users;
     private final List<PolicySpec> policies;
     private final List<OperatorPolicySpec> operatorPolicies;
+    private final double managementApiRequestsPerSecond;
+    private final PasswordHashingAlgorithm passwordHashingAlgorithm;
 
     private RabbitMQCluster(
             final String name,
@@ -42,7 +45,9 @@ public class RabbitMQCluster {
             final List<ShovelSpec> shovels,
             final List<RabbitMQUser> users,
             final List<PolicySpec> policies,
-            final List<OperatorPolicySpec> operatorPolicies
+            final List<OperatorPolicySpec> operatorPolicies,
+            final double managementApiRequestsPerSecond,
+            final PasswordHashingAlgorithm passwordHashingAlgorithm
     ) {
         this.name = name;
         this.namespace = namespace;
@@ -58,6 +63,8 @@ public class RabbitMQCluster {
         this.users = users;
         this.policies = policies;
         this.operatorPolicies = operatorPolicies;
+        this.managementApiRequestsPerSecond = managementApiRequestsPerSecond;
+        this.passwordHashingAlgorithm = passwordHashingAlgorithm;
     }
 
     public String getName() {
@@ -116,6 +123,14 @@ public class RabbitMQCluster {
         return operatorPolicies;
     }
 
+    public double getManagementApiRequestsPerSecond() {
+        return managementApiRequestsPerSecond;
+    }
+
+    public PasswordHashingAlgorithm getPasswordHashingAlgorithm() {
+        return passwordHashingAlgorithm;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -135,6 +150,8 @@ public class RabbitMQCluster {
         private List<RabbitMQUser> users;
         private List<PolicySpec> policies;
         private List<OperatorPolicySpec> operatorPolicies;
+        private double managementApiRequestsPerSecond;
+        private PasswordHashingAlgorithm passwordHashingAlgorithm = PasswordHashingAlgorithm.SHA256;
 
         public Builder withName(final String name) {
             this.name = name;
@@ -206,6 +223,16 @@ public class RabbitMQCluster {
             return this;
         }
 
+        public Builder withManagementApiRequestsPerSecond(final double managementApiRequestsPerSecond) {
+            this.managementApiRequestsPerSecond = managementApiRequestsPerSecond;
+            return this;
+        }
+
+        public Builder withPasswordHashingAlgorithm(final PasswordHashingAlgorithm passwordHashingAlgorithm) {
+            this.passwordHashingAlgorithm = passwordHashingAlgorithm;
+            return this;
+        }
+
         public RabbitMQCluster build() {
             return new RabbitMQCluster(
                     name,
@@ -221,7 +248,9 @@ public class RabbitMQCluster {
                     shovels,
                     users,
                     policies,
-                    operatorPolicies
+                    operatorPolicies,
+                    managementApiRequestsPerSecond,
+                    passwordHashingAlgorithm
             );
         }
     }
@@ -0,0 +1,52 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.Labels;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Reconciles the broker resources declared by one standalone custom resource, such as a RabbitMQUserCustomResource,
+ * without a full pass over the cluster it belongs to. Only the keys in scope are touched, so a resource that has
+ * been deleted is removed from the broker unless something else still declares it.
+ */
+public abstract class ClusterResourceReconciler {
+    private static final Logger log = LoggerFactory.getLogger(ClusterResourceReconciler.class);
+
+    private final RabbitMQResourceController clusterController;
+    private final RabbitMQClusterFactory clusterFactory;
+
+    protected ClusterResourceReconciler(
+            final RabbitMQResourceController clusterController,
+            final RabbitMQClusterFactory clusterFactory
+    ) {
+        this.clusterController = clusterController;
+        this.clusterFactory = clusterFactory;
+    }
+
+    public void reconcile(final Reconciliation reconciliation, final Predicate<ResourceKey> scope) throws InterruptedException, RabbitClusterConfigurationException {
+        final RabbitMQCustomResource clusterResource = clusterController.get(reconciliation.getClusterName(), reconciliation.getNamespace());
+
+        if (clusterResource == null) {
+            log.info("Not reconciling {} because RabbitMQCustomResource {} does not exist", reconciliation.getResourceName(), reconciliation.getClusterName());
+            return;
+        }
+
+        final Map<String, String> labels = clusterResource.getMetadata().getLabels();
+        if (labels != null && labels.containsKey(Labels.Indeed.LOCKED_BY)) {
+            log.info("Not reconciling {} because cluster {} is locked", reconciliation.getResourceName(), reconciliation.getClusterName());
+            return;
+        }
+
+        reconcile(clusterFactory.fromCustomResource(clusterResource), scope);
+    }
+
+    protected abstract void reconcile(RabbitMQCluster cluster, Predicate<ResourceKey> scope) throws InterruptedException;
+}
@@ -0,0 +1,65 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes cluster statuses, but only as often as they're worth writing. A change in generation, phase, ready
+ * replicas or error is written straight away; a status that only differs in its timings, which is every other
+ * reconciliation, is written at most once per interval. Every write is a new resourceVersion that each watcher
+ * of the resource gets sent, so refreshing timings on every pass would cost far more than it tells anyone.
+ */
+public class ClusterStatusUpdater {
+    private static final Logger log = LoggerFactory.getLogger(ClusterStatusUpdater.class);
+
+    private final RabbitMQResourceController controller;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+
+    public ClusterStatusUpdater(
+            final RabbitMQResourceController controller,
+            final Duration minRefreshInterval,
+            final Clock clock
+    ) {
+        this.controller = controller;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Never throws, since a status that can't be written shouldn't fail the reconciliation it describes.
+     *
+     * @return whether the status was written
+     */
+    public boolean update(final RabbitMQCustomResource resource, final RabbitMQCustomResourceStatus status) {
+        final String key = resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+        final Instant now = clock.instant();
+        final Instant lastWrite = lastWrites.get(key);
+
+        final boolean refreshDue = lastWrite == null || !now.isBefore(lastWrite.plus(minRefreshInterval));
+        if (!status.differsMateriallyFrom(resource.getStatus()) && !refreshDue) {
+            return false;
+        }
+
+        try {
+            controller.patchStatus(resource, status);
+            lastWrites.put(key, now);
+
+            return true;
+        } catch (final RuntimeException e) {
+            log.warn(String.format("Failed to update the status of cluster %s", key), e);
+
+            return false;
+        }
+    }
+}
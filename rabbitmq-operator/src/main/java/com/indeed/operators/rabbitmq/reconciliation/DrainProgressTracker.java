@@ -0,0 +1,170 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.api.QueueDepth;
+import com.indeed.operators.rabbitmq.model.crd.partition.DrainProgress;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Follows the drain of one side of a partition from poll to poll. The drain rate is smoothed from how quickly
+ * the total number of messages falls between polls, falling back to the broker's own delivery rates until two
+ * polls can be compared. Polls are spaced out to match: often while the drain is nearly done, and backing off
+ * while nothing is moving.
+ *
+ * A queue that still holds messages, has no consumers and hasn't gone down for longer than the stall threshold
+ * is reported as stalled, since nothing will ever empty it without someone reconnecting its consumers.
+ */
+public class DrainProgressTracker {
+
+    // weight of the newest observation in the smoothed rate
+    private static final double SMOOTHING = 0.5;
+    // aim to poll about this many times over the remaining drain
+    private static final int POLLS_PER_ESTIMATE = 4;
+
+    private final Duration minPollInterval;
+    private final Duration maxPollInterval;
+    private final Duration stallThreshold;
+    private final Clock clock;
+    private final Map<String, TrackedQueue> queues = new HashMap<>();
+
+    private Long lastTotal;
+    private Instant lastPolledAt;
+    private double rate = Double.NaN;
+    private Duration nextPollInterval;
+
+    public DrainProgressTracker(
+            final Duration minPollInterval,
+            final Duration maxPollInterval,
+            final Duration stallThreshold,
+            final Clock clock
+    ) {
+        this.minPollInterval = minPollInterval;
+        this.maxPollInterval = maxPollInterval;
+        this.stallThreshold = stallThreshold;
+        this.clock = clock;
+        this.nextPollInterval = minPollInterval;
+    }
+
+    public DrainProgress observe(final List<QueueDepth> depths) {
+        final Poll poll = startPoll();
+        depths.forEach(poll::add);
+
+        return poll.finish();
+    }
+
+    /**
+     * Starts a poll that takes each queue's depth as it's read, so that a scan of many queues never has to be
+     * held in memory at once. Nothing is recorded until {@link Poll#finish()}, so a poll whose scan failed can
+     * simply be dropped.
+     */
+    public Poll startPoll() {
+        return new Poll(clock.instant());
+    }
+
+    public class Poll {
+
+        private final Instant now;
+        private final Map<String, TrackedQueue> seen = new HashMap<>();
+        private final List<String> stalled = new ArrayList<>();
+        private long total = 0;
+        private double brokerRate = 0;
+
+        private Poll(final Instant now) {
+            this.now = now;
+        }
+
+        public void add(final QueueDepth depth) {
+            total += depth.getMessages();
+            // consumers with automatic acks never ack, so use whichever of the two rates is moving
+            brokerRate += Math.max(depth.getAckRate(), depth.getDeliverRate());
+
+            if (depth.getMessages() == 0) {
+                return;
+            }
+
+            final String name = depth.getVhost() + "/" + depth.getName();
+            synchronized (DrainProgressTracker.this) {
+                final TrackedQueue previous = queues.get(name);
+                final boolean noProgress = depth.getConsumers() == 0 && previous != null && depth.getMessages() >= previous.messages;
+                final Instant stuckSince = noProgress ? (previous.stuckSince != null ? previous.stuckSince : lastPolledAt) : null;
+
+                seen.put(name, new TrackedQueue(depth.getMessages(), stuckSince));
+                if (stuckSince != null && !stuckSince.plus(stallThreshold).isAfter(now)) {
+                    stalled.add(name);
+                }
+            }
+        }
+
+        public DrainProgress finish() {
+            synchronized (DrainProgressTracker.this) {
+                return record(now, seen, stalled, total, brokerRate);
+            }
+        }
+    }
+
+    private DrainProgress record(final Instant now, final Map<String, TrackedQueue> seen, final List<String> stalled, final long total, final double brokerRate) {
+        queues.clear();
+        queues.putAll(seen);
+
+        if (lastTotal != null && now.isAfter(lastPolledAt)) {
+            // anything published in the meantime shows up as no progress rather than as a negative rate
+            final double observed = Math.max(0, lastTotal - total) / (Duration.between(lastPolledAt, now).toMillis() / 1000.0);
+            rate = Double.isNaN(rate) ? observed : SMOOTHING * observed + (1 - SMOOTHING) * rate;
+        } else if (brokerRate > 0) {
+            rate = brokerRate;
+        }
+
+        lastTotal = total;
+        lastPolledAt = now;
+
+        final Long estimatedSeconds = rate > 0 ? (long) Math.ceil(total / rate) : null;
+        nextPollInterval = computeNextPollInterval(estimatedSeconds);
+
+        return new DrainProgress(
+                total,
+                Double.isNaN(rate) ? null : rate,
+                estimatedSeconds,
+                stalled,
+                now.toString()
+        );
+    }
+
+    /**
+     * @return how long to wait before the next poll, based on the last one observed.
+     */
+    public synchronized Duration getNextPollInterval() {
+        return nextPollInterval;
+    }
+
+    private Duration computeNextPollInterval(final Long estimatedSeconds) {
+        if (estimatedSeconds == null) {
+            // nothing is moving, so there's no point asking again soon
+            final Duration backedOff = nextPollInterval.multipliedBy(2);
+            return backedOff.compareTo(maxPollInterval) > 0 ? maxPollInterval : backedOff;
+        }
+
+        final Duration interval = Duration.ofSeconds(estimatedSeconds / POLLS_PER_ESTIMATE);
+        if (interval.compareTo(minPollInterval) < 0) {
+            return minPollInterval;
+        }
+
+        return interval.compareTo(maxPollInterval) > 0 ? maxPollInterval : interval;
+    }
+
+    private static class TrackedQueue {
+
+        private final long messages;
+        private final Instant stuckSince;
+
+        TrackedQueue(final long messages, final Instant stuckSince) {
+            this.messages = messages;
+            this.stuckSince = stuckSince;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.api.NodePartitions;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.Labels;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceBuilder;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ClusterSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PartitionDetectionSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQConnectionInfo;
+import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the nodes of every cluster that opted in to partition detection and, once they report that they've
+ * lost sight of each other, works out which nodes are on which side. Clusters that also opted in to auto-heal
+ * get a network partition resource created for them, which {@link NetworkPartitionReconciler} then heals;
+ * the rest are only reported.
+ *
+ * Each cluster is polled at its own interval, so {@link #detectAll(String)} is meant to be called more often
+ * than the shortest of them.
+ */
+public class NetworkPartitionDetector {
+    private static final Logger log = LoggerFactory.getLogger(NetworkPartitionDetector.class);
+
+    private final RabbitMQResourceController rabbitMQResourceController;
+    private final NetworkPartitionResourceController partitionResourceController;
+    private final RabbitManagementApiProvider apiProvider;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, DetectionState> clusters;
+
+    public NetworkPartitionDetector(
+            final RabbitMQResourceController rabbitMQResourceController,
+            final NetworkPartitionResourceController partitionResourceController,
+            final RabbitManagementApiProvider apiProvider,
+            final MeterRegistry meterRegistry,
+            final Clock clock
+    ) {
+        this.rabbitMQResourceController = rabbitMQResourceController;
+        this.partitionResourceController = partitionResourceController;
+        this.apiProvider = apiProvider;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.clusters = new ConcurrentHashMap<>();
+    }
+
+    public void detectAll(final String namespace) {
+        final Instant now = clock.instant();
+        final Set<String> watched = new HashSet<>();
+
+        for (final RabbitMQCustomResource resource : rabbitMQResourceController.getAll(namespace)) {
+            final PartitionDetectionSpec detection = getPartitionDetection(resource);
+            if (detection == null) {
+                continue;
+            }
+
+            final String key = namespace + "/" + resource.getName();
+            watched.add(key);
+
+            final DetectionState state = clusters.computeIfAbsent(key, k -> new DetectionState());
+            if (now.isBefore(state.nextCheck)) {
+                continue;
+            }
+            state.nextCheck = now.plusSeconds(detection.getIntervalSeconds());
+
+            try {
+                detect(resource, detection, state, now);
+            } catch (final RuntimeException e) {
+                log.warn(String.format("Could not check cluster %s for network partitions", key), e);
+            }
+        }
+
+        // forget clusters that were deleted or opted out, so they start afresh if they opt back in
+        clusters.keySet().removeIf(key -> key.startsWith(namespace + "/") && !watched.contains(key));
+    }
+
+    private void detect(final RabbitMQCustomResource resource, final PartitionDetectionSpec detection, final DetectionState state, final Instant now) {
+        final String clusterName = resource.getName();
+        final String namespace = resource.getMetadata().getNamespace();
+
+        if (resource.getMetadata().getLabels() != null && resource.getMetadata().getLabels().containsKey(Labels.Indeed.LOCKED_BY)) {
+            // a partition that's being healed is already known about, and the drain pods would look like one
+            state.lastConnected = null;
+            state.detectedAt = null;
+            return;
+        }
+
+        final RabbitMQConnectionInfo connectionInfo = new RabbitMQConnectionInfo(clusterName, namespace, RabbitMQServices.getDiscoveryServiceName(clusterName));
+        final List<Set<String>> sides = groupPartitions(apiProvider.getApi(connectionInfo).listNodePartitions());
+
+        if (sides.size() < 2) {
+            state.lastConnected = now;
+            state.detectedAt = null;
+            return;
+        }
+
+        if (state.detectedAt == null) {
+            state.detectedAt = now;
+            log.warn("Cluster {} is partitioned into {}", clusterName, sides);
+
+            // the broker doesn't say when it split, so this is the most it can have been since it was last whole
+            if (state.lastConnected != null) {
+                Timer.builder("rabbitmq.partition.detection.time")
+                        .tags("cluster", clusterName)
+                        .register(meterRegistry)
+                        .record(Duration.between(state.lastConnected, now));
+            }
+            meterRegistry.counter("rabbitmq.partition.detected", "cluster", clusterName).increment();
+        }
+
+        if (!detection.isAutoHeal()) {
+            log.info("Not healing the partition of cluster {} because auto-heal is off", clusterName);
+            return;
+        }
+
+        final boolean alreadyHealing = partitionResourceController.getAll(namespace).stream()
+                .anyMatch(partition -> clusterName.equals(partition.getSpec().getClusterName()));
+        if (alreadyHealing) {
+            log.info("Cluster {} already has a network partition resource", clusterName);
+            return;
+        }
+
+        log.info("Creating a network partition resource to heal cluster {}", clusterName);
+        partitionResourceController.createOrUpdate(buildPartitionResource(clusterName, namespace, sides));
+    }
+
+    /**
+     * Splits the nodes into sides such that no node on a side has lost contact with another node on the same
+     * side. A node that's down without anyone having lost contact with it joins the first side, since there's
+     * nothing to drain it away from.
+     *
+     * @return the pod names on each side, in a stable order; a single side means the cluster isn't partitioned
+     */
+    static List<Set<String>> groupPartitions(final List<NodePartitions> nodes) {
+        final Map<String, NodePartitions> nodesByName = nodes.stream()
+                .collect(Collectors.toMap(NodePartitions::getName, Function.identity(), (first, second) -> first));
+
+        final List<List<NodePartitions>> sides = new ArrayList<>();
+        nodes.stream()
+                .sorted(Comparator.comparing(NodePartitions::getName))
+                .forEach(node -> {
+                    for (final List<NodePartitions> side : sides) {
+                        if (side.stream().noneMatch(other -> arePartitioned(node, other, nodesByName))) {
+                            side.add(node);
+                            return;
+                        }
+                    }
+
+                    final List<NodePartitions> side = new ArrayList<>();
+                    side.add(node);
+                    sides.add(side);
+                });
+
+        return sides.stream()
+                .map(side -> side.stream().map(NodePartitions::getPodName).collect(Collectors.toCollection(TreeSet::new)))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean arePartitioned(final NodePartitions node, final NodePartitions other, final Map<String, NodePartitions> nodesByName) {
+        // a node on the far side only reports its partitions from before it was lost, so either side saying so is enough
+        return node.getPartitions().contains(other.getName()) ||
+                nodesByName.get(other.getName()).getPartitions().contains(node.getName());
+    }
+
+    private static RabbitMQNetworkPartitionCustomResource buildPartitionResource(final String clusterName, final String namespace, final List<Set<String>> sides) {
+        return new RabbitMQNetworkPartitionCustomResourceBuilder()
+                .withApiVersion("indeed.com/v1alpha1")
+                .withKind("RabbitMQNetworkPartitionCustomResource")
+                .withMetadata(new ObjectMetaBuilder().withName(clusterName + "-network-partition").withNamespace(namespace).build())
+                .withSpec(new RabbitMQNetworkPartitionCustomResourceSpec(
+                        clusterName,
+                        new ArrayList<>(sides),
+                        new ArrayList<>(),
+                        String.format("%s.%s.svc.cluster.local", RabbitMQServices.getDiscoveryServiceName(clusterName), namespace)))
+                .build();
+    }
+
+    private static PartitionDetectionSpec getPartitionDetection(final RabbitMQCustomResource resource) {
+        final ClusterSpec clusterSpec = resource.getSpec() == null ? null : resource.getSpec().getClusterSpec();
+
+        return clusterSpec == null ? null : clusterSpec.getPartitionDetection();
+    }
+
+    private static class DetectionState {
+        private volatile Instant nextCheck = Instant.MIN;
+        private volatile Instant lastConnected;
+        private volatile Instant detectedAt;
+    }
+}
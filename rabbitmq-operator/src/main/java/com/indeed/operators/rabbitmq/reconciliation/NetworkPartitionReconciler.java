@@ -1,18 +1,22 @@
 package com.indeed.operators.rabbitmq.reconciliation;
 
+import com.google.common.collect.ImmutableList;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
 import com.indeed.operators.rabbitmq.controller.PodController;
 import com.indeed.operators.rabbitmq.controller.StatefulSetController;
 import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
 import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
 import com.indeed.operators.rabbitmq.model.Labels;
 import com.indeed.operators.rabbitmq.model.ModelFieldLookups;
+import com.indeed.operators.rabbitmq.model.crd.partition.DrainProgress;
 import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceBuilder;
 import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceSpec;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQConnectionInfo;
-import com.indeed.operators.rabbitmq.operations.AreQueuesEmptyOperation;
 import com.indeed.operators.rabbitmq.resources.RabbitMQContainers;
 import com.indeed.operators.rabbitmq.resources.RabbitMQPods;
 import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
@@ -20,136 +24,427 @@ import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_STORAGE_NAME;
-
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.PHASE_DRAINING;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.PHASE_LOCKED;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.PHASE_STATEFULSET_DELETED;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.PHASE_UNLOCKED;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DONE;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINED;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINING;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.SIDE_PENDING;
+import static com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus.SIDE_STARTING;
+
+/**
+ * Heals a network partition one short step at a time: locked, statefulset deleted, each side draining and then
+ * drained, and finally unlocked. Each call to {@link #reconcile(Reconciliation)} takes whatever step is next,
+ * records it on the resource and returns, rather than waiting on pods or queues, so no thread is held while
+ * the heal is in progress and an operator that restarts picks up from the last recorded step.
+ */
 public class NetworkPartitionReconciler {
     private static final Logger log = LoggerFactory.getLogger(NetworkPartitionReconciler.class);
+    private static final String LOCKED_BY_NETWORK_PARTITION = "network-partition";
+    private static final Duration STEP_POLL_INTERVAL = Duration.ofSeconds(5);
+    private static final Duration MIN_DRAIN_POLL_INTERVAL = Duration.ofSeconds(5);
+    private static final Duration MAX_DRAIN_POLL_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration DRAIN_STALL_THRESHOLD = Duration.ofMinutes(5);
+    private static final Duration DRAIN_PROGRESS_WRITE_INTERVAL = Duration.ofSeconds(30);
 
     private final RabbitMQResourceController rabbitMQResourceController;
     private final NetworkPartitionResourceController partitionResourceController;
-    private final AreQueuesEmptyOperation queuesEmptyOperation;
+    private final RabbitManagementApiProvider apiProvider;
     private final RabbitMQPods rabbitMQPods;
     private final RabbitMQContainers rabbitMQContainers;
     private final StatefulSetController statefulSetController;
     private final PodController podController;
+    private final MeterRegistry meterRegistry;
     private final String namespace;
+    private final Map<String, DrainMonitor> drainMonitors;
 
     public NetworkPartitionReconciler(
             final RabbitMQResourceController rabbitMQResourceController,
             final NetworkPartitionResourceController partitionResourceController,
-            final AreQueuesEmptyOperation queuesEmptyOperation,
+            final RabbitManagementApiProvider apiProvider,
             final RabbitMQPods rabbitMQPods,
             final RabbitMQContainers rabbitMQContainers,
             final StatefulSetController statefulSetController,
             final PodController podController,
+            final MeterRegistry meterRegistry,
             final String namespace
     ) {
         this.rabbitMQResourceController = rabbitMQResourceController;
         this.partitionResourceController = partitionResourceController;
-        this.queuesEmptyOperation = queuesEmptyOperation;
+        this.apiProvider = apiProvider;
         this.rabbitMQPods = rabbitMQPods;
         this.rabbitMQContainers = rabbitMQContainers;
         this.statefulSetController = statefulSetController;
         this.podController = podController;
+        this.meterRegistry = meterRegistry;
         this.namespace = namespace;
+        this.drainMonitors = new ConcurrentHashMap<>();
     }
 
-    public void reconcile(
-            final Reconciliation reconciliation
-    ) throws InterruptedException {
+    /**
+     * Takes the next step of the heal.
+     *
+     * @return how long to wait before taking the step after it, or empty once there's nothing left to do
+     */
+    public Optional<Duration> reconcile(final Reconciliation reconciliation) {
         final RabbitMQNetworkPartitionCustomResource networkPartition = partitionResourceController.get(reconciliation.getResourceName(), reconciliation.getNamespace());
 
         if (networkPartition == null) {
             log.info("Not reconciling because NetworkPartitionCustomResource {} no longer exists", reconciliation.getResourceName());
-            return;
+            stopDrainMonitors(reconciliation.getNamespace(), reconciliation.getResourceName());
+            return Optional.empty();
         }
 
         final RabbitMQNetworkPartitionCustomResourceSpec partitionSpec = networkPartition.getSpec();
         final String clusterName = partitionSpec.getClusterName();
         final String namespace = networkPartition.getMetadata().getNamespace();
-
+        final RabbitMQNetworkPartitionCustomResourceStatus status = Optional.ofNullable(networkPartition.getStatus())
+                .orElse(new RabbitMQNetworkPartitionCustomResourceStatus(null, null, null));
+        final String phase = Optional.ofNullable(status.getPhase()).orElse("");
         final RabbitMQCustomResource partitionedRabbit = rabbitMQResourceController.get(clusterName, namespace);
-        final Map<String, String> labels = Optional.ofNullable(partitionedRabbit.getMetadata().getLabels()).orElse(new HashMap<>());
 
-        log.info("Locking cluster with 'lockedBy:network-partition' label");
-        labels.put(Labels.Indeed.LOCKED_BY, "network-partition");
-        partitionedRabbit.getMetadata().setLabels(labels);
-        rabbitMQResourceController.patch(partitionedRabbit);
+        if (partitionedRabbit == null) {
+            log.warn("Abandoning heal because RabbitMQCustomResource {} no longer exists", clusterName);
+            abandon(networkPartition);
+            return Optional.empty();
+        }
 
-        log.info("Deleting statefulset");
-        statefulSetController.delete(clusterName, namespace);
-        statefulSetController.waitForDeletion(clusterName, namespace, 5, TimeUnit.MINUTES);
-        log.info("Successfully deleted statefulset");
+        switch (phase) {
+            case "":
+                log.info("Locking cluster with 'lockedBy:network-partition' label");
+                lockCluster(partitionedRabbit);
+
+                return advance(networkPartition, new RabbitMQNetworkPartitionCustomResourceStatus(PHASE_LOCKED, null, null), Collections.emptyList());
+            case PHASE_LOCKED:
+                if (statefulSetController.get(clusterName, namespace) != null) {
+                    log.info("Deleting statefulset");
+                    statefulSetController.delete(clusterName, namespace);
+
+                    return Optional.of(STEP_POLL_INTERVAL);
+                }
+                log.info("Successfully deleted statefulset");
+
+                // pods of sides that an earlier attempt drained would otherwise rejoin the cluster with stale data
+                for (final Set<String> drainedPodNames : partitionSpec.getDrained()) {
+                    drainedPodNames.forEach(name -> podController.delete(name, namespace));
+                }
+
+                return advance(networkPartition, new RabbitMQNetworkPartitionCustomResourceStatus(PHASE_STATEFULSET_DELETED, null, null), Collections.emptyList());
+            case PHASE_STATEFULSET_DELETED:
+                final List<String> sides = partitionSpec.getPartitions().stream().map(side -> SIDE_PENDING).collect(Collectors.toList());
+
+                return advance(networkPartition, new RabbitMQNetworkPartitionCustomResourceStatus(PHASE_DRAINING, sides, null), Collections.emptyList());
+            case PHASE_DRAINING:
+                return drain(networkPartition, partitionedRabbit, status);
+            case PHASE_UNLOCKED:
+                log.info("Deleting the NetworkPartition resource...");
+                partitionResourceController.delete(networkPartition.getName(), namespace);
+                stopDrainMonitors(namespace, networkPartition.getName());
+
+                log.info("Finished healing network partition");
+                return Optional.empty();
+            default:
+                log.error("Not reconciling NetworkPartitionCustomResource {} because its phase {} is unknown", networkPartition.getName(), phase);
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * Takes the next step on the first side that isn't done yet. The drain pods of every side share the cluster's
+     * instance label and discovery service, so pods from two sides running at once would find each other and
+     * cluster back together with their diverged data. Sides are therefore drained one after another, and a side's
+     * pods are only started once the pods of the side before it have been deleted.
+     */
+    private Optional<Duration> drain(
+            final RabbitMQNetworkPartitionCustomResource networkPartition,
+            final RabbitMQCustomResource partitionedRabbit,
+            final RabbitMQNetworkPartitionCustomResourceStatus status
+    ) {
+        final RabbitMQNetworkPartitionCustomResourceSpec partitionSpec = networkPartition.getSpec();
+        final String clusterName = partitionSpec.getClusterName();
+        final String namespace = networkPartition.getMetadata().getNamespace();
 
-        for (final Set<String> drainedPodNames : partitionSpec.getDrained()) {
-            drainedPodNames.forEach(name -> podController.delete(name, namespace));
+        final List<String> sides = new ArrayList<>(status.getSides());
+        final Map<String, DrainProgress> drains = new HashMap<>(status.getDrains());
+        final List<Set<String>> newlyDrained = new ArrayList<>();
+        Duration nextStep = STEP_POLL_INTERVAL;
+
+        for (int index = 0; index < partitionSpec.getPartitions().size(); index++) {
+            if (index >= sides.size()) {
+                sides.add(SIDE_PENDING);
+            }
         }
 
-        for (final Set<String> partitionedPodNames : partitionSpec.getPartitions()) {
-            final RabbitMQNetworkPartitionCustomResource currentResource = partitionResourceController.get(networkPartition.getName(), networkPartition.getMetadata().getNamespace());
-            final List<Pod> partitionedPods = generateDrainPods(partitionedPodNames, clusterName, partitionedRabbit.getSpec(), currentResource);
+        for (int index = 0; index < sides.size(); index++) {
+            final String sidePhase = sides.get(index);
+            if (SIDE_DONE.equals(sidePhase)) {
+                continue;
+            }
+
+            final Set<String> podNames = partitionSpec.getPartitions().get(index);
+            SideStep step;
+            try {
+                step = advanceSide(networkPartition, partitionedRabbit.getSpec(), podNames, sidePhase, drains);
+            } catch (final RuntimeException e) {
+                // keep the drain progress this pass already recorded and retry the side
+                log.warn(String.format("Could not advance side %s, will retry", podNames), e);
+                step = new SideStep(sidePhase, STEP_POLL_INTERVAL);
+            }
 
-            processSideOfPartition(partitionedPods, currentResource);
+            sides.set(index, step.phase);
+            if (SIDE_DRAINED.equals(step.phase) && !SIDE_DRAINED.equals(sidePhase)) {
+                newlyDrained.add(podNames);
+            }
+            nextStep = step.delay;
+            break;
         }
 
-        log.info("Deleting the NetworkPartition resource...");
-        partitionResourceController.delete(networkPartition.getName(), networkPartition.getMetadata().getNamespace());
+        if (sides.stream().allMatch(SIDE_DONE::equals)) {
+            log.info("Every side has drained, removing 'locked' label from cluster");
+            unlockCluster(clusterName, namespace);
 
-        final RabbitMQCustomResource lockedRabbit = rabbitMQResourceController.get(clusterName, namespace);
+            return advance(networkPartition, new RabbitMQNetworkPartitionCustomResourceStatus(PHASE_UNLOCKED, sides, null), Collections.emptyList());
+        }
 
-        if (lockedRabbit.getMetadata().getLabels() != null) {
-            log.info("Removing 'locked' label cluster");
-            lockedRabbit.getMetadata().getLabels().remove(Labels.Indeed.LOCKED_BY);
-            rabbitMQResourceController.patch(lockedRabbit);
+        if (!sides.equals(status.getSides()) || !drains.equals(status.getDrains())) {
+            save(networkPartition, new RabbitMQNetworkPartitionCustomResourceStatus(PHASE_DRAINING, sides, drains), newlyDrained);
         }
 
-        log.info("Finished healing network partition");
+        return Optional.of(nextStep);
     }
 
-    private void processSideOfPartition(final List<Pod> pods, final RabbitMQNetworkPartitionCustomResource existingResource) throws InterruptedException {
-        log.info("Creating drain pods with pods {}", pods.stream().map(ModelFieldLookups::getName).collect(Collectors.joining(",")));
+    private SideStep advanceSide(
+            final RabbitMQNetworkPartitionCustomResource networkPartition,
+            final RabbitMQCustomResourceSpec rabbit,
+            final Set<String> podNames,
+            final String sidePhase,
+            final Map<String, DrainProgress> drains
+    ) {
+        switch (sidePhase) {
+            case SIDE_PENDING:
+                final List<Pod> pods = generateDrainPods(podNames, networkPartition.getSpec().getClusterName(), rabbit, networkPartition);
+                log.info("Creating drain pods with pods {}", pods.stream().map(ModelFieldLookups::getName).collect(Collectors.joining(",")));
+                pods.forEach(this::createIfMissing);
+
+                return new SideStep(SIDE_STARTING, Duration.ZERO);
+            case SIDE_STARTING:
+                return areDrainPodsReady(networkPartition, rabbit, podNames) ?
+                        new SideStep(SIDE_DRAINING, Duration.ZERO) :
+                        new SideStep(SIDE_STARTING, STEP_POLL_INTERVAL);
+            case SIDE_DRAINING:
+                if (!areDrainPodsReady(networkPartition, rabbit, podNames)) {
+                    // a drain pod went missing or failed part way through, so wait for its replacement to start
+                    return new SideStep(SIDE_STARTING, STEP_POLL_INTERVAL);
+                }
+
+                return checkDrain(networkPartition, podNames, drains);
+            case SIDE_DRAINED:
+                log.info("Drain complete, deleting pods {}", podNames);
+                podNames.forEach(name -> podController.delete(name, namespace));
+
+                return podNames.stream().allMatch(name -> podController.get(name, namespace) == null) ?
+                        new SideStep(SIDE_DONE, Duration.ZERO) :
+                        new SideStep(SIDE_DRAINED, STEP_POLL_INTERVAL);
+            default:
+                return new SideStep(SIDE_DONE, Duration.ZERO);
+        }
+    }
 
-        pods.forEach(pod -> {
+    /**
+     * Recreates any drain pod that's gone missing or failed since the side started, so a side can't get stuck
+     * waiting on a pod that will never be ready.
+     */
+    private boolean areDrainPodsReady(final RabbitMQNetworkPartitionCustomResource networkPartition, final RabbitMQCustomResourceSpec rabbit, final Set<String> podNames) {
+        boolean ready = true;
+        for (final Pod pod : generateDrainPods(podNames, networkPartition.getSpec().getClusterName(), rabbit, networkPartition)) {
             final String podName = ModelFieldLookups.getName(pod);
+            final Pod existingPod = podController.get(podName, namespace);
 
-            final Pod maybeExistingPod = podController.get(podName, namespace);
-
-            if (maybeExistingPod == null) {
+            if (existingPod == null) {
                 podController.createOrUpdate(pod);
+                ready = false;
+            } else if (!isDrainPod(existingPod)) {
+                // the statefulset's pod by the same name is still terminating
+                ready = false;
+            } else if (PodController.isFailed(existingPod)) {
+                log.warn("Drain pod {} failed, deleting it so that it's recreated", podName);
+                podController.delete(podName, namespace);
+                ready = false;
+            } else if (!PodController.isReady(existingPod)) {
+                ready = false;
+            }
+        }
+
+        if (!ready) {
+            log.info("Waiting for pods {} to start...", podNames);
+        }
+
+        return ready;
+    }
+
+    private SideStep checkDrain(final RabbitMQNetworkPartitionCustomResource networkPartition, final Set<String> podNames, final Map<String, DrainProgress> drains) {
+        final String clusterName = networkPartition.getSpec().getClusterName();
+        final List<String> sortedPodNames = podNames.stream().sorted().collect(Collectors.toList());
+        // progress is recorded against the side's first pod, whichever of its pods the queues are read from
+        final String nodeName = sortedPodNames.get(0);
+        final String monitorKey = getMonitorKey(networkPartition.getMetadata().getNamespace(), networkPartition.getName(), nodeName);
+
+        // the broker keeps a running total, so an empty side can be confirmed without listing a single queue
+        final OptionalLong totalMessages = queryAnyPod(clusterName, sortedPodNames, RabbitManagementApiFacade::getTotalQueueMessages);
+        if (totalMessages.isPresent() && totalMessages.getAsLong() == 0) {
+            return drained(monitorKey, nodeName, drains);
+        }
+
+        // something is left, or the total hasn't been collected yet, so one streamed scan of the queues tells both
+        // whether the side is empty and how quickly it's getting there
+        final DrainMonitor monitor = drainMonitors.computeIfAbsent(monitorKey, key -> new DrainMonitor(clusterName, nodeName));
+        final DrainProgress progress = queryAnyPod(clusterName, sortedPodNames, monitor::observe);
+
+        if (progress.getRemainingMessages() == 0) {
+            return drained(monitorKey, nodeName, drains);
+        }
+
+        log.info("{} messages left to drain from {}, at {} messages/s, about {}s remaining",
+                progress.getRemainingMessages(), nodeName, progress.getMessagesPerSecond(), progress.getEstimatedSecondsRemaining());
+        if (!progress.getStalledQueues().isEmpty()) {
+            log.warn("Queues on {} have messages but no consumers and haven't drained in {}: {}", nodeName, DRAIN_STALL_THRESHOLD, progress.getStalledQueues());
+        }
+
+        // rewriting the resource on every poll would cost more than it tells anyone, unless what's stalled changed
+        final DrainProgress recorded = drains.get(nodeName);
+        if (recorded == null ||
+                !progress.getStalledQueues().equals(recorded.getStalledQueues()) ||
+                !Instant.parse(progress.getLastUpdated()).isBefore(Instant.parse(recorded.getLastUpdated()).plus(DRAIN_PROGRESS_WRITE_INTERVAL))) {
+            drains.put(nodeName, progress);
+        }
+
+        return new SideStep(SIDE_DRAINING, monitor.getNextPollInterval());
+    }
+
+    private SideStep drained(final String monitorKey, final String nodeName, final Map<String, DrainProgress> drains) {
+        log.info("No messages left on {}", nodeName);
+        stopDrainMonitor(monitorKey);
+        drains.remove(nodeName);
+
+        return new SideStep(SIDE_DRAINED, Duration.ZERO);
+    }
+
+    /**
+     * Every pod of a side sees the side's queues, so the first one that answers is as good as any other.
+     */
+    private <T> T queryAnyPod(final String clusterName, final List<String> podNames, final Function<RabbitManagementApiFacade, T> query) {
+        RuntimeException failure = null;
+        for (final String podName : podNames) {
+            final RabbitMQConnectionInfo connectionInfo = new RabbitMQConnectionInfo(clusterName, namespace, RabbitMQServices.getDiscoveryServiceName(clusterName), podName);
+            try {
+                return query.apply(apiProvider.getApi(connectionInfo));
+            } catch (final RuntimeException e) {
+                log.warn(String.format("Could not read queues on %s", podName), e);
+                failure = e;
             }
-        });
+        }
 
-        log.info("Waiting for pods to start...");
-        waitForPodsToBecomeReady(pods);
+        throw failure;
+    }
 
-        log.info("Created pods. Draining...");
-        waitForPodsToDrain(existingResource.getSpec().getClusterName(), pods);
+    /**
+     * Gives up on a heal whose cluster has been deleted: its drain pods are deleted along with the resource, since
+     * there's no cluster left for them to rejoin.
+     */
+    private void abandon(final RabbitMQNetworkPartitionCustomResource networkPartition) {
+        final String namespace = networkPartition.getMetadata().getNamespace();
 
-        final Set<String> drained = pods.stream().map(ModelFieldLookups::getName).collect(Collectors.toSet());
+        for (final Set<String> podNames : networkPartition.getSpec().getPartitions()) {
+            for (final String podName : podNames) {
+                final Pod pod = podController.get(podName, namespace);
+                if (pod != null && isDrainPod(pod)) {
+                    podController.delete(podName, namespace);
+                }
+            }
+        }
+
+        partitionResourceController.delete(networkPartition.getName(), namespace);
+        stopDrainMonitors(namespace, networkPartition.getName());
+    }
 
-        final RabbitMQNetworkPartitionCustomResource resource = new RabbitMQNetworkPartitionCustomResourceBuilder(existingResource)
+    /**
+     * Records the step that was just taken and asks for the next one straight away.
+     */
+    private Optional<Duration> advance(
+            final RabbitMQNetworkPartitionCustomResource networkPartition,
+            final RabbitMQNetworkPartitionCustomResourceStatus status,
+            final List<Set<String>> newlyDrained
+    ) {
+        save(networkPartition, status, newlyDrained);
+
+        return Optional.of(Duration.ZERO);
+    }
+
+    private void save(
+            final RabbitMQNetworkPartitionCustomResource networkPartition,
+            final RabbitMQNetworkPartitionCustomResourceStatus status,
+            final List<Set<String>> newlyDrained
+    ) {
+        final RabbitMQNetworkPartitionCustomResource resource = new RabbitMQNetworkPartitionCustomResourceBuilder(networkPartition)
                 .editSpec()
-                .addToDrained(drained)
+                .addAllToDrained(newlyDrained)
                 .endSpec()
                 .build();
+        resource.setStatus(status);
 
         partitionResourceController.patch(resource);
+    }
 
-        log.info("Drain complete, deleting pods...");
-        pods.forEach(pod -> podController.delete(pod.getMetadata().getName(), pod.getMetadata().getNamespace()));
+    private void lockCluster(final RabbitMQCustomResource partitionedRabbit) {
+        final Map<String, String> labels = Optional.ofNullable(partitionedRabbit.getMetadata().getLabels()).orElse(new HashMap<>());
 
-        waitForPodsToBeDeleted(pods);
+        labels.put(Labels.Indeed.LOCKED_BY, LOCKED_BY_NETWORK_PARTITION);
+        partitionedRabbit.getMetadata().setLabels(labels);
+        rabbitMQResourceController.patch(partitionedRabbit);
+    }
+
+    private void unlockCluster(final String clusterName, final String namespace) {
+        final RabbitMQCustomResource lockedRabbit = rabbitMQResourceController.get(clusterName, namespace);
+
+        if (lockedRabbit.getMetadata().getLabels() != null && lockedRabbit.getMetadata().getLabels().containsKey(Labels.Indeed.LOCKED_BY)) {
+            lockedRabbit.getMetadata().getLabels().remove(Labels.Indeed.LOCKED_BY);
+            rabbitMQResourceController.patch(lockedRabbit);
+        }
+    }
+
+    private void createIfMissing(final Pod pod) {
+        if (podController.get(ModelFieldLookups.getName(pod), namespace) == null) {
+            podController.createOrUpdate(pod);
+        }
+    }
+
+    private static boolean isDrainPod(final Pod pod) {
+        return pod.getMetadata().getLabels() != null && LOCKED_BY_NETWORK_PARTITION.equals(pod.getMetadata().getLabels().get(Labels.Indeed.LOCKED_BY));
     }
 
     private List<Pod> generateDrainPods(
@@ -173,7 +468,7 @@ public class NetworkPartitionReconciler {
                         .addToLabels(Labels.Kubernetes.INSTANCE, clusterName)
                         .addToLabels(Labels.Kubernetes.MANAGED_BY, Labels.Values.RABBITMQ_OPERATOR)
                         .addToLabels(Labels.Kubernetes.PART_OF, Labels.Values.RABBITMQ)
-                        .addToLabels(Labels.Indeed.LOCKED_BY, "network-partition")
+                        .addToLabels(Labels.Indeed.LOCKED_BY, LOCKED_BY_NETWORK_PARTITION)
                         .addToLabels(Labels.Indeed.getIndeedLabels(networkPartition))
                         .addToOwnerReferences(new OwnerReference(networkPartition.getApiVersion(), false, true, networkPartition.getKind(), networkPartition.getName(), networkPartition.getMetadata().getUid()))
                         .endMetadata()
@@ -187,36 +482,96 @@ public class NetworkPartitionReconciler {
         ).collect(Collectors.toList());
     }
 
-    private void waitForPodsToBecomeReady(final List<Pod> pods) {
-        for (final Pod pod : pods) {
-            final String podName = ModelFieldLookups.getName(pod);
-            try {
-                log.info("Waiting for pod {} to become ready", podName);
-                // if we timeout here, this reconciliation will abort and we'll try again on the next reconciliation loop
-                podController.waitForReady(podName, namespace, 1, TimeUnit.MINUTES);
-            } catch (final InterruptedException e) {
-                throw new RuntimeException(e);
-            }
+    private static String getMonitorKey(final String namespace, final String partitionName, final String nodeName) {
+        return String.join("/", namespace, partitionName, nodeName);
+    }
+
+    private void stopDrainMonitor(final String key) {
+        final DrainMonitor monitor = drainMonitors.remove(key);
+        if (monitor != null) {
+            monitor.close();
         }
     }
 
-    private void waitForPodsToBeDeleted(final List<Pod> pods) throws InterruptedException {
-        for (final Pod pod : pods) {
-            final String podName = ModelFieldLookups.getName(pod);
-            log.info("Waiting for pod {} to be deleted", podName);
-            // if we timeout here, this reconciliation will abort and we'll try again on the next reconciliation loop
-            podController.waitForDeletion(podName, namespace, 1, TimeUnit.MINUTES);
+    private void stopDrainMonitors(final String namespace, final String partitionName) {
+        final String prefix = getMonitorKey(namespace, partitionName, "");
+        drainMonitors.keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .collect(Collectors.toList())
+                .forEach(this::stopDrainMonitor);
+    }
+
+    private static double getOrNaN(final DrainProgress progress, final Function<DrainProgress, ? extends Number> field) {
+        final Number value = progress == null ? null : field.apply(progress);
+
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    private static class SideStep {
+        private final String phase;
+        private final Duration delay;
+
+        /**
+         * @param delay how long until the next step of the heal
+         */
+        SideStep(final String phase, final Duration delay) {
+            this.phase = phase;
+            this.delay = delay;
         }
     }
 
-    private void waitForPodsToDrain(
-            final String clusterName,
-            final List<Pod> pods
-    ) throws InterruptedException {
-        final RabbitMQConnectionInfo connectionInfo = new RabbitMQConnectionInfo(clusterName, namespace, RabbitMQServices.getDiscoveryServiceName(clusterName), ModelFieldLookups.getName(pods.get(0)));
+    /**
+     * The rate and stall tracking for one draining side, which has to outlive the step that polls it. It's only
+     * kept in memory, so after a restart the estimates start over while the drain itself carries on.
+     */
+    private class DrainMonitor {
+        private final DrainProgressTracker tracker;
+        private final AtomicReference<DrainProgress> latest;
+        private final List<Gauge> gauges;
+
+        DrainMonitor(final String clusterName, final String nodeName) {
+            this.tracker = new DrainProgressTracker(MIN_DRAIN_POLL_INTERVAL, MAX_DRAIN_POLL_INTERVAL, DRAIN_STALL_THRESHOLD, Clock.systemUTC());
+            this.latest = new AtomicReference<>();
+
+            final Tags tags = Tags.of("cluster", clusterName, "node", nodeName);
+            this.gauges = ImmutableList.of(
+                    Gauge.builder("rabbitmq.partition.drain.remaining", latest, progress -> getOrNaN(progress.get(), DrainProgress::getRemainingMessages))
+                            .tags(tags)
+                            .baseUnit("messages")
+                            .register(meterRegistry),
+                    Gauge.builder("rabbitmq.partition.drain.eta", latest, progress -> getOrNaN(progress.get(), DrainProgress::getEstimatedSecondsRemaining))
+                            .tags(tags)
+                            .baseUnit("seconds")
+                            .register(meterRegistry),
+                    Gauge.builder("rabbitmq.partition.drain.stalled.queues", latest, progress -> progress.get() == null ? 0 : progress.get().getStalledQueues().size())
+                            .tags(tags)
+                            .register(meterRegistry)
+            );
+        }
+
+        /**
+         * Streams the queues' depths into the tracker, so that however many queues there are, only their totals
+         * are held at once. A scan that fails part way through is dropped without being recorded.
+         */
+        DrainProgress observe(final RabbitManagementApiFacade api) {
+            final DrainProgressTracker.Poll poll = tracker.startPoll();
+            api.forEachQueueDepth(depth -> {
+                poll.add(depth);
+                return true;
+            });
+
+            final DrainProgress progress = poll.finish();
+            latest.set(progress);
+
+            return progress;
+        }
+
+        Duration getNextPollInterval() {
+            return tracker.getNextPollInterval();
+        }
 
-        while(!queuesEmptyOperation.execute(connectionInfo)) {
-            Thread.sleep(TimeUnit.SECONDS.toMillis(5));
+        void close() {
+            gauges.forEach(meterRegistry::remove);
         }
     }
 }
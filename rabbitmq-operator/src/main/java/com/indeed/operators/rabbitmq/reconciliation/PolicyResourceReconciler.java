@@ -0,0 +1,47 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.OperatorPolicyReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.PolicyReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ResourceReconciliationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Predicate;
+
+public class PolicyResourceReconciler extends ClusterResourceReconciler {
+    private static final Logger log = LoggerFactory.getLogger(PolicyResourceReconciler.class);
+
+    private final PolicyReconciler policyReconciler;
+    private final OperatorPolicyReconciler operatorPolicyReconciler;
+
+    public PolicyResourceReconciler(
+            final RabbitMQResourceController clusterController,
+            final RabbitMQClusterFactory clusterFactory,
+            final PolicyReconciler policyReconciler,
+            final OperatorPolicyReconciler operatorPolicyReconciler
+    ) {
+        super(clusterController, clusterFactory);
+        this.policyReconciler = policyReconciler;
+        this.operatorPolicyReconciler = operatorPolicyReconciler;
+    }
+
+    @Override
+    protected void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException {
+        // a resource can switch between declaring a policy and an operator policy, so both kinds are checked
+        try {
+            policyReconciler.reconcile(cluster, scope);
+        } catch (final ResourceReconciliationException e) {
+            log.error("Policy could not be reconciled", e);
+        }
+
+        try {
+            operatorPolicyReconciler.reconcile(cluster, scope);
+        } catch (final ResourceReconciliationException e) {
+            log.error("Operator policy could not be reconciled", e);
+        }
+    }
+}
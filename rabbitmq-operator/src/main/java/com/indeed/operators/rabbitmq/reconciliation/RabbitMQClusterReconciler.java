@@ -8,20 +8,28 @@ import com.indeed.operators.rabbitmq.controller.StatefulSetController;
 import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
 import com.indeed.operators.rabbitmq.model.Labels;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceStatus;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.UserReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.OperatorPolicyReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.PolicyReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ResourceReconciliationException;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ShovelReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
 import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_STORAGE_NAME;
 
@@ -39,6 +47,8 @@ public class RabbitMQClusterReconciler {
     private final UserReconciler usersReconciler;
     private final PolicyReconciler policyReconciler;
     private final OperatorPolicyReconciler operatorPolicyReconciler;
+    private final TopologyReconciler topologyReconciler;
+    private final ClusterStatusUpdater statusUpdater;
 
     public RabbitMQClusterReconciler(
             final RabbitMQClusterFactory clusterFactory,
@@ -51,7 +61,9 @@ public class RabbitMQClusterReconciler {
             final ShovelReconciler shovelReconciler,
             final UserReconciler usersReconciler,
             final PolicyReconciler policyReconciler,
-            final OperatorPolicyReconciler operatorPolicyReconciler
+            final OperatorPolicyReconciler operatorPolicyReconciler,
+            final TopologyReconciler topologyReconciler,
+            final ClusterStatusUpdater statusUpdater
     ) {
         this.clusterFactory = clusterFactory;
         this.controller = controller;
@@ -64,6 +76,8 @@ public class RabbitMQClusterReconciler {
         this.usersReconciler = usersReconciler;
         this.policyReconciler = policyReconciler;
         this.operatorPolicyReconciler = operatorPolicyReconciler;
+        this.topologyReconciler = topologyReconciler;
+        this.statusUpdater = statusUpdater;
     }
 
     public void reconcile(final Reconciliation reconciliation) throws InterruptedException, RabbitClusterConfigurationException {
@@ -74,28 +88,95 @@ public class RabbitMQClusterReconciler {
             return;
         }
 
-        if (shouldReconcile(resource)) {
+        if (!shouldReconcile(resource)) {
+            log.info("Not reconciling cluster because it is locked");
+            return;
+        }
+
+        final Map<String, Long> durations = new LinkedHashMap<>();
+        final String phase;
+        final String error;
+        try {
+            long start = System.nanoTime();
             final RabbitMQCluster cluster = clusterFactory.fromCustomResource(resource);
-            final int currentReplicaCount = determineCurrentReplicaCount(resource);
+            final StatefulSet existingStatefulSet = statefulSetController.get(resource.getMetadata().getName(), resource.getMetadata().getNamespace());
 
-            reconcileKubernetesObjects(cluster);
-            if (!resource.getSpec().isPreserveOrphanPVCs()) {
-                deleteDanglingPvcs(resource, currentReplicaCount);
+            // every object is still written when the spec has already been applied, to repair drift such as a deleted
+            // Service or a hand-edited StatefulSet and to roll out templates changed by a newer operator; only the
+            // wait on the rollout and the cleanup after scaling down belong to a new generation of the spec
+            final boolean generationApplied = existingStatefulSet != null && isGenerationApplied(resource);
+            reconcileKubernetesObjects(cluster, !generationApplied);
+            if (!generationApplied && !resource.getSpec().isPreserveOrphanPVCs()) {
+                deleteDanglingPvcs(resource, existingStatefulSet == null ? 0 : existingStatefulSet.getSpec().getReplicas());
             }
+            start = recordDuration(durations, "kubernetes", start);
+
+            // each kind of resource is reconciled even if an earlier kind had failures, since only some of what
+            // follows can depend on what failed; the failures are reported together at the end
+            final List<ResourceReconciliationException> failures = new ArrayList<>();
 
             // Users should be reconciled before shovels so that those users are available for shovels to use
-            usersReconciler.reconcile(cluster);
-            shovelReconciler.reconcile(cluster);
-            policyReconciler.reconcile(cluster);
-            operatorPolicyReconciler.reconcile(cluster);
+            try {
+                usersReconciler.reconcile(cluster);
+            } catch (final ResourceReconciliationException e) {
+                failures.add(e);
+            }
+            start = recordDuration(durations, "users", start);
 
-            log.info("Reconciliation complete!");
-        } else {
-            log.info("Not reconciling cluster because it is locked");
+            try {
+                shovelReconciler.reconcile(cluster);
+            } catch (final ResourceReconciliationException e) {
+                failures.add(e);
+            }
+            start = recordDuration(durations, "shovels", start);
+
+            try {
+                policyReconciler.reconcile(cluster);
+            } catch (final ResourceReconciliationException e) {
+                failures.add(e);
+            }
+            try {
+                operatorPolicyReconciler.reconcile(cluster);
+            } catch (final ResourceReconciliationException e) {
+                failures.add(e);
+            }
+            start = recordDuration(durations, "policies", start);
+
+            topologyReconciler.reconcile(cluster);
+            recordDuration(durations, "topology", start);
+
+            if (!failures.isEmpty()) {
+                failures.forEach(e -> log.error("Reconciliation finished, but some resources could not be reconciled", e));
+                phase = RabbitMQCustomResourceStatus.PHASE_DEGRADED;
+                error = failures.stream().map(Exception::getMessage).collect(Collectors.joining("; "));
+            } else {
+                log.info("Reconciliation complete!");
+                phase = RabbitMQCustomResourceStatus.PHASE_READY;
+                error = null;
+            }
+        } catch (final RabbitClusterConfigurationException | RuntimeException e) {
+            statusUpdater.update(resource, buildStatus(resource, RabbitMQCustomResourceStatus.PHASE_FAILED, durations, e.getMessage()));
+            throw e;
         }
+
+        statusUpdater.update(resource, buildStatus(resource, phase, durations, error));
     }
 
-    private void reconcileKubernetesObjects(final RabbitMQCluster cluster) throws InterruptedException {
+    /**
+     * Whether the current generation of the spec has already been applied without errors. Label and status changes
+     * don't bump the generation, so neither of them counts as a new spec.
+     */
+    static boolean isGenerationApplied(final RabbitMQCustomResource resource) {
+        final RabbitMQCustomResourceStatus status = resource.getStatus();
+        final Long generation = resource.getMetadata().getGeneration();
+
+        return status != null &&
+                generation != null &&
+                generation.equals(status.getObservedGeneration()) &&
+                RabbitMQCustomResourceStatus.PHASE_READY.equals(status.getPhase());
+    }
+
+    private void reconcileKubernetesObjects(final RabbitMQCluster cluster, final boolean waitForRollout) throws InterruptedException {
         final Secret adminSecret = cluster.getAdminSecret();
         final Secret erlangCookieSecret = cluster.getErlangCookieSecret();
         secretsController.createOrUpdate(adminSecret);
@@ -117,7 +198,9 @@ public class RabbitMQClusterReconciler {
         }
 
         statefulSetController.createOrUpdate(cluster.getStatefulSet());
-        statefulSetController.waitForReady(cluster.getStatefulSet().getMetadata().getName(), cluster.getStatefulSet().getMetadata().getNamespace(), 5, TimeUnit.MINUTES);
+        if (waitForRollout) {
+            statefulSetController.waitForReady(cluster.getStatefulSet().getMetadata().getName(), cluster.getStatefulSet().getMetadata().getNamespace(), 5, TimeUnit.MINUTES);
+        }
 
         podDisruptionBudgetController.createOrUpdate(cluster.getPodDisruptionBudget());
     }
@@ -147,13 +230,32 @@ public class RabbitMQClusterReconciler {
         }
     }
 
-    private int determineCurrentReplicaCount(final RabbitMQCustomResource resource) {
-        final StatefulSet existing = statefulSetController.get(resource.getMetadata().getName(), resource.getMetadata().getNamespace());
-        if (null != existing) {
-            return existing.getSpec().getReplicas();
+    private RabbitMQCustomResourceStatus buildStatus(final RabbitMQCustomResource resource, final String phase, final Map<String, Long> durations, final String error) {
+        Integer readyReplicas = null;
+        try {
+            final StatefulSet statefulSet = statefulSetController.get(resource.getMetadata().getName(), resource.getMetadata().getNamespace());
+            if (statefulSet != null && statefulSet.getStatus() != null) {
+                readyReplicas = statefulSet.getStatus().getReadyReplicas();
+            }
+        } catch (final RuntimeException e) {
+            log.warn("Could not look up ready replicas for the status of cluster {}", resource.getName(), e);
         }
 
-        return 0;
+        return new RabbitMQCustomResourceStatus(
+                resource.getMetadata().getGeneration(),
+                phase,
+                readyReplicas,
+                Instant.now().toString(),
+                durations,
+                error
+        );
+    }
+
+    private static long recordDuration(final Map<String, Long> durations, final String step, final long start) {
+        final long now = System.nanoTime();
+        durations.put(step, TimeUnit.NANOSECONDS.toMillis(now - start));
+
+        return now;
     }
 
     private boolean shouldReconcile(final RabbitMQCustomResource resource) {
@@ -0,0 +1,36 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ResourceReconciliationException;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ShovelReconciler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Predicate;
+
+public class ShovelResourceReconciler extends ClusterResourceReconciler {
+    private static final Logger log = LoggerFactory.getLogger(ShovelResourceReconciler.class);
+
+    private final ShovelReconciler shovelReconciler;
+
+    public ShovelResourceReconciler(
+            final RabbitMQResourceController clusterController,
+            final RabbitMQClusterFactory clusterFactory,
+            final ShovelReconciler shovelReconciler
+    ) {
+        super(clusterController, clusterFactory);
+        this.shovelReconciler = shovelReconciler;
+    }
+
+    @Override
+    protected void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException {
+        try {
+            shovelReconciler.reconcile(cluster, scope);
+        } catch (final ResourceReconciliationException e) {
+            log.error("Shovel could not be reconciled", e);
+        }
+    }
+}
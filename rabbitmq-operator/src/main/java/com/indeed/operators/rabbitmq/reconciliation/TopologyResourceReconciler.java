@@ -0,0 +1,35 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
+
+import java.util.function.Predicate;
+
+/**
+ * Declares a cluster's whole topology in one batch. The scope only says which keys of this reconciler's kind may
+ * be deleted, since topology that isn't declared by a resource may belong to an application.
+ */
+public class TopologyResourceReconciler extends ClusterResourceReconciler {
+
+    private final TopologyReconciler topologyReconciler;
+    private final TopologyReconciler.Kind kind;
+
+    public TopologyResourceReconciler(
+            final RabbitMQResourceController clusterController,
+            final RabbitMQClusterFactory clusterFactory,
+            final TopologyReconciler topologyReconciler,
+            final TopologyReconciler.Kind kind
+    ) {
+        super(clusterController, clusterFactory);
+        this.topologyReconciler = topologyReconciler;
+        this.kind = kind;
+    }
+
+    @Override
+    protected void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException {
+        topologyReconciler.reconcile(cluster, kind, scope);
+    }
+}
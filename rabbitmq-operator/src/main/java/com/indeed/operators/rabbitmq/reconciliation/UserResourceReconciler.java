@@ -0,0 +1,36 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.UserReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.UserReconciliationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Predicate;
+
+public class UserResourceReconciler extends ClusterResourceReconciler {
+    private static final Logger log = LoggerFactory.getLogger(UserResourceReconciler.class);
+
+    private final UserReconciler userReconciler;
+
+    public UserResourceReconciler(
+            final RabbitMQResourceController clusterController,
+            final RabbitMQClusterFactory clusterFactory,
+            final UserReconciler userReconciler
+    ) {
+        super(clusterController, clusterFactory);
+        this.userReconciler = userReconciler;
+    }
+
+    @Override
+    protected void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException {
+        try {
+            userReconciler.reconcile(cluster, scope);
+        } catch (final UserReconciliationException e) {
+            log.error("User could not be reconciled", e);
+        }
+    }
+}
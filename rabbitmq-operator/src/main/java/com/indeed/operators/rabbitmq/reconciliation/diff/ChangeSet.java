@@ -0,0 +1,118 @@
+package com.indeed.operators.rabbitmq.reconciliation.diff;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything that has to change to turn the existing resources into the desired ones, worked out in one pass
+ * over both.
+ *
+ * @param <D> the desired resource type
+ * @param <E> the existing resource type
+ */
+public class ChangeSet<D, E> {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE,
+        NOOP
+    }
+
+    private final Map<ResourceKey, D> creates;
+    private final Map<ResourceKey, D> updates;
+    private final Map<ResourceKey, E> updatedExisting;
+    private final Map<ResourceKey, E> deletes;
+    private final int unchanged;
+
+    private ChangeSet(
+            final Map<ResourceKey, D> creates,
+            final Map<ResourceKey, D> updates,
+            final Map<ResourceKey, E> updatedExisting,
+            final Map<ResourceKey, E> deletes,
+            final int unchanged
+    ) {
+        this.creates = Collections.unmodifiableMap(creates);
+        this.updates = Collections.unmodifiableMap(updates);
+        this.updatedExisting = Collections.unmodifiableMap(updatedExisting);
+        this.deletes = Collections.unmodifiableMap(deletes);
+        this.unchanged = unchanged;
+    }
+
+    /**
+     * @throws IllegalArgumentException if two desired resources have the same key, since there's no telling which
+     * of them should win
+     */
+    public static <D, E> ChangeSet<D, E> compute(final ResourceDiff<D, E> diff, final Collection<D> desired, final Collection<E> existing) {
+        final Map<ResourceKey, E> remaining = new LinkedHashMap<>();
+        for (final E resource : existing) {
+            remaining.put(diff.getExistingKey(resource), resource);
+        }
+
+        final Map<ResourceKey, D> creates = new LinkedHashMap<>();
+        final Map<ResourceKey, D> updates = new LinkedHashMap<>();
+        final Map<ResourceKey, E> updatedExisting = new LinkedHashMap<>();
+        final Set<ResourceKey> seen = new HashSet<>();
+        int unchanged = 0;
+
+        for (final D resource : desired) {
+            final ResourceKey key = diff.getDesiredKey(resource);
+            if (!seen.add(key)) {
+                throw new IllegalArgumentException(String.format("%s %s is declared more than once", diff.getKind(), key));
+            }
+
+            final E current = remaining.remove(key);
+
+            if (current == null) {
+                creates.put(key, resource);
+            } else if (!diff.matches(resource, current)) {
+                updates.put(key, resource);
+                updatedExisting.put(key, current);
+            } else {
+                unchanged++;
+            }
+        }
+
+        // whatever wasn't claimed by a desired resource is obsolete
+        return new ChangeSet<>(creates, updates, updatedExisting, remaining, unchanged);
+    }
+
+    public Map<ResourceKey, D> getCreates() {
+        return creates;
+    }
+
+    public Map<ResourceKey, D> getUpdates() {
+        return updates;
+    }
+
+    public Map<ResourceKey, E> getDeletes() {
+        return deletes;
+    }
+
+    E getUpdatedExisting(final ResourceKey key) {
+        return updatedExisting.get(key);
+    }
+
+    public int getCount(final Type type) {
+        switch (type) {
+            case CREATE:
+                return creates.size();
+            case UPDATE:
+                return updates.size();
+            case DELETE:
+                return deletes.size();
+            case NOOP:
+                return unchanged;
+            default:
+                throw new IllegalArgumentException("Unknown change type " + type);
+        }
+    }
+
+    public boolean isEmpty() {
+        return creates.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+}
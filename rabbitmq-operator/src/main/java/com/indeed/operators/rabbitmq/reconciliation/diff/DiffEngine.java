@@ -0,0 +1,137 @@
+package com.indeed.operators.rabbitmq.reconciliation.diff;
+
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Brings one kind of broker resource in line with its desired state: works out a single {@link ChangeSet},
+ * then applies each kind of change in the {@link ResourceDiff}'s order, several at a time. A failed change
+ * doesn't stop the others; failures are logged and returned. Every pass counts its creates, updates,
+ * deletes and no-ops in rabbitmq.reconciliation.changes, tagged by cluster, kind, change and result.
+ */
+public class DiffEngine {
+    private static final Logger log = LoggerFactory.getLogger(DiffEngine.class);
+
+    private final BoundedConcurrencyExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final int defaultConcurrency;
+
+    public DiffEngine(
+            final BoundedConcurrencyExecutor executor,
+            final MeterRegistry meterRegistry,
+            final int defaultConcurrency
+    ) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    public <D, E> DiffResult reconcile(
+            final String clusterName,
+            final ResourceDiff<D, E> diff,
+            final Collection<D> desired,
+            final Collection<E> existing
+    ) throws InterruptedException {
+        return apply(clusterName, diff, ChangeSet.compute(diff, desired, existing));
+    }
+
+    /**
+     * Only considers resources whose key is in scope on either side, so that one resource can be brought up to
+     * date (or removed) without everything else that exists counting as obsolete.
+     */
+    public <D, E> DiffResult reconcile(
+            final String clusterName,
+            final ResourceDiff<D, E> diff,
+            final Collection<D> desired,
+            final Collection<E> existing,
+            final Predicate<ResourceKey> scope
+    ) throws InterruptedException {
+        return reconcile(
+                clusterName,
+                diff,
+                desired.stream().filter(resource -> scope.test(diff.getDesiredKey(resource))).collect(Collectors.toList()),
+                existing.stream().filter(resource -> scope.test(diff.getExistingKey(resource))).collect(Collectors.toList())
+        );
+    }
+
+    public <D, E> DiffResult apply(
+            final String clusterName,
+            final ResourceDiff<D, E> diff,
+            final ChangeSet<D, E> changes
+    ) throws InterruptedException {
+        final int concurrency = diff.getConcurrency() > 0 ? diff.getConcurrency() : defaultConcurrency;
+        final Map<ChangeSet.Type, Integer> counts = new EnumMap<>(ChangeSet.Type.class);
+        final Map<ResourceKey, Exception> failures = new LinkedHashMap<>();
+
+        for (final ChangeSet.Type phase : diff.getPhaseOrder()) {
+            final Map<ResourceKey, BoundedConcurrencyExecutor.Task> tasks = buildTasks(phase, diff, changes);
+            counts.put(phase, tasks.size());
+
+            if (tasks.isEmpty()) {
+                continue;
+            }
+
+            final Map<ResourceKey, Exception> phaseFailures = executor.invokeAll(tasks, concurrency);
+            phaseFailures.forEach((key, e) ->
+                    log.error(String.format("Failed to %s %s %s in cluster %s", phase.name().toLowerCase(), diff.getKind(), key, clusterName), e));
+            failures.putAll(phaseFailures);
+
+            record(clusterName, diff.getKind(), phase, "success", tasks.size() - phaseFailures.size());
+            record(clusterName, diff.getKind(), phase, "failure", phaseFailures.size());
+        }
+
+        counts.put(ChangeSet.Type.NOOP, changes.getCount(ChangeSet.Type.NOOP));
+        record(clusterName, diff.getKind(), ChangeSet.Type.NOOP, "success", changes.getCount(ChangeSet.Type.NOOP));
+
+        final DiffResult result = new DiffResult(counts, failures);
+        log.debug("Reconciled {} in cluster {}: {}", diff.getKind(), clusterName, result);
+
+        return result;
+    }
+
+    private static <D, E> Map<ResourceKey, BoundedConcurrencyExecutor.Task> buildTasks(
+            final ChangeSet.Type phase,
+            final ResourceDiff<D, E> diff,
+            final ChangeSet<D, E> changes
+    ) {
+        final Map<ResourceKey, BoundedConcurrencyExecutor.Task> tasks = new LinkedHashMap<>();
+        switch (phase) {
+            case CREATE:
+                changes.getCreates().forEach((key, desired) -> tasks.put(key, () -> diff.create(desired)));
+                break;
+            case UPDATE:
+                changes.getUpdates().forEach((key, desired) -> tasks.put(key, () -> diff.update(desired, changes.getUpdatedExisting(key))));
+                break;
+            case DELETE:
+                changes.getDeletes().forEach((key, existing) -> tasks.put(key, () -> diff.delete(existing)));
+                break;
+            default:
+                throw new IllegalArgumentException("Nothing to apply for change type " + phase);
+        }
+
+        return tasks;
+    }
+
+    private void record(final String clusterName, final String kind, final ChangeSet.Type change, final String result, final int count) {
+        if (count == 0) {
+            return;
+        }
+
+        meterRegistry.counter("rabbitmq.reconciliation.changes", Tags.of(
+                "cluster", clusterName,
+                "kind", kind,
+                "change", change.name().toLowerCase(),
+                "result", result
+        )).increment(count);
+    }
+}
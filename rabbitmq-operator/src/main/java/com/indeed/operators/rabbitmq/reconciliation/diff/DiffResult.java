@@ -0,0 +1,37 @@
+package com.indeed.operators.rabbitmq.reconciliation.diff;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What applying a {@link ChangeSet} did: how many changes of each kind were planned, and which ones failed.
+ */
+public class DiffResult {
+
+    private final Map<ChangeSet.Type, Integer> counts;
+    private final Map<ResourceKey, Exception> failures;
+
+    DiffResult(final Map<ChangeSet.Type, Integer> counts, final Map<ResourceKey, Exception> failures) {
+        this.counts = new EnumMap<>(counts);
+        this.failures = ImmutableMap.copyOf(failures);
+    }
+
+    public int getCount(final ChangeSet.Type type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    public Map<ResourceKey, Exception> getFailures() {
+        return failures;
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, %d failed", counts, failures.size());
+    }
+}
@@ -0,0 +1,166 @@
+package com.indeed.operators.rabbitmq.reconciliation.diff;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Describes how to reconcile one kind of resource: how to key desired and existing instances, when an existing
+ * one is already as desired, and how to create, update and delete them. Desired and existing instances can be
+ * different types, e.g. a user from the custom resource and the user the broker reports.
+ *
+ * @param <D> the desired resource type
+ * @param <E> the existing resource type
+ */
+public class ResourceDiff<D, E> {
+
+    private static final List<ChangeSet.Type> DEFAULT_PHASE_ORDER = ImmutableList.of(ChangeSet.Type.DELETE, ChangeSet.Type.CREATE, ChangeSet.Type.UPDATE);
+
+    private final String kind;
+    private final Function<D, ResourceKey> desiredKey;
+    private final Function<E, ResourceKey> existingKey;
+    private final BiPredicate<D, E> matches;
+    private final Consumer<D> create;
+    private final BiConsumer<D, E> update;
+    private final Consumer<E> delete;
+    private final List<ChangeSet.Type> phaseOrder;
+    private final int concurrency;
+
+    private ResourceDiff(final Builder<D, E> builder) {
+        this.kind = builder.kind;
+        this.desiredKey = Preconditions.checkNotNull(builder.desiredKey, "desiredKey");
+        this.existingKey = Preconditions.checkNotNull(builder.existingKey, "existingKey");
+        this.matches = Preconditions.checkNotNull(builder.matches, "matches");
+        this.create = Preconditions.checkNotNull(builder.create, "create");
+        this.update = Preconditions.checkNotNull(builder.update, "update");
+        this.delete = Preconditions.checkNotNull(builder.delete, "delete");
+        this.phaseOrder = builder.phaseOrder;
+        this.concurrency = builder.concurrency;
+    }
+
+    public static <D, E> Builder<D, E> newBuilder(final String kind) {
+        return new Builder<>(kind);
+    }
+
+    /**
+     * For resources whose desired and existing forms are the same type and keyed the same way.
+     */
+    public static <T> Builder<T, T> newBuilder(final String kind, final Function<T, ResourceKey> key) {
+        return new Builder<T, T>(kind).withDesiredKey(key).withExistingKey(key);
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    ResourceKey getDesiredKey(final D desired) {
+        return desiredKey.apply(desired);
+    }
+
+    ResourceKey getExistingKey(final E existing) {
+        return existingKey.apply(existing);
+    }
+
+    boolean matches(final D desired, final E existing) {
+        return matches.test(desired, existing);
+    }
+
+    void create(final D desired) {
+        create.accept(desired);
+    }
+
+    void update(final D desired, final E existing) {
+        update.accept(desired, existing);
+    }
+
+    void delete(final E existing) {
+        delete.accept(existing);
+    }
+
+    List<ChangeSet.Type> getPhaseOrder() {
+        return phaseOrder;
+    }
+
+    /**
+     * @return the most changes of this kind to apply at once, or zero to use the engine's default.
+     */
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    public static class Builder<D, E> {
+        private final String kind;
+        private Function<D, ResourceKey> desiredKey;
+        private Function<E, ResourceKey> existingKey;
+        private BiPredicate<D, E> matches;
+        private Consumer<D> create;
+        private BiConsumer<D, E> update;
+        private Consumer<E> delete;
+        private List<ChangeSet.Type> phaseOrder = DEFAULT_PHASE_ORDER;
+        private int concurrency = 0;
+
+        private Builder(final String kind) {
+            this.kind = kind;
+        }
+
+        public Builder<D, E> withDesiredKey(final Function<D, ResourceKey> desiredKey) {
+            this.desiredKey = desiredKey;
+            return this;
+        }
+
+        public Builder<D, E> withExistingKey(final Function<E, ResourceKey> existingKey) {
+            this.existingKey = existingKey;
+            return this;
+        }
+
+        public Builder<D, E> withEquality(final BiPredicate<D, E> matches) {
+            this.matches = matches;
+            return this;
+        }
+
+        public Builder<D, E> onCreate(final Consumer<D> create) {
+            this.create = create;
+            return this;
+        }
+
+        public Builder<D, E> onUpdate(final BiConsumer<D, E> update) {
+            this.update = update;
+            return this;
+        }
+
+        public Builder<D, E> onDelete(final Consumer<E> delete) {
+            this.delete = delete;
+            return this;
+        }
+
+        /**
+         * The order to apply each kind of change in. Every change of one kind finishes before the next kind
+         * starts. Defaults to deletes, then creates, then updates.
+         */
+        public Builder<D, E> withPhaseOrder(final ChangeSet.Type... phaseOrder) {
+            final List<ChangeSet.Type> order = ImmutableList.copyOf(phaseOrder);
+            Preconditions.checkArgument(
+                    order.size() == 3 && ImmutableSet.copyOf(order).equals(ImmutableSet.of(ChangeSet.Type.CREATE, ChangeSet.Type.UPDATE, ChangeSet.Type.DELETE)),
+                    "Phase order must contain CREATE, UPDATE and DELETE exactly once, got %s", order
+            );
+
+            this.phaseOrder = order;
+            return this;
+        }
+
+        public Builder<D, E> withConcurrency(final int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public ResourceDiff<D, E> build() {
+            return new ResourceDiff<>(this);
+        }
+    }
+}
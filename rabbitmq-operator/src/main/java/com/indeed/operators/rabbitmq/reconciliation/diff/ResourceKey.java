@@ -0,0 +1,57 @@
+package com.indeed.operators.rabbitmq.reconciliation.diff;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Identifies a broker resource. Most resources are scoped to a vhost, so two with the same name in different
+ * vhosts are different resources; cluster-wide ones such as users have no vhost.
+ */
+public class ResourceKey {
+
+    private final String vhost;
+    private final String name;
+
+    private ResourceKey(@Nullable final String vhost, @Nonnull final String name) {
+        this.vhost = vhost;
+        this.name = name;
+    }
+
+    public static ResourceKey of(@Nonnull final String vhost, @Nonnull final String name) {
+        return new ResourceKey(vhost, name);
+    }
+
+    public static ResourceKey global(@Nonnull final String name) {
+        return new ResourceKey(null, name);
+    }
+
+    @Nullable
+    public String getVhost() {
+        return vhost;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ResourceKey that = (ResourceKey) o;
+        return Objects.equal(vhost, that.vhost) &&
+                Objects.equal(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(vhost, name);
+    }
+
+    @Override
+    public String toString() {
+        return vhost == null ? name : String.format("%s in vhost %s", name, vhost);
+    }
+}
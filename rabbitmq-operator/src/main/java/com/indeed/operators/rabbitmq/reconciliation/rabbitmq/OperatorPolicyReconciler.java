@@ -1,34 +1,43 @@
 package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
 
-import com.indeed.operators.rabbitmq.api.RabbitManagementApiException;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffResult;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceDiff;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
 import com.indeed.rabbitmq.admin.pojo.OperatorPolicy;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Map;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class OperatorPolicyReconciler {
 
-    private static final Logger log = LoggerFactory.getLogger(OperatorPolicyReconciler.class);
-
     private final RabbitManagementApiProvider apiProvider;
+    private final DiffEngine diffEngine;
 
     public OperatorPolicyReconciler(
-            final RabbitManagementApiProvider apiProvider
+            final RabbitManagementApiProvider apiProvider,
+            final DiffEngine diffEngine
     ) {
         this.apiProvider = apiProvider;
+        this.diffEngine = diffEngine;
+    }
+
+    public void reconcile(final RabbitMQCluster cluster) throws InterruptedException, ResourceReconciliationException {
+        reconcile(cluster, key -> true);
     }
 
-    public void reconcile(final RabbitMQCluster cluster) {
+    /**
+     * Reconciles only the operator policies whose keys are in scope, leaving every other operator policy alone.
+     */
+    public void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException, ResourceReconciliationException {
         final RabbitManagementApiFacade apiClient = apiProvider.getApi(cluster);
 
-        final Map<String, OperatorPolicy> desiredPolicies = cluster.getOperatorPolicies().stream()
+        final List<OperatorPolicy> desiredPolicies = cluster.getOperatorPolicies().stream()
                 .map(operatorPolicySpec -> new OperatorPolicy()
                         .withName(operatorPolicySpec.getName())
                         .withVhost(operatorPolicySpec.getVhost())
@@ -36,58 +45,20 @@ public class OperatorPolicyReconciler {
                         .withOperatorPolicyDefinition(operatorPolicySpec.getDefinition().asOperatorPolicyDefinition())
                         .withPattern(Pattern.compile(operatorPolicySpec.getPattern()))
                         .withPriority(operatorPolicySpec.getPriority()))
-                .collect(Collectors.toMap(OperatorPolicy::getName, policy -> policy));
-        final Map<String, OperatorPolicy> existingPolicies = apiClient.listOperatorPolicies().stream()
-                .collect(Collectors.toMap(OperatorPolicy::getName, policy -> policy));
-
-        deleteObsoletePolicies(desiredPolicies, existingPolicies, apiClient);
-        createMissingPolicies(desiredPolicies, existingPolicies, apiClient);
-        updateExistingPolicies(desiredPolicies, existingPolicies, apiClient);
-    }
-
-    private void createMissingPolicies(final Map<String, OperatorPolicy> desiredPolicies, final Map<String, OperatorPolicy> existingPolicies, final RabbitManagementApiFacade apiClient) {
-        final List<OperatorPolicy> policiesToCreate = desiredPolicies.entrySet().stream()
-                .filter(desiredPolicy -> !existingPolicies.containsKey(desiredPolicy.getKey()))
-                .map(Map.Entry::getValue)
                 .collect(Collectors.toList());
 
-        for (final OperatorPolicy policy : policiesToCreate) {
-            try {
-                apiClient.createOperatorPolicy(policy.getVhost(), policy.getName(), policy);
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to create operator policy with name %s in vhost %s", policy.getName(), policy.getVhost()), e);
-            }
-        }
-    }
-
-    private void updateExistingPolicies(final Map<String, OperatorPolicy> desiredPolicies, final Map<String, OperatorPolicy> existingPolicies, final RabbitManagementApiFacade apiClient) {
-        final List<OperatorPolicy> policiesToUpdate = desiredPolicies.entrySet().stream()
-                .filter(desiredPolicy -> existingPolicies.containsKey(desiredPolicy.getKey()) && !policiesMatch(desiredPolicy.getValue(), existingPolicies.get(desiredPolicy.getKey())))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        final DiffResult result = diffEngine.reconcile(cluster.getName(), buildDiff(apiClient), desiredPolicies, apiClient.listOperatorPolicies(), scope);
 
-        for (final OperatorPolicy policy : policiesToUpdate) {
-            try {
-                apiClient.createOperatorPolicy(policy.getVhost(), policy.getName(), policy);
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to update operator policy with name %s in vhost %s", policy.getName(), policy.getVhost()), e);
-            }
-        }
+        ResourceReconciliationException.throwIfFailed(cluster.getName(), "operator policy", result);
     }
 
-    private void deleteObsoletePolicies(final Map<String, OperatorPolicy> desiredPolicies, final Map<String, OperatorPolicy> existingPolicies, final RabbitManagementApiFacade apiClient) {
-        final List<OperatorPolicy> policiesToDelete = existingPolicies.entrySet().stream()
-                .filter(existingPolicy -> !desiredPolicies.containsKey(existingPolicy.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
-
-        for (final OperatorPolicy policy : policiesToDelete) {
-            try {
-                apiClient.deleteOperatorPolicy(policy.getVhost(), policy.getName());
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to delete operator policy with name %s in vhost %s", policy.getName(), policy.getVhost()), e);
-            }
-        }
+    private ResourceDiff<OperatorPolicy, OperatorPolicy> buildDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<OperatorPolicy>newBuilder("operator policy", policy -> ResourceKey.of(policy.getVhost(), policy.getName()))
+                .withEquality(this::policiesMatch)
+                .onCreate(policy -> apiClient.createOperatorPolicy(policy.getVhost(), policy.getName(), policy))
+                .onUpdate((desired, existing) -> apiClient.createOperatorPolicy(desired.getVhost(), desired.getName(), desired))
+                .onDelete(policy -> apiClient.deleteOperatorPolicy(policy.getVhost(), policy.getName()))
+                .build();
     }
 
     private boolean policiesMatch(final OperatorPolicy desired, final OperatorPolicy existing) {
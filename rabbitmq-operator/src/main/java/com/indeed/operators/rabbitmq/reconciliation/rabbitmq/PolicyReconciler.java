@@ -1,34 +1,43 @@
 package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
 
-import com.indeed.operators.rabbitmq.api.RabbitManagementApiException;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffResult;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceDiff;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
 import com.indeed.rabbitmq.admin.pojo.Policy;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Map;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class PolicyReconciler {
 
-    private static final Logger log = LoggerFactory.getLogger(PolicyReconciler.class);
-
     private final RabbitManagementApiProvider apiProvider;
+    private final DiffEngine diffEngine;
 
     public PolicyReconciler(
-            final RabbitManagementApiProvider apiProvider
+            final RabbitManagementApiProvider apiProvider,
+            final DiffEngine diffEngine
     ) {
         this.apiProvider = apiProvider;
+        this.diffEngine = diffEngine;
+    }
+
+    public void reconcile(final RabbitMQCluster cluster) throws InterruptedException, ResourceReconciliationException {
+        reconcile(cluster, key -> true);
     }
 
-    public void reconcile(final RabbitMQCluster cluster) {
+    /**
+     * Reconciles only the policies whose keys are in scope, leaving every other policy alone.
+     */
+    public void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException, ResourceReconciliationException {
         final RabbitManagementApiFacade apiClient = apiProvider.getApi(cluster);
 
-        final Map<String, Policy> desiredPolicies = cluster.getPolicies().stream()
+        final List<Policy> desiredPolicies = cluster.getPolicies().stream()
                 .map(policySpec -> new Policy()
                         .withName(policySpec.getName())
                         .withVhost(policySpec.getVhost())
@@ -36,58 +45,20 @@ public class PolicyReconciler {
                         .withDefinition(policySpec.getDefinition().asDefinition())
                         .withPattern(Pattern.compile(policySpec.getPattern()))
                         .withPriority(policySpec.getPriority()))
-                .collect(Collectors.toMap(Policy::getName, policy -> policy));
-        final Map<String, Policy> existingPolicies = apiClient.listPolicies().stream()
-                .collect(Collectors.toMap(Policy::getName, policy -> policy));
-
-        deleteObsoletePolicies(desiredPolicies, existingPolicies, apiClient);
-        createMissingPolicies(desiredPolicies, existingPolicies, apiClient);
-        updateExistingPolicies(desiredPolicies, existingPolicies, apiClient);
-    }
-
-    private void createMissingPolicies(final Map<String, Policy> desiredPolicies, final Map<String, Policy> existingPolicies, final RabbitManagementApiFacade apiClient) {
-        final List<Policy> policiesToCreate = desiredPolicies.entrySet().stream()
-                .filter(desiredPolicy -> !existingPolicies.containsKey(desiredPolicy.getKey()))
-                .map(Map.Entry::getValue)
                 .collect(Collectors.toList());
 
-        for (final Policy policy : policiesToCreate) {
-            try {
-                apiClient.createPolicy(policy.getVhost(), policy.getName(), policy);
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to create policy with name %s in vhost %s", policy.getName(), policy.getVhost()), e);
-            }
-        }
-    }
-
-    private void updateExistingPolicies(final Map<String, Policy> desiredPolicies, final Map<String, Policy> existingPolicies, final RabbitManagementApiFacade apiClient) {
-        final List<Policy> policiesToUpdate = desiredPolicies.entrySet().stream()
-                .filter(desiredPolicy -> existingPolicies.containsKey(desiredPolicy.getKey()) && !policiesMatch(desiredPolicy.getValue(), existingPolicies.get(desiredPolicy.getKey())))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        final DiffResult result = diffEngine.reconcile(cluster.getName(), buildDiff(apiClient), desiredPolicies, apiClient.listPolicies(), scope);
 
-        for (final Policy policy : policiesToUpdate) {
-            try {
-                apiClient.createPolicy(policy.getVhost(), policy.getName(), policy);
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to update policy with name %s in vhost %s", policy.getName(), policy.getVhost()), e);
-            }
-        }
+        ResourceReconciliationException.throwIfFailed(cluster.getName(), "policy", result);
     }
 
-    private void deleteObsoletePolicies(final Map<String, Policy> desiredPolicies, final Map<String, Policy> existingPolicies, final RabbitManagementApiFacade apiClient) {
-        final List<Policy> policiesToDelete = existingPolicies.entrySet().stream()
-                .filter(existingPolicy -> !desiredPolicies.containsKey(existingPolicy.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
-
-        for (final Policy policy : policiesToDelete) {
-            try {
-                apiClient.deletePolicy(policy.getVhost(), policy.getName());
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to delete policy with name %s in vhost %s", policy.getName(), policy.getVhost()), e);
-            }
-        }
+    private ResourceDiff<Policy, Policy> buildDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<Policy>newBuilder("policy", policy -> ResourceKey.of(policy.getVhost(), policy.getName()))
+                .withEquality(this::policiesMatch)
+                .onCreate(policy -> apiClient.createPolicy(policy.getVhost(), policy.getName(), policy))
+                .onUpdate((desired, existing) -> apiClient.createPolicy(desired.getVhost(), desired.getName(), desired))
+                .onDelete(policy -> apiClient.deletePolicy(policy.getVhost(), policy.getName()))
+                .build();
     }
 
     private boolean policiesMatch(final Policy desired, final Policy existing) {
@@ -1,10 +1,21 @@
 package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
 
 import com.indeed.operators.rabbitmq.controller.SecretsController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQPolicyResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQShovelResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQUserResourceController;
 import com.indeed.operators.rabbitmq.model.Labels;
+import com.indeed.operators.rabbitmq.model.crd.policy.RabbitMQPolicyCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ClusterSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.OperatorPolicySpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PolicySpec;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceSpec;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQStorageResources;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ShovelSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.UserSpec;
+import com.indeed.operators.rabbitmq.model.crd.shovel.RabbitMQShovelCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.user.RabbitMQUserCustomResource;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQUser;
 import com.indeed.operators.rabbitmq.reconciliation.RabbitClusterConfigurationException;
@@ -22,15 +33,21 @@ import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.fabric8.kubernetes.api.model.policy.PodDisruptionBudget;
 import io.fabric8.kubernetes.api.model.policy.PodDisruptionBudgetBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_STORAGE_NAME;
 
 public class RabbitMQClusterFactory {
+    private static final Logger log = LoggerFactory.getLogger(RabbitMQClusterFactory.class);
 
     private final List<RabbitClusterValidator> clusterValidators;
     private final RabbitMQContainers rabbitMQContainers;
@@ -38,6 +55,9 @@ public class RabbitMQClusterFactory {
     private final RabbitMQSecrets rabbitMQSecrets;
     private final RabbitMQServices rabbitMQServices;
     private final SecretsController secretsController;
+    private final RabbitMQUserResourceController userResourceController;
+    private final RabbitMQPolicyResourceController policyResourceController;
+    private final RabbitMQShovelResourceController shovelResourceController;
 
     public RabbitMQClusterFactory(
             final List<RabbitClusterValidator> clusterValidators,
@@ -45,7 +65,10 @@ public class RabbitMQClusterFactory {
             final RabbitMQPods rabbitMQPods,
             final RabbitMQSecrets rabbitMQSecrets,
             final RabbitMQServices rabbitMQServices,
-            final SecretsController secretsController
+            final SecretsController secretsController,
+            final RabbitMQUserResourceController userResourceController,
+            final RabbitMQPolicyResourceController policyResourceController,
+            final RabbitMQShovelResourceController shovelResourceController
     ) {
         this.clusterValidators = clusterValidators;
         this.rabbitMQContainers = rabbitMQContainers;
@@ -53,15 +76,19 @@ public class RabbitMQClusterFactory {
         this.rabbitMQSecrets = rabbitMQSecrets;
         this.rabbitMQServices = rabbitMQServices;
         this.secretsController = secretsController;
+        this.userResourceController = userResourceController;
+        this.policyResourceController = policyResourceController;
+        this.shovelResourceController = shovelResourceController;
     }
 
     public RabbitMQCluster fromCustomResource(final RabbitMQCustomResource resource) throws RabbitClusterConfigurationException {
         final String clusterName = resource.getName();
         final String namespace = resource.getMetadata().getNamespace();
         final RabbitMQCustomResourceSpec spec = resource.getSpec();
+        final ClusterSpec clusterSpec = withStandaloneResources(resource);
 
         final List<String> errors = clusterValidators.stream()
-                .map(validator -> validator.validate(spec.getClusterSpec()))
+                .map(validator -> validator.validate(clusterSpec))
                 .flatMap(List::stream)
                 .collect(Collectors.toList());
 
@@ -69,8 +96,10 @@ public class RabbitMQClusterFactory {
             throw new RabbitClusterConfigurationException(errors);
         }
 
-        final Secret adminSecret = getOrGenerateAdminSecret(resource);
-        final Secret erlangCookieSecret = getOrGenerateErlangSecret(resource);
+        final Map<String, Secret> existingSecrets = getClusterSecrets(resource);
+
+        final Secret adminSecret = getOrGenerateAdminSecret(resource, existingSecrets);
+        final Secret erlangCookieSecret = getOrGenerateErlangSecret(resource, existingSecrets);
         final Service mainService = rabbitMQServices.buildService(namespace, resource);
         final Service discoveryService = rabbitMQServices.buildDiscoveryService(namespace, resource);
 
@@ -93,13 +122,13 @@ public class RabbitMQClusterFactory {
                 clusterName,
                 spec.getRabbitMQImage(),
                 spec.getComputeResources(),
-                spec.getClusterSpec().getHighWatermarkFraction());
+                clusterSpec.getHighWatermarkFraction());
 
         final StatefulSet statefulSet = buildStatefulSet(resource, container);
 
         final PodDisruptionBudget podDisruptionBudget = buildPodDisruptionBudget(resource);
 
-        final List<RabbitMQUser> users = buildUsers(resource);
+        final List<RabbitMQUser> users = buildUsers(resource, clusterSpec, existingSecrets);
 
         return RabbitMQCluster.newBuilder()
                 .withName(clusterName)
@@ -112,25 +141,113 @@ public class RabbitMQClusterFactory {
                 .withNodePortService(nodePortService)
                 .withStatefulSet(statefulSet)
                 .withPodDisruptionBudget(podDisruptionBudget)
-                .withShovels(resource.getSpec().getClusterSpec().getShovels())
+                .withShovels(clusterSpec.getShovels())
                 .withUsers(users)
-                .withPolicies(spec.getClusterSpec().getPolicies())
-                .withOperatorPolicies(spec.getClusterSpec().getOperatorPolicies())
+                .withPolicies(clusterSpec.getPolicies())
+                .withOperatorPolicies(clusterSpec.getOperatorPolicies())
+                .withManagementApiRequestsPerSecond(clusterSpec.getManagementApiRequestsPerSecond())
+                .withPasswordHashingAlgorithm(clusterSpec.getPasswordHashingAlgorithm())
                 .build();
     }
 
-    private Secret getOrGenerateErlangSecret(final RabbitMQCustomResource resource) {
-        final Secret existingErlangSecret = secretsController.get(RabbitMQSecrets.getErlangCookieSecretName(resource.getName()), resource.getMetadata().getNamespace());
+    /**
+     * Users, policies and shovels can also be declared in their own resources that name this cluster. They're
+     * treated exactly as if they were part of the cluster's spec, except that one declared in the spec itself
+     * wins over a standalone resource with the same name.
+     */
+    private ClusterSpec withStandaloneResources(final RabbitMQCustomResource resource) {
+        final String clusterName = resource.getName();
+        final String namespace = resource.getMetadata().getNamespace();
+        final ClusterSpec clusterSpec = resource.getSpec().getClusterSpec();
+
+        final List<UserSpec> users = new ArrayList<>(clusterSpec.getUsers());
+        final Set<String> usernames = users.stream().map(UserSpec::getUsername).collect(Collectors.toSet());
+        for (final RabbitMQUserCustomResource userResource : userResourceController.getAll(namespace)) {
+            if (clusterName.equals(userResource.getSpec().getClusterName()) && isNew(usernames, userResource.getSpec().getUsername(), userResource.getName())) {
+                users.add(userResource.getSpec().getUserSpec());
+            }
+        }
+
+        final List<PolicySpec> policies = new ArrayList<>(clusterSpec.getPolicies());
+        final Set<String> policyKeys = policies.stream().map(policy -> policy.getVhost() + "/" + policy.getName()).collect(Collectors.toSet());
+        final List<OperatorPolicySpec> operatorPolicies = new ArrayList<>(clusterSpec.getOperatorPolicies());
+        final Set<String> operatorPolicyKeys = operatorPolicies.stream().map(policy -> policy.getVhost() + "/" + policy.getName()).collect(Collectors.toSet());
+        for (final RabbitMQPolicyCustomResource policyResource : policyResourceController.getAll(namespace)) {
+            if (!clusterName.equals(policyResource.getSpec().getClusterName())) {
+                continue;
+            }
+
+            final PolicySpec policy = policyResource.getSpec().getPolicy();
+            if (policy != null && isNew(policyKeys, policy.getVhost() + "/" + policy.getName(), policyResource.getName())) {
+                policies.add(policy);
+            }
+
+            final OperatorPolicySpec operatorPolicy = policyResource.getSpec().getOperatorPolicy();
+            if (operatorPolicy != null && isNew(operatorPolicyKeys, operatorPolicy.getVhost() + "/" + operatorPolicy.getName(), policyResource.getName())) {
+                operatorPolicies.add(operatorPolicy);
+            }
+        }
+
+        final List<ShovelSpec> shovels = new ArrayList<>(clusterSpec.getShovels());
+        final Set<String> shovelKeys = shovels.stream().map(shovel -> shovel.getSource().getVhost() + "/" + shovel.getName()).collect(Collectors.toSet());
+        for (final RabbitMQShovelCustomResource shovelResource : shovelResourceController.getAll(namespace)) {
+            final ShovelSpec shovel = shovelResource.getSpec().getShovelSpec();
+            if (clusterName.equals(shovelResource.getSpec().getClusterName()) && isNew(shovelKeys, shovel.getSource().getVhost() + "/" + shovel.getName(), shovelResource.getName())) {
+                shovels.add(shovel);
+            }
+        }
+
+        return new ClusterSpec(
+                clusterSpec.getHighWatermarkFraction(),
+                users,
+                shovels,
+                policies,
+                operatorPolicies,
+                clusterSpec.getManagementApiRequestsPerSecond(),
+                clusterSpec.getPasswordHashingAlgorithm(),
+                clusterSpec.getPartitionDetection()
+        );
+    }
+
+    private boolean isNew(final Set<String> declared, final String key, final String resourceName) {
+        if (declared.add(key)) {
+            return true;
+        }
+
+        log.warn("Ignoring resource {} because {} is already declared for this cluster", resourceName, key);
+        return false;
+    }
+
+    private Secret getOrGenerateErlangSecret(final RabbitMQCustomResource resource, final Map<String, Secret> existingSecrets) {
+        final Secret existingErlangSecret = getSecret(RabbitMQSecrets.getErlangCookieSecretName(resource.getName()), resource, existingSecrets);
 
         return existingErlangSecret != null ? existingErlangSecret : rabbitMQSecrets.createErlangCookieSecret(resource);
     }
 
-    private Secret getOrGenerateAdminSecret(final RabbitMQCustomResource resource) {
-        final Secret existingAdminSecret = secretsController.get(RabbitMQSecrets.getClusterSecretName(resource.getName()), resource.getMetadata().getNamespace());
+    private Secret getOrGenerateAdminSecret(final RabbitMQCustomResource resource, final Map<String, Secret> existingSecrets) {
+        final Secret existingAdminSecret = getSecret(RabbitMQSecrets.getClusterSecretName(resource.getName()), resource, existingSecrets);
 
         return existingAdminSecret != null ? existingAdminSecret : rabbitMQSecrets.createClusterSecret(resource);
     }
 
+    /**
+     * Every Secret we create for a cluster carries its instance label, so one list call finds them all
+     * and the cost of building a cluster doesn't grow with its number of users.
+     */
+    private Map<String, Secret> getClusterSecrets(final RabbitMQCustomResource resource) {
+        return secretsController.getAll(resource.getMetadata().getNamespace(), Collections.singletonMap(Labels.Kubernetes.INSTANCE, resource.getName()))
+                .stream()
+                .collect(Collectors.toMap(secret -> secret.getMetadata().getName(), secret -> secret));
+    }
+
+    private Secret getSecret(final String name, final RabbitMQCustomResource resource, final Map<String, Secret> existingSecrets) {
+        final Secret secret = existingSecrets.get(name);
+
+        // a Secret that has lost its label (or predates it) still has to be found, otherwise we'd generate a
+        // new password for a user that already has one
+        return secret != null ? secret : secretsController.get(name, resource.getMetadata().getNamespace());
+    }
+
     private StatefulSet buildStatefulSet(
             final RabbitMQCustomResource resource,
             final Container container
@@ -229,10 +346,10 @@ public class RabbitMQClusterFactory {
                 .build();
     }
 
-    private List<RabbitMQUser> buildUsers(final RabbitMQCustomResource resource) {
-        return resource.getSpec().getClusterSpec().getUsers().stream()
+    private List<RabbitMQUser> buildUsers(final RabbitMQCustomResource resource, final ClusterSpec clusterSpec, final Map<String, Secret> existingSecrets) {
+        return clusterSpec.getUsers().stream()
                 .map(user -> {
-                    final Secret maybeExistingUserSecret = secretsController.get(RabbitMQSecrets.getUserSecretName(user.getUsername(), resource.getName()), resource.getMetadata().getNamespace());
+                    final Secret maybeExistingUserSecret = getSecret(RabbitMQSecrets.getUserSecretName(user.getUsername(), resource.getName()), resource, existingSecrets);
 
                     return new RabbitMQUser(
                             user.getUsername(),
@@ -0,0 +1,41 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import com.google.common.collect.ImmutableMap;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thrown once every resource of one kind in a cluster has been reconciled, if any of them couldn't be.
+ */
+public class ResourceReconciliationException extends Exception {
+
+    private final Map<String, Exception> failures;
+
+    public ResourceReconciliationException(final String clusterName, final String kind, final Map<String, Exception> failures) {
+        super(String.format("Failed to reconcile %d %s(s) in cluster %s: %s", failures.size(), kind, clusterName, failures.keySet()));
+        this.failures = ImmutableMap.copyOf(failures);
+
+        failures.values().forEach(this::addSuppressed);
+    }
+
+    /**
+     * @throws ResourceReconciliationException if any change in the result failed
+     */
+    public static void throwIfFailed(final String clusterName, final String kind, final DiffResult result) throws ResourceReconciliationException {
+        if (!result.isSuccessful()) {
+            final Map<String, Exception> failures = new LinkedHashMap<>();
+            result.getFailures().forEach((key, e) -> failures.put(key.toString(), e));
+
+            throw new ResourceReconciliationException(clusterName, kind, failures);
+        }
+    }
+
+    /**
+     * @return the exception for each resource that failed, keyed by its name.
+     */
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+}
@@ -6,17 +6,24 @@ import com.indeed.operators.rabbitmq.Constants;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiException;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.api.ShovelStatus;
 import com.indeed.operators.rabbitmq.controller.SecretsController;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.AddressAndVhost;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffResult;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceDiff;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
 import com.indeed.rabbitmq.admin.pojo.Shovel;
 import com.indeed.rabbitmq.admin.pojo.ShovelArguments;
 import io.fabric8.kubernetes.api.model.Secret;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.indeed.operators.rabbitmq.Constants.Uris.AMQP_BASE;
@@ -26,28 +33,61 @@ public class ShovelReconciler {
 
     private final RabbitManagementApiProvider apiProvider;
     private final SecretsController secretsController;
+    private final ShovelStatusMonitor statusMonitor;
+    private final DiffEngine diffEngine;
 
     public ShovelReconciler(
             final RabbitManagementApiProvider apiProvider,
-            final SecretsController secretsController
+            final SecretsController secretsController,
+            final ShovelStatusMonitor statusMonitor,
+            final DiffEngine diffEngine
     ) {
         this.apiProvider = apiProvider;
         this.secretsController = secretsController;
+        this.statusMonitor = statusMonitor;
+        this.diffEngine = diffEngine;
     }
 
-    public void reconcile(final RabbitMQCluster cluster) {
+    public void reconcile(final RabbitMQCluster cluster) throws InterruptedException, ResourceReconciliationException {
         final RabbitManagementApiFacade apiClient = apiProvider.getApi(cluster);
+        final Map<ResourceKey, Shovel> desiredShovels = buildDesiredShovels(cluster, key -> true);
 
-        final Map<String, Shovel> desiredShovels = cluster.getShovels().stream()
+        final DiffResult result = diffEngine.reconcile(cluster.getName(), buildDiff(apiClient), desiredShovels.values(), apiClient.listShovels());
+        // shovels that were applied can still be restarted if they're stuck, even if others failed
+        restartStuckShovels(cluster, desiredShovels, apiClient);
+
+        ResourceReconciliationException.throwIfFailed(cluster.getName(), "shovel", result);
+    }
+
+    /**
+     * Reconciles only the shovels whose keys are in scope, leaving every other shovel alone. Stuck shovels are
+     * left for the next full pass.
+     */
+    public void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException, ResourceReconciliationException {
+        final RabbitManagementApiFacade apiClient = apiProvider.getApi(cluster);
+        final Map<ResourceKey, Shovel> desiredShovels = buildDesiredShovels(cluster, scope);
+
+        final DiffResult result = diffEngine.reconcile(cluster.getName(), buildDiff(apiClient), desiredShovels.values(), apiClient.listShovels(), scope);
+
+        ResourceReconciliationException.throwIfFailed(cluster.getName(), "shovel", result);
+    }
+
+    private Map<ResourceKey, Shovel> buildDesiredShovels(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) {
+        // shovels often share a destination Secret, so look each one up and decode it only once per pass
+        final Map<String, ShovelCredentials> credentialsBySecret = new HashMap<>();
+
+        return cluster.getShovels().stream()
+                .filter(shovelSpec -> scope.test(ResourceKey.of(shovelSpec.getSource().getVhost(), shovelSpec.getName())))
                 .map(shovelSpec -> {
                     final String destSecretName = shovelSpec.getDestination().getSecretName();
                     final String destSecretNamespace = shovelSpec.getDestination().getSecretNamespace();
-                    final Secret secret = secretsController.get(destSecretName, destSecretNamespace);
-
-                    Preconditions.checkNotNull(secret, String.format("Could not find secret with name [%s] in namespace [%s]", destSecretName, destSecretNamespace));
+                    final ShovelCredentials credentials = credentialsBySecret.computeIfAbsent(
+                            destSecretNamespace + "/" + destSecretName,
+                            key -> getCredentials(destSecretName, destSecretNamespace)
+                    );
 
                     final List<String> uris = shovelSpec.getDestination().getAddresses().stream()
-                            .map(addr -> buildShovelUri(secret, addr))
+                            .map(addr -> buildShovelUri(credentials, addr))
                             .collect(Collectors.toList());
 
                     final ShovelArguments shovelArguments = new ShovelArguments()
@@ -56,65 +96,68 @@ public class ShovelReconciler {
                             .withDestUri(uris);
                     return new Shovel().withValue(shovelArguments).withVhost(shovelSpec.getSource().getVhost()).withName(shovelSpec.getName());
                 })
-                .collect(Collectors.toMap(Shovel::getName, shovel -> shovel));
-        final Map<String, Shovel> existingShovels = apiClient.listShovels().stream()
-                .collect(Collectors.toMap(Shovel::getName, shovel -> shovel));
-
-        deleteObsoleteShovels(desiredShovels, existingShovels, apiClient);
-        createMissingShovels(desiredShovels, existingShovels, apiClient);
-        updateExistingShovels(desiredShovels, existingShovels, apiClient);
+                .collect(Collectors.toMap(ShovelReconciler::getKey, shovel -> shovel));
     }
 
-    private void createMissingShovels(final Map<String, Shovel> desiredShovels, final Map<String, Shovel> existingShovels, final RabbitManagementApiFacade apiClient) {
-        final List<Shovel> shovelsToCreate = desiredShovels.entrySet().stream()
-                .filter(desiredShovel -> !existingShovels.containsKey(desiredShovel.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+    private ResourceDiff<Shovel, Shovel> buildDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<Shovel>newBuilder("shovel", ShovelReconciler::getKey)
+                .withEquality(this::shovelsMatch)
+                .onCreate(shovel -> apiClient.createShovel(shovel.getVhost(), shovel.getName(), shovel))
+                .onUpdate((desired, existing) -> apiClient.createShovel(desired.getVhost(), desired.getName(), desired))
+                .onDelete(shovel -> apiClient.deleteShovel(shovel.getVhost(), shovel.getName()))
+                .build();
+    }
 
-        for (final Shovel shovel : shovelsToCreate) {
-            try {
-                apiClient.createShovel(shovel.getVhost(), shovel.getName(), shovel);
-            } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to create shovel with name %s in vhost %s", shovel.getName(), shovel.getVhost()), e);
-            }
+    /**
+     * A shovel whose definition is fine can still be stuck starting or terminated after a network blip, with
+     * messages piling up on its source queue. Recreating it makes the broker start it over.
+     */
+    private void restartStuckShovels(final RabbitMQCluster cluster, final Map<ResourceKey, Shovel> desiredShovels, final RabbitManagementApiFacade apiClient) {
+        final List<ShovelStatus> stuckShovels;
+        try {
+            stuckShovels = statusMonitor.update(cluster.getName(), apiClient.listShovelStatuses());
+        } catch (final RabbitManagementApiException e) {
+            log.error(String.format("Failed to retrieve shovel statuses for cluster %s", cluster.getName()), e);
+            return;
         }
-    }
 
-    private void updateExistingShovels(final Map<String, Shovel> desiredShovels, final Map<String, Shovel> existingShovels, final RabbitManagementApiFacade apiClient) {
-        final List<Shovel> shovelsToUpdate = desiredShovels.entrySet().stream()
-                .filter(desiredShovel -> existingShovels.containsKey(desiredShovel.getKey()) && !shovelsMatch(desiredShovel.getValue(), existingShovels.get(desiredShovel.getKey())))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        for (final ShovelStatus status : stuckShovels) {
+            final Shovel shovel = desiredShovels.get(ResourceKey.of(status.getVhost(), status.getName()));
+
+            // static shovels and ones we don't manage aren't ours to restart
+            if (shovel == null) {
+                continue;
+            }
 
-        for (final Shovel shovel : shovelsToUpdate) {
+            log.warn("Shovel {} in vhost {} has been {} on node {} for too long, restarting it", status.getName(), status.getVhost(), status.getState(), status.getNode());
             try {
+                apiClient.deleteShovel(shovel.getVhost(), shovel.getName());
                 apiClient.createShovel(shovel.getVhost(), shovel.getName(), shovel);
             } catch (final RabbitManagementApiException e) {
-                log.error(String.format("Failed to update shovel with name %s in vhost %s", shovel.getName(), shovel.getVhost()), e);
+                log.error(String.format("Failed to restart shovel with name %s in vhost %s", shovel.getName(), shovel.getVhost()), e);
+            } finally {
+                statusMonitor.restarted(cluster.getName(), shovel.getVhost(), shovel.getName());
             }
         }
     }
 
-    private void deleteObsoleteShovels(final Map<String, Shovel> desiredShovels, final Map<String, Shovel> existingShovels, final RabbitManagementApiFacade apiClient) {
-        final List<Shovel> shovelsToDelete = existingShovels.entrySet().stream()
-                .filter(existingShovel -> !desiredShovels.containsKey(existingShovel.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+    private ShovelCredentials getCredentials(final String secretName, final String secretNamespace) {
+        final Secret secret = secretsController.get(secretName, secretNamespace);
 
-        for (final Shovel existingShovel : shovelsToDelete) {
-            try {
-                apiClient.deleteShovel(existingShovel.getVhost(), existingShovel.getName());
-            } catch (final Exception e) {
-                log.error(String.format("Failed to delete shovel with name %s in vhost %s", existingShovel.getName(), existingShovel.getVhost()), e);
-            }
-        }
+        Preconditions.checkNotNull(secret, String.format("Could not find secret with name [%s] in namespace [%s]", secretName, secretNamespace));
+
+        return new ShovelCredentials(
+                secretsController.decodeSecretPayload(secret.getData().get(Constants.Secrets.USERNAME_KEY)),
+                secretsController.decodeSecretPayload(secret.getData().get(Constants.Secrets.PASSWORD_KEY))
+        );
     }
 
-    private String buildShovelUri(final Secret shovelSecret, final AddressAndVhost rabbitAddress) {
-        final String username = secretsController.decodeSecretPayload(shovelSecret.getData().get(Constants.Secrets.USERNAME_KEY));
-        final String password = secretsController.decodeSecretPayload(shovelSecret.getData().get(Constants.Secrets.PASSWORD_KEY));
+    private String buildShovelUri(final ShovelCredentials credentials, final AddressAndVhost rabbitAddress) {
+        return String.format("%s%s:%s@%s", AMQP_BASE, credentials.username, credentials.password, rabbitAddress.asRabbitUri());
+    }
 
-        return String.format("%s%s:%s@%s", AMQP_BASE, username, password, rabbitAddress.asRabbitUri());
+    private static ResourceKey getKey(final Shovel shovel) {
+        return ResourceKey.of(shovel.getVhost(), shovel.getName());
     }
 
     private boolean shovelsMatch(final Shovel desired, final Shovel existing) {
@@ -123,4 +166,15 @@ public class ShovelReconciler {
                 desired.getVhost().equals(existing.getVhost()) &&
                 desired.getName().equals(existing.getName());
     }
+
+    private static class ShovelCredentials {
+
+        private final String username;
+        private final String password;
+
+        ShovelCredentials(final String username, final String password) {
+            this.username = username;
+            this.password = password;
+        }
+    }
 }
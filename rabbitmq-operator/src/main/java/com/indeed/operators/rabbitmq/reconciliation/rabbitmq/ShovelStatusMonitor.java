@@ -0,0 +1,153 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import com.google.common.collect.ImmutableList;
+import com.indeed.operators.rabbitmq.api.ShovelStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers each shovel's state and transfer rate between reconciliation passes, so that a shovel which has
+ * been starting or terminated for longer than a threshold can be told apart from one that just blipped.
+ * Both are exported as gauges tagged by cluster, vhost and shovel.
+ */
+public class ShovelStatusMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration stuckThreshold;
+    private final Clock clock;
+    private final Map<List<String>, TrackedShovel> shovels;
+
+    public ShovelStatusMonitor(
+            final MeterRegistry meterRegistry,
+            final Duration stuckThreshold,
+            final Clock clock
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.stuckThreshold = stuckThreshold;
+        this.clock = clock;
+        this.shovels = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records the latest statuses for a cluster's shovels and stops tracking any that are no longer reported.
+     *
+     * @return the shovels that have been out of the running state for at least the threshold.
+     */
+    public List<ShovelStatus> update(final String clusterName, final List<ShovelStatus> statuses) {
+        final Instant now = clock.instant();
+        final Set<List<String>> seen = new HashSet<>();
+        final List<ShovelStatus> stuck = new ArrayList<>();
+
+        for (final ShovelStatus status : statuses) {
+            final List<String> key = ImmutableList.of(clusterName, status.getVhost(), status.getName());
+            seen.add(key);
+
+            final TrackedShovel shovel = shovels.computeIfAbsent(key, k -> new TrackedShovel(clusterName, status.getVhost(), status.getName()));
+            shovel.update(status, now);
+
+            if (shovel.isStuck(now, stuckThreshold)) {
+                stuck.add(status);
+            }
+        }
+
+        final Iterator<Map.Entry<List<String>, TrackedShovel>> tracked = shovels.entrySet().iterator();
+        while (tracked.hasNext()) {
+            final Map.Entry<List<String>, TrackedShovel> shovel = tracked.next();
+            if (shovel.getKey().get(0).equals(clusterName) && !seen.contains(shovel.getKey())) {
+                shovel.getValue().removeGauges();
+                tracked.remove();
+            }
+        }
+
+        return stuck;
+    }
+
+    /**
+     * Gives a restarted shovel a full threshold to come up before it can be considered stuck again.
+     */
+    public void restarted(final String clusterName, final String vhost, final String name) {
+        final TrackedShovel shovel = shovels.get(ImmutableList.of(clusterName, vhost, name));
+        if (shovel != null) {
+            shovel.restarted(clock.instant());
+        }
+    }
+
+    private class TrackedShovel {
+
+        private final List<Gauge> gauges;
+
+        private volatile String state;
+        private volatile Instant notRunningSince;
+        private volatile double transferRate = Double.NaN;
+        private Long lastForwarded;
+        private Instant lastForwardedAt;
+
+        TrackedShovel(final String clusterName, final String vhost, final String name) {
+            final Tags tags = Tags.of("cluster", clusterName, "vhost", vhost, "shovel", name);
+
+            this.gauges = ImmutableList.of(
+                    Gauge.builder("rabbitmq.shovel.running", this, shovel -> ShovelStatus.RUNNING.equals(shovel.state) ? 1 : 0)
+                            .tags(tags)
+                            .register(meterRegistry),
+                    Gauge.builder("rabbitmq.shovel.transfer.rate", this, shovel -> shovel.transferRate)
+                            .tags(tags)
+                            .baseUnit("messages")
+                            .register(meterRegistry)
+            );
+        }
+
+        synchronized void update(final ShovelStatus status, final Instant now) {
+            state = status.getState();
+
+            if (status.isRunning()) {
+                notRunningSince = null;
+            } else if (notRunningSince == null) {
+                notRunningSince = now;
+            }
+
+            if (status.getForwarded().isPresent()) {
+                final long forwarded = status.getForwarded().getAsLong();
+
+                // the counter starts over whenever the shovel restarts, so a drop means we have no rate yet
+                if (lastForwarded != null && forwarded >= lastForwarded && now.isAfter(lastForwardedAt)) {
+                    transferRate = (forwarded - lastForwarded) / (Duration.between(lastForwardedAt, now).toMillis() / 1000.0);
+                } else {
+                    transferRate = Double.NaN;
+                }
+
+                lastForwarded = forwarded;
+                lastForwardedAt = now;
+            }
+        }
+
+        boolean isStuck(final Instant now, final Duration threshold) {
+            final Instant since = notRunningSince;
+
+            return since != null && !since.plus(threshold).isAfter(now);
+        }
+
+        synchronized void restarted(final Instant now) {
+            if (notRunningSince != null) {
+                notRunningSince = now;
+            }
+            lastForwarded = null;
+            transferRate = Double.NaN;
+        }
+
+        void removeGauges() {
+            gauges.forEach(meterRegistry::remove);
+        }
+    }
+}
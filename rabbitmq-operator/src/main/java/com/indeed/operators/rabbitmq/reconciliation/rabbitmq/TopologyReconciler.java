@@ -0,0 +1,200 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import com.indeed.operators.rabbitmq.api.BrokerBinding;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQBindingResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQExchangeResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQQueueResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQVhostResourceController;
+import com.indeed.operators.rabbitmq.model.crd.topology.BindingSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.ExchangeSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.QueueSpec;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceDiff;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Declares the vhosts, exchanges, queues and bindings that a cluster's topology resources ask for, so that
+ * applications don't have to declare them on startup.
+ *
+ * Each kind is diffed in memory against a single list call, and only when something of that kind is declared.
+ * Applications may still declare topology of their own, so nothing is deleted just for being undeclared; a broker
+ * object is only removed when the resource that declared it is deleted.
+ */
+public class TopologyReconciler {
+
+    public enum Kind {
+        VHOST,
+        EXCHANGE,
+        QUEUE,
+        BINDING
+    }
+
+    private final RabbitManagementApiProvider apiProvider;
+    private final RabbitMQVhostResourceController vhostController;
+    private final RabbitMQExchangeResourceController exchangeController;
+    private final RabbitMQQueueResourceController queueController;
+    private final RabbitMQBindingResourceController bindingController;
+    private final DiffEngine diffEngine;
+
+    public TopologyReconciler(
+            final RabbitManagementApiProvider apiProvider,
+            final RabbitMQVhostResourceController vhostController,
+            final RabbitMQExchangeResourceController exchangeController,
+            final RabbitMQQueueResourceController queueController,
+            final RabbitMQBindingResourceController bindingController,
+            final DiffEngine diffEngine
+    ) {
+        this.apiProvider = apiProvider;
+        this.vhostController = vhostController;
+        this.exchangeController = exchangeController;
+        this.queueController = queueController;
+        this.bindingController = bindingController;
+        this.diffEngine = diffEngine;
+    }
+
+    public void reconcile(final RabbitMQCluster cluster) throws InterruptedException {
+        reconcile(cluster, null, key -> false);
+    }
+
+    /**
+     * Also deletes anything of the given kind whose key is in scope and that no resource declares any more.
+     */
+    public void reconcile(final RabbitMQCluster cluster, final Kind deletableKind, final Predicate<ResourceKey> deletable) throws InterruptedException {
+        final RabbitManagementApiFacade apiClient = apiProvider.getApi(cluster);
+        final String namespace = cluster.getNamespace();
+
+        // dependencies first: exchanges and queues need their vhost, and bindings need both ends
+        final Map<ResourceKey, String> vhosts = collect(
+                vhostController.getAll(namespace).stream()
+                        .filter(resource -> cluster.getName().equals(resource.getSpec().getClusterName()))
+                        .map(resource -> resource.getSpec().getName()),
+                TopologyReconciler::getVhostKey);
+        reconcileKind(cluster, Kind.VHOST, deletableKind, deletable, buildVhostDiff(apiClient), vhosts, apiClient::listVirtualHostNames);
+
+        final Map<ResourceKey, ExchangeSpec> exchanges = collect(
+                exchangeController.getAll(namespace).stream()
+                        .filter(resource -> cluster.getName().equals(resource.getSpec().getClusterName()))
+                        .map(resource -> resource.getSpec().getExchangeSpec()),
+                TopologyReconciler::getExchangeKey);
+        reconcileKind(cluster, Kind.EXCHANGE, deletableKind, deletable, buildExchangeDiff(apiClient), exchanges, apiClient::listExchangeSpecs);
+
+        final Map<ResourceKey, QueueSpec> queues = collect(
+                queueController.getAll(namespace).stream()
+                        .filter(resource -> cluster.getName().equals(resource.getSpec().getClusterName()))
+                        .map(resource -> resource.getSpec().getQueueSpec()),
+                TopologyReconciler::getQueueKey);
+        reconcileKind(cluster, Kind.QUEUE, deletableKind, deletable, buildQueueDiff(apiClient), queues, apiClient::listQueueSpecs);
+
+        final Map<ResourceKey, BindingSpec> bindings = collect(
+                bindingController.getAll(namespace).stream()
+                        .filter(resource -> cluster.getName().equals(resource.getSpec().getClusterName()))
+                        .map(resource -> resource.getSpec().getBindingSpec()),
+                TopologyReconciler::getBindingKey);
+        reconcileKind(cluster, Kind.BINDING, deletableKind, deletable, buildBindingDiff(apiClient), bindings, apiClient::listBrokerBindings);
+    }
+
+    public static ResourceKey getVhostKey(final String vhost) {
+        return ResourceKey.global(vhost);
+    }
+
+    public static ResourceKey getExchangeKey(final ExchangeSpec exchange) {
+        return ResourceKey.of(exchange.getVhost(), exchange.getName());
+    }
+
+    public static ResourceKey getQueueKey(final QueueSpec queue) {
+        return ResourceKey.of(queue.getVhost(), queue.getName());
+    }
+
+    /**
+     * A binding has no name of its own; the broker tells bindings apart by everything they're made of.
+     */
+    public static ResourceKey getBindingKey(final BindingSpec binding) {
+        final String arguments = binding.getArguments().isEmpty() ? "" : " " + new TreeMap<>(binding.getArguments());
+
+        return ResourceKey.of(binding.getVhost(), String.format("%s -> %s %s [%s]%s",
+                binding.getSource(), binding.getDestinationType(), binding.getDestination(), binding.getRoutingKey(), arguments));
+    }
+
+    private <D, E> void reconcileKind(
+            final RabbitMQCluster cluster,
+            final Kind kind,
+            final Kind deletableKind,
+            final Predicate<ResourceKey> deletable,
+            final ResourceDiff<D, E> diff,
+            final Map<ResourceKey, D> desired,
+            final Supplier<List<E>> existing
+    ) throws InterruptedException {
+        final boolean deleting = kind == deletableKind;
+
+        if (desired.isEmpty() && !deleting) {
+            // nothing of this kind is declared, so there's no reason to list it
+            return;
+        }
+
+        diffEngine.reconcile(cluster.getName(), diff, desired.values(), existing.get(),
+                key -> desired.containsKey(key) || (deleting && deletable.test(key)));
+    }
+
+    private ResourceDiff<String, String> buildVhostDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<String>newBuilder("vhost", TopologyReconciler::getVhostKey)
+                .withEquality((desired, existing) -> true)
+                .onCreate(apiClient::createVirtualHost)
+                .onUpdate((desired, existing) -> {})
+                .onDelete(apiClient::deleteVirtualHost)
+                .build();
+    }
+
+    private ResourceDiff<ExchangeSpec, ExchangeSpec> buildExchangeDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<ExchangeSpec>newBuilder("exchange", TopologyReconciler::getExchangeKey)
+                .withEquality(ExchangeSpec::equals)
+                .onCreate(apiClient::declareExchange)
+                .onUpdate((desired, existing) -> {
+                    throw new IllegalStateException(String.format("Exchange %s in vhost %s differs from its declaration, but exchanges can't be changed once declared; delete it to have it recreated", desired.getName(), desired.getVhost()));
+                })
+                .onDelete(exchange -> apiClient.deleteExchange(exchange.getVhost(), exchange.getName()))
+                .build();
+    }
+
+    private ResourceDiff<QueueSpec, QueueSpec> buildQueueDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<QueueSpec>newBuilder("queue", TopologyReconciler::getQueueKey)
+                .withEquality(QueueSpec::equals)
+                .onCreate(apiClient::declareQueue)
+                .onUpdate((desired, existing) -> {
+                    throw new IllegalStateException(String.format("Queue %s in vhost %s differs from its declaration, but queues can't be changed once declared; delete it to have it recreated", desired.getName(), desired.getVhost()));
+                })
+                .onDelete(queue -> apiClient.deleteQueue(queue.getVhost(), queue.getName()))
+                .build();
+    }
+
+    private ResourceDiff<BindingSpec, BrokerBinding> buildBindingDiff(final RabbitManagementApiFacade apiClient) {
+        return ResourceDiff.<BindingSpec, BrokerBinding>newBuilder("binding")
+                .withDesiredKey(TopologyReconciler::getBindingKey)
+                .withExistingKey(binding -> getBindingKey(binding.getSpec()))
+                // the key covers every field, so a binding with the same key is the same binding
+                .withEquality((desired, existing) -> true)
+                .onCreate(apiClient::declareBinding)
+                .onUpdate((desired, existing) -> {})
+                .onDelete(apiClient::deleteBinding)
+                .build();
+    }
+
+    private static <T> Map<ResourceKey, T> collect(final Stream<T> resources, final Function<T, ResourceKey> key) {
+        // two resources may declare the same thing, which only needs declaring once
+        final Map<ResourceKey, T> byKey = new LinkedHashMap<>();
+        resources.forEach(resource -> byKey.putIfAbsent(key.apply(resource), resource));
+
+        return byKey;
+    }
+}
@@ -1,144 +1,218 @@
 package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Table;
 import com.indeed.operators.rabbitmq.Constants;
 import com.indeed.operators.rabbitmq.api.RabbitMQPasswordConverter;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiException;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
 import com.indeed.operators.rabbitmq.controller.SecretsController;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.VhostPermissions;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQUser;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffResult;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceDiff;
+import com.indeed.operators.rabbitmq.reconciliation.diff.ResourceKey;
 import com.indeed.rabbitmq.admin.pojo.Permission;
 import com.indeed.rabbitmq.admin.pojo.User;
 import io.fabric8.kubernetes.api.model.Secret;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class UserReconciler {
     private static final Set<String> PERMANENT_USERS = ImmutableSet.of("rabbit", "monitoring");
     private static final Logger log = LoggerFactory.getLogger(UserReconciler.class);
+    private static final Splitter TAG_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
 
     private final SecretsController secretsController;
     private final RabbitManagementApiProvider managementApiProvider;
     private final RabbitMQPasswordConverter passwordConverter;
+    private final DiffEngine diffEngine;
+    private final int maxConcurrency;
 
     public UserReconciler(
             final SecretsController secretsController,
             final RabbitManagementApiProvider managementApiProvider,
-            final RabbitMQPasswordConverter passwordConverter
+            final RabbitMQPasswordConverter passwordConverter,
+            final DiffEngine diffEngine,
+            final int maxConcurrency
     ) {
         this.secretsController = secretsController;
         this.managementApiProvider = managementApiProvider;
         this.passwordConverter = passwordConverter;
+        this.diffEngine = diffEngine;
+        this.maxConcurrency = maxConcurrency;
     }
 
-    public void reconcile(final RabbitMQCluster cluster) {
+    /**
+     * Creates, updates and deletes users and sets their vhost permissions, working on up to maxConcurrency
+     * users at a time. Each user's own steps still happen in order. A failure for one user doesn't stop the
+     * others; all of them are reported together once every user has been handled.
+     */
+    public void reconcile(final RabbitMQCluster cluster) throws InterruptedException, UserReconciliationException {
+        reconcile(cluster, key -> true);
+    }
+
+    /**
+     * Reconciles only the users whose keys are in scope, leaving every other user alone.
+     */
+    public void reconcile(final RabbitMQCluster cluster, final Predicate<ResourceKey> scope) throws InterruptedException, UserReconciliationException {
         final RabbitManagementApiFacade apiClient = managementApiProvider.getApi(cluster);
 
-        final Map<String, RabbitMQUser> desiredUsers = cluster.getUsers().stream().collect(Collectors.toMap(RabbitMQUser::getUsername, user -> user));
-        final Map<String, User> existingUsers = apiClient.listUsers()
+        final List<User> existingUsers = apiClient.listUsers()
                 .stream()
                 .filter(user -> !PERMANENT_USERS.contains(user.getName()))
-                .collect(Collectors.toMap(User::getName, user -> user));
-
-        deleteObsoleteUsers(desiredUsers, existingUsers, apiClient);
-        createMissingUsers(desiredUsers, existingUsers, apiClient);
-        updateExistingUser(desiredUsers, existingUsers, apiClient);
+                .collect(Collectors.toList());
 
-        desiredUsers.values().forEach(user -> updateVhosts(apiClient, user));
-    }
+        Table<String, String, Permission> existingPermissions;
+        try {
+            existingPermissions = indexPermissions(apiClient.listPermissions());
+        } catch (final RabbitManagementApiException ex) {
+            log.error(String.format("Failed to retrieve vhost permissions for cluster %s", cluster.getName()), ex);
+            existingPermissions = null;
+        }
 
-    private void createMissingUsers(final Map<String, RabbitMQUser> desiredUsers, final Map<String, User> existingUsers, final RabbitManagementApiFacade apiClient) {
-        final List<RabbitMQUser> usersToCreate = desiredUsers.entrySet().stream()
-                .filter(desiredUser -> !existingUsers.containsKey(desiredUser.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        final DiffResult result = diffEngine.reconcile(cluster.getName(), buildDiff(apiClient, cluster.getPasswordHashingAlgorithm(), existingPermissions), cluster.getUsers(), existingUsers, scope);
 
-        for (final RabbitMQUser user : usersToCreate) {
-            final Secret createdSecret = secretsController.createOrUpdate(user.getUserSecret());
+        if (!result.isSuccessful()) {
+            final Map<String, Exception> failures = new LinkedHashMap<>();
+            result.getFailures().forEach((key, e) -> failures.put(key.getName(), e));
 
-            createOrUpdateUser(apiClient, user, passwordConverter.convertPasswordToHash(secretsController.decodeSecretPayload(createdSecret.getData().get(Constants.Secrets.PASSWORD_KEY))));
+            throw new UserReconciliationException(cluster.getName(), failures);
         }
     }
 
-    private void updateExistingUser(final Map<String, RabbitMQUser> desiredUsers, final Map<String, User> existingUsers, final RabbitManagementApiFacade apiClient) {
-        final List<RabbitMQUser> usersToUpdate = desiredUsers.entrySet().stream()
-                .filter(desiredUser -> existingUsers.containsKey(desiredUser.getKey()) && !usersMatch(desiredUser.getValue(), existingUsers.get(desiredUser.getKey())))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+    private ResourceDiff<RabbitMQUser, User> buildDiff(
+            final RabbitManagementApiFacade apiClient,
+            final PasswordHashingAlgorithm hashingAlgorithm,
+            final Table<String, String, Permission> existingPermissions
+    ) {
+        // without the existing permissions we can't tell what to change, so leave them for the next pass
+        final Function<RabbitMQUser, Map<String, Permission>> permissionsOf = user -> existingPermissions == null ? null : existingPermissions.row(user.getUsername());
+
+        return ResourceDiff.<RabbitMQUser, User>newBuilder("user")
+                .withDesiredKey(user -> ResourceKey.global(user.getUsername()))
+                .withExistingKey(user -> ResourceKey.global(user.getName()))
+                .withEquality((desired, existing) ->
+                        usersMatch(desired, decodePassword(desired), existing, hashingAlgorithm) && permissionsUpToDate(desired, permissionsOf.apply(desired)))
+                .onCreate(user -> {
+                    createMissingUser(user, apiClient, hashingAlgorithm);
+                    updateVhosts(apiClient, user, permissionsOf.apply(user));
+                })
+                .onUpdate((user, existingUser) -> {
+                    updateExistingUser(user, existingUser, apiClient, hashingAlgorithm);
+                    updateVhosts(apiClient, user, permissionsOf.apply(user));
+                })
+                .onDelete(user -> apiClient.deleteUser(user.getName()))
+                .withConcurrency(maxConcurrency)
+                .build();
+    }
 
-        for (final RabbitMQUser user : usersToUpdate) {
-            createOrUpdateUser(apiClient, user, passwordConverter.convertPasswordToHash(secretsController.decodeSecretPayload(user.getUserSecret().getData().get(Constants.Secrets.PASSWORD_KEY))));
-        }
+    private void createMissingUser(final RabbitMQUser user, final RabbitManagementApiFacade apiClient, final PasswordHashingAlgorithm hashingAlgorithm) {
+        final Secret createdSecret = secretsController.createOrUpdate(user.getUserSecret());
+
+        createOrUpdateUser(apiClient, user, passwordConverter.convertPasswordToHash(secretsController.decodeSecretPayload(createdSecret.getData().get(Constants.Secrets.PASSWORD_KEY)), hashingAlgorithm), hashingAlgorithm);
     }
 
-    private void deleteObsoleteUsers(final Map<String, RabbitMQUser> desiredUsers, final Map<String, User> existingUsers, final RabbitManagementApiFacade apiClient) {
-        final List<User> usersToDelete = existingUsers.entrySet().stream()
-                .filter(existingUser -> !desiredUsers.containsKey(existingUser.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+    private void updateExistingUser(final RabbitMQUser user, final User existingUser, final RabbitManagementApiFacade apiClient, final PasswordHashingAlgorithm hashingAlgorithm) {
+        final String password = decodePassword(user);
 
-        for (final User user : usersToDelete) {
-            try {
-                apiClient.deleteUser(user.getName());
-            } catch (final RabbitManagementApiException ex) {
-                log.error("Failed to delete user with name {}", user.getName(), ex);
-            }
+        if (!usersMatch(user, password, existingUser, hashingAlgorithm)) {
+            createOrUpdateUser(apiClient, user, passwordConverter.convertPasswordToHash(password, hashingAlgorithm), hashingAlgorithm);
         }
     }
 
-    private void createOrUpdateUser(final RabbitManagementApiFacade apiClient, final RabbitMQUser desiredUser, final String passwordHash) {
+    private void createOrUpdateUser(final RabbitManagementApiFacade apiClient, final RabbitMQUser desiredUser, final String passwordHash, final PasswordHashingAlgorithm hashingAlgorithm) {
         final User user = new User()
                 .withName(desiredUser.getUsername())
                 .withPasswordHash(passwordHash)
                 .withTags(Joiner.on(",").join(desiredUser.getTags()));
 
-        apiClient.createUser(user.getName(), user);
+        apiClient.createUser(user.getName(), user, hashingAlgorithm);
     }
 
-    private void updateVhosts(final RabbitManagementApiFacade apiClient, final RabbitMQUser user) {
-        for (final VhostPermissions vhost : user.getVhostPermissions()) {
-            final Optional<Permission> maybeExistingPermission;
+    private void updateVhosts(final RabbitManagementApiFacade apiClient, final RabbitMQUser user, final Map<String, Permission> existingPermissionsByVhost) {
+        if (existingPermissionsByVhost == null) {
+            return;
+        }
 
-            try {
-                maybeExistingPermission = apiClient.listUserPermissions(user.getUsername()).stream()
-                        .filter(permission -> permission.getVhost().equals(vhost.getVhostName()))
-                        .findFirst();
-            } catch (final RabbitManagementApiException ex) {
-                log.error(String.format("Failed to retrieve vhost permissions for user %s in vhost %s", user.getUsername(), vhost.getVhostName()), ex);
-                continue;
-            }
+        RabbitManagementApiException failure = null;
 
+        for (final VhostPermissions vhost : user.getVhostPermissions()) {
             try {
-                final Permission desiredPermissions = new Permission()
-                        .withRead(Pattern.compile(vhost.getPermissions().getRead()))
-                        .withWrite(Pattern.compile(vhost.getPermissions().getWrite()))
-                        .withConfigure(Pattern.compile(vhost.getPermissions().getConfigure()));
+                final Permission desiredPermissions = toPermission(vhost);
 
-                if (!maybeExistingPermission.isPresent() || !permissionsMatch(desiredPermissions, maybeExistingPermission.get())) {
+                if (!permissionsMatch(desiredPermissions, existingPermissionsByVhost.get(vhost.getVhostName()))) {
                     apiClient.createPermission(vhost.getVhostName(), user.getUsername(), desiredPermissions);
                 }
             } catch (final RabbitManagementApiException ex) {
                 log.error(String.format("Failed to set vhost permissions for user %s in vhost %s", user.getUsername(), vhost.getVhostName()), ex);
+
+                // keep going so one bad vhost doesn't hold up the rest, but still report the user as failed
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
             }
         }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean permissionsUpToDate(final RabbitMQUser user, final Map<String, Permission> existingPermissionsByVhost) {
+        return existingPermissionsByVhost == null ||
+                user.getVhostPermissions().stream().allMatch(vhost -> permissionsMatch(toPermission(vhost), existingPermissionsByVhost.get(vhost.getVhostName())));
+    }
+
+    private Permission toPermission(final VhostPermissions vhost) {
+        return new Permission()
+                .withRead(Pattern.compile(vhost.getPermissions().getRead()))
+                .withWrite(Pattern.compile(vhost.getPermissions().getWrite()))
+                .withConfigure(Pattern.compile(vhost.getPermissions().getConfigure()));
+    }
+
+    private String decodePassword(final RabbitMQUser user) {
+        return secretsController.decodeSecretPayload(user.getUserSecret().getData().get(Constants.Secrets.PASSWORD_KEY));
+    }
+
+    private Table<String, String, Permission> indexPermissions(final List<Permission> permissions) {
+        // user -> vhost -> permission, so every user's vhosts can be diffed without another call
+        final Table<String, String, Permission> index = HashBasedTable.create();
+        for (final Permission permission : permissions) {
+            index.put(permission.getUser(), permission.getVhost(), permission);
+        }
+
+        return index;
     }
 
-    private boolean usersMatch(final RabbitMQUser desired, final User existing) {
+    private boolean usersMatch(final RabbitMQUser desired, final String desiredPassword, final User existing, final PasswordHashingAlgorithm hashingAlgorithm) {
+        // the broker keeps the salt alongside the hash, so we can tell whether the Secret's password has changed
+        // without re-hashing and re-writing every user on every pass
         return existing != null &&
                 desired.getUsername().equals(existing.getName()) &&
-                Sets.newHashSet(desired.getTags()).equals(Sets.newHashSet(existing.getTags().split(",")));
+                Sets.newHashSet(desired.getTags()).equals(Sets.newHashSet(TAG_SPLITTER.split(Strings.nullToEmpty(existing.getTags())))) &&
+                !Strings.isNullOrEmpty(existing.getPasswordHash()) &&
+                passwordConverter.passwordMatchesHash(desiredPassword, existing.getPasswordHash(), hashingAlgorithm);
     }
 
     private boolean permissionsMatch(final Permission desired, final Permission existing) {
@@ -0,0 +1,13 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import java.util.Map;
+
+/**
+ * Thrown once every user in a cluster has been reconciled, if any of them couldn't be.
+ */
+public class UserReconciliationException extends ResourceReconciliationException {
+
+    public UserReconciliationException(final String clusterName, final Map<String, Exception> failures) {
+        super(clusterName, "user", failures);
+    }
+}
@@ -1,14 +1,18 @@
 package com.indeed.operators.rabbitmq.api;
 
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -20,19 +24,14 @@ public class TestRabbitMQPasswordConverter {
     private static final String HASH_FROM_RABBIT = "awdOVA7vfvoxZZnftimygbY4kfrvQdv9vlESjpvmMQooWDV7";
     private static final String PASSWORD = "rJCW15GyswdLMXOSo4fLvgMykf6Q3Q";
     private static final int SALT = 1795640916; // first four bytes of HASH_FROM_RABBIT
+    private static final String SHA512_HASH = "awdOVMztNBO4rAqtl+M6ChbZopWwipCLix0sv1hQa8P2lmXfjHwoJPuw05qQ0iS18JfH57gQj4i0J6aHb/PnojTDMvU=";
+    private static final String MD5_HASH = "awdOVA3tJNBnp//PG2rAyv17d6Y=";
 
     private RabbitMQPasswordConverter converter;
 
     @BeforeEach
-    private void setup() throws NoSuchAlgorithmException {
-        final Random myRandom = new Random() {
-            @Override
-            public int nextInt() {
-                return SALT;
-            }
-        };
-
-        converter = new RabbitMQPasswordConverter(myRandom, MessageDigest.getInstance("SHA-256"), Base64.getEncoder(), Base64.getDecoder());
+    private void setup() {
+        converter = new RabbitMQPasswordConverter(() -> SALT, Base64.getEncoder(), Base64.getDecoder());
     }
 
     @Test
@@ -51,4 +50,47 @@ public class TestRabbitMQPasswordConverter {
     public void testPasswordMatchesHashDoesNotMatch() {
         assertFalse(converter.passwordMatchesHash(PASSWORD, "awdOVA7vfvoxZZnftimygbY4kfrvQdv9vlESjpvmMQooWDV8"));
     }
+
+    @Test
+    public void testPasswordMatchesHashMalformedHash() {
+        assertFalse(converter.passwordMatchesHash(PASSWORD, "not base64!"));
+        assertFalse(converter.passwordMatchesHash(PASSWORD, ""));
+    }
+
+    @Test
+    public void testConvertPasswordToHashSha512() {
+        assertEquals(SHA512_HASH, converter.convertPasswordToHash(PASSWORD, PasswordHashingAlgorithm.SHA512));
+        assertTrue(converter.passwordMatchesHash(PASSWORD, SHA512_HASH, PasswordHashingAlgorithm.SHA512));
+    }
+
+    @Test
+    public void testConvertPasswordToHashMd5() {
+        assertEquals(MD5_HASH, converter.convertPasswordToHash(PASSWORD, PasswordHashingAlgorithm.MD5));
+        assertTrue(converter.passwordMatchesHash(PASSWORD, MD5_HASH, PasswordHashingAlgorithm.MD5));
+    }
+
+    @Test
+    public void testPasswordMatchesHashWrongAlgorithm() {
+        assertFalse(converter.passwordMatchesHash(PASSWORD, HASH_FROM_RABBIT, PasswordHashingAlgorithm.SHA512));
+        assertFalse(converter.passwordMatchesHash(PASSWORD, SHA512_HASH, PasswordHashingAlgorithm.SHA256));
+    }
+
+    @Test
+    public void testConcurrentHashing() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> hashes = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final PasswordHashingAlgorithm algorithm = PasswordHashingAlgorithm.values()[i % PasswordHashingAlgorithm.values().length];
+                hashes.add(executor.submit(() -> converter.convertPasswordToHash(PASSWORD, algorithm)));
+            }
+
+            for (int i = 0; i < hashes.size(); i++) {
+                final String expected = i % 3 == 0 ? HASH_FROM_RABBIT : i % 3 == 1 ? SHA512_HASH : MD5_HASH;
+                assertEquals(expected, hashes.get(i).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestRabbitManagementApiCache {
+
+    @Test
+    public void testCachesWithinTtl() {
+        final RabbitManagementApiCache cache = new RabbitManagementApiCache(ImmutableMap.of(RabbitManagementApiCache.Endpoint.USERS, Duration.ofMinutes(1)));
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Integer.valueOf(1), cache.<Integer>get(RabbitManagementApiCache.Endpoint.USERS, "*", loads::incrementAndGet));
+        assertEquals(Integer.valueOf(1), cache.<Integer>get(RabbitManagementApiCache.Endpoint.USERS, "*", loads::incrementAndGet));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats(RabbitManagementApiCache.Endpoint.USERS).hitCount());
+        assertEquals(1, cache.getStats(RabbitManagementApiCache.Endpoint.USERS).missCount());
+    }
+
+    @Test
+    public void testInvalidateOnlyAffectsOneEndpoint() {
+        final RabbitManagementApiCache cache = new RabbitManagementApiCache(ImmutableMap.of(
+                RabbitManagementApiCache.Endpoint.USERS, Duration.ofMinutes(1),
+                RabbitManagementApiCache.Endpoint.POLICIES, Duration.ofMinutes(1)
+        ));
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", loads::incrementAndGet);
+        cache.get(RabbitManagementApiCache.Endpoint.POLICIES, "*", loads::incrementAndGet);
+        cache.invalidate(RabbitManagementApiCache.Endpoint.USERS);
+        cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", loads::incrementAndGet);
+        cache.get(RabbitManagementApiCache.Endpoint.POLICIES, "*", loads::incrementAndGet);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testLoadOverlappingAnInvalidationIsNotServedAgain() {
+        final RabbitManagementApiCache cache = new RabbitManagementApiCache(ImmutableMap.of(RabbitManagementApiCache.Endpoint.USERS, Duration.ofMinutes(1)));
+
+        // a write lands while the read is still in flight
+        assertEquals("before", cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", () -> {
+            cache.invalidate(RabbitManagementApiCache.Endpoint.USERS);
+            return "before";
+        }));
+        assertEquals("after", cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", () -> "after"));
+        assertEquals("after", cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", () -> "reloaded"));
+    }
+
+    @Test
+    public void testListsAreCachedReadOnly() {
+        final RabbitManagementApiCache cache = new RabbitManagementApiCache(ImmutableMap.of(RabbitManagementApiCache.Endpoint.USERS, Duration.ofMinutes(1)));
+
+        final List<String> users = cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", () -> new ArrayList<>(Arrays.asList("b", "a")));
+
+        assertThrows(UnsupportedOperationException.class, () -> users.sort(null));
+        assertEquals(Arrays.asList("b", "a"), cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", ArrayList::new));
+    }
+
+    @Test
+    public void testZeroTtlDisablesCaching() {
+        final RabbitManagementApiCache cache = new RabbitManagementApiCache(ImmutableMap.of());
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get(RabbitManagementApiCache.Endpoint.SHOVELS, "*", loads::incrementAndGet);
+        cache.get(RabbitManagementApiCache.Endpoint.SHOVELS, "*", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLoaderExceptionIsRethrown() {
+        final RabbitManagementApiCache cache = new RabbitManagementApiCache(ImmutableMap.of(RabbitManagementApiCache.Endpoint.USERS, Duration.ofMinutes(1)));
+
+        assertThrows(RabbitManagementApiException.class, () -> cache.get(RabbitManagementApiCache.Endpoint.USERS, "*", () -> {
+            throw new RabbitManagementApiException("failed");
+        }));
+    }
+}
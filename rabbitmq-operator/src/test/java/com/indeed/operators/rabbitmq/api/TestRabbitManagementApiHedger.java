@@ -0,0 +1,132 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.indeed.rabbitmq.admin.RabbitManagementApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestRabbitManagementApiHedger {
+
+    @Mock
+    private RabbitManagementApiRouter router;
+
+    private final RabbitManagementApiTarget primary = target("myrabbit-0");
+    private final RabbitManagementApiTarget backup = target("myrabbit-1");
+    private final CountDownLatch releaseSlowReads = new CountDownLatch(1);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void teardown() {
+        releaseSlowReads.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDisabledReadsPrimaryOnly() {
+        final RabbitManagementApiHedger hedger = new RabbitManagementApiHedger(RabbitManagementApiHedgingPolicy.disabled(), executor);
+        when(router.selectForRead()).thenReturn(primary);
+
+        assertEquals("myrabbit-0", hedger.execute(router, RabbitManagementApiTarget::getName));
+        assertEquals(0, hedger.getHedgedReads());
+    }
+
+    @Test
+    public void testSlowReadIsHedged() {
+        final RabbitManagementApiHedger hedger = new RabbitManagementApiHedger(new RabbitManagementApiHedgingPolicy(0.5, 1), executor);
+        when(router.selectForRead()).thenReturn(primary);
+        when(router.selectForReadExcluding(primary)).thenReturn(Optional.of(backup));
+
+        warmUp(hedger);
+
+        assertEquals("myrabbit-1", hedger.execute(router, slowOn(primary)));
+        assertEquals(1, hedger.getHedgedReads());
+    }
+
+    @Test
+    public void testNoHedgeWithoutAnotherNode() {
+        final RabbitManagementApiHedger hedger = new RabbitManagementApiHedger(new RabbitManagementApiHedgingPolicy(0.5, 1), executor);
+        when(router.selectForRead()).thenReturn(primary);
+        when(router.selectForReadExcluding(primary)).thenReturn(Optional.empty());
+
+        warmUp(hedger);
+        executor.submit(() -> {
+            Thread.sleep(100);
+            releaseSlowReads.countDown();
+            return null;
+        });
+
+        assertEquals("myrabbit-0", hedger.execute(router, slowOn(primary)));
+        assertEquals(0, hedger.getHedgedReads());
+    }
+
+    @Test
+    public void testFailureIsRethrown() {
+        final RabbitManagementApiHedger hedger = new RabbitManagementApiHedger(new RabbitManagementApiHedgingPolicy(0.5, 1), executor);
+        when(router.selectForRead()).thenReturn(primary);
+
+        assertThrows(RabbitManagementApiException.class, () -> hedger.execute(router, target -> {
+            throw new RabbitManagementApiException("not_found");
+        }));
+    }
+
+    @Test
+    public void testInterruptWhileWaitingIsNotSwallowed() {
+        final RabbitManagementApiHedger hedger = new RabbitManagementApiHedger(new RabbitManagementApiHedgingPolicy(0.5, 1), executor);
+        when(router.selectForRead()).thenReturn(primary);
+
+        warmUp(hedger);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(RabbitManagementApiException.class, () -> hedger.execute(router, slowOn(primary)));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    private void warmUp(final RabbitManagementApiHedger hedger) {
+        for (int i = 0; i < 50; i++) {
+            hedger.execute(router, RabbitManagementApiTarget::getName);
+        }
+    }
+
+    private Function<RabbitManagementApiTarget, String> slowOn(final RabbitManagementApiTarget slowTarget) {
+        return target -> {
+            if (target == slowTarget) {
+                try {
+                    releaseSlowReads.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return target.getName();
+        };
+    }
+
+    private static RabbitManagementApiTarget target(final String name) {
+        return new RabbitManagementApiTarget(name, mock(RabbitManagementApi.class), mock(RabbitManagementApiHttpClient.class));
+    }
+}
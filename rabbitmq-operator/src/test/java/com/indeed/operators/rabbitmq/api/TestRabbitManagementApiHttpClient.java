@@ -0,0 +1,120 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.indeed.rabbitmq.admin.pojo.Queue;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRabbitManagementApiHttpClient {
+
+    private static final RabbitManagementApiListQuery QUERY = RabbitManagementApiListQuery.newBuilder()
+            .withPageSize(2)
+            .withColumns("name", "messages")
+            .build();
+
+    private MockWebServer server;
+    private AtomicInteger permits;
+    private RabbitManagementApiHttpClient client;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        permits = new AtomicInteger();
+        client = new RabbitManagementApiHttpClient(new OkHttpClient(), server.url("/"), new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false), permits::incrementAndGet);
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testListPagesIsLazy() throws InterruptedException {
+        server.enqueue(new MockResponse().setBody(page(1, 2, "q1", 0, "q2", 0)));
+        server.enqueue(new MockResponse().setBody(page(2, 2, "q3", 5)));
+
+        final Iterator<RabbitManagementApiPage<Queue>> pages = client.listPages(ImmutableList.of("queues", "/"), QUERY, Queue.class);
+
+        assertEquals(0, server.getRequestCount());
+        assertEquals(0, permits.get());
+        assertEquals(2, pages.next().getItems().size());
+
+        final RecordedRequest firstRequest = server.takeRequest();
+        assertEquals("/api/queues/%2F?page=1&page_size=2&columns=name,messages", firstRequest.getPath());
+
+        assertTrue(pages.hasNext());
+        assertEquals(5L, (long) pages.next().getItems().get(0).getMessages());
+        assertFalse(pages.hasNext());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, permits.get());
+    }
+
+    @Test
+    public void testForEachItemVisitsEveryPage() {
+        server.enqueue(new MockResponse().setBody(page(1, 2, "q1", 0, "q2", 0)));
+        server.enqueue(new MockResponse().setBody(page(2, 2, "q3", 0)));
+
+        final List<String> visited = new ArrayList<>();
+
+        assertTrue(client.forEachItem(ImmutableList.of("queues"), QUERY, Queue.class, queue -> visited.add(queue.getName())));
+        assertEquals(ImmutableList.of("q1", "q2", "q3"), visited);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, permits.get());
+    }
+
+    @Test
+    public void testForEachItemStopsEarly() {
+        server.enqueue(new MockResponse().setBody(page(1, 2, "q1", 3, "q2", 0)));
+        server.enqueue(new MockResponse().setBody(page(2, 2, "q3", 0)));
+
+        final List<String> visited = new ArrayList<>();
+
+        assertFalse(client.forEachItem(ImmutableList.of("queues"), QUERY, Queue.class, queue -> {
+            visited.add(queue.getName());
+            return queue.getMessages() == 0;
+        }));
+        assertEquals(ImmutableList.of("q1"), visited);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testErrorResponse() {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\":\"bad_request\"}"));
+
+        assertThrows(RabbitManagementApiException.class, () -> client.forEachItem(ImmutableList.of("queues"), QUERY, Queue.class, queue -> true));
+    }
+
+    private static String page(final int page, final int pageCount, final Object... nameAndMessages) {
+        final StringBuilder items = new StringBuilder();
+        for (int i = 0; i < nameAndMessages.length; i += 2) {
+            if (items.length() > 0) {
+                items.append(',');
+            }
+            items.append(String.format("{\"name\":\"%s\",\"messages\":%s}", nameAndMessages[i], nameAndMessages[i + 1]));
+        }
+
+        // the management plugin sorts keys, so items always arrive before page and page_count
+        return String.format("{\"filtered_count\":3,\"item_count\":%s,\"items\":[%s],\"page\":%s,\"page_count\":%s,\"page_size\":2,\"total_count\":3}",
+                nameAndMessages.length / 2, items, page, pageCount);
+    }
+}
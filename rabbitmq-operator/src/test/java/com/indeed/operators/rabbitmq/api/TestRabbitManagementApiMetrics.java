@@ -0,0 +1,105 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class TestRabbitManagementApiMetrics {
+
+    private MockWebServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private OkHttpClient client;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new RabbitManagementApiMetrics(meterRegistry, "myrabbit"))
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testRecordsLatencyAndSizeByTemplate() throws IOException {
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\":\"Object Not Found\"}"));
+
+        execute(server.url("/api/queues/%2F/queue1"));
+        execute(server.url("/api/queues/other/queue2"));
+
+        final Timer ok = meterRegistry.find("rabbitmq.management.api.requests")
+                .tags("cluster", "myrabbit", "method", "GET", "endpoint", "/api/queues/{vhost}/{name}", "status", "200")
+                .timer();
+        final Timer notFound = meterRegistry.find("rabbitmq.management.api.requests")
+                .tags("endpoint", "/api/queues/{vhost}/{name}", "status", "404")
+                .timer();
+
+        assertNotNull(ok);
+        assertNotNull(notFound);
+        assertEquals(1, ok.count());
+        assertEquals(1, notFound.count());
+
+        final DistributionSummary size = meterRegistry.find("rabbitmq.management.api.response.size")
+                .tags("endpoint", "/api/queues/{vhost}/{name}")
+                .summary();
+        assertNotNull(size);
+        assertEquals(2 + 28, size.totalAmount(), 0.001);
+    }
+
+    @Test
+    public void testMeasuresChunkedResponses() throws IOException {
+        server.enqueue(new MockResponse().setChunkedBody("[{\"name\":\"user1\"}]", 4));
+
+        execute(server.url("/api/users"));
+
+        final DistributionSummary size = meterRegistry.find("rabbitmq.management.api.response.size")
+                .tags("endpoint", "/api/users")
+                .summary();
+        assertNotNull(size);
+        assertEquals(18, size.totalAmount(), 0.001);
+    }
+
+    @Test
+    public void testEndpointTemplates() {
+        assertEquals("/api/overview", template("/api/overview"));
+        assertEquals("/api/queues/{vhost}", template("/api/queues/%2F"));
+        assertEquals("/api/vhosts/{vhost}/permissions", template("/api/vhosts/myvhost/permissions"));
+        assertEquals("/api/users/{user}/permissions", template("/api/users/user1/permissions"));
+        assertEquals("/api/permissions/{vhost}/{user}", template("/api/permissions/%2F/user1"));
+        assertEquals("/api/parameters/{component}/{vhost}/{name}", template("/api/parameters/shovel/%2F/myshovel"));
+        assertEquals("/api/bindings/{vhost}/e/{source}/q/{destination}/{props}", template("/api/bindings/%2F/e/ex/q/queue1/key"));
+        assertEquals("/api/whatever/{name}", template("/api/whatever/thing"));
+    }
+
+    private void execute(final HttpUrl url) throws IOException {
+        try (final Response response = client.newCall(new Request.Builder().url(url).get().build()).execute()) {
+            response.body().string();
+        }
+    }
+
+    private static String template(final String path) {
+        return RabbitManagementApiMetrics.getEndpointTemplate(ImmutableList.copyOf(HttpUrl.get("http://localhost" + path).encodedPathSegments()));
+    }
+}
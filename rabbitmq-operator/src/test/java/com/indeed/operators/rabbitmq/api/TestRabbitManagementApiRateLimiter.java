@@ -0,0 +1,77 @@
+package com.indeed.operators.rabbitmq.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestRabbitManagementApiRateLimiter {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(500);
+
+    @Test
+    public void testBacksOffWhenSlow() {
+        final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(20, THRESHOLD);
+
+        limiter.recordLatency(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(10, limiter.getRate(), 0.001);
+
+        // adjustments are at most once per interval
+        limiter.recordLatency(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(10, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void testSingleSlowCallDoesNotBackOff() throws InterruptedException {
+        final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(20, THRESHOLD);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // past the adjustment interval, so this call triggers one, but the average is still fast
+        Thread.sleep(1100);
+        limiter.recordLatency(TimeUnit.SECONDS.toNanos(2));
+
+        assertEquals(20, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void testNeverExceedsMaxRate() {
+        final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(20, THRESHOLD);
+
+        limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(20, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void testLoweringMaxRateTakesEffectImmediately() {
+        final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(20, THRESHOLD);
+
+        limiter.setMaxRate(5);
+        assertEquals(5, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void testEnablingStartsAtMaxRate() {
+        final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(0, THRESHOLD);
+        assertEquals(0, limiter.getRate(), 0.001);
+
+        limiter.setMaxRate(15);
+        assertEquals(15, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void testDisabledNeverBlocks() {
+        final RabbitManagementApiRateLimiter limiter = new RabbitManagementApiRateLimiter(0, THRESHOLD);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+        }
+
+        assertEquals(0, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+}
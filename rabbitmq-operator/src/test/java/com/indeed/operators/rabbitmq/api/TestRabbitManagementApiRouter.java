@@ -0,0 +1,135 @@
+package com.indeed.operators.rabbitmq.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.indeed.rabbitmq.admin.RabbitManagementApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestRabbitManagementApiRouter {
+
+    private static final String NODES = "[" +
+            "{\"name\":\"rabbit@myrabbit-1.myrabbit-svc-discovery.ns.svc.cluster.local\",\"running\":true}," +
+            "{\"name\":\"rabbit@myrabbit-0.myrabbit-svc-discovery.ns.svc.cluster.local\",\"running\":true}," +
+            "{\"name\":\"rabbit@myrabbit-2.myrabbit-svc-discovery.ns.svc.cluster.local\",\"running\":false}" +
+            "]";
+
+    @Mock
+    private RabbitManagementApiHttpClient serviceHttpClient;
+
+    private RabbitManagementApiTarget serviceTarget;
+
+    @BeforeEach
+    public void setup() {
+        serviceTarget = new RabbitManagementApiTarget("myrabbit-svc-discovery", mock(RabbitManagementApi.class), serviceHttpClient);
+    }
+
+    @Test
+    public void testReadsAreSpreadAcrossRunningNodes() throws IOException {
+        when(serviceHttpClient.getJson(any(), any())).thenReturn(new ObjectMapper().readTree(NODES));
+
+        final RabbitManagementApiRouter router = new RabbitManagementApiRouter(serviceTarget, TestRabbitManagementApiRouter::nodeTarget, RabbitManagementApiRouter.ReadStrategy.ROUND_ROBIN);
+
+        final Set<String> readTargets = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            readTargets.add(router.selectForRead().getName());
+        }
+
+        assertEquals(ImmutableSet.of("myrabbit-0", "myrabbit-1"), readTargets);
+
+        // membership is only looked up once per refresh interval
+        verify(serviceHttpClient, times(1)).getJson(any(), any());
+    }
+
+    @Test
+    public void testWritesArePinnedToOneNode() throws IOException {
+        when(serviceHttpClient.getJson(any(), any())).thenReturn(new ObjectMapper().readTree(NODES));
+
+        final RabbitManagementApiRouter router = new RabbitManagementApiRouter(serviceTarget, TestRabbitManagementApiRouter::nodeTarget, RabbitManagementApiRouter.ReadStrategy.LEAST_LATENCY);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("myrabbit-0", router.selectForWrite().getName());
+        }
+    }
+
+    @Test
+    public void testUnhealthyNodesAreSkipped() throws IOException {
+        when(serviceHttpClient.getJson(any(), any())).thenReturn(new ObjectMapper().readTree(NODES));
+
+        final RabbitManagementApiRouter router = new RabbitManagementApiRouter(serviceTarget, TestRabbitManagementApiRouter::nodeTarget, RabbitManagementApiRouter.ReadStrategy.ROUND_ROBIN);
+
+        router.selectForWrite().recordFailure();
+
+        assertEquals("myrabbit-1", router.selectForWrite().getName());
+        assertEquals("myrabbit-1", router.selectForRead().getName());
+
+        router.selectForWrite().recordFailure();
+
+        assertSame(serviceTarget, router.selectForRead());
+        assertSame(serviceTarget, router.selectForWrite());
+    }
+
+    @Test
+    public void testFallsBackToServiceWhenMembershipUnavailable() {
+        when(serviceHttpClient.getJson(any(), any())).thenThrow(new RabbitManagementApiException("failed"));
+
+        final RabbitManagementApiRouter router = new RabbitManagementApiRouter(serviceTarget, TestRabbitManagementApiRouter::nodeTarget, RabbitManagementApiRouter.ReadStrategy.ROUND_ROBIN);
+
+        assertSame(serviceTarget, router.selectForRead());
+        assertSame(serviceTarget, router.selectForWrite());
+    }
+
+    @Test
+    public void testFailedMembershipLookupIsRetriedSoon() throws Exception {
+        when(serviceHttpClient.getJson(any(), any()))
+                .thenThrow(new RabbitManagementApiException("failed"))
+                .thenReturn(new ObjectMapper().readTree(NODES));
+
+        final RabbitManagementApiRouter router = new RabbitManagementApiRouter(serviceTarget, TestRabbitManagementApiRouter::nodeTarget, RabbitManagementApiRouter.ReadStrategy.ROUND_ROBIN);
+
+        assertSame(serviceTarget, router.selectForWrite());
+        assertSame(serviceTarget, router.selectForWrite());
+        verify(serviceHttpClient, times(1)).getJson(any(), any());
+
+        // well within the refresh interval, but past the first retry
+        Thread.sleep(1100);
+
+        assertEquals("myrabbit-0", router.selectForWrite().getName());
+        verify(serviceHttpClient, times(2)).getJson(any(), any());
+    }
+
+    @Test
+    public void testPinnedRouterNeverLooksUpMembership() {
+        final RabbitManagementApiRouter router = RabbitManagementApiRouter.pinnedTo(serviceTarget);
+
+        assertSame(serviceTarget, router.selectForRead());
+        assertSame(serviceTarget, router.selectForWrite());
+        verify(serviceHttpClient, times(0)).getJson(any(), any());
+    }
+
+    @Test
+    public void testGetPodName() {
+        assertEquals("myrabbit-0", RabbitManagementApiRouter.getPodName("rabbit@myrabbit-0.myrabbit-svc-discovery.ns.svc.cluster.local"));
+        assertEquals("myrabbit-0", RabbitManagementApiRouter.getPodName("rabbit@myrabbit-0"));
+    }
+
+    private static RabbitManagementApiTarget nodeTarget(final String podName) {
+        return new RabbitManagementApiTarget(podName, mock(RabbitManagementApi.class), mock(RabbitManagementApiHttpClient.class));
+    }
+}
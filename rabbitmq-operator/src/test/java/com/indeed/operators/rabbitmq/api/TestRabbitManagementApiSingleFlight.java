@@ -0,0 +1,152 @@
+package com.indeed.operators.rabbitmq.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRabbitManagementApiSingleFlight {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        final RabbitManagementApiSingleFlight singleFlight = new RabbitManagementApiSingleFlight();
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<String> first = executor.submit(() -> singleFlight.execute("GET /api/users?", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "users";
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        final Future<String> second = executor.submit(() -> singleFlight.execute("GET /api/users?", () -> {
+            executions.incrementAndGet();
+            return "other";
+        }));
+
+        // give the second caller time to join the first call before it completes
+        while (singleFlight.getSavedCalls() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("users", first.get(5, TimeUnit.SECONDS));
+        assertEquals("users", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        assertEquals(1, singleFlight.getSavedCalls());
+    }
+
+    @Test
+    public void testSequentialCallsAreNotShared() {
+        final RabbitManagementApiSingleFlight singleFlight = new RabbitManagementApiSingleFlight();
+        final AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("GET /api/users?", executions::incrementAndGet);
+        singleFlight.execute("GET /api/users?", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, singleFlight.getSavedCalls());
+    }
+
+    @Test
+    public void testSharedListsAreReadOnly() {
+        final RabbitManagementApiSingleFlight singleFlight = new RabbitManagementApiSingleFlight();
+
+        final List<String> users = singleFlight.execute("GET /api/users?", () -> new ArrayList<>(Arrays.asList("b", "a")));
+
+        assertThrows(UnsupportedOperationException.class, () -> users.remove("a"));
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotRemembered() throws Exception {
+        final RabbitManagementApiSingleFlight singleFlight = new RabbitManagementApiSingleFlight();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<Object> first = executor.submit(() -> singleFlight.execute("GET /api/nodes?", () -> {
+            started.countDown();
+            await(release);
+            throw new RabbitManagementApiException("failed");
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final Future<Object> second = executor.submit(() -> singleFlight.execute("GET /api/nodes?", () -> "nodes"));
+
+        while (singleFlight.getSavedCalls() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertRabbitManagementApiException(first);
+        assertRabbitManagementApiException(second);
+        assertEquals("nodes", singleFlight.execute("GET /api/nodes?", () -> "nodes"));
+    }
+
+    @Test
+    public void testErrorIsSharedWithWaiters() throws Exception {
+        final RabbitManagementApiSingleFlight singleFlight = new RabbitManagementApiSingleFlight();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<Object> first = executor.submit(() -> singleFlight.execute("GET /api/nodes?", () -> {
+            started.countDown();
+            await(release);
+            throw new Error("failed");
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final Future<Object> second = executor.submit(() -> singleFlight.execute("GET /api/nodes?", () -> "nodes"));
+
+        while (singleFlight.getSavedCalls() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof Error);
+        assertRabbitManagementApiException(second);
+    }
+
+    private static void assertRabbitManagementApiException(final Future<?> future) {
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RabbitManagementApiException);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.indeed.operators.rabbitmq.controller;
+
+import com.google.common.collect.ImmutableSet;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestPodSetReadiness {
+
+    @Test
+    public void testReadyOnceEveryPodIsReady() throws Exception {
+        final PodSetReadiness readiness = new PodSetReadiness(ImmutableSet.of("rabbit-0", "rabbit-1"));
+
+        readiness.eventReceived(Watcher.Action.MODIFIED, pod("rabbit-0", "Running", "True"));
+        readiness.eventReceived(Watcher.Action.MODIFIED, pod("rabbit-1", "Running", "False"));
+        readiness.eventReceived(Watcher.Action.MODIFIED, pod("unrelated", "Running", "True"));
+
+        assertEquals(PodSetReadiness.State.TIMED_OUT, readiness.await(System.currentTimeMillis()));
+        assertEquals(Collections.singleton("rabbit-1"), readiness.getPodsNotReady());
+
+        readiness.eventReceived(Watcher.Action.MODIFIED, pod("rabbit-1", "Running", "True"));
+
+        assertEquals(PodSetReadiness.State.READY, readiness.await(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void testDeletedPodIsNoLongerReady() throws Exception {
+        final PodSetReadiness readiness = new PodSetReadiness(ImmutableSet.of("rabbit-0"));
+
+        readiness.eventReceived(Watcher.Action.MODIFIED, pod("rabbit-0", "Running", "True"));
+        readiness.eventReceived(Watcher.Action.DELETED, pod("rabbit-0", "Running", "True"));
+
+        assertEquals(PodSetReadiness.State.TIMED_OUT, readiness.await(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void testFailedPodFailsTheWait() throws Exception {
+        final PodSetReadiness readiness = new PodSetReadiness(ImmutableSet.of("rabbit-0", "rabbit-1"));
+
+        readiness.eventReceived(Watcher.Action.MODIFIED, pod("rabbit-0", "Failed", "False"));
+
+        assertEquals(PodSetReadiness.State.FAILED, readiness.await(System.currentTimeMillis() + 60_000));
+    }
+
+    @Test
+    public void testWaitEndsWhenTheWatchCloses() throws Exception {
+        final PodSetReadiness readiness = new PodSetReadiness(ImmutableSet.of("rabbit-0"));
+
+        final Thread closer = new Thread(() -> readiness.onClose(null));
+        closer.start();
+
+        assertEquals(PodSetReadiness.State.WATCH_CLOSED, readiness.await(System.currentTimeMillis() + 60_000));
+        closer.join();
+    }
+
+    private static Pod pod(final String name, final String phase, final String ready) {
+        return new PodBuilder()
+                .withNewMetadata().withName(name).endMetadata()
+                .withNewStatus()
+                .withPhase(phase)
+                .addNewCondition().withType("Ready").withStatus(ready).endCondition()
+                .endStatus()
+                .build();
+    }
+}
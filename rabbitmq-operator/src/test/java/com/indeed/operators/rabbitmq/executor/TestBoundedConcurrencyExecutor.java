@@ -0,0 +1,76 @@
+package com.indeed.operators.rabbitmq.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestBoundedConcurrencyExecutor {
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setup() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void teardown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void neverExceedsMaxConcurrency() throws InterruptedException {
+        final BoundedConcurrencyExecutor executor = new BoundedConcurrencyExecutor(executorService);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+
+        final Map<Integer, BoundedConcurrencyExecutor.Task> tasks = new LinkedHashMap<>();
+        for (int index = 0; index < 50; index++) {
+            tasks.put(index, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                completed.incrementAndGet();
+            });
+        }
+
+        final Map<Integer, Exception> failures = executor.invokeAll(tasks, 3);
+
+        assertTrue(failures.isEmpty());
+        assertEquals(50, completed.get());
+        assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    void collectsEveryFailure() throws InterruptedException {
+        final BoundedConcurrencyExecutor executor = new BoundedConcurrencyExecutor(executorService);
+        final AtomicInteger completed = new AtomicInteger();
+
+        final Map<String, BoundedConcurrencyExecutor.Task> tasks = new LinkedHashMap<>();
+        tasks.put("first", () -> {
+            throw new IllegalStateException("first");
+        });
+        tasks.put("second", completed::incrementAndGet);
+        tasks.put("third", () -> {
+            throw new Exception("third");
+        });
+        tasks.put("fourth", completed::incrementAndGet);
+
+        final Map<String, Exception> failures = executor.invokeAll(tasks, 2);
+
+        assertEquals(2, completed.get());
+        assertEquals(2, failures.size());
+        assertEquals("first", failures.get("first").getMessage());
+        assertEquals("third", failures.get("third").getMessage());
+    }
+}
@@ -0,0 +1,133 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.google.common.collect.ImmutableMap;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceBuilder;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceStatus;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TestClusterStatusUpdater {
+
+    private static final Instant NOW = Instant.parse("2019-06-01T00:00:00Z");
+
+    @Mock
+    private RabbitMQResourceController controller;
+
+    private RabbitMQCustomResource resource;
+
+    @BeforeEach
+    public void setup() {
+        resource = new RabbitMQCustomResourceBuilder()
+                .withMetadata(
+                        new ObjectMetaBuilder()
+                                .withName("mycluster")
+                                .withNamespace("ns")
+                                .withGeneration(3L)
+                                .build()
+                )
+                .build();
+    }
+
+    @Test
+    public void testMaterialChangeIsWrittenImmediately() {
+        final ClusterStatusUpdater updater = new ClusterStatusUpdater(controller, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        final RabbitMQCustomResourceStatus ready = status(RabbitMQCustomResourceStatus.PHASE_READY, 10L);
+        final RabbitMQCustomResourceStatus failed = status(RabbitMQCustomResourceStatus.PHASE_FAILED, 10L);
+
+        assertTrue(updater.update(resource, ready));
+        resource.setStatus(ready);
+        assertTrue(updater.update(resource, failed));
+
+        verify(controller).patchStatus(resource, ready);
+        verify(controller).patchStatus(resource, failed);
+    }
+
+    @Test
+    public void testTimingOnlyChangeIsThrottled() {
+        final ClusterStatusUpdater updater = new ClusterStatusUpdater(controller, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        final RabbitMQCustomResourceStatus first = status(RabbitMQCustomResourceStatus.PHASE_READY, 10L);
+
+        assertTrue(updater.update(resource, first));
+        resource.setStatus(first);
+        assertFalse(updater.update(resource, status(RabbitMQCustomResourceStatus.PHASE_READY, 20L)));
+
+        verify(controller, times(1)).patchStatus(resource, first);
+    }
+
+    @Test
+    public void testTimingOnlyChangeIsWrittenOnceTheIntervalHasPassed() {
+        final MutableClock clock = new MutableClock(NOW);
+        final ClusterStatusUpdater updater = new ClusterStatusUpdater(controller, Duration.ofMinutes(5), clock);
+        final RabbitMQCustomResourceStatus first = status(RabbitMQCustomResourceStatus.PHASE_READY, 10L);
+        final RabbitMQCustomResourceStatus later = status(RabbitMQCustomResourceStatus.PHASE_READY, 20L);
+
+        assertTrue(updater.update(resource, first));
+        resource.setStatus(first);
+        clock.advance(Duration.ofMinutes(5));
+        assertTrue(updater.update(resource, later));
+
+        verify(controller).patchStatus(resource, later);
+    }
+
+    @Test
+    public void testFailedWriteDoesNotThrow() {
+        final ClusterStatusUpdater updater = new ClusterStatusUpdater(controller, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        final RabbitMQCustomResourceStatus status = status(RabbitMQCustomResourceStatus.PHASE_READY, 10L);
+
+        doThrow(new KubernetesClientException("forbidden")).when(controller).patchStatus(resource, status);
+
+        assertFalse(updater.update(resource, status));
+    }
+
+    private static RabbitMQCustomResourceStatus status(final String phase, final long durationMillis) {
+        return new RabbitMQCustomResourceStatus(3L, phase, 3, NOW.toString(), ImmutableMap.of("kubernetes", durationMillis), null);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
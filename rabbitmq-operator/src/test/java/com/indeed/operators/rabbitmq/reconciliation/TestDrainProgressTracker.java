@@ -0,0 +1,130 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.google.common.collect.ImmutableList;
+import com.indeed.operators.rabbitmq.api.QueueDepth;
+import com.indeed.operators.rabbitmq.model.crd.partition.DrainProgress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestDrainProgressTracker {
+
+    private MutableClock clock;
+    private DrainProgressTracker tracker;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock(Instant.parse("2019-06-01T00:00:00Z"));
+        tracker = new DrainProgressTracker(Duration.ofSeconds(2), Duration.ofMinutes(1), Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    public void testEstimateFollowsTheObservedRate() {
+        tracker.observe(ImmutableList.of(queue("orders", 1000, 1), queue("billing", 200, 1)));
+        clock.advance(Duration.ofSeconds(10));
+
+        final DrainProgress progress = tracker.observe(ImmutableList.of(queue("orders", 500, 1), queue("billing", 100, 1)));
+
+        assertEquals(600, (long) progress.getRemainingMessages());
+        assertEquals(60.0, progress.getMessagesPerSecond(), 0.001);
+        assertEquals(10, (long) progress.getEstimatedSecondsRemaining());
+        assertEquals(Duration.ofSeconds(2), tracker.getNextPollInterval());
+    }
+
+    @Test
+    public void testFirstPollUsesTheBrokerRates() {
+        final DrainProgress progress = tracker.observe(ImmutableList.of(new QueueDepth("/", "orders", "rabbit@node-0", 4000, 1, 20.0, 10.0)));
+
+        assertEquals(20.0, progress.getMessagesPerSecond(), 0.001);
+        assertEquals(200, (long) progress.getEstimatedSecondsRemaining());
+        assertEquals(Duration.ofSeconds(50), tracker.getNextPollInterval());
+    }
+
+    @Test
+    public void testPollingBacksOffWhileNothingMoves() {
+        tracker.observe(ImmutableList.of(queue("orders", 100, 0)));
+        assertNull(tracker.observe(ImmutableList.of(queue("orders", 100, 0))).getEstimatedSecondsRemaining());
+
+        assertEquals(Duration.ofSeconds(8), tracker.getNextPollInterval());
+    }
+
+    @Test
+    public void testQueueWithoutConsumersOrProgressIsStalled() {
+        tracker.observe(ImmutableList.of(queue("orders", 100, 0), queue("billing", 100, 1)));
+        clock.advance(Duration.ofMinutes(3));
+        assertEquals(Collections.emptyList(), tracker.observe(ImmutableList.of(queue("orders", 100, 0), queue("billing", 100, 1))).getStalledQueues());
+        clock.advance(Duration.ofMinutes(3));
+
+        final DrainProgress progress = tracker.observe(ImmutableList.of(queue("orders", 100, 0), queue("billing", 100, 1)));
+
+        assertEquals(Collections.singletonList("//orders"), progress.getStalledQueues());
+    }
+
+    @Test
+    public void testProgressClearsAStall() {
+        tracker.observe(ImmutableList.of(queue("orders", 100, 0)));
+        clock.advance(Duration.ofMinutes(6));
+        assertEquals(Collections.singletonList("//orders"), tracker.observe(ImmutableList.of(queue("orders", 100, 0))).getStalledQueues());
+        clock.advance(Duration.ofSeconds(10));
+
+        final DrainProgress progress = tracker.observe(ImmutableList.of(queue("orders", 90, 0)));
+
+        assertEquals(Collections.emptyList(), progress.getStalledQueues());
+    }
+
+    @Test
+    public void testUnfinishedPollIsNotRecorded() {
+        tracker.observe(ImmutableList.of(queue("orders", 1000, 1)));
+        clock.advance(Duration.ofSeconds(10));
+
+        // a scan that failed part way through would have undercounted what's left
+        final DrainProgressTracker.Poll failed = tracker.startPoll();
+        failed.add(queue("orders", 100, 1));
+        clock.advance(Duration.ofSeconds(10));
+
+        final DrainProgress progress = tracker.observe(ImmutableList.of(queue("orders", 800, 1)));
+
+        assertEquals(10.0, progress.getMessagesPerSecond(), 0.001);
+    }
+
+    private static QueueDepth queue(final String name, final long messages, final int consumers) {
+        return new QueueDepth("/", name, "rabbit@node-0", messages, consumers, 0, 0);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
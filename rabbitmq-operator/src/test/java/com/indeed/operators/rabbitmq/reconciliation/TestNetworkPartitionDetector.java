@@ -0,0 +1,186 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.indeed.operators.rabbitmq.api.NodePartitions;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ClusterSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PartitionDetectionSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceBuilder;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQConnectionInfo;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestNetworkPartitionDetector {
+
+    private static final String NAMESPACE = "ns";
+    private static final String CLUSTER_NAME = "myrabbit";
+    private static final Instant NOW = Instant.parse("2019-06-01T00:00:00Z");
+
+    private static final List<NodePartitions> CONNECTED = ImmutableList.of(
+            node(0, true),
+            node(1, true),
+            node(2, true)
+    );
+    private static final List<NodePartitions> PARTITIONED = ImmutableList.of(
+            node(0, true, 2),
+            node(1, true, 2),
+            node(2, false)
+    );
+
+    @Mock
+    private RabbitMQResourceController rabbitMQResourceController;
+
+    @Mock
+    private NetworkPartitionResourceController partitionResourceController;
+
+    @Mock
+    private RabbitManagementApiProvider apiProvider;
+
+    private RabbitManagementApiFacade api;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private NetworkPartitionDetector detector;
+
+    @BeforeEach
+    public void setup() {
+        api = mock(RabbitManagementApiFacade.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        detector = new NetworkPartitionDetector(rabbitMQResourceController, partitionResourceController, apiProvider, meterRegistry, clock);
+    }
+
+    @Test
+    public void testGroupPartitions() {
+        assertEquals(
+                Lists.newArrayList(ImmutableSet.of("myrabbit-0", "myrabbit-1"), ImmutableSet.of("myrabbit-2")),
+                NetworkPartitionDetector.groupPartitions(PARTITIONED)
+        );
+        assertEquals(1, NetworkPartitionDetector.groupPartitions(CONNECTED).size());
+    }
+
+    @Test
+    public void testPartitionIsHealedWhenAutoHealIsOn() {
+        when(rabbitMQResourceController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(rabbit(new PartitionDetectionSpec(30, true))));
+        when(apiProvider.getApi(any(RabbitMQConnectionInfo.class))).thenReturn(api);
+        when(api.listNodePartitions()).thenReturn(CONNECTED, PARTITIONED);
+        when(partitionResourceController.getAll(NAMESPACE)).thenReturn(Collections.emptyList());
+
+        detector.detectAll(NAMESPACE);
+        clock.advance(Duration.ofSeconds(30));
+        detector.detectAll(NAMESPACE);
+
+        final ArgumentCaptor<RabbitMQNetworkPartitionCustomResource> created = ArgumentCaptor.forClass(RabbitMQNetworkPartitionCustomResource.class);
+        verify(partitionResourceController).createOrUpdate(created.capture());
+        assertEquals(CLUSTER_NAME, created.getValue().getSpec().getClusterName());
+        assertEquals(Lists.newArrayList(ImmutableSet.of("myrabbit-0", "myrabbit-1"), ImmutableSet.of("myrabbit-2")), created.getValue().getSpec().getPartitions());
+        assertEquals(30, meterRegistry.get("rabbitmq.partition.detection.time").timer().totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    public void testPartitionIsOnlyReportedWhenAutoHealIsOff() {
+        when(rabbitMQResourceController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(rabbit(new PartitionDetectionSpec(30, false))));
+        when(apiProvider.getApi(any(RabbitMQConnectionInfo.class))).thenReturn(api);
+        when(api.listNodePartitions()).thenReturn(PARTITIONED);
+
+        detector.detectAll(NAMESPACE);
+
+        verify(partitionResourceController, never()).createOrUpdate(any());
+        assertEquals(1, meterRegistry.get("rabbitmq.partition.detected").counter().count(), 0.001);
+    }
+
+    @Test
+    public void testClustersArePolledAtTheirOwnInterval() {
+        when(rabbitMQResourceController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(rabbit(new PartitionDetectionSpec(60, false)), rabbit(null)));
+        when(apiProvider.getApi(any(RabbitMQConnectionInfo.class))).thenReturn(api);
+        when(api.listNodePartitions()).thenReturn(CONNECTED);
+
+        detector.detectAll(NAMESPACE);
+        clock.advance(Duration.ofSeconds(30));
+        detector.detectAll(NAMESPACE);
+        clock.advance(Duration.ofSeconds(30));
+        detector.detectAll(NAMESPACE);
+
+        verify(api, times(2)).listNodePartitions();
+    }
+
+    private static RabbitMQCustomResource rabbit(final PartitionDetectionSpec partitionDetection) {
+        return new RabbitMQCustomResourceBuilder()
+                .withMetadata(new ObjectMetaBuilder().withName(CLUSTER_NAME).withNamespace(NAMESPACE).build())
+                .withSpec(new RabbitMQCustomResourceSpec("rabbitmq", "busybox", false, false, 3, null, null,
+                        new ClusterSpec(0.0, null, null, null, null, 0.0, null, partitionDetection), false))
+                .build();
+    }
+
+    private static NodePartitions node(final int index, final boolean running, final int... partitionedFrom) {
+        final ImmutableSet.Builder<String> partitions = ImmutableSet.builder();
+        for (final int other : partitionedFrom) {
+            partitions.add(nodeName(other));
+        }
+
+        return new NodePartitions(nodeName(index), running, partitions.build());
+    }
+
+    private static String nodeName(final int index) {
+        return String.format("rabbit@%s-%d.%s-svc-discovery.%s.svc.cluster.local", CLUSTER_NAME, index, CLUSTER_NAME, NAMESPACE);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
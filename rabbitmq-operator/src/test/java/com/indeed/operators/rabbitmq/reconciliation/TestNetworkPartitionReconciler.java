@@ -0,0 +1,349 @@
+package com.indeed.operators.rabbitmq.reconciliation;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.indeed.operators.rabbitmq.api.QueueDepth;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.controller.PodController;
+import com.indeed.operators.rabbitmq.controller.StatefulSetController;
+import com.indeed.operators.rabbitmq.controller.crd.NetworkPartitionResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQResourceController;
+import com.indeed.operators.rabbitmq.model.Labels;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceBuilder;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.crd.partition.RabbitMQNetworkPartitionCustomResourceStatus;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceBuilder;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceSpecBuilder;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQConnectionInfo;
+import com.indeed.operators.rabbitmq.resources.RabbitMQContainers;
+import com.indeed.operators.rabbitmq.resources.RabbitMQPods;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestNetworkPartitionReconciler {
+
+    private static final String NAMESPACE = "namespace";
+    private static final String CLUSTER_NAME = "myrabbit";
+    private static final String PARTITION_NAME = "myrabbit-partition";
+    private static final Reconciliation RECONCILIATION = new Reconciliation(PARTITION_NAME, CLUSTER_NAME, NAMESPACE, "type");
+
+    @Mock
+    private RabbitMQResourceController rabbitMQResourceController;
+
+    @Mock
+    private NetworkPartitionResourceController partitionResourceController;
+
+    @Mock
+    private RabbitManagementApiProvider apiProvider;
+
+    @Mock
+    private RabbitManagementApiFacade api;
+
+    @Mock
+    private RabbitMQPods rabbitMQPods;
+
+    @Mock
+    private RabbitMQContainers rabbitMQContainers;
+
+    @Mock
+    private StatefulSetController statefulSetController;
+
+    @Mock
+    private PodController podController;
+
+    private NetworkPartitionReconciler reconciler;
+    private AtomicReference<RabbitMQNetworkPartitionCustomResource> partition;
+    private RabbitMQCustomResource rabbit;
+
+    @BeforeEach
+    public void setup() {
+        reconciler = new NetworkPartitionReconciler(rabbitMQResourceController, partitionResourceController, apiProvider, rabbitMQPods,
+                rabbitMQContainers, statefulSetController, podController, new SimpleMeterRegistry(), NAMESPACE);
+
+        partition = new AtomicReference<>(partition(Lists.newArrayList(), null));
+
+        rabbit = new RabbitMQCustomResourceBuilder()
+                .withMetadata(new ObjectMetaBuilder().withName(CLUSTER_NAME).withNamespace(NAMESPACE).withLabels(new HashMap<>()).build())
+                .withSpec(new RabbitMQCustomResourceSpecBuilder().withReplicas(3).build())
+                .build();
+
+        when(partitionResourceController.get(PARTITION_NAME, NAMESPACE)).thenAnswer(invocation -> partition.get());
+        doAnswer(invocation -> {
+            partition.set(invocation.getArgument(0));
+            return null;
+        }).when(partitionResourceController).patch(any());
+    }
+
+    @Test
+    public void testEverySideIsRecordedAsDrained() {
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        when(rabbitMQPods.buildPodSpec(eq(CLUSTER_NAME), any(), any())).thenReturn(new PodSpec());
+        fakePods();
+        when(apiProvider.getApi(any())).thenReturn(api);
+        when(api.getTotalQueueMessages()).thenReturn(OptionalLong.of(0));
+
+        reconcileUntilDone();
+
+        // the broker's total was enough to tell that each side was empty
+        verify(api, never()).forEachQueueDepth(any());
+
+        final Set<Set<String>> drained = new HashSet<>(partition.get().getSpec().getDrained());
+        assertEquals(ImmutableSet.of(ImmutableSet.of("myrabbit-0", "myrabbit-1"), ImmutableSet.of("myrabbit-2")), drained);
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.PHASE_UNLOCKED, partition.get().getStatus().getPhase());
+        verify(podController).delete("myrabbit-0", NAMESPACE);
+        verify(podController).delete("myrabbit-1", NAMESPACE);
+        verify(podController).delete("myrabbit-2", NAMESPACE);
+        verify(partitionResourceController).delete(PARTITION_NAME, NAMESPACE);
+        assertEquals(new HashMap<>(), rabbit.getMetadata().getLabels());
+    }
+
+    @Test
+    public void testNextSideWaitsForThePreviousOne() {
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        when(rabbitMQPods.buildPodSpec(eq(CLUSTER_NAME), any(), any())).thenReturn(new PodSpec());
+        final Map<String, Pod> pods = fakePods();
+        when(apiProvider.getApi(any())).thenReturn(api);
+        when(api.getTotalQueueMessages()).thenThrow(new IllegalStateException("unreachable"));
+
+        for (int step = 0; step < 10; step++) {
+            reconciler.reconcile(RECONCILIATION);
+        }
+
+        assertEquals(Lists.newArrayList(), partition.get().getSpec().getDrained());
+        assertEquals(Lists.newArrayList(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINING, RabbitMQNetworkPartitionCustomResourceStatus.SIDE_PENDING),
+                partition.get().getStatus().getSides());
+        assertEquals(ImmutableSet.of("myrabbit-0", "myrabbit-1"), pods.keySet());
+        verify(partitionResourceController, never()).delete(anyString(), anyString());
+        assertEquals("network-partition", rabbit.getMetadata().getLabels().get(Labels.Indeed.LOCKED_BY));
+    }
+
+    @Test
+    public void testEachDrainPollStreamsTheQueuesOnce() {
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        when(rabbitMQPods.buildPodSpec(eq(CLUSTER_NAME), any(), any())).thenReturn(new PodSpec());
+        final Map<String, Pod> pods = fakePods();
+        pods.put("myrabbit-0", drainPod("myrabbit-0", true));
+        pods.put("myrabbit-1", drainPod("myrabbit-1", true));
+        when(apiProvider.getApi(any())).thenReturn(api);
+        // the second time, the broker hasn't collected its total yet, so only the scan can tell the side is empty
+        when(api.getTotalQueueMessages()).thenReturn(OptionalLong.of(10), OptionalLong.empty());
+        when(api.forEachQueueDepth(any()))
+                .thenAnswer(streaming(new QueueDepth("/", "orders", "rabbit@myrabbit-0", 10, 1, 20.0, 20.0)))
+                .thenAnswer(streaming(new QueueDepth("/", "orders", "rabbit@myrabbit-0", 0, 1, 0, 0)));
+        partition.get().setStatus(new RabbitMQNetworkPartitionCustomResourceStatus(
+                RabbitMQNetworkPartitionCustomResourceStatus.PHASE_DRAINING,
+                Lists.newArrayList(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINING, RabbitMQNetworkPartitionCustomResourceStatus.SIDE_PENDING),
+                null));
+
+        assertEquals(Optional.of(Duration.ofSeconds(5)), reconciler.reconcile(RECONCILIATION));
+        assertEquals(10L, (long) partition.get().getStatus().getDrains().get("myrabbit-0").getRemainingMessages());
+
+        assertEquals(Optional.of(Duration.ZERO), reconciler.reconcile(RECONCILIATION));
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINED, partition.get().getStatus().getSides().get(0));
+        verify(api, times(2)).getTotalQueueMessages();
+        verify(api, times(2)).forEachQueueDepth(any());
+        verifyNoMoreInteractions(api);
+    }
+
+    @Test
+    public void testDrainPodThatFailsWhileDrainingIsRecreated() {
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        when(rabbitMQPods.buildPodSpec(eq(CLUSTER_NAME), any(), any())).thenReturn(new PodSpec());
+        final Map<String, Pod> pods = fakePods();
+        pods.put("myrabbit-0", drainPod("myrabbit-0", true));
+        pods.put("myrabbit-1", new PodBuilder(drainPod("myrabbit-1", false)).editStatus().withPhase("Failed").endStatus().build());
+        when(apiProvider.getApi(any())).thenReturn(api);
+        when(api.getTotalQueueMessages()).thenReturn(OptionalLong.of(0));
+        partition.get().setStatus(new RabbitMQNetworkPartitionCustomResourceStatus(
+                RabbitMQNetworkPartitionCustomResourceStatus.PHASE_DRAINING,
+                Lists.newArrayList(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINING, RabbitMQNetworkPartitionCustomResourceStatus.SIDE_PENDING),
+                null));
+
+        assertEquals(Optional.of(Duration.ofSeconds(5)), reconciler.reconcile(RECONCILIATION));
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_STARTING, partition.get().getStatus().getSides().get(0));
+        verify(apiProvider, never()).getApi(any());
+
+        reconcileUntilDone();
+
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.PHASE_UNLOCKED, partition.get().getStatus().getPhase());
+        verify(podController, times(2)).delete("myrabbit-1", NAMESPACE);
+    }
+
+    @Test
+    public void testQueuesAreReadFromAnyPodOfTheSide() {
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        when(rabbitMQPods.buildPodSpec(eq(CLUSTER_NAME), any(), any())).thenReturn(new PodSpec());
+        final Map<String, Pod> pods = fakePods();
+        pods.put("myrabbit-0", drainPod("myrabbit-0", true));
+        pods.put("myrabbit-1", drainPod("myrabbit-1", true));
+        when(apiProvider.getApi(any())).thenAnswer(invocation -> {
+            if (invocation.<RabbitMQConnectionInfo>getArgument(0).getNodeName().orElse("").equals("myrabbit-0")) {
+                throw new IllegalStateException("unreachable");
+            }
+            return api;
+        });
+        when(api.getTotalQueueMessages()).thenReturn(OptionalLong.of(0));
+        partition.get().setStatus(new RabbitMQNetworkPartitionCustomResourceStatus(
+                RabbitMQNetworkPartitionCustomResourceStatus.PHASE_DRAINING,
+                Lists.newArrayList(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINING, RabbitMQNetworkPartitionCustomResourceStatus.SIDE_PENDING),
+                null));
+
+        assertEquals(Optional.of(Duration.ZERO), reconciler.reconcile(RECONCILIATION));
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINED, partition.get().getStatus().getSides().get(0));
+    }
+
+    @Test
+    public void testHealIsAbandonedOnceTheClusterIsDeleted() {
+        final Map<String, Pod> pods = fakePods();
+        pods.put("myrabbit-0", drainPod("myrabbit-0", true));
+        pods.put("myrabbit-1", drainPod("myrabbit-1", true));
+        pods.put("myrabbit-2", new PodBuilder().withNewMetadata().withName("myrabbit-2").endMetadata().build());
+        partition.get().setStatus(new RabbitMQNetworkPartitionCustomResourceStatus(
+                RabbitMQNetworkPartitionCustomResourceStatus.PHASE_DRAINING,
+                Lists.newArrayList(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINING, RabbitMQNetworkPartitionCustomResourceStatus.SIDE_PENDING),
+                null));
+
+        assertEquals(Optional.empty(), reconciler.reconcile(RECONCILIATION));
+
+        verify(podController).delete("myrabbit-0", NAMESPACE);
+        verify(podController).delete("myrabbit-1", NAMESPACE);
+        verify(podController, never()).delete("myrabbit-2", NAMESPACE);
+        verify(partitionResourceController).delete(PARTITION_NAME, NAMESPACE);
+    }
+
+    @Test
+    public void testStatefulSetIsDeletedBeforeMovingOn() {
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        partition.set(partition(Lists.newArrayList(ImmutableSet.of("myrabbit-2")), RabbitMQNetworkPartitionCustomResourceStatus.PHASE_LOCKED));
+        when(statefulSetController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(new StatefulSet(), (StatefulSet) null);
+
+        assertEquals(Optional.of(Duration.ofSeconds(5)), reconciler.reconcile(RECONCILIATION));
+        verify(statefulSetController).delete(CLUSTER_NAME, NAMESPACE);
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.PHASE_LOCKED, partition.get().getStatus().getPhase());
+
+        assertEquals(Optional.of(Duration.ZERO), reconciler.reconcile(RECONCILIATION));
+        verify(podController).delete("myrabbit-2", NAMESPACE);
+        assertEquals(RabbitMQNetworkPartitionCustomResourceStatus.PHASE_STATEFULSET_DELETED, partition.get().getStatus().getPhase());
+    }
+
+    @Test
+    public void testHealResumesFromTheRecordedStep() {
+        rabbit.getMetadata().getLabels().put(Labels.Indeed.LOCKED_BY, "network-partition");
+        when(rabbitMQResourceController.get(CLUSTER_NAME, NAMESPACE)).thenReturn(rabbit);
+        partition.set(partition(Lists.newArrayList(ImmutableSet.of("myrabbit-0", "myrabbit-1")), null));
+        partition.get().setStatus(new RabbitMQNetworkPartitionCustomResourceStatus(
+                RabbitMQNetworkPartitionCustomResourceStatus.PHASE_DRAINING,
+                Lists.newArrayList(RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DONE, RabbitMQNetworkPartitionCustomResourceStatus.SIDE_DRAINED),
+                null));
+
+        reconcileUntilDone();
+
+        verify(statefulSetController, never()).delete(anyString(), anyString());
+        verify(podController, never()).createOrUpdate(any());
+        verify(podController).delete("myrabbit-2", NAMESPACE);
+        verify(partitionResourceController).delete(PARTITION_NAME, NAMESPACE);
+        assertEquals(new HashMap<>(), rabbit.getMetadata().getLabels());
+    }
+
+    private void reconcileUntilDone() {
+        for (int step = 0; step < 20; step++) {
+            if (!reconciler.reconcile(RECONCILIATION).isPresent()) {
+                return;
+            }
+        }
+
+        fail("Heal did not finish");
+    }
+
+    /**
+     * Backs the pod controller with a map, where every pod that's created is ready straight away. The stubs are
+     * lenient, since not every test gets as far as creating or deleting pods.
+     */
+    private Map<String, Pod> fakePods() {
+        final Map<String, Pod> pods = new HashMap<>();
+
+        lenient().when(podController.get(anyString(), eq(NAMESPACE))).thenAnswer(invocation -> pods.get(invocation.<String>getArgument(0)));
+        lenient().doAnswer(invocation -> {
+            final Pod pod = ready(invocation.getArgument(0), true);
+            pods.put(pod.getMetadata().getName(), pod);
+            return pod;
+        }).when(podController).createOrUpdate(any());
+        lenient().doAnswer(invocation -> pods.remove(invocation.<String>getArgument(0)) != null).when(podController).delete(anyString(), eq(NAMESPACE));
+
+        return pods;
+    }
+
+    private static Answer<Boolean> streaming(final QueueDepth... depths) {
+        return invocation -> {
+            final Predicate<QueueDepth> visitor = invocation.getArgument(0);
+            for (final QueueDepth depth : depths) {
+                visitor.test(depth);
+            }
+            return true;
+        };
+    }
+
+    private static Pod drainPod(final String name, final boolean ready) {
+        return ready(new PodBuilder().withNewMetadata().withName(name).addToLabels(Labels.Indeed.LOCKED_BY, "network-partition").endMetadata().build(), ready);
+    }
+
+    private static Pod ready(final Pod pod, final boolean ready) {
+        return new PodBuilder(pod)
+                .withNewStatus()
+                .addNewCondition().withType("Ready").withStatus(ready ? "True" : "False").endCondition()
+                .endStatus()
+                .build();
+    }
+
+    private static RabbitMQNetworkPartitionCustomResource partition(final List<Set<String>> drained, final String phase) {
+        final RabbitMQNetworkPartitionCustomResource partition = new RabbitMQNetworkPartitionCustomResourceBuilder()
+                .withMetadata(new ObjectMetaBuilder().withName(PARTITION_NAME).withNamespace(NAMESPACE).build())
+                .withSpec(new RabbitMQNetworkPartitionCustomResourceSpec(
+                        CLUSTER_NAME,
+                        Lists.newArrayList(ImmutableSet.of("myrabbit-0", "myrabbit-1"), ImmutableSet.of("myrabbit-2")),
+                        drained,
+                        null))
+                .build();
+        partition.setStatus(new RabbitMQNetworkPartitionCustomResourceStatus(phase, null, null));
+
+        return partition;
+    }
+}
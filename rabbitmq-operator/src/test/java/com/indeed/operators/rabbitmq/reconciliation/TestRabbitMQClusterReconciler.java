@@ -1,5 +1,6 @@
 package com.indeed.operators.rabbitmq.reconciliation;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.indeed.operators.rabbitmq.controller.PersistentVolumeClaimController;
@@ -12,12 +13,15 @@ import com.indeed.operators.rabbitmq.model.Labels;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceBuilder;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceSpecBuilder;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceStatus;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.UserReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.OperatorPolicyReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.PolicyReconciler;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.RabbitMQClusterFactory;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ResourceReconciliationException;
 import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.ShovelReconciler;
+import com.indeed.operators.rabbitmq.reconciliation.rabbitmq.TopologyReconciler;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetSpecBuilder;
@@ -31,6 +35,14 @@ import java.util.Map;
 import java.util.Optional;
 
 import static com.indeed.operators.rabbitmq.Constants.RABBITMQ_STORAGE_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -75,11 +87,17 @@ public class TestRabbitMQClusterReconciler {
     @Mock
     private OperatorPolicyReconciler operatorPolicyReconciler;
 
+    @Mock
+    private TopologyReconciler topologyReconciler;
+
+    @Mock
+    private ClusterStatusUpdater statusUpdater;
+
     private RabbitMQClusterReconciler reconciler;
 
     @BeforeEach
     void setup() {
-        reconciler = new RabbitMQClusterReconciler(clusterFactory, controller, secretsController, servicesController, statefulSetController, podDisruptionBudgetController, persistentVolumeClaimController, shovelReconciler, usersReconciler, policyReconciler, operatorPolicyReconciler);
+        reconciler = new RabbitMQClusterReconciler(clusterFactory, controller, secretsController, servicesController, statefulSetController, podDisruptionBudgetController, persistentVolumeClaimController, shovelReconciler, usersReconciler, policyReconciler, operatorPolicyReconciler, topologyReconciler, statusUpdater);
     }
 
     @Test
@@ -234,4 +252,126 @@ public class TestRabbitMQClusterReconciler {
         verifyZeroInteractions(persistentVolumeClaimController);
         verifyNoMoreInteractions(persistentVolumeClaimController);
     }
+
+    @Test
+    void appliedGenerationSkipsRolloutWait() throws InterruptedException, RabbitClusterConfigurationException {
+        final Reconciliation rec = new Reconciliation(NAME, NAME, NAMESPACE, "type");
+
+        final StatefulSet statefulSet = new StatefulSet(
+                "apps/v1",
+                "StatefulSet",
+                new ObjectMetaBuilder().build(),
+                new StatefulSetSpecBuilder().withReplicas(3).build(),
+                null
+        );
+
+        final RabbitMQCustomResource resource = new RabbitMQCustomResourceBuilder()
+                .withMetadata(
+                        new ObjectMetaBuilder()
+                                .withName(NAME)
+                                .withNamespace(NAMESPACE)
+                                .withGeneration(2L)
+                                .build()
+                )
+                .withSpec(
+                        new RabbitMQCustomResourceSpecBuilder()
+                                .withReplicas(3)
+                                .build()
+                )
+                .build();
+        resource.setStatus(new RabbitMQCustomResourceStatus(2L, RabbitMQCustomResourceStatus.PHASE_READY, 3, null, null, null));
+
+        when(controller.get(rec.getResourceName(), rec.getNamespace())).thenReturn(resource);
+
+        when(clusterFactory.fromCustomResource(resource)).thenReturn(
+                RabbitMQCluster.newBuilder()
+                        .withName(NAME)
+                        .withNamespace(NAMESPACE)
+                        .withAdminSecret(null)
+                        .withErlangCookieSecret(null)
+                        .withMainService(null)
+                        .withDiscoveryService(null)
+                        .withLoadBalancerService(Optional.empty())
+                        .withNodePortService(Optional.empty())
+                        .withStatefulSet(statefulSet)
+                        .withPodDisruptionBudget(null)
+                        .withShovels(Lists.newArrayList())
+                        .withUsers(Lists.newArrayList())
+                        .withPolicies(Lists.newArrayList())
+                        .withOperatorPolicies(Lists.newArrayList())
+                        .build()
+        );
+
+        when(statefulSetController.get(NAME, NAMESPACE)).thenReturn(statefulSet);
+
+        reconciler.reconcile(rec);
+
+        verify(statefulSetController).createOrUpdate(statefulSet);
+        verify(statefulSetController, never()).waitForReady(anyString(), anyString(), anyLong(), any());
+        verify(servicesController, times(2)).createOrUpdate(null);
+        verify(podDisruptionBudgetController).createOrUpdate(null);
+        verifyZeroInteractions(persistentVolumeClaimController);
+        verify(statusUpdater).update(eq(resource), argThat(status -> status.getObservedGeneration() == 2L && RabbitMQCustomResourceStatus.PHASE_READY.equals(status.getPhase())));
+    }
+
+    @Test
+    void failedShovelsDegradeClusterWithoutStoppingPolicies() throws Exception {
+        final Reconciliation rec = new Reconciliation(NAME, NAME, NAMESPACE, "type");
+
+        final StatefulSet statefulSet = new StatefulSet(
+                "apps/v1",
+                "StatefulSet",
+                new ObjectMetaBuilder().build(),
+                new StatefulSetSpecBuilder().withReplicas(3).build(),
+                null
+        );
+
+        final RabbitMQCustomResource resource = new RabbitMQCustomResourceBuilder()
+                .withMetadata(
+                        new ObjectMetaBuilder()
+                                .withName(NAME)
+                                .withNamespace(NAMESPACE)
+                                .withGeneration(2L)
+                                .build()
+                )
+                .withSpec(
+                        new RabbitMQCustomResourceSpecBuilder()
+                                .withReplicas(3)
+                                .build()
+                )
+                .build();
+        resource.setStatus(new RabbitMQCustomResourceStatus(2L, RabbitMQCustomResourceStatus.PHASE_READY, 3, null, null, null));
+
+        when(controller.get(rec.getResourceName(), rec.getNamespace())).thenReturn(resource);
+
+        final RabbitMQCluster cluster = RabbitMQCluster.newBuilder()
+                .withName(NAME)
+                .withNamespace(NAMESPACE)
+                .withAdminSecret(null)
+                .withErlangCookieSecret(null)
+                .withMainService(null)
+                .withDiscoveryService(null)
+                .withLoadBalancerService(Optional.empty())
+                .withNodePortService(Optional.empty())
+                .withStatefulSet(statefulSet)
+                .withPodDisruptionBudget(null)
+                .withShovels(Lists.newArrayList())
+                .withUsers(Lists.newArrayList())
+                .withPolicies(Lists.newArrayList())
+                .withOperatorPolicies(Lists.newArrayList())
+                .build();
+        when(clusterFactory.fromCustomResource(resource)).thenReturn(cluster);
+
+        when(statefulSetController.get(NAME, NAMESPACE)).thenReturn(statefulSet);
+
+        final ResourceReconciliationException failure = new ResourceReconciliationException(NAME, "shovel", ImmutableMap.of("myshovel", new RuntimeException("boom")));
+        doThrow(failure).when(shovelReconciler).reconcile(cluster);
+
+        reconciler.reconcile(rec);
+
+        verify(policyReconciler).reconcile(cluster);
+        verify(operatorPolicyReconciler).reconcile(cluster);
+        verify(topologyReconciler).reconcile(cluster);
+        verify(statusUpdater).update(eq(resource), argThat(status -> RabbitMQCustomResourceStatus.PHASE_DEGRADED.equals(status.getPhase()) && failure.getMessage().equals(status.getLastError())));
+    }
 }
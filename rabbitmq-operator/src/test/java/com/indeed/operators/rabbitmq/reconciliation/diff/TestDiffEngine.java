@@ -0,0 +1,156 @@
+package com.indeed.operators.rabbitmq.reconciliation.diff;
+
+import com.google.common.collect.Lists;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestDiffEngine {
+
+    private ExecutorService executor;
+    private MeterRegistry meterRegistry;
+    private DiffEngine diffEngine;
+    private List<String> applied;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+        diffEngine = new DiffEngine(new BoundedConcurrencyExecutor(executor), meterRegistry, 4);
+        applied = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSameNameInDifferentVhosts() throws Exception {
+        final List<Resource> desired = Lists.newArrayList(new Resource("vhost1", "name", "a"), new Resource("vhost2", "name", "a"));
+        final List<Resource> existing = Lists.newArrayList(new Resource("vhost1", "name", "a"), new Resource("vhost3", "name", "a"));
+
+        final DiffResult result = diffEngine.reconcile("mycluster", buildDiff().build(), desired, existing);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(1, result.getCount(ChangeSet.Type.CREATE));
+        assertEquals(1, result.getCount(ChangeSet.Type.DELETE));
+        assertEquals(0, result.getCount(ChangeSet.Type.UPDATE));
+        assertEquals(1, result.getCount(ChangeSet.Type.NOOP));
+        assertEquals(Lists.newArrayList("delete name in vhost vhost3", "create name in vhost vhost2"), applied);
+    }
+
+    @Test
+    public void testUpdateUsesEquality() throws Exception {
+        final List<Resource> desired = Lists.newArrayList(new Resource("vhost", "changed", "new"), new Resource("vhost", "unchanged", "a"));
+        final List<Resource> existing = Lists.newArrayList(new Resource("vhost", "changed", "old"), new Resource("vhost", "unchanged", "a"));
+
+        final DiffResult result = diffEngine.reconcile("mycluster", buildDiff().build(), desired, existing);
+
+        assertEquals(1, result.getCount(ChangeSet.Type.UPDATE));
+        assertEquals(1, result.getCount(ChangeSet.Type.NOOP));
+        assertEquals(Collections.singletonList("update changed in vhost vhost from old to new"), applied);
+    }
+
+    @Test
+    public void testDuplicateDesiredKeysAreRejected() {
+        final List<Resource> desired = Lists.newArrayList(new Resource("vhost", "name", "a"), new Resource("vhost", "name", "b"));
+        final List<Resource> existing = Lists.newArrayList(new Resource("vhost", "name", "a"));
+
+        assertThrows(IllegalArgumentException.class, () -> diffEngine.reconcile("mycluster", buildDiff().build(), desired, existing));
+        assertTrue(applied.isEmpty());
+    }
+
+    @Test
+    public void testPhaseOrder() throws Exception {
+        final List<Resource> desired = Lists.newArrayList(new Resource("vhost", "new", "a"), new Resource("vhost", "changed", "new"));
+        final List<Resource> existing = Lists.newArrayList(new Resource("vhost", "changed", "old"), new Resource("vhost", "obsolete", "a"));
+
+        diffEngine.reconcile("mycluster", buildDiff().withPhaseOrder(ChangeSet.Type.CREATE, ChangeSet.Type.UPDATE, ChangeSet.Type.DELETE).build(), desired, existing);
+
+        assertEquals(Lists.newArrayList(
+                "create new in vhost vhost",
+                "update changed in vhost vhost from old to new",
+                "delete obsolete in vhost vhost"
+        ), applied);
+    }
+
+    @Test
+    public void testPhaseOrderMustNameEveryPhase() {
+        assertThrows(IllegalArgumentException.class, () -> buildDiff().withPhaseOrder(ChangeSet.Type.CREATE, ChangeSet.Type.CREATE, ChangeSet.Type.DELETE));
+    }
+
+    @Test
+    public void testScopeLeavesOtherKeysAlone() throws Exception {
+        final List<Resource> desired = Lists.newArrayList(new Resource("vhost", "other", "new"));
+        final List<Resource> existing = Lists.newArrayList(new Resource("vhost", "deleted", "a"), new Resource("vhost", "other", "old"));
+
+        final DiffResult result = diffEngine.reconcile("mycluster", buildDiff().build(), desired, existing, ResourceKey.of("vhost", "deleted")::equals);
+
+        assertEquals(1, result.getCount(ChangeSet.Type.DELETE));
+        assertEquals(0, result.getCount(ChangeSet.Type.UPDATE));
+        assertEquals(Collections.singletonList("delete deleted in vhost vhost"), applied);
+    }
+
+    @Test
+    public void testFailuresAreCollected() throws Exception {
+        final List<Resource> desired = Lists.newArrayList(new Resource("vhost", "good", "a"), new Resource("vhost", "bad", "a"));
+
+        final ResourceDiff<Resource, Resource> diff = buildDiff()
+                .onCreate(resource -> {
+                    if (resource.name.equals("bad")) {
+                        throw new IllegalStateException("broken");
+                    }
+                    applied.add("create " + resource.name);
+                })
+                .build();
+
+        final DiffResult result = diffEngine.reconcile("mycluster", diff, desired, Collections.emptyList());
+
+        assertFalse(result.isSuccessful());
+        assertEquals(Collections.singleton(ResourceKey.of("vhost", "bad")), result.getFailures().keySet());
+        assertEquals(Collections.singletonList("create good"), applied);
+        assertEquals(1, meterRegistry.get("rabbitmq.reconciliation.changes").tags("kind", "thing", "change", "create", "result", "success").counter().count());
+        assertEquals(1, meterRegistry.get("rabbitmq.reconciliation.changes").tags("kind", "thing", "change", "create", "result", "failure").counter().count());
+    }
+
+    private ResourceDiff.Builder<Resource, Resource> buildDiff() {
+        return ResourceDiff.<Resource>newBuilder("thing", resource -> ResourceKey.of(resource.vhost, resource.name))
+                .withEquality((desired, existing) -> desired.value.equals(existing.value))
+                .onCreate(resource -> applied.add("create " + resource.key()))
+                .onUpdate((desired, existing) -> applied.add(String.format("update %s from %s to %s", desired.key(), existing.value, desired.value)))
+                .onDelete(resource -> applied.add("delete " + resource.key()))
+                .withConcurrency(1);
+    }
+
+    private static class Resource {
+
+        private final String vhost;
+        private final String name;
+        private final String value;
+
+        Resource(final String vhost, final String name, final String value) {
+            this.vhost = vhost;
+            this.name = name;
+            this.value = value;
+        }
+
+        ResourceKey key() {
+            return ResourceKey.of(vhost, name);
+        }
+    }
+}
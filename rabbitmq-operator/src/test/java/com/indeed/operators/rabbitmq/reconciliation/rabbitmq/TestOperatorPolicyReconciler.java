@@ -3,19 +3,25 @@ package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
 import com.google.common.collect.Lists;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.OperatorPolicyDefinitionSpec;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.OperatorPolicySpec;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
 import com.indeed.rabbitmq.admin.pojo.OperatorPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -34,11 +40,22 @@ public class TestOperatorPolicyReconciler {
     @Mock
     private RabbitManagementApiProvider apiProvider;
 
-    @InjectMocks
+    private ExecutorService executor;
     private OperatorPolicyReconciler operatorPolicyReconciler;
 
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        operatorPolicyReconciler = new OperatorPolicyReconciler(apiProvider, new DiffEngine(new BoundedConcurrencyExecutor(executor), new SimpleMeterRegistry(), 4));
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
     @Test
-    public void testReconcile_newOperatorPolicy() {
+    public void testReconcile_newOperatorPolicy() throws Exception {
         final OperatorPolicyDefinitionSpec operatorPolicyDefinitionSpec = new OperatorPolicyDefinitionSpec(5L, null, null, null);
         final OperatorPolicySpec desiredOperatorPolicy = new OperatorPolicySpec("vhost", "name", "pattern", "queues", operatorPolicyDefinitionSpec, 1);
         final RabbitMQCluster cluster = buildCluster(Lists.newArrayList(desiredOperatorPolicy));
@@ -63,7 +80,7 @@ public class TestOperatorPolicyReconciler {
     }
 
     @Test
-    public void testReconcile_updateOperatorPolicy() {
+    public void testReconcile_updateOperatorPolicy() throws Exception {
         final OperatorPolicyDefinitionSpec operatorPolicyDefinitionSpec = new OperatorPolicyDefinitionSpec(5L, null, null, null);
         final OperatorPolicySpec desiredOperatorPolicy = new OperatorPolicySpec("vhost", "name", "newpattern", "queues", operatorPolicyDefinitionSpec, 5);
         final OperatorPolicy existingOperatorPolicy = new OperatorPolicy()
@@ -95,7 +112,7 @@ public class TestOperatorPolicyReconciler {
     }
 
     @Test
-    public void testReconcile_skipUpToDateOperatorPolicy() {
+    public void testReconcile_skipUpToDateOperatorPolicy() throws Exception {
         final OperatorPolicyDefinitionSpec operatorPolicyDefinitionSpec = new OperatorPolicyDefinitionSpec(5L, null, null, null);
         final OperatorPolicySpec desiredOperatorPolicy = new OperatorPolicySpec("vhost", "name", "pattern", "queues", operatorPolicyDefinitionSpec, 5);
         final OperatorPolicy existingOperatorPolicy = new OperatorPolicy()
@@ -118,7 +135,7 @@ public class TestOperatorPolicyReconciler {
     }
 
     @Test
-    public void testRecocile_deleteUnknownOperatorPolicy() {
+    public void testRecocile_deleteUnknownOperatorPolicy() throws Exception {
         final OperatorPolicyDefinitionSpec operatorPolicyDefinitionSpec = new OperatorPolicyDefinitionSpec(5L, null, null, null);
         final OperatorPolicySpec desiredOperatorPolicy = new OperatorPolicySpec("vhost", "name", "pattern", "queues", operatorPolicyDefinitionSpec, 1);
         final OperatorPolicy existingOperatorPolicy = new OperatorPolicy()
@@ -3,22 +3,29 @@ package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
 import com.google.common.collect.Lists;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PolicyDefinitionSpec;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PolicySpec;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
 import com.indeed.rabbitmq.admin.pojo.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,11 +41,22 @@ public class TestPolicyReconciler {
     @Mock
     private RabbitManagementApiProvider apiProvider;
 
-    @InjectMocks
+    private ExecutorService executor;
     private PolicyReconciler policyReconciler;
 
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        policyReconciler = new PolicyReconciler(apiProvider, new DiffEngine(new BoundedConcurrencyExecutor(executor), new SimpleMeterRegistry(), 4));
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
     @Test
-    public void testReconcile_newPolicy() {
+    public void testReconcile_newPolicy() throws Exception {
         final PolicyDefinitionSpec policyDefinitionSpec = new PolicyDefinitionSpec("alt exchange", null, null, null, null, null, null, null, null, null, null, null, null);
         final PolicySpec desiredPolicy = new PolicySpec("vhost", "name", "pattern", "queues", policyDefinitionSpec, 1);
         final RabbitMQCluster cluster = buildCluster(Lists.newArrayList(desiredPolicy));
@@ -63,7 +81,23 @@ public class TestPolicyReconciler {
     }
 
     @Test
-    public void testReconcile_updatePolicy() {
+    public void testReconcile_failedPolicyIsReported() {
+        final PolicyDefinitionSpec policyDefinitionSpec = new PolicyDefinitionSpec("alt exchange", null, null, null, null, null, null, null, null, null, null, null, null);
+        final PolicySpec desiredPolicy = new PolicySpec("vhost", "name", "pattern", "queues", policyDefinitionSpec, 1);
+        final RabbitMQCluster cluster = buildCluster(Lists.newArrayList(desiredPolicy));
+
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        when(apiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listPolicies()).thenReturn(Collections.emptyList());
+        when(api.createPolicy(eq("vhost"), eq("name"), any())).thenThrow(new RuntimeException("boom"));
+
+        final ResourceReconciliationException e = assertThrows(ResourceReconciliationException.class, () -> policyReconciler.reconcile(cluster));
+        assertEquals(1, e.getFailures().size());
+    }
+
+    @Test
+    public void testReconcile_updatePolicy() throws Exception {
         final PolicyDefinitionSpec policyDefinitionSpec = new PolicyDefinitionSpec("new alt exchange", null, null, null, null, null, null, null, null, null, null, null, null);
         final PolicySpec desiredPolicy = new PolicySpec("vhost", "name", "newpattern", "exchanges", policyDefinitionSpec, 5);
         final Policy existingPolicy = new Policy()
@@ -95,7 +129,7 @@ public class TestPolicyReconciler {
     }
 
     @Test
-    public void testReconcile_skipUpToDatePolicy() {
+    public void testReconcile_skipUpToDatePolicy() throws Exception {
         final PolicyDefinitionSpec policyDefinitionSpec = new PolicyDefinitionSpec("new alt exchange", null, null, null, null, null, null, null, null, null, null, null, null);
         final PolicySpec desiredPolicy = new PolicySpec("vhost", "name", "pattern", "queues", policyDefinitionSpec, 5);
         final Policy existingPolicy = new Policy()
@@ -118,7 +152,7 @@ public class TestPolicyReconciler {
     }
 
     @Test
-    public void testRecocile_deleteUnknownPolicy() {
+    public void testRecocile_deleteUnknownPolicy() throws Exception {
         final PolicyDefinitionSpec policyDefinitionSpec = new PolicyDefinitionSpec("alt exchange", null, null, null, null, null, null, null, null, null, null, null, null);
         final PolicySpec desiredPolicy = new PolicySpec("vhost", "name", "pattern", "queues", policyDefinitionSpec, 1);
         final Policy existingPolicy = new Policy()
@@ -0,0 +1,128 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import com.google.common.collect.Lists;
+import com.indeed.operators.rabbitmq.controller.SecretsController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQPolicyResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQShovelResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQUserResourceController;
+import com.indeed.operators.rabbitmq.model.Labels;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.ClusterSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceBuilder;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.RabbitMQStorageResources;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.UserSpec;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.resources.RabbitMQContainers;
+import com.indeed.operators.rabbitmq.resources.RabbitMQPods;
+import com.indeed.operators.rabbitmq.resources.RabbitMQSecrets;
+import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestRabbitMQClusterFactory {
+
+    private static final String NAMESPACE = "namespace";
+    private static final String CLUSTER_NAME = "myrabbit";
+    private static final String USERNAME = "myuser";
+    private static final Map<String, String> INSTANCE_LABEL = Collections.singletonMap(Labels.Kubernetes.INSTANCE, CLUSTER_NAME);
+
+    @Mock
+    private RabbitMQContainers rabbitMQContainers;
+
+    @Mock
+    private RabbitMQPods rabbitMQPods;
+
+    @Mock
+    private RabbitMQSecrets rabbitMQSecrets;
+
+    @Mock
+    private RabbitMQServices rabbitMQServices;
+
+    @Mock
+    private SecretsController secretsController;
+
+    @Mock
+    private RabbitMQUserResourceController userResourceController;
+
+    @Mock
+    private RabbitMQPolicyResourceController policyResourceController;
+
+    @Mock
+    private RabbitMQShovelResourceController shovelResourceController;
+
+    private RabbitMQClusterFactory clusterFactory;
+
+    @BeforeEach
+    public void setup() {
+        clusterFactory = new RabbitMQClusterFactory(Collections.emptyList(), rabbitMQContainers, rabbitMQPods, rabbitMQSecrets, rabbitMQServices,
+                secretsController, userResourceController, policyResourceController, shovelResourceController);
+    }
+
+    @Test
+    public void testClusterSecretsAreListedOnce() throws Exception {
+        final Secret adminSecret = secret(RabbitMQSecrets.getClusterSecretName(CLUSTER_NAME));
+        final Secret erlangCookieSecret = secret(RabbitMQSecrets.getErlangCookieSecretName(CLUSTER_NAME));
+        final Secret userSecret = secret(RabbitMQSecrets.getUserSecretName(USERNAME, CLUSTER_NAME));
+        when(secretsController.getAll(NAMESPACE, INSTANCE_LABEL)).thenReturn(Lists.newArrayList(adminSecret, erlangCookieSecret, userSecret));
+
+        final RabbitMQCluster cluster = clusterFactory.fromCustomResource(rabbit());
+
+        assertSame(adminSecret, cluster.getAdminSecret());
+        assertSame(erlangCookieSecret, cluster.getErlangCookieSecret());
+        assertSame(userSecret, cluster.getUsers().get(0).getUserSecret());
+        verify(secretsController).getAll(NAMESPACE, INSTANCE_LABEL);
+        verify(secretsController, never()).get(anyString(), anyString());
+        verify(rabbitMQSecrets, never()).createUserSecret(anyString(), any());
+    }
+
+    @Test
+    public void testUnlabelledSecretIsFoundByName() throws Exception {
+        final Secret userSecret = new SecretBuilder()
+                .withNewMetadata().withName(RabbitMQSecrets.getUserSecretName(USERNAME, CLUSTER_NAME)).withNamespace(NAMESPACE).endMetadata()
+                .build();
+        when(secretsController.getAll(NAMESPACE, INSTANCE_LABEL)).thenReturn(Lists.newArrayList(
+                secret(RabbitMQSecrets.getClusterSecretName(CLUSTER_NAME)),
+                secret(RabbitMQSecrets.getErlangCookieSecretName(CLUSTER_NAME))
+        ));
+        when(secretsController.get(RabbitMQSecrets.getUserSecretName(USERNAME, CLUSTER_NAME), NAMESPACE)).thenReturn(userSecret);
+
+        final RabbitMQCluster cluster = clusterFactory.fromCustomResource(rabbit());
+
+        assertSame(userSecret, cluster.getUsers().get(0).getUserSecret());
+        verify(rabbitMQSecrets, never()).createUserSecret(anyString(), any());
+    }
+
+    private static RabbitMQCustomResource rabbit() {
+        return new RabbitMQCustomResourceBuilder()
+                .withMetadata(new ObjectMetaBuilder().withName(CLUSTER_NAME).withNamespace(NAMESPACE).build())
+                .withSpec(new RabbitMQCustomResourceSpec("rabbitmq", "busybox", false, false, 3, null,
+                        new RabbitMQStorageResources("standard", new Quantity("1Gi")),
+                        new ClusterSpec(0.0, Lists.newArrayList(new UserSpec(USERNAME, null, null)), null, null, null, 0.0, null, null), false))
+                .build();
+    }
+
+    private static Secret secret(final String name) {
+        return new SecretBuilder()
+                .withNewMetadata().withName(name).withNamespace(NAMESPACE).addToLabels(Labels.Kubernetes.INSTANCE, CLUSTER_NAME).endMetadata()
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import com.google.common.collect.ImmutableList;
+import com.indeed.operators.rabbitmq.api.ShovelStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestShovelStatusMonitor {
+
+    private static final String CLUSTER_NAME = "mycluster";
+
+    private MeterRegistry meterRegistry;
+    private MutableClock clock;
+    private ShovelStatusMonitor monitor;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2019-01-01T00:00:00Z"));
+        monitor = new ShovelStatusMonitor(meterRegistry, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    public void testStuckOnlyAfterThreshold() {
+        assertTrue(monitor.update(CLUSTER_NAME, ImmutableList.of(status("terminated", null))).isEmpty());
+
+        clock.advance(Duration.ofMinutes(4));
+        assertTrue(monitor.update(CLUSTER_NAME, ImmutableList.of(status("starting", null))).isEmpty());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, monitor.update(CLUSTER_NAME, ImmutableList.of(status("terminated", null))).size());
+    }
+
+    @Test
+    public void testRunningResetsThreshold() {
+        monitor.update(CLUSTER_NAME, ImmutableList.of(status("terminated", null)));
+
+        clock.advance(Duration.ofMinutes(4));
+        monitor.update(CLUSTER_NAME, ImmutableList.of(status("running", null)));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(monitor.update(CLUSTER_NAME, ImmutableList.of(status("terminated", null))).isEmpty());
+    }
+
+    @Test
+    public void testRestartedResetsThreshold() {
+        monitor.update(CLUSTER_NAME, ImmutableList.of(status("terminated", null)));
+
+        clock.advance(Duration.ofMinutes(5));
+        monitor.restarted(CLUSTER_NAME, "myvhost", "myshovel");
+
+        assertTrue(monitor.update(CLUSTER_NAME, ImmutableList.of(status("starting", null))).isEmpty());
+    }
+
+    @Test
+    public void testMetrics() {
+        monitor.update(CLUSTER_NAME, ImmutableList.of(status("running", 100L)));
+        clock.advance(Duration.ofSeconds(10));
+        monitor.update(CLUSTER_NAME, ImmutableList.of(status("running", 600L)));
+
+        assertEquals(1, meterRegistry.get("rabbitmq.shovel.running").tag("shovel", "myshovel").gauge().value());
+        assertEquals(50, meterRegistry.get("rabbitmq.shovel.transfer.rate").tag("shovel", "myshovel").gauge().value());
+
+        monitor.update(CLUSTER_NAME, ImmutableList.of());
+
+        assertNull(meterRegistry.find("rabbitmq.shovel.running").tag("shovel", "myshovel").gauge());
+    }
+
+    private static ShovelStatus status(final String state, final Long forwarded) {
+        return new ShovelStatus("myshovel", "myvhost", "dynamic", state, "rabbit@node-0", forwarded == null ? OptionalLong.empty() : OptionalLong.of(forwarded));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
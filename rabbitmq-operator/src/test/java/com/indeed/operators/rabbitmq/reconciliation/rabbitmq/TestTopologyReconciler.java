@@ -0,0 +1,158 @@
+package com.indeed.operators.rabbitmq.reconciliation.rabbitmq;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.indeed.operators.rabbitmq.api.BrokerBinding;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQBindingResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQExchangeResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQQueueResourceController;
+import com.indeed.operators.rabbitmq.controller.crd.RabbitMQVhostResourceController;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
+import com.indeed.operators.rabbitmq.model.crd.topology.BindingSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.QueueSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQBindingCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQBindingCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQQueueCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQQueueCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQVhostCustomResource;
+import com.indeed.operators.rabbitmq.model.crd.topology.RabbitMQVhostCustomResourceSpec;
+import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestTopologyReconciler {
+
+    private static final String NAMESPACE = "ns";
+
+    @Mock
+    private RabbitManagementApiProvider apiProvider;
+
+    @Mock
+    private RabbitMQVhostResourceController vhostController;
+
+    @Mock
+    private RabbitMQExchangeResourceController exchangeController;
+
+    @Mock
+    private RabbitMQQueueResourceController queueController;
+
+    @Mock
+    private RabbitMQBindingResourceController bindingController;
+
+    private ExecutorService executor;
+    private TopologyReconciler topologyReconciler;
+    private RabbitMQCluster cluster;
+    private RabbitManagementApiFacade api;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        topologyReconciler = new TopologyReconciler(apiProvider, vhostController, exchangeController, queueController, bindingController,
+                new DiffEngine(new BoundedConcurrencyExecutor(executor), new SimpleMeterRegistry(), 4));
+        cluster = RabbitMQCluster.newBuilder()
+                .withName("mycluster")
+                .withNamespace(NAMESPACE)
+                .build();
+        api = mock(RabbitManagementApiFacade.class);
+
+        when(apiProvider.getApi(cluster)).thenReturn(api);
+        when(vhostController.getAll(NAMESPACE)).thenReturn(Collections.emptyList());
+        when(exchangeController.getAll(NAMESPACE)).thenReturn(Collections.emptyList());
+        when(queueController.getAll(NAMESPACE)).thenReturn(Collections.emptyList());
+        when(bindingController.getAll(NAMESPACE)).thenReturn(Collections.emptyList());
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReconcile_declaresMissingTopology() throws Exception {
+        final QueueSpec queue = new QueueSpec("orders", "billing", null, null, null);
+        final BindingSpec binding = new BindingSpec("orders", "order-events", "billing", BindingSpec.QUEUE, "order.created", null);
+
+        when(vhostController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(
+                new RabbitMQVhostCustomResource(new RabbitMQVhostCustomResourceSpec("mycluster", "orders")),
+                new RabbitMQVhostCustomResource(new RabbitMQVhostCustomResourceSpec("othercluster", "other"))
+        ));
+        when(queueController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(
+                new RabbitMQQueueCustomResource(new RabbitMQQueueCustomResourceSpec("mycluster", "orders", "billing", null, null, null))
+        ));
+        when(bindingController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(
+                new RabbitMQBindingCustomResource(new RabbitMQBindingCustomResourceSpec("mycluster", "orders", "order-events", "billing", "queue", "order.created", null))
+        ));
+        when(api.listVirtualHostNames()).thenReturn(Lists.newArrayList("/"));
+        when(api.listQueueSpecs()).thenReturn(Lists.newArrayList(new QueueSpec("orders", "declared-by-an-app", null, null, null)));
+        when(api.listBrokerBindings()).thenReturn(Collections.emptyList());
+
+        topologyReconciler.reconcile(cluster);
+
+        verify(api).createVirtualHost("orders");
+        verify(api, never()).createVirtualHost("other");
+        verify(api).declareQueue(queue);
+        verify(api).declareBinding(binding);
+        verify(api, never()).deleteQueue(anyString(), anyString());
+        verify(api, never()).deleteVirtualHost(anyString());
+        verify(api, never()).listExchangeSpecs();
+    }
+
+    @Test
+    public void testReconcile_changedQueueIsNotRedeclared() throws Exception {
+        when(queueController.getAll(NAMESPACE)).thenReturn(Lists.newArrayList(
+                new RabbitMQQueueCustomResource(new RabbitMQQueueCustomResourceSpec("mycluster", "orders", "billing", true, null, null))
+        ));
+        when(api.listQueueSpecs()).thenReturn(Lists.newArrayList(new QueueSpec("orders", "billing", false, null, null)));
+
+        topologyReconciler.reconcile(cluster);
+
+        verify(api, never()).declareQueue(any());
+        verify(api, never()).deleteQueue(anyString(), anyString());
+    }
+
+    @Test
+    public void testReconcile_deletesOnlyTheDeletedKey() throws Exception {
+        final QueueSpec deleted = new QueueSpec("orders", "billing", null, null, null);
+
+        when(api.listQueueSpecs()).thenReturn(Lists.newArrayList(deleted, new QueueSpec("orders", "declared-by-an-app", null, null, null)));
+
+        topologyReconciler.reconcile(cluster, TopologyReconciler.Kind.QUEUE, TopologyReconciler.getQueueKey(deleted)::equals);
+
+        verify(api).deleteQueue("orders", "billing");
+        verify(api, never()).deleteQueue("orders", "declared-by-an-app");
+        verify(api, never()).listExchangeSpecs();
+        verify(api, never()).listBrokerBindings();
+    }
+
+    @Test
+    public void testReconcile_deletedBindingUsesItsPropertiesKey() throws Exception {
+        final BindingSpec deleted = new BindingSpec("orders", "order-events", "billing", BindingSpec.QUEUE, "order.created", ImmutableMap.of("x-match", "all"));
+        final BrokerBinding existing = new BrokerBinding(deleted, "order.created~abc");
+
+        when(api.listBrokerBindings()).thenReturn(Lists.newArrayList(existing));
+
+        topologyReconciler.reconcile(cluster, TopologyReconciler.Kind.BINDING, TopologyReconciler.getBindingKey(deleted)::equals);
+
+        verify(api).deleteBinding(existing);
+    }
+}
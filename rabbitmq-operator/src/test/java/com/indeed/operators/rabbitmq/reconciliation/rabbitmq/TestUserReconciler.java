@@ -4,13 +4,17 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.indeed.operators.rabbitmq.Constants;
 import com.indeed.operators.rabbitmq.api.RabbitMQPasswordConverter;
+import com.indeed.operators.rabbitmq.api.RabbitManagementApiException;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiFacade;
 import com.indeed.operators.rabbitmq.api.RabbitManagementApiProvider;
 import com.indeed.operators.rabbitmq.controller.SecretsController;
+import com.indeed.operators.rabbitmq.executor.BoundedConcurrencyExecutor;
+import com.indeed.operators.rabbitmq.model.crd.rabbitmq.PasswordHashingAlgorithm;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.VhostOperationPermissions;
 import com.indeed.operators.rabbitmq.model.crd.rabbitmq.VhostPermissions;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQCluster;
 import com.indeed.operators.rabbitmq.model.rabbitmq.RabbitMQUser;
+import com.indeed.operators.rabbitmq.reconciliation.diff.DiffEngine;
 import com.indeed.operators.rabbitmq.resources.RabbitMQSecrets;
 import com.indeed.operators.rabbitmq.resources.RabbitMQServices;
 import com.indeed.rabbitmq.admin.pojo.Permission;
@@ -20,21 +24,27 @@ import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -55,11 +65,22 @@ public class TestUserReconciler {
     @Mock
     private RabbitMQPasswordConverter passwordConverter;
 
-    @InjectMocks
+    private ExecutorService executor;
     private UserReconciler userReconciler;
 
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        userReconciler = new UserReconciler(secretsController, managementApiProvider, passwordConverter, new DiffEngine(new BoundedConcurrencyExecutor(executor), new SimpleMeterRegistry(), 4), 4);
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
     @Test
-    public void testReconcile_createMissingUser() {
+    public void testReconcile_createMissingUser() throws Exception {
         final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
 
         final RabbitMQUser user = generateRabbitMQUser(Collections.emptyList(), Collections.emptyList());
@@ -69,17 +90,17 @@ public class TestUserReconciler {
         when(api.listUsers()).thenReturn(Collections.emptyList());
         when(secretsController.createOrUpdate(user.getUserSecret())).thenReturn(user.getUserSecret());
         when(secretsController.decodeSecretPayload("password")).thenReturn("password");
-        when(passwordConverter.convertPasswordToHash("password")).thenReturn("password-hash");
+        when(passwordConverter.convertPasswordToHash("password", PasswordHashingAlgorithm.SHA256)).thenReturn("password-hash");
 
         userReconciler.reconcile(cluster);
 
         final User rabbitUser = new User().withName("username").withPasswordHash("password-hash").withTags("");
 
-        verify(api).createUser("username", rabbitUser);
+        verify(api).createUser("username", rabbitUser, PasswordHashingAlgorithm.SHA256);
     }
 
     @Test
-    public void testReconcile_updateUser() {
+    public void testReconcile_updateUser() throws Exception {
         final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
 
         final RabbitMQUser rabbitmqUser = generateRabbitMQUser(Collections.emptyList(), Lists.newArrayList("newtag1", "newtag2"));
@@ -89,17 +110,97 @@ public class TestUserReconciler {
         when(managementApiProvider.getApi(cluster)).thenReturn(api);
         when(api.listUsers()).thenReturn(Lists.newArrayList(user));
         when(secretsController.decodeSecretPayload("password")).thenReturn("password");
-        when(passwordConverter.convertPasswordToHash("password")).thenReturn("new-password-hash");
+        when(passwordConverter.convertPasswordToHash("password", PasswordHashingAlgorithm.SHA256)).thenReturn("new-password-hash");
 
         userReconciler.reconcile(cluster);
 
         final User rabbitUser = new User().withName("username").withPasswordHash("new-password-hash").withTags("newtag1,newtag2");
 
-        verify(api).createUser("username", rabbitUser);
+        verify(api).createUser("username", rabbitUser, PasswordHashingAlgorithm.SHA256);
+    }
+
+    @Test
+    public void testReconcile_skipUnchangedUser() throws Exception {
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        final RabbitMQUser rabbitmqUser = generateRabbitMQUser(Collections.emptyList(), Lists.newArrayList("tag1", "tag2"));
+        final RabbitMQCluster cluster = generateCluster(Lists.newArrayList(rabbitmqUser));
+        final User user = new User().withName("username").withPasswordHash("password-hash").withTags("tag2,tag1");
+
+        when(managementApiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listUsers()).thenReturn(Lists.newArrayList(user));
+        when(secretsController.decodeSecretPayload("password")).thenReturn("password");
+        when(passwordConverter.passwordMatchesHash("password", "password-hash", PasswordHashingAlgorithm.SHA256)).thenReturn(true);
+
+        userReconciler.reconcile(cluster);
+
+        verify(api, never()).createUser(anyString(), any(User.class), any(PasswordHashingAlgorithm.class));
+        verify(passwordConverter, never()).convertPasswordToHash(anyString(), any(PasswordHashingAlgorithm.class));
+    }
+
+    @Test
+    public void testReconcile_skipUnchangedUserWithoutTags() throws Exception {
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        final RabbitMQUser rabbitmqUser = generateRabbitMQUser(Collections.emptyList(), Collections.emptyList());
+        final RabbitMQCluster cluster = generateCluster(Lists.newArrayList(rabbitmqUser));
+        final User user = new User().withName("username").withPasswordHash("password-hash").withTags("");
+
+        when(managementApiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listUsers()).thenReturn(Lists.newArrayList(user));
+        when(secretsController.decodeSecretPayload("password")).thenReturn("password");
+        when(passwordConverter.passwordMatchesHash("password", "password-hash", PasswordHashingAlgorithm.SHA256)).thenReturn(true);
+
+        userReconciler.reconcile(cluster);
+
+        verify(api, never()).createUser(anyString(), any(User.class), any(PasswordHashingAlgorithm.class));
+    }
+
+    @Test
+    public void testReconcile_rotatedPassword() throws Exception {
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        final RabbitMQUser rabbitmqUser = generateRabbitMQUser(Collections.emptyList(), Lists.newArrayList("tag1"));
+        final RabbitMQCluster cluster = generateCluster(Lists.newArrayList(rabbitmqUser));
+        final User user = new User().withName("username").withPasswordHash("old-password-hash").withTags("tag1");
+
+        when(managementApiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listUsers()).thenReturn(Lists.newArrayList(user));
+        when(secretsController.decodeSecretPayload("password")).thenReturn("password");
+        when(passwordConverter.passwordMatchesHash("password", "old-password-hash", PasswordHashingAlgorithm.SHA256)).thenReturn(false);
+        when(passwordConverter.convertPasswordToHash("password", PasswordHashingAlgorithm.SHA256)).thenReturn("new-password-hash");
+
+        userReconciler.reconcile(cluster);
+
+        verify(api).createUser("username", new User().withName("username").withPasswordHash("new-password-hash").withTags("tag1"), PasswordHashingAlgorithm.SHA256);
     }
 
     @Test
-    public void testReconcile_updateVhost() {
+    public void testReconcile_clusterHashingAlgorithm() throws Exception {
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        final RabbitMQUser rabbitmqUser = generateRabbitMQUser(Collections.emptyList(), Collections.emptyList());
+        final RabbitMQCluster cluster = RabbitMQCluster.newBuilder()
+                .withName(CLUSTER_NAME)
+                .withNamespace(NAMESPACE)
+                .withUsers(Lists.newArrayList(rabbitmqUser))
+                .withPasswordHashingAlgorithm(PasswordHashingAlgorithm.SHA512)
+                .build();
+        final User user = new User().withName("username").withPasswordHash("sha256-password-hash").withTags("");
+
+        when(managementApiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listUsers()).thenReturn(Lists.newArrayList(user));
+        when(secretsController.decodeSecretPayload("password")).thenReturn("password");
+        when(passwordConverter.passwordMatchesHash("password", "sha256-password-hash", PasswordHashingAlgorithm.SHA512)).thenReturn(false);
+        when(passwordConverter.convertPasswordToHash("password", PasswordHashingAlgorithm.SHA512)).thenReturn("sha512-password-hash");
+
+        userReconciler.reconcile(cluster);
+
+        verify(api).createUser("username", new User().withName("username").withPasswordHash("sha512-password-hash").withTags(""), PasswordHashingAlgorithm.SHA512);
+    }
+
+    @Test
+    public void testReconcile_updateVhost() throws Exception {
         final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
 
         final List<VhostPermissions> newVhostPermissions = Lists.newArrayList(
@@ -126,7 +227,7 @@ public class TestUserReconciler {
     }
 
     @Test
-    public void testReconcile_updatePermissions() {
+    public void testReconcile_updatePermissions() throws Exception {
         final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
 
         final List<VhostPermissions> newVhostPermissions = Lists.newArrayList(
@@ -139,7 +240,7 @@ public class TestUserReconciler {
 
         when(managementApiProvider.getApi(cluster)).thenReturn(api);
         when(api.listUsers()).thenReturn(Lists.newArrayList(user));
-        when(api.listUserPermissions("username")).thenReturn(Lists.newArrayList(new Permission().withVhost("vhost").withRead(Pattern.compile("read")).withWrite(Pattern.compile("write")).withConfigure(Pattern.compile("conf"))));
+        when(api.listPermissions()).thenReturn(Lists.newArrayList(new Permission().withUser("username").withVhost("vhost").withRead(Pattern.compile("read")).withWrite(Pattern.compile("write")).withConfigure(Pattern.compile("conf"))));
 
         userReconciler.reconcile(cluster);
 
@@ -154,7 +255,7 @@ public class TestUserReconciler {
     }
 
     @Test
-    public void testReconcile_skipUpToDatePermissions() {
+    public void testReconcile_skipUpToDatePermissions() throws Exception {
         final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
 
         final List<VhostPermissions> newVhostPermissions = Lists.newArrayList(
@@ -167,7 +268,7 @@ public class TestUserReconciler {
 
         when(managementApiProvider.getApi(cluster)).thenReturn(api);
         when(api.listUsers()).thenReturn(Lists.newArrayList(user));
-        when(api.listUserPermissions("username")).thenReturn(Lists.newArrayList(new Permission().withVhost("vhost").withRead(Pattern.compile("read")).withWrite(Pattern.compile("write")).withConfigure(Pattern.compile("conf"))));
+        when(api.listPermissions()).thenReturn(Lists.newArrayList(new Permission().withUser("username").withVhost("vhost").withRead(Pattern.compile("read")).withWrite(Pattern.compile("write")).withConfigure(Pattern.compile("conf"))));
 
         userReconciler.reconcile(cluster);
 
@@ -175,7 +276,35 @@ public class TestUserReconciler {
     }
 
     @Test
-    public void testReconcile_deleteUnknownUser() {
+    public void testReconcile_listsPermissionsOnce() throws Exception {
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        final List<VhostPermissions> vhostPermissions = Lists.newArrayList(
+                new VhostPermissions("vhost1", new VhostOperationPermissions("conf", "write", "read")),
+                new VhostPermissions("vhost2", new VhostOperationPermissions("conf", "write", "read"))
+        );
+
+        final RabbitMQUser rabbitmqUser = generateRabbitMQUser(vhostPermissions, Collections.emptyList());
+        final RabbitMQCluster cluster = generateCluster(Lists.newArrayList(rabbitmqUser));
+        final User user = new User().withName("username").withPasswordHash("password-hash").withTags("");
+
+        when(managementApiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listUsers()).thenReturn(Lists.newArrayList(user));
+        when(api.listPermissions()).thenReturn(Lists.newArrayList(
+                new Permission().withUser("username").withVhost("vhost1").withRead(Pattern.compile("read")).withWrite(Pattern.compile("write")).withConfigure(Pattern.compile("conf")),
+                new Permission().withUser("otheruser").withVhost("vhost2").withRead(Pattern.compile("read")).withWrite(Pattern.compile("write")).withConfigure(Pattern.compile("conf"))
+        ));
+
+        userReconciler.reconcile(cluster);
+
+        verify(api, times(1)).listPermissions();
+        verify(api, never()).listUserPermissions(anyString());
+        verify(api, never()).createPermission(eq("vhost1"), any(), any(Permission.class));
+        verify(api, times(1)).createPermission(eq("vhost2"), eq("username"), any(Permission.class));
+    }
+
+    @Test
+    public void testReconcile_deleteUnknownUser() throws Exception {
         final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
 
         final RabbitMQCluster cluster = generateCluster(Collections.emptyList());
@@ -190,6 +319,26 @@ public class TestUserReconciler {
         verify(api, times(1)).deleteUser(anyString());
     }
 
+    @Test
+    public void testReconcile_collectsFailures() throws Exception {
+        final RabbitManagementApiFacade api = mock(RabbitManagementApiFacade.class);
+
+        final RabbitMQCluster cluster = generateCluster(Collections.emptyList());
+        final User user1 = new User().withName("user1").withPasswordHash("password-hash").withTags("");
+        final User user2 = new User().withName("user2").withPasswordHash("password-hash").withTags("");
+        final User user3 = new User().withName("user3").withPasswordHash("password-hash").withTags("");
+
+        when(managementApiProvider.getApi(cluster)).thenReturn(api);
+        when(api.listUsers()).thenReturn(Lists.newArrayList(user1, user2, user3));
+        doThrow(RabbitManagementApiException.class).when(api).deleteUser("user2");
+
+        final UserReconciliationException e = assertThrows(UserReconciliationException.class, () -> userReconciler.reconcile(cluster));
+
+        assertEquals(Collections.singleton("user2"), e.getFailures().keySet());
+        verify(api).deleteUser("user1");
+        verify(api).deleteUser("user3");
+    }
+
     private RabbitMQUser generateRabbitMQUser(final List<VhostPermissions> vhostPermissions, final List<String> tags) {
         final Secret userSecret = new SecretBuilder()
                 .withNewMetadata().withName(RabbitMQSecrets.getUserSecretName("username", CLUSTER_NAME)).withNamespace("ns").endMetadata()
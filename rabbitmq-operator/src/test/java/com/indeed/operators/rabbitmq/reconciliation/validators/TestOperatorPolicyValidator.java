@@ -72,6 +72,6 @@ public class TestOperatorPolicyValidator {
     }
 
     private ClusterSpec buildClusterSpec(final List<OperatorPolicySpec> policies) {
-        return new ClusterSpec(0.0, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), policies);
+        return new ClusterSpec(0.0, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), policies, 0.0, null, null);
     }
 }
@@ -67,6 +67,6 @@ public class TestPolicyValidator {
     }
 
     private ClusterSpec buildClusterSpec(final List<PolicySpec> policies) {
-        return new ClusterSpec(0.0, Collections.emptyList(), Collections.emptyList(), policies, Collections.emptyList());
+        return new ClusterSpec(0.0, Collections.emptyList(), Collections.emptyList(), policies, Collections.emptyList(), 0.0, null, null);
     }
 }
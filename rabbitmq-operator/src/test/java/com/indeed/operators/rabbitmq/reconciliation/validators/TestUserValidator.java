@@ -80,6 +80,6 @@ public class TestUserValidator {
     }
 
     private ClusterSpec buildClusterSpec(final List<UserSpec> users) {
-        return new ClusterSpec(0.0, users, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        return new ClusterSpec(0.0, users, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), 0.0, null, null);
     }
 }